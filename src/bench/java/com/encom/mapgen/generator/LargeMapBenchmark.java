@@ -0,0 +1,89 @@
+package com.encom.mapgen.generator;
+
+import com.encom.mapgen.model.GenerationMode;
+import com.encom.mapgen.model.GenerationOptions;
+import com.encom.mapgen.model.GenerationRequest;
+import com.encom.mapgen.model.MapManifest;
+import com.encom.mapgen.validator.MapValidator;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+/**
+ * Scaling benchmark for large-map mode, from a thousand to five million hexagons.
+ * Reports generation time, the validator's fused pass over the buffer, and peak
+ * heap. Run it with the function's heap size:
+ *   ./gradlew benchmark -PbenchClass=com.encom.mapgen.generator.LargeMapBenchmark
+ *   ./gradlew benchmark -PbenchClass=... -PbenchArgs="1000 10000 100000"
+ */
+public class LargeMapBenchmark {
+    private static final int[] DEFAULT_SIZES = {1_000, 10_000, 100_000, 1_000_000, 5_000_000};
+
+    public static void main(String[] args) {
+        int[] sizes = DEFAULT_SIZES;
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        // Warm up the JIT on a mid-sized map
+        generate("warmup", 20_000);
+
+        System.out.printf("Large-map generation (max heap %d MB, %d cores)%n",
+                         Runtime.getRuntime().maxMemory() >> 20, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%10s %10s %10s %12s %10s %10s %8s%n",
+                         "hexes", "gen ms", "us/hex", "validate ms", "peak MB", "B/hex", "exact");
+
+        for (int size : sizes) {
+            System.gc();
+            resetPeakUsage();
+
+            long start = System.nanoTime();
+            MapManifest manifest = generate("bench-" + size, size);
+            double generateMs = (System.nanoTime() - start) / 1_000_000.0;
+
+            long peak = peakHeapUsage();
+            long validateStart = System.nanoTime();
+            boolean connected = new MapValidator().validateBufferConnectivity(manifest.getBuffer());
+            double validateMs = (System.nanoTime() - validateStart) / 1_000_000.0;
+            if (!connected) {
+                throw new IllegalStateException("Generated map is not connected");
+            }
+
+            System.out.printf("%10d %10.0f %10.2f %12.1f %10d %10d %8s%n",
+                             size, generateMs, generateMs * 1000.0 / size, validateMs,
+                             peak >> 20, peak / size,
+                             manifest.getMetadata().getStatistics().isLongestPathExact());
+        }
+    }
+
+    private static MapManifest generate(String seed, int size) {
+        GenerationRequest request = new GenerationRequest(seed, size, new GenerationOptions());
+        request.setMode(GenerationMode.LARGE.getValue());
+        return new MapGenerator(request).generateMap(size);
+    }
+
+    private static void resetPeakUsage() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    /**
+     * Sum of the per-pool heap peaks since the last reset; an upper bound on live data
+     */
+    private static long peakHeapUsage() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
@@ -0,0 +1,62 @@
+package com.encom.mapgen.generator;
+
+import com.encom.mapgen.model.GenerationOptions;
+import com.encom.mapgen.model.GenerationRequest;
+
+/**
+ * Scaling benchmark for corridor post-processing.
+ * Times full map generation with the bridge-based connectivity checks and,
+ * up to a size limit, with the reference full-BFS checks. The bridge checks
+ * take near-constant time per removal, so per-hexagon times should stay flat.
+ * Usage:
+ *   ./gradlew benchmark -PbenchArgs="maxSize exhaustiveLimit"
+ */
+public class PostProcessingBenchmark {
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+
+    public static void main(String[] args) {
+        int maxSize = args.length > 0 ? Integer.parseInt(args[0]) : 16000;
+        int exhaustiveLimit = args.length > 1 ? Integer.parseInt(args[1]) : 4000;
+
+        System.out.println("Corridor post-processing scaling (corridorRatio 0.7, widths 1-2)");
+        System.out.printf("%8s %12s %14s %14s %14s%n",
+                         "hexes", "bridge ms", "bridge us/hex", "bfs ms", "bfs us/hex");
+
+        for (int size = 250; size <= maxSize; size *= 2) {
+            double bridgeMs = time(size, false);
+            String bfs = "-";
+            String bfsPerHex = "-";
+            if (size <= exhaustiveLimit) {
+                double bfsMs = time(size, true);
+                bfs = String.format("%.1f", bfsMs);
+                bfsPerHex = String.format("%.1f", bfsMs * 1000.0 / size);
+            }
+            System.out.printf("%8d %12.1f %14.1f %14s %14s%n",
+                             size, bridgeMs, bridgeMs * 1000.0 / size, bfs, bfsPerHex);
+        }
+    }
+
+    /**
+     * Average generation time in milliseconds over several seeds
+     */
+    private static double time(int size, boolean exhaustive) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            generate("warmup-" + i, size, exhaustive);
+        }
+
+        long total = 0;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            generate("bench-" + i, size, exhaustive);
+            total += System.nanoTime() - start;
+        }
+        return total / (MEASURED_RUNS * 1_000_000.0);
+    }
+
+    private static void generate(String seed, int size, boolean exhaustive) {
+        MapGenerator generator = new MapGenerator(new GenerationRequest(seed, size, new GenerationOptions()));
+        generator.setExhaustiveConnectivityChecks(exhaustive);
+        generator.generateMap(size);
+    }
+}
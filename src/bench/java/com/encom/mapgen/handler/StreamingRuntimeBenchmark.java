@@ -0,0 +1,137 @@
+package com.encom.mapgen.handler;
+
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Time to first byte of MapStreamHandler through StreamingRuntime, the client
+ * the streaming function runs. A local Runtime API hands out each request and
+ * times the chunked response as it arrives over the socket: the prelude, the
+ * first hexagon line and the last byte, plus the peak heap. Lambda's own front
+ * end is not part of the measurement. Run it with the function's heap size:
+ *   ./gradlew benchmark -PbenchClass=com.encom.mapgen.handler.StreamingRuntimeBenchmark
+ *   ./gradlew benchmark -PbenchClass=... -PbenchArgs="100000 1000000"
+ */
+public class StreamingRuntimeBenchmark {
+    private static final int[] DEFAULT_SIZES = {100_000, 1_000_000};
+    private static final String INVOCATION_PATH = "/2018-06-01/runtime/invocation/";
+    private static final int PRELUDE_DELIMITER_LENGTH = 8;
+
+    private static String event;
+    private static long handedOut;
+    private static long preludeAt;
+    private static long firstLineAt;
+    private static long lastByteAt;
+    private static long bodyBytes;
+
+    public static void main(String[] args) throws IOException {
+        int[] sizes = DEFAULT_SIZES;
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        HttpServer runtimeApi = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        runtimeApi.createContext(INVOCATION_PATH, StreamingRuntimeBenchmark::serve);
+        runtimeApi.start();
+        StreamingRuntime runtime = new StreamingRuntime("127.0.0.1:" + runtimeApi.getAddress().getPort(),
+                                                        new MapStreamHandler());
+
+        // Warm up the JIT on a mid-sized map
+        invoke(runtime, "warmup", 20_000);
+
+        System.out.printf("Streamed responses through the Runtime API (max heap %d MB, %d cores)%n",
+                         Runtime.getRuntime().maxMemory() >> 20, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%10s %12s %14s %12s %10s %10s%n",
+                         "hexes", "prelude ms", "first line ms", "last ms", "peak MB", "body MB");
+
+        for (int size : sizes) {
+            invoke(runtime, "bench-" + size, size);
+            System.out.printf("%10d %12.0f %14.0f %12.0f %10d %10.1f%n", size,
+                             (preludeAt - handedOut) / 1e6, (firstLineAt - handedOut) / 1e6,
+                             (lastByteAt - handedOut) / 1e6, peakHeapUsage() >> 20, bodyBytes / 1e6);
+        }
+        runtimeApi.stop(0);
+    }
+
+    private static void invoke(StreamingRuntime runtime, String seed, int size) throws IOException {
+        JsonObject invocation = new JsonObject();
+        invocation.addProperty("body", "{\"seed\":\"" + seed + "\",\"hexagonCount\":" + size +
+                                       ",\"mode\":\"large\"}");
+        invocation.addProperty("isBase64Encoded", false);
+        event = invocation.toString();
+        System.gc();
+        resetPeakUsage();
+        runtime.processNext();
+    }
+
+    private static void serve(HttpExchange exchange) throws IOException {
+        if (exchange.getRequestURI().getPath().endsWith("/next")) {
+            byte[] bytes = event.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Lambda-Runtime-Aws-Request-Id", "bench");
+            exchange.getResponseHeaders().set("Lambda-Runtime-Deadline-Ms",
+                                              String.valueOf(System.currentTimeMillis() + 900_000));
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+            handedOut = System.nanoTime();
+            return;
+        }
+
+        // Chunks are decoded as they arrive, so each read sees bytes as soon as the handler flushes them
+        preludeAt = 0;
+        firstLineAt = 0;
+        bodyBytes = 0;
+        int zeros = 0;
+        byte[] buffer = new byte[65536];
+        InputStream body = exchange.getRequestBody();
+        for (int read; (read = body.read(buffer)) > 0; ) {
+            long now = System.nanoTime();
+            if (preludeAt == 0) {
+                preludeAt = now;
+            }
+            for (int i = 0; i < read && firstLineAt == 0; i++) {
+                if (zeros == PRELUDE_DELIMITER_LENGTH) {
+                    firstLineAt = now;
+                }
+                zeros = buffer[i] == 0 ? zeros + 1 : 0;
+            }
+            bodyBytes += read;
+            lastByteAt = now;
+        }
+        exchange.sendResponseHeaders(202, -1);
+        exchange.close();
+    }
+
+    private static void resetPeakUsage() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    /**
+     * Sum of the per-pool heap peaks since the last reset; an upper bound on live data
+     */
+    private static long peakHeapUsage() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
@@ -0,0 +1,102 @@
+package com.encom.mapgen.model;
+
+import com.encom.mapgen.generator.MapGenerator;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Cost of Gson encoding and request parsing for the request and response
+ * models. The first rows are the first calls in this JVM, as a cold Lambda
+ * container sees them; "new Gson" rows repeat a first call on a fresh Gson,
+ * which measures the per-instance adapter lookup. For the reflective numbers,
+ * run it against a build without ModelTypeAdapterFactory. Usage:
+ *   ./gradlew benchmark -PbenchClass=com.encom.mapgen.model.ModelSerializationBenchmark
+ */
+public class ModelSerializationBenchmark {
+    private static final int MANIFEST_HEXAGONS = 1000;
+    private static final int WARMUP_RUNS = 20_000;
+    private static final int MEASURED_RUNS = 20_000;
+
+    private static final String REQUEST_BODY =
+            "{\"seed\":\"bench\",\"hexagonCount\":500,\"mode\":\"standard\"," +
+            "\"options\":{\"corridorRatio\":0.6,\"roomSizeMin\":3,\"roomSizeMax\":9,\"corridorWidth\":[1,2,3]}}";
+
+    // Keeps results observable so the JIT cannot drop them
+    private static volatile long sink;
+
+    public static void main(String[] args) {
+        MapManifest manifest = new MapGenerator(
+                new GenerationRequest("bench", MANIFEST_HEXAGONS, new GenerationOptions()))
+                .generateMap(MANIFEST_HEXAGONS);
+        MapManifest.Metadata metadata = manifest.getMetadata();
+
+        // First calls before anything else touches Gson, as in a cold container
+        Gson gson = newGson();
+        long start = System.nanoTime();
+        sink += gson.fromJson(REQUEST_BODY, GenerationRequest.class).getHexagonCount();
+        double firstParse = (System.nanoTime() - start) / 1000.0;
+        start = System.nanoTime();
+        sink += gson.toJson(manifest).length();
+        double firstEncode = (System.nanoTime() - start) / 1000.0;
+
+        Operation parse = () -> gson.fromJson(REQUEST_BODY, GenerationRequest.class).getHexagonCount();
+        Operation encodeMetadata = () -> {
+            StringWriter writer = new StringWriter(1024);
+            gson.toJson(metadata, writer);
+            return writer.getBuffer().length();
+        };
+        Operation encodeManifest = () -> gson.toJson(manifest).length();
+        Operation freshParse = () -> newGson().fromJson(REQUEST_BODY, GenerationRequest.class).getHexagonCount();
+        Operation freshEncode = () -> newGson().toJson(metadata).length();
+
+        System.out.printf("Model serialization (%d-hexagon manifest)%n", MANIFEST_HEXAGONS);
+        System.out.printf("%-34s %10s %12s%n", "operation", "us/op", "bytes/op");
+        System.out.printf("%-34s %10.1f %12s%n", "first parse request (JVM)", firstParse, "-");
+        System.out.printf("%-34s %10.1f %12s%n", "first encode manifest (JVM)", firstEncode, "-");
+        report("new Gson + parse request", freshParse, WARMUP_RUNS / 10, MEASURED_RUNS / 10);
+        report("new Gson + encode metadata", freshEncode, WARMUP_RUNS / 10, MEASURED_RUNS / 10);
+        report("parse request", parse, WARMUP_RUNS, MEASURED_RUNS);
+        report("encode metadata", encodeMetadata, WARMUP_RUNS, MEASURED_RUNS);
+        report("encode manifest", encodeManifest, WARMUP_RUNS / 100, MEASURED_RUNS / 100);
+    }
+
+    /**
+     * Gson configured as the handlers configure it
+     */
+    private static Gson newGson() {
+        return new GsonBuilder()
+                .registerTypeAdapterFactory(new ModelTypeAdapterFactory())
+                .setPrettyPrinting()
+                .create();
+    }
+
+    private interface Operation {
+        int run();
+    }
+
+    /**
+     * Print mean time and bytes allocated per operation
+     */
+    private static void report(String name, Operation operation, int warmupRuns, int measuredRuns) {
+        for (int i = 0; i < warmupRuns; i++) {
+            sink += operation.run();
+        }
+
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < measuredRuns; i++) {
+            sink += operation.run();
+        }
+        double micros = (System.nanoTime() - start) / 1000.0 / measuredRuns;
+        long allocated = (allocatedBytes() - allocatedBefore) / measuredRuns;
+
+        System.out.printf("%-34s %10.1f %12d%n", name, micros, allocated);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
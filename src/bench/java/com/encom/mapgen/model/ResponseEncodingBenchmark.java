@@ -0,0 +1,71 @@
+package com.encom.mapgen.model;
+
+import com.encom.mapgen.generator.MapGenerator;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Payload size and encode time of the response encodings, against the
+ * pretty-printed gson.toJson(manifest) the handler sends by default. Usage:
+ *   ./gradlew benchmark -PbenchClass=com.encom.mapgen.model.ResponseEncodingBenchmark
+ *   ./gradlew benchmark -PbenchClass=... -PbenchArgs="50 200 1000"
+ */
+public class ResponseEncodingBenchmark {
+    private static final int[] DEFAULT_SIZES = {50, 200, 1000};
+    private static final int WARMUP_RUNS = 2000;
+    private static final int MEASURED_RUNS = 2000;
+
+    // Keeps the encoders' results observable so the JIT cannot drop them
+    private static volatile long sink;
+
+    public static void main(String[] args) {
+        int[] sizes = DEFAULT_SIZES;
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        MapManifestCompactWriter compactWriter = new MapManifestCompactWriter(gson);
+
+        System.out.println("Response encodings (bytes, mean encode time)");
+        System.out.printf("%8s %12s %10s %12s %10s %12s %10s%n",
+                         "hexes", "json B", "json us", "compact B", "compact us", "binary B", "binary us");
+
+        for (int size : sizes) {
+            MapManifest manifest = new MapGenerator(new GenerationRequest("bench-" + size, size, new GenerationOptions()))
+                    .generateMap(size);
+
+            Encoder json = () -> gson.toJson(manifest).getBytes(StandardCharsets.UTF_8).length;
+            Encoder compact = () -> compactWriter.toJson(manifest).getBytes(StandardCharsets.UTF_8).length;
+            Encoder binary = () -> MapBinaryCodec.encode(manifest).length;
+
+            System.out.printf("%8d %12d %10.0f %12d %10.0f %12d %10.0f%n", size,
+                             json.encode(), time(json), compact.encode(), time(compact),
+                             binary.encode(), time(binary));
+        }
+    }
+
+    private interface Encoder {
+        int encode();
+    }
+
+    /**
+     * Mean encode time in microseconds
+     */
+    private static double time(Encoder encoder) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            sink += encoder.encode();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            sink += encoder.encode();
+        }
+        return (System.nanoTime() - start) / 1000.0 / MEASURED_RUNS;
+    }
+}
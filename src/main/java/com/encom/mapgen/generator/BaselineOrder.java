@@ -0,0 +1,179 @@
+package com.encom.mapgen.generator;
+
+import com.encom.mapgen.model.HexCoordinate;
+import com.encom.mapgen.model.MapBuffer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Iteration orders of the original generator, which kept the frontier in a
+ * HashSet of coordinates, the map in a HashMap keyed by hexagon id, and each
+ * hexagon's connections in a list. Where that generator drew a random index
+ * into one of those orders, java-random-v1 maps in standard mode replay it, so
+ * a seed still builds the map it always has.
+ *
+ * The frontier is a real HashSet fed the same additions and removals in the
+ * same sequence, so its order is the JDK's own. Selecting from it is linear in
+ * the frontier, as it always was; standard mode is capped at a thousand
+ * hexagons, and large mode uses the indexed order instead.
+ */
+final class BaselineOrder {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    // Connection orders pack a count in the low bits and a direction per slot above it
+    private static final int SLOT_BITS = 3;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+
+    private HashSet<HexCoordinate> frontier;
+    private int frontierCapacity;
+    private int[] connectionOrders;
+
+    BaselineOrder(int expectedHexagons) {
+        this.frontier = new HashSet<>();
+        this.frontierCapacity = DEFAULT_CAPACITY;
+        this.connectionOrders = new int[Math.max(expectedHexagons, 1)];
+    }
+
+    private BaselineOrder(BaselineOrder other, int expectedHexagons) {
+        // A HashSet's order depends on its table size, which only ever grows, so
+        // the copy starts at the original's size and takes its cells in order
+        this.frontier = new HashSet<>(other.frontierCapacity);
+        this.frontier.addAll(other.frontier);
+        this.frontierCapacity = other.frontierCapacity;
+        this.connectionOrders = Arrays.copyOf(other.connectionOrders,
+                                              Math.max(expectedHexagons, other.connectionOrders.length));
+    }
+
+    /**
+     * Independent copy with room for at least expectedHexagons connection orders
+     */
+    BaselineOrder copy(int expectedHexagons) {
+        return new BaselineOrder(this, expectedHexagons);
+    }
+
+    /**
+     * Record a segment of new hexagons as the original generator did: every new
+     * cell leaves the frontier first, then the empty neighbors of each join it
+     */
+    void hexagonsAdded(List<HexCoordinate> coordinates, MapBuffer map) {
+        for (HexCoordinate coord : coordinates) {
+            frontier.remove(coord);
+        }
+        for (HexCoordinate coord : coordinates) {
+            for (int d = 0; d < HexCoordinate.DIRECTION_COUNT; d++) {
+                int q = coord.getQ() + HexCoordinate.directionQ(d);
+                int r = coord.getR() + HexCoordinate.directionR(d);
+                if (!map.contains(q, r) && frontier.add(new HexCoordinate(q, r)) &&
+                        frontier.size() > frontierCapacity * LOAD_FACTOR) {
+                    frontierCapacity <<= 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * The choice-th frontier cell in HashSet order, counting only cells with at
+     * most maxAdjacent occupied neighbors
+     */
+    HexCoordinate frontierCell(int choice, FrontierIndex index, int maxAdjacent) {
+        int remaining = choice;
+        for (HexCoordinate cell : frontier) {
+            if (index.getAdjacentCount(cell.getQ(), cell.getR()) <= maxAdjacent && remaining-- == 0) {
+                return cell;
+            }
+        }
+        throw new IllegalStateException("Frontier has no cell " + choice + " with at most " +
+                                        maxAdjacent + " occupied neighbors");
+    }
+
+    int frontierSize() {
+        return frontier.size();
+    }
+
+    /**
+     * A new connection goes to the end of both hexagons' lists
+     */
+    void connected(int index, int neighbor, int direction) {
+        append(index, direction);
+        append(neighbor, HexCoordinate.oppositeDirection(direction));
+    }
+
+    void disconnected(int index, int neighbor, int direction) {
+        remove(index, direction);
+        remove(neighbor, HexCoordinate.oppositeDirection(direction));
+    }
+
+    /**
+     * A connection removed and then restored moves to the end of both lists
+     */
+    void reconnected(int index, int neighbor, int direction) {
+        disconnected(index, neighbor, direction);
+        connected(index, neighbor, direction);
+    }
+
+    /**
+     * Directions of a hexagon's connections in the order they were made
+     */
+    List<Integer> connectionDirections(int index) {
+        int packed = connectionOrders[index];
+        int count = packed & SLOT_MASK;
+        List<Integer> directions = new ArrayList<>(count);
+        for (int slot = 0; slot < count; slot++) {
+            directions.add((packed >>> ((slot + 1) * SLOT_BITS)) & SLOT_MASK);
+        }
+        return directions;
+    }
+
+    /**
+     * Hexagon indices in the order a HashMap keyed by id and filled in
+     * insertion order iterates them
+     */
+    static int[] hashOrder(MapBuffer map) {
+        Map<String, Integer> byId = new HashMap<>();
+        for (int i = 0; i < map.size(); i++) {
+            byId.put(HexCoordinate.toId(map.getQ(i), map.getR(i)), i);
+        }
+
+        int[] order = new int[map.size()];
+        int position = 0;
+        for (int index : byId.values()) {
+            order[position++] = index;
+        }
+        return order;
+    }
+
+    /**
+     * Heap held by the frontier set and connection orders, for cache accounting
+     */
+    long heapBytes() {
+        // Table slot plus a node and a coordinate per cell
+        return (long) frontierCapacity * 4 + (long) frontier.size() * 56 +
+               (long) connectionOrders.length * Integer.BYTES;
+    }
+
+    private void append(int index, int direction) {
+        if (index >= connectionOrders.length) {
+            connectionOrders = Arrays.copyOf(connectionOrders, Math.max(index + 1, connectionOrders.length << 1));
+        }
+        int packed = connectionOrders[index];
+        int count = packed & SLOT_MASK;
+        connectionOrders[index] = (packed | (direction << ((count + 1) * SLOT_BITS))) + 1;
+    }
+
+    private void remove(int index, int direction) {
+        List<Integer> directions = connectionDirections(index);
+        directions.remove(Integer.valueOf(direction));
+
+        int packed = directions.size();
+        for (int slot = 0; slot < directions.size(); slot++) {
+            packed |= directions.get(slot) << ((slot + 1) * SLOT_BITS);
+        }
+        connectionOrders[index] = packed;
+    }
+}
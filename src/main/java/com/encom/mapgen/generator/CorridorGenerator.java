@@ -2,7 +2,9 @@ package com.encom.mapgen.generator;
 
 import com.encom.mapgen.model.GenerationOptions;
 import com.encom.mapgen.model.HexCoordinate;
-import com.encom.mapgen.model.Hexagon;
+import com.encom.mapgen.model.HexGrid;
+import com.encom.mapgen.model.MapBuffer;
+import com.encom.mapgen.model.MapManifest;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -16,24 +18,33 @@ public class CorridorGenerator {
     
     private final SeedManager seedManager;
     private final GenerationOptions options;
+    private final MapManifest.BoundingBox bounds;
     
     public CorridorGenerator(SeedManager seedManager, GenerationOptions options) {
+        this(seedManager, options, null);
+    }
+    
+    /**
+     * @param bounds region new hexagons must stay inside, or null for no limit
+     */
+    public CorridorGenerator(SeedManager seedManager, GenerationOptions options, MapManifest.BoundingBox bounds) {
         this.seedManager = seedManager;
         this.options = options;
+        this.bounds = bounds;
     }
     
     /**
      * Generate a corridor segment from available frontier positions
      */
-    public List<HexCoordinate> generateCorridor(Set<HexCoordinate> frontier, 
-                                               Map<String, Hexagon> existingHexagons,
+    public List<HexCoordinate> generateCorridor(FrontierIndex frontier, 
+                                               MapBuffer existingHexagons,
                                                int maxLength) {
         if (frontier.isEmpty()) {
             return new ArrayList<>();
         }
         
         // Choose a random starting point from frontier that connects to existing map
-        HexCoordinate startPoint = selectCorridorStartPoint(frontier, existingHexagons);
+        HexCoordinate startPoint = selectCorridorStartPoint(frontier);
         if (startPoint == null) {
             return new ArrayList<>();
         }
@@ -52,48 +63,28 @@ public class CorridorGenerator {
     /**
      * Select a starting point for corridor generation
      */
-    private HexCoordinate selectCorridorStartPoint(Set<HexCoordinate> frontier, 
-                                                  Map<String, Hexagon> existingHexagons) {
-        // Filter frontier points that are adjacent to existing hexagons
-        List<HexCoordinate> validStarts = new ArrayList<>();
-        
-        for (HexCoordinate coord : frontier) {
-            if (hasAdjacentExistingHexagon(coord, existingHexagons)) {
-                validStarts.add(coord);
-            }
-        }
-        
-        if (validStarts.isEmpty()) {
+    private HexCoordinate selectCorridorStartPoint(FrontierIndex frontier) {
+        // Every frontier cell touches the existing map, so any of them can start a corridor
+        HexCoordinate start = frontier.selectAny(seedManager);
+        if (start == null) {
             logger.warn("No valid starting points found in frontier");
-            return null;
         }
-        
-        // Select random starting point
-        return validStarts.get(seedManager.nextInt(validStarts.size()));
-    }
-    
-    /**
-     * Check if a coordinate has at least one adjacent existing hexagon
-     */
-    private boolean hasAdjacentExistingHexagon(HexCoordinate coord, Map<String, Hexagon> existingHexagons) {
-        return coord.getNeighbors().stream()
-                   .anyMatch(neighbor -> existingHexagons.containsKey(neighbor.toId()));
+        return start;
     }
     
     /**
      * Generate the actual corridor path using random walk with some structure
      */
     private List<HexCoordinate> generateCorridorPath(HexCoordinate start, 
-                                                    Map<String, Hexagon> existingHexagons,
+                                                    MapBuffer existingHexagons,
                                                     int maxLength, int width) {
         List<HexCoordinate> path = new ArrayList<>();
-        Set<HexCoordinate> visited = new HashSet<>();
+        HexGrid visited = new HexGrid(maxLength);
         
         // Start the corridor
         Queue<HexCoordinate> toProcess = new LinkedList<>();
         toProcess.offer(start);
-        path.add(start);
-        visited.add(start);
+        addToPath(start, path, visited);
         
         int currentLength = 1;
         HexCoordinate lastDirection = null;
@@ -113,8 +104,7 @@ public class CorridorGenerator {
                     if (!branchPositions.isEmpty()) {
                         HexCoordinate branchNext = branchPositions.get(seedManager.nextInt(branchPositions.size()));
                         toProcess.offer(branchNext);
-                        path.add(branchNext);
-                        visited.add(branchNext);
+                        addToPath(branchNext, path, visited);
                         currentLength++;
                         lastDirection = calculateDirection(branchPoint, branchNext);
                         continue;
@@ -131,14 +121,12 @@ public class CorridorGenerator {
             
             // Add all positions to path
             toProcess.offer(next);
-            path.add(next);
-            visited.add(next);
+            addToPath(next, path, visited);
             currentLength++;
             
             for (HexCoordinate widthPos : widthPositions) {
                 if (currentLength < maxLength) {
-                    path.add(widthPos);
-                    visited.add(widthPos);
+                    addToPath(widthPos, path, visited);
                     currentLength++;
                 }
             }
@@ -155,27 +143,38 @@ public class CorridorGenerator {
         return path;
     }
     
+    /**
+     * Append a position to the corridor path and mark it visited
+     */
+    private void addToPath(HexCoordinate position, List<HexCoordinate> path, HexGrid visited) {
+        visited.put(position.getQ(), position.getR(), path.size());
+        path.add(position);
+    }
+    
     /**
      * Get valid positions for corridor extension
      */
     private List<HexCoordinate> getValidNextPositions(HexCoordinate current, 
-                                                     Map<String, Hexagon> existingHexagons,
-                                                     Set<HexCoordinate> visited,
+                                                     MapBuffer existingHexagons,
+                                                     HexGrid visited,
                                                      HexCoordinate preferredDirection) {
         List<HexCoordinate> validPositions = new ArrayList<>();
         
-        for (HexCoordinate neighbor : current.getNeighbors()) {
+        for (int d = 0; d < HexCoordinate.DIRECTION_COUNT; d++) {
+            int q = current.getQ() + HexCoordinate.directionQ(d);
+            int r = current.getR() + HexCoordinate.directionR(d);
+            
             // Skip if already visited or occupied
-            if (visited.contains(neighbor) || existingHexagons.containsKey(neighbor.toId())) {
+            if (visited.contains(q, r) || existingHexagons.contains(q, r) || outOfBounds(q, r)) {
                 continue;
             }
             
             // Skip if it would create too dense a cluster
-            if (countAdjacentOccupied(neighbor, existingHexagons, visited) > 2) {
+            if (countAdjacentOccupied(q, r, existingHexagons, visited) > 2) {
                 continue;
             }
             
-            validPositions.add(neighbor);
+            validPositions.add(new HexCoordinate(q, r));
         }
         
         return validPositions;
@@ -184,12 +183,16 @@ public class CorridorGenerator {
     /**
      * Count adjacent occupied positions
      */
-    private int countAdjacentOccupied(HexCoordinate coord, Map<String, Hexagon> existingHexagons, 
-                                     Set<HexCoordinate> visited) {
-        return (int) coord.getNeighbors().stream()
-                         .filter(neighbor -> existingHexagons.containsKey(neighbor.toId()) || 
-                                           visited.contains(neighbor))
-                         .count();
+    private int countAdjacentOccupied(int q, int r, MapBuffer existingHexagons, HexGrid visited) {
+        int count = 0;
+        for (int d = 0; d < HexCoordinate.DIRECTION_COUNT; d++) {
+            int nq = q + HexCoordinate.directionQ(d);
+            int nr = r + HexCoordinate.directionR(d);
+            if (existingHexagons.contains(nq, nr) || visited.contains(nq, nr)) {
+                count++;
+            }
+        }
+        return count;
     }
     
     /**
@@ -241,8 +244,8 @@ public class CorridorGenerator {
     /**
      * Add width to corridor by including parallel positions
      */
-    private List<HexCoordinate> addCorridorWidth(HexCoordinate center, Map<String, Hexagon> existingHexagons,
-                                                Set<HexCoordinate> visited, int width) {
+    private List<HexCoordinate> addCorridorWidth(HexCoordinate center, MapBuffer existingHexagons,
+                                                HexGrid visited, int width) {
         List<HexCoordinate> widthPositions = new ArrayList<>();
         
         if (width <= 1) {
@@ -250,22 +253,27 @@ public class CorridorGenerator {
         }
         
         // For width > 1, add adjacent positions
-        List<HexCoordinate> neighbors = center.getNeighbors();
         int additionalPositions = Math.min(width - 1, 2); // Limit to reasonable width
         
         List<HexCoordinate> availableNeighbors = new ArrayList<>();
-        for (HexCoordinate neighbor : neighbors) {
-            if (!visited.contains(neighbor) && !existingHexagons.containsKey(neighbor.toId())) {
-                availableNeighbors.add(neighbor);
+        for (int d = 0; d < HexCoordinate.DIRECTION_COUNT; d++) {
+            int q = center.getQ() + HexCoordinate.directionQ(d);
+            int r = center.getR() + HexCoordinate.directionR(d);
+            if (!visited.contains(q, r) && !existingHexagons.contains(q, r) && !outOfBounds(q, r)) {
+                availableNeighbors.add(new HexCoordinate(q, r));
             }
         }
         
         // Select random adjacent positions for width
-        Collections.shuffle(availableNeighbors, seedManager.getRandom());
+        seedManager.shuffle(availableNeighbors);
         for (int i = 0; i < Math.min(additionalPositions, availableNeighbors.size()); i++) {
             widthPositions.add(availableNeighbors.get(i));
         }
         
         return widthPositions;
     }
+    
+    private boolean outOfBounds(int q, int r) {
+        return bounds != null && !bounds.contains(q, r);
+    }
 }
\ No newline at end of file
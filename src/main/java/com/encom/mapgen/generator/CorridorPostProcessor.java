@@ -0,0 +1,427 @@
+package com.encom.mapgen.generator;
+
+import com.encom.mapgen.model.HexCoordinate;
+import com.encom.mapgen.model.HexGrid;
+import com.encom.mapgen.model.Hexagon;
+import com.encom.mapgen.model.MapBuffer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.*;
+
+/**
+ * Thins out corridor connections while keeping the map connected.
+ * Candidate removals are decided by a bridge test instead of a full map BFS.
+ * The greedy order and RNG draws are unchanged, so results match the
+ * exhaustive BFS check exactly.
+ *
+ * Connections join adjacent cells, so the map is a plane graph and every
+ * connection separates two faces. A connection is a bridge exactly when the
+ * same face lies on both sides of it, and removing a connection that is not a
+ * bridge merges its two faces into one. The faces are traced once and then
+ * kept in a union-find as connections are removed, so each test takes
+ * near-constant time and the whole pass is O(n) however long the corridors get.
+ */
+public class CorridorPostProcessor {
+    private static final Logger logger = LogManager.getLogger(CorridorPostProcessor.class);
+    
+    // Direction of a connection whose face walk has not been traced yet
+    private static final int UNTRACED = -1;
+    
+    private final MapBuffer map;
+    private final SeedManager seedManager;
+    private final MapStatisticsAccumulator statistics;
+    private final boolean exhaustiveChecks;
+    private BaselineOrder baselineOrder;
+    
+    // Bridge test state: the face walk each direction of a connection was traced in, and merged faces
+    private boolean initiallyConnected;
+    private int[] dartFaces;
+    private UnionFind faces;
+    
+    public CorridorPostProcessor(MapBuffer map, SeedManager seedManager) {
+        this(map, seedManager, null, false);
+    }
+    
+    /**
+     * @param statistics accumulator to notify of removed connections, or null
+     * @param exhaustiveChecks verify every removal with a full map BFS instead of the bridge test
+     */
+    public CorridorPostProcessor(MapBuffer map, SeedManager seedManager, 
+                                 MapStatisticsAccumulator statistics, boolean exhaustiveChecks) {
+        this.map = map;
+        this.seedManager = seedManager;
+        this.statistics = statistics;
+        this.exhaustiveChecks = exhaustiveChecks;
+    }
+    
+    /**
+     * Visit corridors and their connections in the original generator's
+     * orders, which decide ties and which draw scores which connection
+     */
+    void setBaselineOrder(BaselineOrder baselineOrder) {
+        this.baselineOrder = baselineOrder;
+    }
+    
+    /**
+     * Post-process corridors to reduce clustering while preserving connectivity
+     * Allows up to 3 connections occasionally for branching
+     */
+    public int process() {
+        logger.info("Starting corridor post-processing");
+        
+        if (!exhaustiveChecks) {
+            initializeFaces();
+        }
+        
+        // Corridors by connection count (highest first) to process worst cases first
+        int[] corridors = corridorsByConnectionCount();
+        
+        int connectionsRemoved = 0;
+        int corridorsProcessed = 0;
+        
+        for (int corridor : corridors) {
+            int connectionCount = map.getConnectionCount(corridor);
+            
+            // Process corridors with 3+ connections (prioritize 2, allow 3 if needed)
+            if (connectionCount >= 3) {
+                int beforeCount = map.getConnectionCount(corridor);
+                int removed = reduceCorridorConnections(corridor);
+                int afterCount = map.getConnectionCount(corridor);
+                
+                if (removed > 0 && logger.isDebugEnabled()) {
+                    logger.debug("Processed corridor {}: {} -> {} connections ({} removed)", 
+                               map.toHexagon(corridor), beforeCount, afterCount, removed);
+                }
+                
+                connectionsRemoved += removed;
+                corridorsProcessed++;
+            }
+        }
+        
+        logger.info("Corridor post-processing completed: {} connections removed from {} corridors out of {} total", 
+                   connectionsRemoved, corridorsProcessed, corridors.length);
+        
+        dartFaces = null;
+        faces = null;
+        return connectionsRemoved;
+    }
+    
+    /**
+     * Corridor indices ordered by connection count, highest first. A stable
+     * counting sort, so equal counts keep insertion order (or the baseline's
+     * hash order) as a stable sort would.
+     */
+    private int[] corridorsByConnectionCount() {
+        int[] order = baselineOrder != null ? BaselineOrder.hashOrder(map) : null;
+        int[] counts = new int[HexCoordinate.DIRECTION_COUNT + 1];
+        int corridorCount = 0;
+        for (int i = 0; i < map.size(); i++) {
+            if (map.getType(i) == Hexagon.HexType.CORRIDOR) {
+                counts[map.getConnectionCount(i)]++;
+                corridorCount++;
+            }
+        }
+        
+        int[] next = new int[counts.length];
+        for (int degree = counts.length - 2; degree >= 0; degree--) {
+            next[degree] = next[degree + 1] + counts[degree + 1];
+        }
+        
+        int[] corridors = new int[corridorCount];
+        for (int position = 0; position < map.size(); position++) {
+            int i = order != null ? order[position] : position;
+            if (map.getType(i) == Hexagon.HexType.CORRIDOR) {
+                corridors[next[map.getConnectionCount(i)]++] = i;
+            }
+        }
+        return corridors;
+    }
+    
+    /**
+     * Reduce corridor connections while preserving connectivity
+     * Priority: reduce to 2 connections, allow 3 if needed for connectivity
+     */
+    private int reduceCorridorConnections(int corridor) {
+        if (map.getConnectionCount(corridor) <= 2) {
+            return 0; // Already at ideal target
+        }
+        
+        // Get directions and coordinates of connected hexagons, in the order they were connected for the baseline
+        List<Integer> connectedDirections = new ArrayList<>(HexCoordinate.DIRECTION_COUNT);
+        if (baselineOrder != null) {
+            connectedDirections.addAll(baselineOrder.connectionDirections(corridor));
+        } else {
+            for (int d = 0; d < HexCoordinate.DIRECTION_COUNT; d++) {
+                if (map.isConnected(corridor, d) && map.neighborIndex(corridor, d) != HexGrid.ABSENT) {
+                    connectedDirections.add(d);
+                }
+            }
+        }
+        List<HexCoordinate> connectedCoords = new ArrayList<>(HexCoordinate.DIRECTION_COUNT);
+        for (int d : connectedDirections) {
+            connectedCoords.add(new HexCoordinate(map.getQ(corridor) + HexCoordinate.directionQ(d), 
+                                                  map.getR(corridor) + HexCoordinate.directionR(d)));
+        }
+        
+        if (connectedCoords.size() <= 3) {
+            return 0;
+        }
+        
+        // Find connections to remove one by one, checking connectivity after each removal
+        int connectionsRemoved = 0;
+        HexCoordinate corridorCoord = new HexCoordinate(map.getQ(corridor), map.getR(corridor));
+        
+        // Calculate linearity scores for all connections
+        List<ConnectionScore> connectionScores = new ArrayList<>();
+        for (int i = 0; i < connectedDirections.size(); i++) {
+            HexCoordinate connCoord = connectedCoords.get(i);
+            double score = calculateConnectionImportance(corridorCoord, connCoord, connectedCoords);
+            connectionScores.add(new ConnectionScore(connectedDirections.get(i), score));
+        }
+        
+        // Sort by importance (lowest first - these are candidates for removal)
+        connectionScores.sort((a, b) -> Double.compare(a.score, b.score));
+        
+        // Try to remove connections starting with least important, checking connectivity
+        // Priority: get down to 2 connections, but allow 3 if needed for connectivity
+        for (ConnectionScore connScore : connectionScores) {
+            // First pass: try to get to 2 connections
+            if (map.getConnectionCount(corridor) <= 2) {
+                break; // Reached ideal target
+            }
+            
+            // Second priority: allow up to 3 connections but no more
+            if (map.getConnectionCount(corridor) == 3) {
+                // Only remove if we can get to 2 without breaking connectivity
+                // This is more aggressive for the 3->2 transition
+            }
+            
+            int direction = connScore.direction;
+            int connected = map.neighborIndex(corridor, direction);
+            
+            // Test removal - temporarily remove and check connectivity
+            map.disconnect(corridor, connected, direction);
+            
+            // Check if map is still connected
+            if (!isBridge(corridor, connected, direction)) {
+                // Good removal - keep it removed
+                mergeFaces(corridor, connected, direction);
+                if (baselineOrder != null) {
+                    baselineOrder.disconnected(corridor, connected, direction);
+                }
+                connectionsRemoved++;
+                if (statistics != null) {
+                    statistics.disconnected(map, corridor, connected);
+                }
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Safely removed connection {} from corridor {}", 
+                               map.toHexagon(connected), map.toHexagon(corridor));
+                }
+            } else {
+                // Bad removal - restore the connection
+                map.connect(corridor, connected, direction);
+                if (baselineOrder != null) {
+                    baselineOrder.reconnected(corridor, connected, direction);
+                }
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Restored connection {} to corridor {} (needed for connectivity)", 
+                               map.toHexagon(connected), map.toHexagon(corridor));
+                }
+            }
+        }
+        
+        return connectionsRemoved;
+    }
+    
+    /**
+     * Helper class to store connection with its importance score
+     */
+    private static class ConnectionScore {
+        int direction;
+        double score;
+        
+        ConnectionScore(int direction, double score) {
+            this.direction = direction;
+            this.score = score;
+        }
+    }
+    
+    /**
+     * Calculate importance score for a connection (lower = less important = candidate for removal)
+     * Prioritizes linear paths for corridor flow
+     */
+    private double calculateConnectionImportance(HexCoordinate center, HexCoordinate target,
+                                               List<HexCoordinate> allCoords) {
+        // Base score starts at 0
+        double importance = 0.0;
+        
+        // Factor 1: Linearity with other connections (heavily weighted for straight corridors)
+        double maxLinearity = 0.0;
+        for (int i = 0; i < allCoords.size(); i++) {
+            HexCoordinate other = allCoords.get(i);
+            if (!other.equals(target)) {
+                double linearity = calculateLinearity(target, center, other);
+                maxLinearity = Math.max(maxLinearity, linearity);
+            }
+        }
+        importance += maxLinearity * 3.0; // Increased weight for linearity
+        
+        // Factor 2: Distance (hexagonal grid distance)
+        double distance = center.distanceTo(target);
+        importance += 1.0 / (distance + 1.0);
+        
+        // Factor 3: Small random factor to break ties deterministically
+        importance += seedManager.nextDouble() * 0.05; // Reduced randomness
+        
+        return importance;
+    }
+    
+    /**
+     * Decide whether the edge just removed between index and neighbor was a bridge,
+     * i.e. whether the map is now disconnected
+     */
+    private boolean isBridge(int index, int neighbor, int direction) {
+        if (exhaustiveChecks) {
+            return !isMapConnected();
+        }
+        
+        // A map that started out disconnected rejects every removal, as the full check would
+        if (!initiallyConnected) {
+            return true;
+        }
+        
+        return faces.connected(dartFaces[dart(index, direction)], 
+                               dartFaces[dart(neighbor, HexCoordinate.oppositeDirection(direction))]);
+    }
+    
+    /**
+     * The faces on either side of a removed connection that was not a bridge are now one face
+     */
+    private void mergeFaces(int index, int neighbor, int direction) {
+        if (!exhaustiveChecks) {
+            faces.union(dartFaces[dart(index, direction)], 
+                        dartFaces[dart(neighbor, HexCoordinate.oppositeDirection(direction))]);
+        }
+    }
+    
+    /**
+     * Trace the boundary walk of every face. A walk arriving at a hexagon leaves
+     * by the next connection in direction order after the one it arrived by;
+     * the directions run around the hexagon, so each direction of each
+     * connection lies on exactly one walk. For a map
+     * with several components this gives each component its own outer walk,
+     * which is all the bridge test needs since a bridge never joins two of them.
+     */
+    private void initializeFaces() {
+        initiallyConnected = isMapConnected();
+        
+        int size = map.size();
+        dartFaces = new int[size * HexCoordinate.DIRECTION_COUNT];
+        Arrays.fill(dartFaces, UNTRACED);
+        faces = new UnionFind(size);
+        
+        for (int start = 0; start < size; start++) {
+            for (int startDirection = 0; startDirection < HexCoordinate.DIRECTION_COUNT; startDirection++) {
+                if (!map.isConnected(start, startDirection) || dartFaces[dart(start, startDirection)] != UNTRACED) {
+                    continue;
+                }
+                
+                int face = faces.add();
+                int current = start;
+                int direction = startDirection;
+                do {
+                    dartFaces[dart(current, direction)] = face;
+                    int next = map.neighborIndex(current, direction);
+                    direction = nextAround(next, HexCoordinate.oppositeDirection(direction));
+                    current = next;
+                } while (current != start || direction != startDirection);
+            }
+        }
+    }
+    
+    /**
+     * First connection of index after arrival in direction order, or arrival itself at a dead end
+     */
+    private int nextAround(int index, int arrival) {
+        for (int turn = 1; turn < HexCoordinate.DIRECTION_COUNT; turn++) {
+            int direction = (arrival + turn) % HexCoordinate.DIRECTION_COUNT;
+            if (map.isConnected(index, direction)) {
+                return direction;
+            }
+        }
+        return arrival;
+    }
+    
+    private static int dart(int index, int direction) {
+        return index * HexCoordinate.DIRECTION_COUNT + direction;
+    }
+    
+    /**
+     * Check if the map is still fully connected using BFS
+     */
+    private boolean isMapConnected() {
+        if (map.isEmpty()) {
+            return true;
+        }
+        
+        // Start BFS from first hexagon, tracking visits by hexagon index
+        boolean[] visited = new boolean[map.size()];
+        int[] queue = new int[map.size()];
+        int head = 0;
+        int tail = 0;
+        
+        queue[tail++] = 0;
+        visited[0] = true;
+        
+        while (head < tail) {
+            int current = queue[head++];
+            
+            for (int d = 0; d < HexCoordinate.DIRECTION_COUNT; d++) {
+                if (!map.isConnected(current, d)) continue;
+                
+                int connIndex = map.neighborIndex(current, d);
+                if (connIndex != HexGrid.ABSENT && !visited[connIndex]) {
+                    visited[connIndex] = true;
+                    queue[tail++] = connIndex;
+                }
+            }
+        }
+        
+        // Check if all hexagons were visited
+        return tail == map.size();
+    }
+    
+    /**
+     * Calculate linearity score for three points (higher score = more linear)
+     * Returns a value between 0 (90 degrees) and 1 (180 degrees)
+     */
+    private double calculateLinearity(HexCoordinate p1, HexCoordinate center, HexCoordinate p2) {
+        // Vector from center to p1
+        double v1x = p1.getQ() - center.getQ();
+        double v1y = p1.getR() - center.getR();
+        
+        // Vector from center to p2
+        double v2x = p2.getQ() - center.getQ();
+        double v2y = p2.getR() - center.getR();
+        
+        // Calculate dot product and magnitudes
+        double dotProduct = v1x * v2x + v1y * v2y;
+        double mag1 = Math.sqrt(v1x * v1x + v1y * v1y);
+        double mag2 = Math.sqrt(v2x * v2x + v2y * v2y);
+        
+        if (mag1 == 0 || mag2 == 0) {
+            return 0;
+        }
+        
+        // Calculate cosine of angle between vectors
+        double cosAngle = dotProduct / (mag1 * mag2);
+        
+        // Clamp to valid range for acos
+        cosAngle = Math.max(-1.0, Math.min(1.0, cosAngle));
+        
+        // Convert to linearity score: -1 (opposite directions, 180deg) = 1.0, 0 (perpendicular, 90deg) = 0.0
+        // We want opposite directions to have the highest score (most linear)
+        return -cosAngle; // -1 becomes 1.0 (best linearity), 0 stays 0.0, 1 becomes -1.0 (worst)
+    }
+}
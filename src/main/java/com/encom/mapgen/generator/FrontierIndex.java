@@ -0,0 +1,262 @@
+package com.encom.mapgen.generator;
+
+import com.encom.mapgen.model.HexCoordinate;
+import com.encom.mapgen.model.HexGrid;
+import com.encom.mapgen.model.MapBuffer;
+import com.encom.mapgen.model.MapManifest;
+
+import java.util.Arrays;
+
+/**
+ * Frontier of empty cells adjacent to the map, indexed for constant time selection.
+ * Each cell carries a live count of occupied neighbors and sits in one of two
+ * buckets: open cells (at most CROWDED_THRESHOLD neighbors) and crowded cells.
+ * Buckets are dense arrays with swap-remove, so their order depends only on the
+ * sequence of occupied cells and never on hashing.
+ */
+public class FrontierIndex {
+    /** Cells with more occupied neighbors than this are considered crowded */
+    public static final int CROWDED_THRESHOLD = 3;
+
+    private static final int OPEN = 0;
+    private static final int CROWDED = 1;
+
+    private final MapBuffer map;
+    private final MapManifest.BoundingBox bounds;
+    private final HexGrid slots;
+
+    // Per-slot state, indexed by the slot stored in the grid
+    private long[] keys;
+    private byte[] adjacentCounts;
+    private int[] positions;
+    private int[] freeSlots;
+    private int freeCount;
+    private int slotCount;
+
+    // Bucket contents as slot ids
+    private final int[][] buckets = new int[2][];
+    private final int[] bucketSizes = new int[2];
+
+    // Order selections land in instead of bucket order, or null
+    private BaselineOrder baselineOrder;
+
+    public FrontierIndex(MapBuffer map) {
+        this(map, 64);
+    }
+
+    public FrontierIndex(MapBuffer map, int expectedSize) {
+        this(map, expectedSize, null);
+    }
+
+    /**
+     * @param bounds cells outside this region never join the frontier; null for no limit
+     */
+    public FrontierIndex(MapBuffer map, int expectedSize, MapManifest.BoundingBox bounds) {
+        int capacity = Math.max(expectedSize, 8);
+        this.map = map;
+        this.bounds = bounds;
+        this.slots = new HexGrid(capacity);
+        this.keys = new long[capacity];
+        this.adjacentCounts = new byte[capacity];
+        this.positions = new int[capacity];
+        this.freeSlots = new int[capacity];
+        this.buckets[OPEN] = new int[capacity];
+        this.buckets[CROWDED] = new int[capacity];
+    }
+
+    /**
+     * Record that a cell has just been added to the map. The cell leaves the
+     * frontier and each empty neighbor gains one occupied neighbor.
+     */
+    public void occupy(int q, int r) {
+        remove(HexCoordinate.pack(q, r));
+
+        for (int d = 0; d < HexCoordinate.DIRECTION_COUNT; d++) {
+            int nq = q + HexCoordinate.directionQ(d);
+            int nr = r + HexCoordinate.directionR(d);
+            if (map.contains(nq, nr) || (bounds != null && !bounds.contains(nq, nr))) {
+                continue;
+            }
+
+            long key = HexCoordinate.pack(nq, nr);
+            int slot = slots.get(key);
+            if (slot == HexGrid.ABSENT) {
+                insert(key);
+            } else {
+                increment(slot);
+            }
+        }
+    }
+
+    public int size() {
+        return bucketSizes[OPEN] + bucketSizes[CROWDED];
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Number of frontier cells with at most CROWDED_THRESHOLD occupied neighbors
+     */
+    public int openSize() {
+        return bucketSizes[OPEN];
+    }
+
+    /**
+     * Land selections on the original generator's HashSet order instead of
+     * bucket order. The draws are unchanged; only the cell each draw picks is.
+     */
+    void setBaselineOrder(BaselineOrder baselineOrder) {
+        this.baselineOrder = baselineOrder;
+    }
+
+    public boolean contains(int q, int r) {
+        return slots.contains(q, r);
+    }
+
+    /**
+     * Occupied neighbor count of a frontier cell, or 0 if the cell is not on the frontier
+     */
+    public int getAdjacentCount(int q, int r) {
+        int slot = slots.get(q, r);
+        return slot == HexGrid.ABSENT ? 0 : adjacentCounts[slot];
+    }
+
+    /**
+     * Pick a frontier cell uniformly at random, or null if the frontier is empty
+     */
+    public HexCoordinate selectAny(SeedManager seedManager) {
+        int total = size();
+        if (total == 0) {
+            return null;
+        }
+
+        int choice = seedManager.nextInt(total);
+        if (baselineOrder != null) {
+            return baselineOrder.frontierCell(choice, this, Integer.MAX_VALUE);
+        }
+        if (choice < bucketSizes[OPEN]) {
+            return coordinateOf(buckets[OPEN][choice]);
+        }
+        return coordinateOf(buckets[CROWDED][choice - bucketSizes[OPEN]]);
+    }
+
+    /**
+     * Pick an open frontier cell at random, falling back to a crowded cell when
+     * no open cell exists. Returns null if the frontier is empty.
+     */
+    public HexCoordinate selectOpen(SeedManager seedManager) {
+        int bucket = bucketSizes[OPEN] > 0 ? OPEN : CROWDED;
+        if (bucketSizes[bucket] == 0) {
+            return null;
+        }
+
+        int choice = seedManager.nextInt(bucketSizes[bucket]);
+        if (baselineOrder != null) {
+            // Without open cells every cell is crowded, and the original fell back to all of them
+            return baselineOrder.frontierCell(choice, this, bucket == OPEN ? CROWDED_THRESHOLD : Integer.MAX_VALUE);
+        }
+        return coordinateOf(buckets[bucket][choice]);
+    }
+
+    /**
+     * Independent copy over another map holding the same cells, typically a
+     * copy of this index's map. Bucket order is kept exactly; a baseline order
+     * is not carried over and must be set on the copy.
+     */
+    public FrontierIndex copy(MapBuffer map, int expectedSize) {
+        FrontierIndex copy = new FrontierIndex(map, Math.max(expectedSize, slotCount), bounds);
+        System.arraycopy(keys, 0, copy.keys, 0, slotCount);
+        System.arraycopy(adjacentCounts, 0, copy.adjacentCounts, 0, slotCount);
+        System.arraycopy(positions, 0, copy.positions, 0, slotCount);
+        System.arraycopy(freeSlots, 0, copy.freeSlots, 0, freeCount);
+        copy.freeCount = freeCount;
+        copy.slotCount = slotCount;
+        for (int bucket = OPEN; bucket <= CROWDED; bucket++) {
+            for (int i = 0; i < bucketSizes[bucket]; i++) {
+                int slot = buckets[bucket][i];
+                copy.buckets[bucket][i] = slot;
+                copy.slots.put(keys[slot], slot);
+            }
+            copy.bucketSizes[bucket] = bucketSizes[bucket];
+        }
+        return copy;
+    }
+
+    /**
+     * Heap held by the slot, bucket and grid arrays
+     */
+    public long heapBytes() {
+        return (long) keys.length * (Long.BYTES + 1 + 2 * Integer.BYTES) +
+               (long) (buckets[OPEN].length + buckets[CROWDED].length) * Integer.BYTES +
+               slots.heapBytes();
+    }
+
+    private HexCoordinate coordinateOf(int slot) {
+        long key = keys[slot];
+        return new HexCoordinate(HexCoordinate.unpackQ(key), HexCoordinate.unpackR(key));
+    }
+
+    private void insert(long key) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (slotCount == keys.length) {
+                growSlots();
+            }
+            slot = slotCount++;
+        }
+
+        keys[slot] = key;
+        adjacentCounts[slot] = 1;
+        slots.put(key, slot);
+        push(OPEN, slot);
+    }
+
+    private void increment(int slot) {
+        int count = ++adjacentCounts[slot];
+        if (count == CROWDED_THRESHOLD + 1) {
+            pop(OPEN, slot);
+            push(CROWDED, slot);
+        }
+    }
+
+    private void remove(long key) {
+        int slot = slots.remove(key);
+        if (slot == HexGrid.ABSENT) {
+            return;
+        }
+
+        pop(adjacentCounts[slot] > CROWDED_THRESHOLD ? CROWDED : OPEN, slot);
+        freeSlots[freeCount++] = slot;
+    }
+
+    private void push(int bucket, int slot) {
+        if (bucketSizes[bucket] == buckets[bucket].length) {
+            buckets[bucket] = Arrays.copyOf(buckets[bucket], buckets[bucket].length << 1);
+        }
+        positions[slot] = bucketSizes[bucket];
+        buckets[bucket][bucketSizes[bucket]++] = slot;
+    }
+
+    /**
+     * Remove a slot from a bucket by moving the bucket's last slot into its place
+     */
+    private void pop(int bucket, int slot) {
+        int[] contents = buckets[bucket];
+        int position = positions[slot];
+        int last = contents[--bucketSizes[bucket]];
+        contents[position] = last;
+        positions[last] = position;
+    }
+
+    private void growSlots() {
+        int capacity = keys.length << 1;
+        keys = Arrays.copyOf(keys, capacity);
+        adjacentCounts = Arrays.copyOf(adjacentCounts, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+        freeSlots = Arrays.copyOf(freeSlots, capacity);
+    }
+}
@@ -0,0 +1,97 @@
+package com.encom.mapgen.generator;
+
+import com.encom.mapgen.model.MapBuffer;
+
+/**
+ * Growth state captured at a segment boundary: the map, its frontier and
+ * components, the running statistics and the random stream. Never modified
+ * after capture; MapGenerator resumes from copies, so one checkpoint can be
+ * resumed any number of times, concurrently.
+ *
+ * A checkpoint is taken only after a segment that was not shortened by the
+ * run's target, and every earlier segment had at least as much room. A run
+ * from the origin to any target of at least getMinTargetCount() therefore
+ * passes through exactly this state, and resuming from it yields the same map.
+ * The minimum can be below the checkpoint's own size when the last segment
+ * was a wide corridor; such a run stops right after that segment either way.
+ */
+public final class GrowthCheckpoint {
+    // Fixed cost of the objects around the arrays
+    private static final long OVERHEAD_BYTES = 512;
+
+    private final SeedManager seedManager;
+    private final MapBuffer map;
+    private final FrontierIndex frontier;
+    private final UnionFind components;
+    private final MapStatisticsAccumulator statistics;
+    private final BaselineOrder baselineOrder;
+    private final int minTargetCount;
+
+    GrowthCheckpoint(SeedManager seedManager, MapBuffer map, FrontierIndex frontier, UnionFind components,
+                     MapStatisticsAccumulator statistics, BaselineOrder baselineOrder, int minTargetCount) {
+        this.seedManager = seedManager;
+        this.map = map;
+        this.frontier = frontier;
+        this.components = components;
+        this.statistics = statistics;
+        this.baselineOrder = baselineOrder;
+        this.minTargetCount = minTargetCount;
+    }
+
+    /**
+     * Hexagons placed when the checkpoint was taken
+     */
+    public int getHexagonCount() {
+        return map.size();
+    }
+
+    /**
+     * Smallest target a run resumed from this checkpoint reproduces exactly
+     */
+    public int getMinTargetCount() {
+        return minTargetCount;
+    }
+
+    public boolean appliesTo(int targetHexagonCount) {
+        return targetHexagonCount >= minTargetCount;
+    }
+
+    public String getSeed() {
+        return seedManager.getSeed();
+    }
+
+    /**
+     * Heap held by the captured state, for cache accounting
+     */
+    public long heapBytes() {
+        return map.heapBytes() + frontier.heapBytes() + components.heapBytes() +
+               (baselineOrder == null ? 0 : baselineOrder.heapBytes()) + OVERHEAD_BYTES;
+    }
+
+    SeedManager getSeedManager() {
+        return seedManager;
+    }
+
+    MapBuffer getMap() {
+        return map;
+    }
+
+    FrontierIndex getFrontier() {
+        return frontier;
+    }
+
+    UnionFind getComponents() {
+        return components;
+    }
+
+    MapStatisticsAccumulator getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Replayed iteration orders for java-random-v1 in standard mode, otherwise null
+     */
+    BaselineOrder getBaselineOrder() {
+        return baselineOrder;
+    }
+}
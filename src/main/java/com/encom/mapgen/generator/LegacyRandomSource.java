@@ -0,0 +1,82 @@
+package com.encom.mapgen.generator;
+
+import com.encom.mapgen.model.RngAlgorithm;
+
+/**
+ * Bit-for-bit re-implementation of the java.util.Random linear congruential
+ * generator without its synchronization. Produces exactly the values
+ * new Random(seed) would. Together with the iteration orders BaselineOrder
+ * replays in standard mode, maps generated before the RNG became pluggable
+ * reproduce unchanged.
+ */
+public class LegacyRandomSource implements RandomSource {
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private long state;
+
+    public LegacyRandomSource(long seed) {
+        this.state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    public int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+
+        int r = next(31);
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            return (int) ((bound * (long) r) >> 31);
+        }
+        for (int u = r; u - (r = u % bound) + m < 0; u = next(31)) {
+            // Reject values from the incomplete final range
+        }
+        return r;
+    }
+
+    @Override
+    public long nextLong() {
+        return ((long) next(32) << 32) + next(32);
+    }
+
+    @Override
+    public double nextDouble() {
+        return (((long) next(26) << 27) + next(27)) * DOUBLE_UNIT;
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return next(1) != 0;
+    }
+
+    /**
+     * The legacy algorithm never splits: every phase shares one stream, which is
+     * how maps were generated before splitting existed
+     */
+    @Override
+    public RandomSource split() {
+        return this;
+    }
+
+    @Override
+    public RandomSource copy() {
+        LegacyRandomSource copy = new LegacyRandomSource(0);
+        copy.state = state;
+        return copy;
+    }
+
+    @Override
+    public RngAlgorithm getAlgorithm() {
+        return RngAlgorithm.LEGACY;
+    }
+}
@@ -0,0 +1,238 @@
+package com.encom.mapgen.generator;
+
+import com.encom.mapgen.model.HexCoordinate;
+import com.encom.mapgen.model.HexGrid;
+import com.encom.mapgen.model.MapBuffer;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Exact diameter of a connected map, measured in connection steps.
+ * Keeps lower and upper eccentricity bounds for every hexagon (the
+ * BoundingDiameters scheme, a generalisation of the double sweep). Each round
+ * runs a BFS from the candidate with the largest upper bound and one from the
+ * candidate with the smallest lower bound, tightens every bound from the
+ * distances, and drops hexagons that can no longer change the answer. Hex
+ * maps usually settle after a few dozen BFS passes instead of one per hexagon.
+ * A search limit caps the work at a fixed number of passes; if the bounds have
+ * not met by then the result is the best lower bound found.
+ */
+public class MapDiameter {
+    /** Maps at least this large run the two BFS passes of each round in parallel */
+    public static final int PARALLEL_THRESHOLD = 50_000;
+
+    private final MapBuffer map;
+    private final boolean parallel;
+    private final int maxSearches;
+
+    // Compressed adjacency: neighbors of i are targets[offsets[i]] .. targets[offsets[i + 1] - 1]
+    private int[] offsets;
+    private int[] targets;
+
+    private int diameter;
+    private int startIndex = HexGrid.ABSENT;
+    private int endIndex = HexGrid.ABSENT;
+    private int searches;
+    private boolean exact = true;
+
+    public MapDiameter(MapBuffer map) {
+        this(map, map.size() >= PARALLEL_THRESHOLD);
+    }
+
+    public MapDiameter(MapBuffer map, boolean parallel) {
+        this(map, parallel, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxSearches stop after this many breadth-first searches, leaving a lower bound
+     */
+    public MapDiameter(MapBuffer map, boolean parallel, int maxSearches) {
+        if (maxSearches < 1) {
+            throw new IllegalArgumentException("At least one search is required");
+        }
+        this.map = map;
+        this.parallel = parallel;
+        this.maxSearches = maxSearches;
+        compute();
+    }
+
+    /**
+     * Number of connections on the longest shortest path
+     */
+    public int getDiameter() {
+        return diameter;
+    }
+
+    /**
+     * Index of one end of a longest shortest path, or HexGrid.ABSENT for an empty map
+     */
+    public int getStartIndex() {
+        return startIndex;
+    }
+
+    /**
+     * Index of the other end of a longest shortest path, or HexGrid.ABSENT for an empty map
+     */
+    public int getEndIndex() {
+        return endIndex;
+    }
+
+    /**
+     * Number of breadth-first searches the computation needed
+     */
+    public int getSearchCount() {
+        return searches;
+    }
+
+    /**
+     * False if the search limit stopped the computation before the bounds met
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    private void compute() {
+        int size = map.size();
+        if (size == 0) {
+            return;
+        }
+
+        buildAdjacency();
+
+        int[] lower = new int[size];
+        int[] upper = new int[size];
+        Arrays.fill(upper, Integer.MAX_VALUE);
+        boolean[] candidate = new boolean[size];
+        Arrays.fill(candidate, true);
+        int candidates = size;
+        int upperBound = Integer.MAX_VALUE;
+
+        Workspace[] workspaces = {new Workspace(size), new Workspace(size)};
+        int[] sources = new int[2];
+
+        while (candidates > 0 && diameter < upperBound) {
+            if (searches >= maxSearches) {
+                exact = false;
+                break;
+            }
+
+            // Largest upper bound first, then smallest lower bound; ties go to the lowest index
+            int widest = HexGrid.ABSENT;
+            int narrowest = HexGrid.ABSENT;
+            for (int v = 0; v < size; v++) {
+                if (candidate[v] && (widest == HexGrid.ABSENT || upper[v] > upper[widest])) {
+                    widest = v;
+                }
+            }
+            for (int v = 0; v < size; v++) {
+                if (candidate[v] && v != widest && (narrowest == HexGrid.ABSENT || lower[v] < lower[narrowest])) {
+                    narrowest = v;
+                }
+            }
+
+            sources[0] = widest;
+            sources[1] = narrowest;
+            int passes = narrowest == HexGrid.ABSENT || searches + 1 >= maxSearches ? 1 : 2;
+            if (parallel && passes == 2) {
+                IntStream.range(0, 2).parallel().forEach(i -> workspaces[i].bfs(sources[i]));
+            } else {
+                for (int i = 0; i < passes; i++) {
+                    workspaces[i].bfs(sources[i]);
+                }
+            }
+
+            // Apply results in a fixed order so parallel and sequential runs agree
+            for (int i = 0; i < passes; i++) {
+                Workspace workspace = workspaces[i];
+                int source = sources[i];
+                int eccentricity = workspace.distance[workspace.last];
+                searches++;
+                if (candidate[source]) {
+                    candidate[source] = false;
+                    candidates--;
+                }
+
+                if (startIndex == HexGrid.ABSENT || eccentricity > diameter) {
+                    diameter = eccentricity;
+                    startIndex = source;
+                    endIndex = workspace.last;
+                }
+                upperBound = Math.min(upperBound, 2 * eccentricity);
+
+                for (int v = 0; v < size; v++) {
+                    if (!candidate[v]) continue;
+
+                    int distance = workspace.distance[v];
+                    lower[v] = Math.max(lower[v], Math.max(distance, eccentricity - distance));
+                    upper[v] = Math.min(upper[v], eccentricity + distance);
+
+                    // v can neither lengthen the diameter nor tighten the upper bound
+                    if (upper[v] <= diameter && 2 * lower[v] >= upperBound) {
+                        candidate[v] = false;
+                        candidates--;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolve every connection to an index once so searches never touch the coordinate grid
+     */
+    private void buildAdjacency() {
+        int size = map.size();
+        offsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            offsets[i + 1] = offsets[i] + map.getConnectionCount(i);
+        }
+
+        targets = new int[offsets[size]];
+        for (int i = 0; i < size; i++) {
+            int position = offsets[i];
+            for (int d = 0; d < HexCoordinate.DIRECTION_COUNT; d++) {
+                if (map.isConnected(i, d)) {
+                    targets[position++] = map.neighborIndex(i, d);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reusable BFS buffers over the map's connections
+     */
+    private class Workspace {
+        final int[] distance;
+        final int[] queue;
+        int last;
+
+        Workspace(int size) {
+            distance = new int[size];
+            queue = new int[size];
+        }
+
+        /**
+         * Breadth-first search from a hexagon, remembering the last hexagon reached
+         */
+        void bfs(int source) {
+            Arrays.fill(distance, -1);
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = source;
+            distance[source] = 0;
+
+            while (head < tail) {
+                int current = queue[head++];
+                for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                    int next = targets[e];
+                    if (distance[next] < 0) {
+                        distance[next] = distance[current] + 1;
+                        queue[tail++] = next;
+                    }
+                }
+            }
+
+            last = queue[tail - 1];
+        }
+    }
+}
@@ -7,7 +7,7 @@ import org.apache.logging.log4j.Logger;
 
 import java.time.Instant;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * Core map generation engine using frontier-based growth algorithm
@@ -15,28 +15,163 @@ import java.util.stream.Collectors;
 public class MapGenerator {
     private static final Logger logger = LogManager.getLogger(MapGenerator.class);
     
+    // Large mode bounds the work of the longest path search
+    static final int LARGE_MAP_DIAMETER_SEARCHES = 16;
+    
+    /** Peak heap per hexagon during generation, measured on the large-map benchmark */
+    public static final int HEAP_BYTES_PER_HEXAGON = 160;
+    
+    /**
+     * Version of the map a request produces, shared by every generator. Bump it
+     * with any change that alters the map for an existing seed, so entity tags
+     * and shared caches stop matching maps from the old algorithm.
+     */
+    public static final int ALGORITHM_VERSION = 2;
+    
+    // Longest corridor growth asks for in one segment
+    static final int MAX_CORRIDOR_LENGTH = 8;
+    
     private final SeedManager seedManager;
     private final GenerationOptions options;
+    private final GenerationMode mode;
     private final CorridorGenerator corridorGenerator;
     private final RoomGenerator roomGenerator;
     
-    // Map state
-    private final Map<String, Hexagon> hexagonMap;
-    private final Set<HexCoordinate> frontier;
+    // Map state - hexagons are stored column-wise in insertion order
+    private final MapBuffer map;
+    private FrontierIndex frontier;
+    private final UnionFind components;
+    private final MapStatisticsAccumulator statistics;
     private int currentHexagonCount;
     
+    // Iteration orders of the original generator, replayed for java-random-v1 in standard mode
+    private BaselineOrder baselineOrder;
+    
+    // Hexagon counts to capture growth checkpoints at, ascending, and where they go
+    private int[] checkpointCounts = new int[0];
+    private Consumer<GrowthCheckpoint> checkpointListener;
+    
+    // Verify post-processing removals with a full BFS instead of the bridge test
+    private boolean exhaustiveConnectivityChecks;
+    
+    // Re-check connectivity with a full BFS after generation
+    private boolean paranoidValidation;
+    
     public MapGenerator(GenerationRequest request) {
-        this.seedManager = new SeedManager(request.getSeed());
-        this.options = request.getOptions();
-        this.corridorGenerator = new CorridorGenerator(seedManager, options);
-        this.roomGenerator = new RoomGenerator(seedManager, options);
+        this(new SeedManager(request.getSeed(), RngAlgorithm.fromId(request.getRngAlgorithm())), 
+             request.getOptions(), GenerationMode.fromValue(request.getMode()), 
+             request.getHexagonCount(), null);
+        if (replaysBaselineOrder(seedManager.getAlgorithm(), mode)) {
+            setBaselineOrder(new BaselineOrder(request.getHexagonCount()));
+        }
         
-        this.hexagonMap = new HashMap<>();
-        this.frontier = new HashSet<>();
-        this.currentHexagonCount = 0;
+        logger.info("MapGenerator initialized with seed: {}, rng: {}, mode: {}, target count: {}", 
+                   seedManager.getSeed(), seedManager.getAlgorithm(), mode, request.getHexagonCount());
+    }
+    
+    /**
+     * @param bounds region growth must stay inside, or null for an unbounded map
+     */
+    MapGenerator(SeedManager seedManager, GenerationOptions options, GenerationMode mode, 
+                 int expectedHexagons, MapManifest.BoundingBox bounds) {
+        this(seedManager, options, mode, bounds, new MapBuffer(expectedHexagons), 
+             new UnionFind(expectedHexagons), new MapStatisticsAccumulator());
+        this.frontier = new FrontierIndex(map, frontierCapacity(expectedHexagons), bounds);
+    }
+    
+    /**
+     * Carry on growing from a checkpoint of an earlier run for the same seed,
+     * algorithm and options. The map is identical to one grown from the origin
+     * as long as the checkpoint applies to the request's hexagon count.
+     */
+    public MapGenerator(GenerationRequest request, GrowthCheckpoint checkpoint) {
+        this(checkpoint.getSeedManager().copy(), request.getOptions(), GenerationMode.fromValue(request.getMode()), 
+             null, checkpoint.getMap().copy(request.getHexagonCount()), 
+             checkpoint.getComponents().copy(request.getHexagonCount()), checkpoint.getStatistics().copy());
+        
+        if (!checkpoint.getSeed().equals(request.getSeed() == null ? null : request.getSeed().trim()) || 
+                seedManager.getAlgorithm() != RngAlgorithm.fromId(request.getRngAlgorithm())) {
+            throw new IllegalArgumentException("Checkpoint was taken for a different seed or algorithm");
+        }
+        if (!checkpoint.appliesTo(request.getHexagonCount())) {
+            throw new IllegalArgumentException("Checkpoint does not apply to " + request.getHexagonCount() + 
+                                               " hexagons");
+        }
+        if ((checkpoint.getBaselineOrder() != null) != replaysBaselineOrder(seedManager.getAlgorithm(), mode)) {
+            throw new IllegalArgumentException("Checkpoint was taken in a mode that grows differently");
+        }
+        this.frontier = checkpoint.getFrontier().copy(map, frontierCapacity(request.getHexagonCount()));
+        if (checkpoint.getBaselineOrder() != null) {
+            setBaselineOrder(checkpoint.getBaselineOrder().copy(request.getHexagonCount()));
+        }
         
-        logger.info("MapGenerator initialized with seed: {}, target count: {}", 
-                   seedManager.getSeed(), request.getHexagonCount());
+        logger.info("MapGenerator resumed at {} hexagons with seed: {}, rng: {}, mode: {}, target count: {}", 
+                   currentHexagonCount, seedManager.getSeed(), seedManager.getAlgorithm(), mode, 
+                   request.getHexagonCount());
+    }
+    
+    private MapGenerator(SeedManager seedManager, GenerationOptions options, GenerationMode mode, 
+                         MapManifest.BoundingBox bounds, MapBuffer map, UnionFind components, 
+                         MapStatisticsAccumulator statistics) {
+        this.seedManager = seedManager;
+        this.options = options;
+        this.mode = mode;
+        this.corridorGenerator = new CorridorGenerator(seedManager, options, bounds);
+        this.roomGenerator = new RoomGenerator(seedManager, options, bounds);
+        
+        this.map = map;
+        this.components = components;
+        this.statistics = statistics;
+        this.currentHexagonCount = map.size();
+    }
+    
+    /**
+     * Standard mode maps for java-random-v1 are the ones earlier releases made,
+     * so they replay that generator's iteration orders. Other algorithms and
+     * the world-scale modes never had those maps and use the indexed orders.
+     */
+    private static boolean replaysBaselineOrder(RngAlgorithm algorithm, GenerationMode mode) {
+        return algorithm == RngAlgorithm.LEGACY && mode == GenerationMode.STANDARD;
+    }
+    
+    private void setBaselineOrder(BaselineOrder baselineOrder) {
+        this.baselineOrder = baselineOrder;
+        frontier.setBaselineOrder(baselineOrder);
+    }
+    
+    /**
+     * The frontier tracks the map's edge, a shrinking share of it as maps grow
+     */
+    private static int frontierCapacity(int expectedHexagons) {
+        return Math.min(expectedHexagons, 1024 + expectedHexagons / 4);
+    }
+    
+    /**
+     * Capture a growth checkpoint just short of each of the given hexagon
+     * counts and hand it to the listener. Checkpoints are taken at the first
+     * segment boundary within one growth window of the count, so any run
+     * reaching the count takes the same checkpoint whatever its target.
+     */
+    public void setCheckpoints(int[] hexagonCounts, Consumer<GrowthCheckpoint> listener) {
+        this.checkpointCounts = hexagonCounts.clone();
+        Arrays.sort(this.checkpointCounts);
+        this.checkpointListener = listener;
+    }
+    
+    /**
+     * Use full-map BFS connectivity checks during corridor post-processing.
+     * Slow, but useful as a reference when testing the bridge-based checks.
+     */
+    void setExhaustiveConnectivityChecks(boolean exhaustiveConnectivityChecks) {
+        this.exhaustiveConnectivityChecks = exhaustiveConnectivityChecks;
+    }
+    
+    /**
+     * Run a full BFS connectivity check after generation in addition to the
+     * union-find component count. Intended for debugging.
+     */
+    public void setParanoidValidation(boolean paranoidValidation) {
+        this.paranoidValidation = paranoidValidation;
     }
     
     /**
@@ -48,17 +183,8 @@ public class MapGenerator {
         try {
             logger.info("Starting map generation for {} hexagons", targetHexagonCount);
             
-            // Initialize with starting hexagon at origin
-            initializeMap();
-            
-            // Growth phase - add hexagons until target reached
-            growMap(targetHexagonCount);
-            
-            // Post-processing phase - optimize corridor paths
-            postProcessCorridors();
-            
-            // Validate connectivity
-            validateMap();
+            // Grow from the origin, thin out corridors and validate connectivity
+            buildMap(0, 0, targetHexagonCount);
             
             // Calculate statistics
             MapManifest.Statistics statistics = calculateStatistics();
@@ -68,14 +194,13 @@ public class MapGenerator {
                                                         System.currentTimeMillis() - startTime, 
                                                         statistics);
             
-            List<Hexagon> hexagonList = new ArrayList<>(hexagonMap.values());
-            MapManifest manifest = new MapManifest(metadata, hexagonList);
+            MapManifest manifest = new MapManifest(metadata, map);
             
             logger.info("Map generation completed successfully in {}ms", 
                        System.currentTimeMillis() - startTime);
             
             return manifest;
-            
+        
         } catch (Exception e) {
             logger.error("Map generation failed", e);
             throw new RuntimeException("Failed to generate map: " + e.getMessage(), e);
@@ -83,30 +208,68 @@ public class MapGenerator {
     }
     
     /**
-     * Initialize map with starting hexagon at origin
+     * Generate one tile of a tiled map: the hexagons and connections only, with
+     * no statistics or metadata
      */
-    private void initializeMap() {
-        HexCoordinate origin = new HexCoordinate(0, 0);
-        Hexagon startHex = new Hexagon(origin, Hexagon.HexType.CORRIDOR);
+    MapBuffer generateTile(int originQ, int originR, int targetHexagonCount) {
+        buildMap(originQ, originR, targetHexagonCount);
+        return map;
+    }
+    
+    /**
+     * Growth, corridor post-processing and connectivity validation
+     */
+    private void buildMap(int originQ, int originR, int targetHexagonCount) {
+        // Initialize with starting hexagon at the origin, unless resuming from a checkpoint
+        if (map.isEmpty()) {
+            initializeMap(originQ, originR);
+        }
         
-        hexagonMap.put(startHex.getId(), startHex);
+        // Growth phase - add hexagons until target reached
+        growMap(targetHexagonCount);
+        frontier = null; // No longer needed; release it before the later phases allocate
+        
+        // Post-processing phase - optimize corridor paths
+        CorridorPostProcessor postProcessor = new CorridorPostProcessor(map, seedManager.split(), 
+                                                                        statistics, exhaustiveConnectivityChecks);
+        postProcessor.setBaselineOrder(baselineOrder);
+        postProcessor.process();
+        
+        // Validate connectivity
+        validateMap();
+    }
+    
+    /**
+     * Initialize map with starting hexagon at the origin
+     */
+    private void initializeMap(int originQ, int originR) {
+        map.add(originQ, originR, Hexagon.HexType.CORRIDOR);
+        components.add();
+        statistics.hexagonAdded(originQ, originR, Hexagon.HexType.CORRIDOR);
         currentHexagonCount = 1;
         
         // Add neighbors to frontier
-        origin.getNeighbors().forEach(frontier::add);
+        frontier.occupy(originQ, originR);
+        if (baselineOrder != null) {
+            baselineOrder.hexagonsAdded(Collections.singletonList(new HexCoordinate(originQ, originR)), map);
+        }
         
-        logger.debug("Map initialized with starting hexagon at origin");
+        logger.debug("Map initialized with starting hexagon at ({}, {})", originQ, originR);
     }
     
     /**
      * Main growth algorithm - continue until target count reached
      */
     private void growMap(int targetHexagonCount) {
+        // Counts already passed were captured by the run that made the checkpoint
+        int nextCheckpoint = skipCheckpoints(0);
+        
         while (currentHexagonCount < targetHexagonCount && !frontier.isEmpty()) {
             // Decide whether to generate corridor or room
             boolean shouldGenerateCorridor = seedManager.shouldGenerateCorridor(options.getCorridorRatio());
             
             int remainingHexagons = targetHexagonCount - currentHexagonCount;
+            int segmentStart = currentHexagonCount;
             
             if (shouldGenerateCorridor) {
                 generateCorridorSegment(remainingHexagons);
@@ -114,6 +277,13 @@ public class MapGenerator {
                 generateRoomCluster(remainingHexagons);
             }
             
+            // Only a segment the target did not shorten ends at a state every larger target passes through
+            if (nextCheckpoint < checkpointCounts.length && remainingHexagons >= growthWindow() && 
+                    currentHexagonCount >= checkpointCounts[nextCheckpoint] - growthWindow()) {
+                nextCheckpoint = skipCheckpoints(nextCheckpoint);
+                captureCheckpoint(segmentStart + growthWindow());
+            }
+            
             // Safety check to prevent infinite loops
             if (frontier.isEmpty()) {
                 logger.warn("Frontier exhausted with {} hexagons generated", currentHexagonCount);
@@ -124,12 +294,43 @@ public class MapGenerator {
         logger.info("Growth phase completed: {} hexagons generated", currentHexagonCount);
     }
     
+    /**
+     * Largest segment size growth asks for; segments are not shortened by the
+     * target while at least this many hexagons remain
+     */
+    private int growthWindow() {
+        return Math.max(MAX_CORRIDOR_LENGTH, options.getRoomSizeMax());
+    }
+    
+    /**
+     * Index of the first checkpoint count not yet within reach of the map
+     */
+    private int skipCheckpoints(int from) {
+        int next = from;
+        while (next < checkpointCounts.length && checkpointCounts[next] - growthWindow() <= currentHexagonCount) {
+            next++;
+        }
+        return next;
+    }
+    
+    /**
+     * Hand a compact copy of the growth state to the checkpoint listener
+     */
+    private void captureCheckpoint(int minTargetCount) {
+        MapBuffer mapCopy = map.copy(map.size());
+        checkpointListener.accept(new GrowthCheckpoint(seedManager.copy(), mapCopy, frontier.copy(mapCopy, 0), 
+                                                       components.copy(map.size()), statistics.copy(), 
+                                                       baselineOrder == null ? null : baselineOrder.copy(0), 
+                                                       minTargetCount));
+        logger.debug("Growth checkpoint captured at {} hexagons", currentHexagonCount);
+    }
+    
     /**
      * Generate a corridor segment from frontier
      */
     private void generateCorridorSegment(int maxHexagons) {
         List<HexCoordinate> corridorHexagons = corridorGenerator.generateCorridor(
-                frontier, hexagonMap, Math.min(maxHexagons, 8));
+                frontier, map, Math.min(maxHexagons, MAX_CORRIDOR_LENGTH));
         
         addHexagonsToMap(corridorHexagons, Hexagon.HexType.CORRIDOR);
     }
@@ -151,7 +352,7 @@ public class MapGenerator {
                       seedManager.nextInt(minRoomSize, maxPossibleRoomSize + 1);
         
         List<HexCoordinate> roomHexagons = roomGenerator.generateRoom(
-                frontier, hexagonMap, roomSize);
+                frontier, map, roomSize);
         
         addHexagonsToMap(roomHexagons, Hexagon.HexType.ROOM);
     }
@@ -166,22 +367,23 @@ public class MapGenerator {
         
         // Create hexagons
         for (HexCoordinate coord : coordinates) {
-            if (!hexagonMap.containsKey(coord.toId())) {
-                Hexagon hex = new Hexagon(coord, type);
-                hexagonMap.put(hex.getId(), hex);
+            if (!map.contains(coord.getQ(), coord.getR())) {
+                map.add(coord.getQ(), coord.getR(), type);
+                components.add();
+                statistics.hexagonAdded(coord.getQ(), coord.getR(), type);
                 currentHexagonCount++;
                 
-                // Remove from frontier if present
-                frontier.remove(coord);
+                // Move the cell off the frontier and update its neighbors' counts
+                frontier.occupy(coord.getQ(), coord.getR());
             }
         }
+        if (baselineOrder != null) {
+            baselineOrder.hexagonsAdded(coordinates, map);
+        }
         
         // Update connections
         updateConnections(coordinates);
         
-        // Update frontier with new neighbors
-        updateFrontier(coordinates);
-        
         logger.debug("Added {} {} hexagons to map", coordinates.size(), type);
     }
     
@@ -190,41 +392,37 @@ public class MapGenerator {
      */
     private void updateConnections(List<HexCoordinate> newCoordinates) {
         for (HexCoordinate coord : newCoordinates) {
-            Hexagon hex = hexagonMap.get(coord.toId());
-            if (hex == null) continue;
+            int index = map.indexOf(coord.getQ(), coord.getR());
+            if (index == HexGrid.ABSENT) continue;
             
             // Check each neighbor
-            for (HexCoordinate neighbor : coord.getNeighbors()) {
-                Hexagon neighborHex = hexagonMap.get(neighbor.toId());
-                if (neighborHex != null) {
+            for (int d = 0; d < HexCoordinate.DIRECTION_COUNT; d++) {
+                int neighbor = map.neighborIndex(index, d);
+                if (neighbor != HexGrid.ABSENT && !map.isConnected(index, d)) {
                     // Create bidirectional connection
-                    hex.addConnection(neighborHex.getId());
-                    neighborHex.addConnection(hex.getId());
-                }
-            }
-        }
-    }
-    
-    /**
-     * Update frontier with new expansion possibilities
-     */
-    private void updateFrontier(List<HexCoordinate> newCoordinates) {
-        for (HexCoordinate coord : newCoordinates) {
-            for (HexCoordinate neighbor : coord.getNeighbors()) {
-                // Add to frontier if not already occupied
-                if (!hexagonMap.containsKey(neighbor.toId())) {
-                    frontier.add(neighbor);
+                    map.connect(index, neighbor, d);
+                    if (baselineOrder != null) {
+                        baselineOrder.connected(index, neighbor, d);
+                    }
+                    components.union(index, neighbor);
+                    statistics.connected(map, index, neighbor);
                 }
             }
         }
     }
     
     /**
-     * Validate the generated map for connectivity
+     * Validate the generated map for connectivity.
+     * Post-processing only ever removes non-bridge connections, so the component
+     * count tracked during growth is still exact and the check is O(1).
      */
     private void validateMap() {
-        MapValidator validator = new MapValidator();
-        boolean isValid = validator.validateConnectivity(new ArrayList<>(hexagonMap.values()));
+        boolean isValid = components.getComponentCount() == 1;
+        
+        if (isValid && paranoidValidation) {
+            MapValidator validator = new MapValidator();
+            isValid = validator.validateBufferConnectivity(map);
+        }
         
         if (!isValid) {
             throw new RuntimeException("Generated map failed connectivity validation");
@@ -234,99 +432,36 @@ public class MapGenerator {
     }
     
     /**
-     * Calculate detailed statistics about the generated map
+     * Calculate detailed statistics about the generated map.
+     * Everything except the longest path comes from the running accumulator.
      */
     private MapManifest.Statistics calculateStatistics() {
-        MapManifest.Statistics stats = new MapManifest.Statistics();
-        
-        List<Hexagon> hexagons = new ArrayList<>(hexagonMap.values());
+        MapManifest.Statistics stats = statistics.toStatistics();
         
-        // Basic counts
-        stats.setActualHexagons(hexagons.size());
-        stats.setCorridorHexagons((int) hexagons.stream()
-                .filter(h -> h.getType() == Hexagon.HexType.CORRIDOR).count());
-        stats.setRoomHexagons((int) hexagons.stream()
-                .filter(h -> h.getType() == Hexagon.HexType.ROOM).count());
-        
-        // Connection statistics
-        double avgConnections = hexagons.stream()
-                .mapToInt(Hexagon::getConnectionCount)
-                .average()
-                .orElse(0.0);
-        stats.setAverageConnections(Math.round(avgConnections * 100.0) / 100.0);
-        
-        int maxConnections = hexagons.stream()
-                .mapToInt(Hexagon::getConnectionCount)
-                .max()
-                .orElse(0);
-        stats.setMaxConnections(maxConnections);
-        
-        // Longest path (simplified BFS from random starting point)
-        stats.setLongestPath(calculateLongestPath(hexagons));
-        
-        // Bounding box
-        stats.setBoundingBox(calculateBoundingBox(hexagons));
+        // Longest path (exact map diameter)
+        calculateLongestPath(stats);
         
         return stats;
     }
     
     /**
-     * Calculate the longest path in the map using BFS
-     */
-    private int calculateLongestPath(List<Hexagon> hexagons) {
-        if (hexagons.isEmpty()) return 0;
-        
-        // Use BFS to find longest path from a random starting hexagon
-        Hexagon start = hexagons.get(seedManager.nextInt(hexagons.size()));
-        return bfsLongestPath(start, hexagons);
-    }
-    
-    /**
-     * BFS to find longest path from a starting hexagon
+     * Calculate the longest shortest path (diameter) and its endpoints.
+     * Exact in standard mode; large mode may stop at a lower bound.
      */
-    private int bfsLongestPath(Hexagon start, List<Hexagon> hexagons) {
-        Map<String, Hexagon> hexMap = hexagons.stream()
-                .collect(Collectors.toMap(Hexagon::getId, h -> h));
-        
-        Queue<String> queue = new LinkedList<>();
-        Map<String, Integer> distances = new HashMap<>();
-        
-        queue.offer(start.getId());
-        distances.put(start.getId(), 0);
-        
-        int maxDistance = 0;
-        
-        while (!queue.isEmpty()) {
-            String currentId = queue.poll();
-            Hexagon current = hexMap.get(currentId);
-            int currentDistance = distances.get(currentId);
-            
-            for (String connId : current.getConnections()) {
-                if (!distances.containsKey(connId)) {
-                    distances.put(connId, currentDistance + 1);
-                    queue.offer(connId);
-                    maxDistance = Math.max(maxDistance, currentDistance + 1);
-                }
-            }
-        }
-        
-        return maxDistance;
-    }
-    
-    /**
-     * Calculate bounding box of all hexagons
-     */
-    private MapManifest.BoundingBox calculateBoundingBox(List<Hexagon> hexagons) {
-        if (hexagons.isEmpty()) {
-            return new MapManifest.BoundingBox(0, 0, 0, 0);
+    private void calculateLongestPath(MapManifest.Statistics stats) {
+        if (map.isEmpty()) {
+            return;
         }
         
-        int minQ = hexagons.stream().mapToInt(Hexagon::getQ).min().orElse(0);
-        int maxQ = hexagons.stream().mapToInt(Hexagon::getQ).max().orElse(0);
-        int minR = hexagons.stream().mapToInt(Hexagon::getR).min().orElse(0);
-        int maxR = hexagons.stream().mapToInt(Hexagon::getR).max().orElse(0);
-        
-        return new MapManifest.BoundingBox(minQ, maxQ, minR, maxR);
+        MapDiameter diameter = mode == GenerationMode.LARGE
+            ? new MapDiameter(map, map.size() >= MapDiameter.PARALLEL_THRESHOLD, LARGE_MAP_DIAMETER_SEARCHES)
+            : new MapDiameter(map);
+        stats.setLongestPath(diameter.getDiameter());
+        stats.setLongestPathExact(diameter.isExact());
+        stats.setLongestPathStart(HexCoordinate.toId(map.getQ(diameter.getStartIndex()), 
+                                                     map.getR(diameter.getStartIndex())));
+        stats.setLongestPathEnd(HexCoordinate.toId(map.getQ(diameter.getEndIndex()), 
+                                                   map.getR(diameter.getEndIndex())));
     }
     
     /**
@@ -336,6 +471,7 @@ public class MapGenerator {
                                              MapManifest.Statistics statistics) {
         MapManifest.Metadata metadata = new MapManifest.Metadata();
         metadata.setSeed(seedManager.getSeed());
+        metadata.setRngAlgorithm(seedManager.getAlgorithm().getId());
         metadata.setHexagonCount(targetCount);
         metadata.setGenerationTime(generationTime);
         metadata.setStatistics(statistics);
@@ -343,236 +479,6 @@ public class MapGenerator {
         return metadata;
     }
     
-    /**
-     * Post-process corridors to reduce clustering while preserving connectivity
-     * Allows up to 3 connections occasionally for branching
-     */
-    private void postProcessCorridors() {
-        logger.info("Starting corridor post-processing");
-        
-        List<Hexagon> corridors = hexagonMap.values().stream()
-                .filter(hex -> hex.getType() == Hexagon.HexType.CORRIDOR)
-                .collect(Collectors.toList());
-        
-        int connectionsRemoved = 0;
-        int corridorsProcessed = 0;
-        
-        // Sort corridors by connection count (highest first) to process worst cases first
-        corridors.sort((a, b) -> Integer.compare(b.getConnectionCount(), a.getConnectionCount()));
-        
-        for (Hexagon corridor : corridors) {
-            int connectionCount = corridor.getConnectionCount();
-            
-            // Process corridors with 3+ connections (prioritize 2, allow 3 if needed)
-            if (connectionCount >= 3) {
-                int beforeCount = corridor.getConnectionCount();
-                int removed = reduceCorridorConnections(corridor);
-                int afterCount = corridor.getConnectionCount();
-                
-                if (removed > 0) {
-                    logger.debug("Processed corridor {}: {} -> {} connections ({} removed)", 
-                               corridor.getId(), beforeCount, afterCount, removed);
-                }
-                
-                connectionsRemoved += removed;
-                corridorsProcessed++;
-            }
-        }
-        
-        logger.info("Corridor post-processing completed: {} connections removed from {} corridors out of {} total", 
-                   connectionsRemoved, corridorsProcessed, corridors.size());
-    }
-    
-    /**
-     * Reduce corridor connections while preserving connectivity
-     * Priority: reduce to 2 connections, allow 3 if needed for connectivity
-     */
-    private int reduceCorridorConnections(Hexagon corridor) {
-        List<String> connections = new ArrayList<>(corridor.getConnections());
-        
-        if (connections.size() <= 2) {
-            return 0; // Already at ideal target
-        }
-        
-        // Get coordinates of connected hexagons
-        List<HexCoordinate> connectedCoords = connections.stream()
-                .map(connId -> hexagonMap.get(connId))
-                .filter(Objects::nonNull)
-                .map(hex -> new HexCoordinate(hex.getQ(), hex.getR()))
-                .collect(Collectors.toList());
-        
-        if (connectedCoords.size() <= 3) {
-            return 0;
-        }
-        
-        // Find connections to remove one by one, checking connectivity after each removal
-        int connectionsRemoved = 0;
-        HexCoordinate corridorCoord = new HexCoordinate(corridor.getQ(), corridor.getR());
-        
-        // Calculate linearity scores for all connections
-        List<ConnectionScore> connectionScores = new ArrayList<>();
-        for (int i = 0; i < connections.size(); i++) {
-            String connId = connections.get(i);
-            HexCoordinate connCoord = connectedCoords.get(i);
-            double score = calculateConnectionImportance(corridorCoord, connCoord, connections, connectedCoords);
-            connectionScores.add(new ConnectionScore(connId, score));
-        }
-        
-        // Sort by importance (lowest first - these are candidates for removal)
-        connectionScores.sort((a, b) -> Double.compare(a.score, b.score));
-        
-        // Try to remove connections starting with least important, checking connectivity
-        // Priority: get down to 2 connections, but allow 3 if needed for connectivity
-        for (ConnectionScore connScore : connectionScores) {
-            // First pass: try to get to 2 connections
-            if (corridor.getConnectionCount() <= 2) {
-                break; // Reached ideal target
-            }
-            
-            // Second priority: allow up to 3 connections but no more
-            if (corridor.getConnectionCount() == 3) {
-                // Only remove if we can get to 2 without breaking connectivity
-                // This is more aggressive for the 3->2 transition
-            }
-            
-            String connId = connScore.connectionId;
-            
-            // Test removal - temporarily remove and check connectivity
-            corridor.removeConnection(connId);
-            Hexagon connectedHex = hexagonMap.get(connId);
-            if (connectedHex != null) {
-                connectedHex.removeConnection(corridor.getId());
-            }
-            
-            // Check if map is still connected
-            if (isMapConnected()) {
-                // Good removal - keep it removed
-                connectionsRemoved++;
-                logger.debug("Safely removed connection {} from corridor {}", connId, corridor.getId());
-            } else {
-                // Bad removal - restore the connection
-                corridor.addConnection(connId);
-                if (connectedHex != null) {
-                    connectedHex.addConnection(corridor.getId());
-                }
-                logger.debug("Restored connection {} to corridor {} (needed for connectivity)", connId, corridor.getId());
-            }
-        }
-        
-        return connectionsRemoved;
-    }
-    
-    /**
-     * Helper class to store connection with its importance score
-     */
-    private static class ConnectionScore {
-        String connectionId;
-        double score;
-        
-        ConnectionScore(String connectionId, double score) {
-            this.connectionId = connectionId;
-            this.score = score;
-        }
-    }
-    
-    /**
-     * Calculate importance score for a connection (lower = less important = candidate for removal)
-     * Prioritizes linear paths for corridor flow
-     */
-    private double calculateConnectionImportance(HexCoordinate center, HexCoordinate target,
-                                               List<String> allConnections, List<HexCoordinate> allCoords) {
-        // Base score starts at 0
-        double importance = 0.0;
-        
-        // Factor 1: Linearity with other connections (heavily weighted for straight corridors)
-        double maxLinearity = 0.0;
-        for (int i = 0; i < allCoords.size(); i++) {
-            HexCoordinate other = allCoords.get(i);
-            if (!other.equals(target)) {
-                double linearity = calculateLinearity(target, center, other);
-                maxLinearity = Math.max(maxLinearity, linearity);
-            }
-        }
-        importance += maxLinearity * 3.0; // Increased weight for linearity
-        
-        // Factor 2: Distance (hexagonal grid distance)
-        double distance = center.distanceTo(target);
-        importance += 1.0 / (distance + 1.0);
-        
-        // Factor 3: Small random factor to break ties deterministically
-        importance += seedManager.nextDouble() * 0.05; // Reduced randomness
-        
-        return importance;
-    }
-    
-    /**
-     * Check if the map is still fully connected using BFS
-     */
-    private boolean isMapConnected() {
-        List<Hexagon> allHexagons = new ArrayList<>(hexagonMap.values());
-        if (allHexagons.isEmpty()) {
-            return true;
-        }
-        
-        // Start BFS from first hexagon
-        Set<String> visited = new HashSet<>();
-        Queue<String> queue = new LinkedList<>();
-        
-        String startId = allHexagons.get(0).getId();
-        queue.offer(startId);
-        visited.add(startId);
-        
-        while (!queue.isEmpty()) {
-            String currentId = queue.poll();
-            Hexagon current = hexagonMap.get(currentId);
-            
-            if (current != null) {
-                for (String connId : current.getConnections()) {
-                    if (!visited.contains(connId)) {
-                        visited.add(connId);
-                        queue.offer(connId);
-                    }
-                }
-            }
-        }
-        
-        // Check if all hexagons were visited
-        return visited.size() == allHexagons.size();
-    }
-    
-    /**
-     * Calculate linearity score for three points (higher score = more linear)
-     * Returns a value between 0 (90 degrees) and 1 (180 degrees)
-     */
-    private double calculateLinearity(HexCoordinate p1, HexCoordinate center, HexCoordinate p2) {
-        // Vector from center to p1
-        double v1x = p1.getQ() - center.getQ();
-        double v1y = p1.getR() - center.getR();
-        
-        // Vector from center to p2
-        double v2x = p2.getQ() - center.getQ();
-        double v2y = p2.getR() - center.getR();
-        
-        // Calculate dot product and magnitudes
-        double dotProduct = v1x * v2x + v1y * v2y;
-        double mag1 = Math.sqrt(v1x * v1x + v1y * v1y);
-        double mag2 = Math.sqrt(v2x * v2x + v2y * v2y);
-        
-        if (mag1 == 0 || mag2 == 0) {
-            return 0;
-        }
-        
-        // Calculate cosine of angle between vectors
-        double cosAngle = dotProduct / (mag1 * mag2);
-        
-        // Clamp to valid range for acos
-        cosAngle = Math.max(-1.0, Math.min(1.0, cosAngle));
-        
-        // Convert to linearity score: -1 (opposite directions, 180deg) = 1.0, 0 (perpendicular, 90deg) = 0.0
-        // We want opposite directions to have the highest score (most linear)
-        return -cosAngle; // -1 becomes 1.0 (best linearity), 0 stays 0.0, 1 becomes -1.0 (worst)
-    }
-    
     /**
      * Simple pair class for holding two values
      */
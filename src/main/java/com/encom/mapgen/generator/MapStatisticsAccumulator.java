@@ -0,0 +1,124 @@
+package com.encom.mapgen.generator;
+
+import com.encom.mapgen.model.HexCoordinate;
+import com.encom.mapgen.model.Hexagon;
+import com.encom.mapgen.model.MapBuffer;
+import com.encom.mapgen.model.MapManifest;
+
+/**
+ * Running map statistics, updated as hexagons and connections are added or removed.
+ * Type counts, bounding box, total connections and the degree histogram are all
+ * kept current, so producing MapManifest.Statistics needs no scan of the map.
+ */
+public class MapStatisticsAccumulator {
+    private int hexagonCount;
+    private int corridorCount;
+    private long totalConnections;
+    private final int[] degreeHistogram = new int[HexCoordinate.DIRECTION_COUNT + 1];
+
+    private int minQ = Integer.MAX_VALUE;
+    private int maxQ = Integer.MIN_VALUE;
+    private int minR = Integer.MAX_VALUE;
+    private int maxR = Integer.MIN_VALUE;
+
+    /**
+     * Record a newly placed hexagon, which starts without connections
+     */
+    public void hexagonAdded(int q, int r, Hexagon.HexType type) {
+        hexagonCount++;
+        if (type == Hexagon.HexType.CORRIDOR) {
+            corridorCount++;
+        }
+        degreeHistogram[0]++;
+
+        minQ = Math.min(minQ, q);
+        maxQ = Math.max(maxQ, q);
+        minR = Math.min(minR, r);
+        maxR = Math.max(maxR, r);
+    }
+
+    public MapStatisticsAccumulator copy() {
+        MapStatisticsAccumulator copy = new MapStatisticsAccumulator();
+        copy.hexagonCount = hexagonCount;
+        copy.corridorCount = corridorCount;
+        copy.totalConnections = totalConnections;
+        System.arraycopy(degreeHistogram, 0, copy.degreeHistogram, 0, degreeHistogram.length);
+        copy.minQ = minQ;
+        copy.maxQ = maxQ;
+        copy.minR = minR;
+        copy.maxR = maxR;
+        return copy;
+    }
+
+    /**
+     * Record a connection that was just created between two hexagons
+     */
+    public void connected(MapBuffer map, int index, int neighbor) {
+        moveDegree(map.getConnectionCount(index) - 1, map.getConnectionCount(index));
+        moveDegree(map.getConnectionCount(neighbor) - 1, map.getConnectionCount(neighbor));
+        totalConnections += 2;
+    }
+
+    /**
+     * Record a connection that was just removed between two hexagons
+     */
+    public void disconnected(MapBuffer map, int index, int neighbor) {
+        moveDegree(map.getConnectionCount(index) + 1, map.getConnectionCount(index));
+        moveDegree(map.getConnectionCount(neighbor) + 1, map.getConnectionCount(neighbor));
+        totalConnections -= 2;
+    }
+
+    /**
+     * Move one hexagon in the histogram from its previous degree to its current one
+     */
+    private void moveDegree(int previousDegree, int currentDegree) {
+        degreeHistogram[previousDegree]--;
+        degreeHistogram[currentDegree]++;
+    }
+
+    public int getHexagonCount() {
+        return hexagonCount;
+    }
+
+    public int getCorridorCount() {
+        return corridorCount;
+    }
+
+    public int getMaxConnections() {
+        for (int degree = degreeHistogram.length - 1; degree > 0; degree--) {
+            if (degreeHistogram[degree] > 0) {
+                return degree;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Number of hexagons with each connection count, indexed by count
+     */
+    public int[] getDegreeHistogram() {
+        return degreeHistogram.clone();
+    }
+
+    /**
+     * Build statistics from the running totals. The longest path is left for the caller.
+     */
+    public MapManifest.Statistics toStatistics() {
+        MapManifest.Statistics stats = new MapManifest.Statistics();
+        stats.setActualHexagons(hexagonCount);
+        stats.setCorridorHexagons(corridorCount);
+        stats.setRoomHexagons(hexagonCount - corridorCount);
+
+        double avgConnections = hexagonCount == 0 ? 0.0 : (double) totalConnections / hexagonCount;
+        stats.setAverageConnections(Math.round(avgConnections * 100.0) / 100.0);
+        stats.setMaxConnections(getMaxConnections());
+        stats.setDegreeHistogram(getDegreeHistogram());
+
+        if (hexagonCount == 0) {
+            stats.setBoundingBox(new MapManifest.BoundingBox(0, 0, 0, 0));
+        } else {
+            stats.setBoundingBox(new MapManifest.BoundingBox(minQ, maxQ, minR, maxR));
+        }
+        return stats;
+    }
+}
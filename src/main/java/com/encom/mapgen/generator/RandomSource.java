@@ -0,0 +1,59 @@
+package com.encom.mapgen.generator;
+
+import com.encom.mapgen.model.RngAlgorithm;
+
+/**
+ * Stream of random values behind SeedManager.
+ * Implementations are not thread-safe; each generation owns its sources.
+ */
+public interface RandomSource {
+
+    /**
+     * Uniform integer between 0 (inclusive) and bound (exclusive)
+     */
+    int nextInt(int bound);
+
+    long nextLong();
+
+    /**
+     * Uniform double between 0.0 (inclusive) and 1.0 (exclusive)
+     */
+    double nextDouble();
+
+    boolean nextBoolean();
+
+    /**
+     * Uniform value of the given number of random bits (1-32), the primitive
+     * java.util.Random builds its other draws from
+     */
+    default int next(int bits) {
+        return (int) (nextLong() >>> (Long.SIZE - bits));
+    }
+
+    /**
+     * Derive a new source whose draws do not depend on later draws from this one.
+     * The result depends only on this source's current state.
+     */
+    RandomSource split();
+
+    /**
+     * Independent source in this source's current state, drawing the same
+     * values from here on
+     */
+    RandomSource copy();
+
+    RngAlgorithm getAlgorithm();
+
+    /**
+     * Create the source for a seed string
+     */
+    static RandomSource create(RngAlgorithm algorithm, String seed) {
+        switch (algorithm) {
+            case XOSHIRO256:
+                return new Xoshiro256RandomSource(Xoshiro256RandomSource.hashSeed(seed));
+            case LEGACY:
+            default:
+                return new LegacyRandomSource(seed.hashCode());
+        }
+    }
+}
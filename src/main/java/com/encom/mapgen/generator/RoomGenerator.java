@@ -2,7 +2,9 @@ package com.encom.mapgen.generator;
 
 import com.encom.mapgen.model.GenerationOptions;
 import com.encom.mapgen.model.HexCoordinate;
-import com.encom.mapgen.model.Hexagon;
+import com.encom.mapgen.model.HexGrid;
+import com.encom.mapgen.model.MapBuffer;
+import com.encom.mapgen.model.MapManifest;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -16,24 +18,33 @@ public class RoomGenerator {
     
     private final SeedManager seedManager;
     private final GenerationOptions options;
+    private final MapManifest.BoundingBox bounds;
     
     public RoomGenerator(SeedManager seedManager, GenerationOptions options) {
+        this(seedManager, options, null);
+    }
+    
+    /**
+     * @param bounds region new hexagons must stay inside, or null for no limit
+     */
+    public RoomGenerator(SeedManager seedManager, GenerationOptions options, MapManifest.BoundingBox bounds) {
         this.seedManager = seedManager;
         this.options = options;
+        this.bounds = bounds;
     }
     
     /**
      * Generate a room cluster from available frontier positions
      */
-    public List<HexCoordinate> generateRoom(Set<HexCoordinate> frontier, 
-                                           Map<String, Hexagon> existingHexagons,
+    public List<HexCoordinate> generateRoom(FrontierIndex frontier, 
+                                           MapBuffer existingHexagons,
                                            int targetSize) {
         if (frontier.isEmpty() || targetSize <= 0) {
             return new ArrayList<>();
         }
         
         // Choose a random starting point from frontier that connects to existing map
-        HexCoordinate startPoint = selectRoomStartPoint(frontier, existingHexagons);
+        HexCoordinate startPoint = selectRoomStartPoint(frontier);
         if (startPoint == null) {
             return new ArrayList<>();
         }
@@ -48,69 +59,55 @@ public class RoomGenerator {
     /**
      * Select a starting point for room generation
      */
-    private HexCoordinate selectRoomStartPoint(Set<HexCoordinate> frontier, 
-                                              Map<String, Hexagon> existingHexagons) {
-        // Filter frontier points that are adjacent to existing hexagons
-        List<HexCoordinate> validStarts = new ArrayList<>();
-        
-        for (HexCoordinate coord : frontier) {
-            if (hasAdjacentExistingHexagon(coord, existingHexagons)) {
-                // Prefer positions that don't have too many existing neighbors (avoid overcrowding)
-                int adjacentCount = countAdjacentExisting(coord, existingHexagons);
-                if (adjacentCount <= 3) { // Allow up to 3 adjacent existing hexagons
-                    validStarts.add(coord);
-                }
-            }
-        }
-        
-        if (validStarts.isEmpty()) {
-            // If no ideal positions, relax the constraint
-            for (HexCoordinate coord : frontier) {
-                if (hasAdjacentExistingHexagon(coord, existingHexagons)) {
-                    validStarts.add(coord);
-                }
-            }
-        }
-        
-        if (validStarts.isEmpty()) {
+    private HexCoordinate selectRoomStartPoint(FrontierIndex frontier) {
+        // Prefer positions that don't have too many existing neighbors (avoid overcrowding),
+        // relaxing the constraint when no such position exists
+        HexCoordinate start = frontier.selectOpen(seedManager);
+        if (start == null) {
             logger.warn("No valid starting points found for room generation");
-            return null;
         }
-        
-        // Select random starting point
-        return validStarts.get(seedManager.nextInt(validStarts.size()));
+        return start;
     }
     
     /**
-     * Check if a coordinate has at least one adjacent existing hexagon
+     * Count adjacent hexagons present in the given grid
      */
-    private boolean hasAdjacentExistingHexagon(HexCoordinate coord, Map<String, Hexagon> existingHexagons) {
-        return coord.getNeighbors().stream()
-                   .anyMatch(neighbor -> existingHexagons.containsKey(neighbor.toId()));
+    private int countAdjacentExisting(int q, int r, HexGrid grid) {
+        int count = 0;
+        for (int d = 0; d < HexCoordinate.DIRECTION_COUNT; d++) {
+            if (grid.contains(q + HexCoordinate.directionQ(d), r + HexCoordinate.directionR(d))) {
+                count++;
+            }
+        }
+        return count;
     }
-    
+
     /**
-     * Count adjacent existing hexagons
+     * Count adjacent hexagons already placed on the map
      */
-    private int countAdjacentExisting(HexCoordinate coord, Map<String, Hexagon> existingHexagons) {
-        return (int) coord.getNeighbors().stream()
-                         .filter(neighbor -> existingHexagons.containsKey(neighbor.toId()))
-                         .count();
+    private int countAdjacentExisting(int q, int r, MapBuffer map) {
+        int count = 0;
+        for (int d = 0; d < HexCoordinate.DIRECTION_COUNT; d++) {
+            if (map.contains(q + HexCoordinate.directionQ(d), r + HexCoordinate.directionR(d))) {
+                count++;
+            }
+        }
+        return count;
     }
-    
+
     /**
      * Generate room cluster using organic growth algorithm
      */
     private List<HexCoordinate> generateRoomCluster(HexCoordinate start, 
-                                                   Map<String, Hexagon> existingHexagons,
+                                                   MapBuffer existingHexagons,
                                                    int targetSize) {
         List<HexCoordinate> room = new ArrayList<>();
-        Set<HexCoordinate> visited = new HashSet<>();
+        HexGrid visited = new HexGrid(targetSize);
         Queue<HexCoordinate> growthQueue = new LinkedList<>();
         
         // Start the room
+        visited.put(start.getQ(), start.getR(), room.size());
         room.add(start);
-        visited.add(start);
         growthQueue.offer(start);
         
         // Organic growth algorithm
@@ -134,8 +131,8 @@ public class RoomGenerator {
             
             // Add selected positions to room
             for (HexCoordinate pos : selectedPositions) {
+                visited.put(pos.getQ(), pos.getR(), room.size());
                 room.add(pos);
-                visited.add(pos);
                 
                 // Add to growth queue with probability based on room connectivity
                 if (shouldContinueGrowthFrom(pos, room, targetSize)) {
@@ -151,23 +148,26 @@ public class RoomGenerator {
      * Get candidate positions for room growth
      */
     private List<HexCoordinate> getGrowthCandidates(HexCoordinate current, 
-                                                   Map<String, Hexagon> existingHexagons,
-                                                   Set<HexCoordinate> visited) {
+                                                   MapBuffer existingHexagons,
+                                                   HexGrid visited) {
         List<HexCoordinate> candidates = new ArrayList<>();
         
-        for (HexCoordinate neighbor : current.getNeighbors()) {
+        for (int d = 0; d < HexCoordinate.DIRECTION_COUNT; d++) {
+            int q = current.getQ() + HexCoordinate.directionQ(d);
+            int r = current.getR() + HexCoordinate.directionR(d);
+            
             // Skip if already visited or occupied by existing hexagons
-            if (visited.contains(neighbor) || existingHexagons.containsKey(neighbor.toId())) {
+            if (visited.contains(q, r) || existingHexagons.contains(q, r) || outOfBounds(q, r)) {
                 continue;
             }
             
             // Skip if it would create too dense connections with existing map
-            int existingNeighborCount = countAdjacentExisting(neighbor, existingHexagons);
+            int existingNeighborCount = countAdjacentExisting(q, r, existingHexagons);
             if (existingNeighborCount > 2) {
                 continue;
             }
             
-            candidates.add(neighbor);
+            candidates.add(new HexCoordinate(q, r));
         }
         
         return candidates;
@@ -205,7 +205,7 @@ public class RoomGenerator {
                                                      List<HexCoordinate> candidates,
                                                      int count,
                                                      List<HexCoordinate> existingRoom,
-                                                     Set<HexCoordinate> visited) {
+                                                     HexGrid visited) {
         if (candidates.isEmpty() || count <= 0) {
             return new ArrayList<>();
         }
@@ -241,16 +241,11 @@ public class RoomGenerator {
      * Calculate growth score for organic room shape
      */
     private double calculateGrowthScore(HexCoordinate candidate, List<HexCoordinate> existingRoom,
-                                       Set<HexCoordinate> visited) {
+                                       HexGrid visited) {
         double score = 0.0;
         
         // Prefer positions that connect to multiple existing room positions
-        int roomNeighborCount = 0;
-        for (HexCoordinate neighbor : candidate.getNeighbors()) {
-            if (visited.contains(neighbor)) {
-                roomNeighborCount++;
-            }
-        }
+        int roomNeighborCount = countAdjacentExisting(candidate.getQ(), candidate.getR(), visited);
         
         // Score based on connectivity (prefer 2-3 connections for organic shape)
         if (roomNeighborCount == 2 || roomNeighborCount == 3) {
@@ -319,4 +314,8 @@ public class RoomGenerator {
             this.score = score;
         }
     }
+    
+    private boolean outOfBounds(int q, int r) {
+        return bounds != null && !bounds.contains(q, r);
+    }
 }
\ No newline at end of file
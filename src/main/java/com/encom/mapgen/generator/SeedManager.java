@@ -1,6 +1,9 @@
 package com.encom.mapgen.generator;
 
+import com.encom.mapgen.model.RngAlgorithm;
+
 import java.security.SecureRandom;
+import java.util.List;
 import java.util.Random;
 
 /**
@@ -8,13 +11,23 @@ import java.util.Random;
  */
 public class SeedManager {
     private final String seed;
-    private final Random random;
+    private final RandomSource random;
+    private Random randomView;
     
     public SeedManager(String providedSeed) {
+        this(providedSeed, RngAlgorithm.DEFAULT);
+    }
+    
+    public SeedManager(String providedSeed, RngAlgorithm algorithm) {
         this.seed = providedSeed != null && !providedSeed.trim().isEmpty() 
                    ? providedSeed.trim() 
                    : generateRandomSeed();
-        this.random = new Random(this.seed.hashCode());
+        this.random = RandomSource.create(algorithm != null ? algorithm : RngAlgorithm.DEFAULT, this.seed);
+    }
+    
+    private SeedManager(String seed, RandomSource random) {
+        this.seed = seed;
+        this.random = random;
     }
     
     /**
@@ -37,8 +50,41 @@ public class SeedManager {
         return seed;
     }
     
+    public RngAlgorithm getAlgorithm() {
+        return random.getAlgorithm();
+    }
+    
+    /**
+     * This manager's stream as a java.util.Random. Draws through either one
+     * advance both; for java-random-v1 they are the values
+     * new Random(seed.hashCode()) gives, as this method always returned.
+     *
+     * @deprecated draw through the manager, which covers every algorithm
+     * without the Random indirection, e.g. shuffle(List) in place of
+     * Collections.shuffle(list, getRandom())
+     */
+    @Deprecated
     public Random getRandom() {
-        return random;
+        if (randomView == null) {
+            randomView = new RandomView(random);
+        }
+        return randomView;
+    }
+    
+    /**
+     * Independent stream for a later phase of generation, derived deterministically
+     * from this one. Legacy seeds keep sharing a single stream.
+     */
+    public SeedManager split() {
+        return new SeedManager(seed, random.split());
+    }
+    
+    /**
+     * Independent manager in this one's current state, so a copy taken
+     * mid-generation can carry the generation on later
+     */
+    public SeedManager copy() {
+        return new SeedManager(seed, random.copy());
     }
     
     /**
@@ -98,4 +144,30 @@ public class SeedManager {
         }
         return array[nextInt(array.length)];
     }
+    
+    /**
+     * Shuffle a list in place, drawing exactly as Collections.shuffle does
+     */
+    public <T> void shuffle(List<T> list) {
+        for (int i = list.size(); i > 1; i--) {
+            int j = nextInt(i);
+            list.set(j, list.set(i - 1, list.get(j)));
+        }
+    }
+    
+    /**
+     * Random whose bits come from a RandomSource; every other Random draw is built on next(bits)
+     */
+    private static final class RandomView extends Random {
+        private final RandomSource source;
+        
+        RandomView(RandomSource source) {
+            this.source = source;
+        }
+        
+        @Override
+        protected int next(int bits) {
+            return source.next(bits);
+        }
+    }
 }
\ No newline at end of file
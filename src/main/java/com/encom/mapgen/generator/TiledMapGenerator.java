@@ -0,0 +1,473 @@
+package com.encom.mapgen.generator;
+
+import com.encom.mapgen.model.*;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Generates a map as a grid of independently grown tiles.
+ *
+ * Tile (tq, tr) covers q in [tq * TILE_SIZE, (tq + 1) * TILE_SIZE) and the same
+ * range of r. A map of N hexagons uses the first ceil(N / TILE_HEXAGONS) tiles in
+ * square-spiral order around tile (0, 0); each holds TILE_HEXAGONS except the
+ * last, which takes the remainder. A tile is grown from its centre with its own
+ * seed derived from (seed, tq, tr) and never leaves its box, so its contents do
+ * not depend on any other tile or on which thread grew it.
+ *
+ * Adjacent tiles are stitched through a pair of gate cells facing each other
+ * across their shared border, at an offset derived from the seed. Each tile
+ * carves a corridor from its nearest hexagon to its own gate, and the gates are
+ * connected when tiles are merged, so every tile in the spiral is reachable.
+ */
+public class TiledMapGenerator {
+    private static final Logger logger = LogManager.getLogger(TiledMapGenerator.class);
+
+    /** Width and height of a tile in axial coordinates */
+    public static final int TILE_SIZE = 48;
+
+    /** Hexagons grown in every tile but the last */
+    public static final int TILE_HEXAGONS = 900;
+
+    // Sides of a tile, in the order their gates are carved
+    private static final int SIDE_PLUS_Q = 0;
+    private static final int SIDE_PLUS_R = 1;
+    private static final int SIDE_MINUS_Q = 2;
+    private static final int SIDE_MINUS_R = 3;
+    private static final int SIDE_COUNT = 4;
+
+    private final String seed;
+    private final RngAlgorithm algorithm;
+    private final GenerationOptions options;
+    private final int hexagonCount;
+    private final int parallelism;
+
+    // Included tiles in spiral order, and tile coordinate -> spiral index
+    private final int[] tileQ;
+    private final int[] tileR;
+    private final HexGrid tileIndex;
+
+    public TiledMapGenerator(GenerationRequest request) {
+        this(request, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism threads used to grow tiles; the map is the same for any value
+     */
+    public TiledMapGenerator(GenerationRequest request, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.algorithm = RngAlgorithm.fromId(request.getRngAlgorithm());
+        // Resolve a missing seed once so every tile derives from the same one
+        this.seed = new SeedManager(request.getSeed(), algorithm).getSeed();
+        this.options = request.getOptions() != null ? request.getOptions() : new GenerationOptions();
+        this.hexagonCount = request.getHexagonCount();
+        this.parallelism = parallelism;
+
+        int tileCount = (hexagonCount + TILE_HEXAGONS - 1) / TILE_HEXAGONS;
+        this.tileQ = new int[tileCount];
+        this.tileR = new int[tileCount];
+        this.tileIndex = new HexGrid(tileCount);
+        layOutTiles(tileCount);
+
+        logger.info("TiledMapGenerator initialized with seed: {}, rng: {}, target count: {}, tiles: {}",
+                   seed, algorithm, hexagonCount, tileCount);
+    }
+
+    /**
+     * Place tiles along a square spiral: (0,0), (1,0), (1,1), (0,1), (-1,1), ...
+     * Consecutive tiles share a side, so any prefix of the spiral is connected.
+     */
+    private void layOutTiles(int tileCount) {
+        int q = 0;
+        int r = 0;
+        int dq = 1;
+        int dr = 0;
+        int legLength = 1;
+        int legProgress = 0;
+        int legsAtLength = 0;
+
+        for (int i = 0; i < tileCount; i++) {
+            tileQ[i] = q;
+            tileR[i] = r;
+            tileIndex.put(q, r, i);
+
+            q += dq;
+            r += dr;
+            if (++legProgress == legLength) {
+                // Turn left; legs grow by one every second turn
+                int turned = -dr;
+                dr = dq;
+                dq = turned;
+                legProgress = 0;
+                if (++legsAtLength == 2) {
+                    legsAtLength = 0;
+                    legLength++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Generate the complete map
+     */
+    public MapManifest generateMap() {
+        long startTime = System.currentTimeMillis();
+
+        try {
+            logger.info("Starting tiled generation for {} hexagons", hexagonCount);
+
+            List<MapBuffer> tiles = generateTiles(allTiles());
+
+            MapBuffer map = new MapBuffer(hexagonCount + hexagonCount / 16);
+            UnionFind components = new UnionFind(hexagonCount + hexagonCount / 16);
+            MapStatisticsAccumulator statistics = new MapStatisticsAccumulator();
+            for (MapBuffer tile : tiles) {
+                appendTile(map, tile, components, statistics);
+            }
+            for (int i = 0; i < tileQ.length; i++) {
+                connectGates(map, i, components, statistics);
+            }
+
+            if (components.getComponentCount() != 1) {
+                throw new RuntimeException("Generated map failed connectivity validation");
+            }
+
+            MapManifest.Metadata metadata = new MapManifest.Metadata();
+            metadata.setSeed(seed);
+            metadata.setRngAlgorithm(algorithm.getId());
+            metadata.setHexagonCount(hexagonCount);
+            metadata.setStatistics(calculateStatistics(map, statistics));
+            metadata.setGenerationTime(System.currentTimeMillis() - startTime);
+
+            logger.info("Tiled generation completed successfully in {}ms: {} tiles, {} hexagons",
+                       System.currentTimeMillis() - startTime, tiles.size(), map.size());
+
+            return new MapManifest(metadata, map);
+
+        } catch (Exception e) {
+            logger.error("Tiled generation failed", e);
+            throw new RuntimeException("Failed to generate map: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Generate only the part of the map inside a region: the hexagons it covers,
+     * in the order a complete map lists them, and the connections between them.
+     * Only tiles overlapping the region are grown. Connections leaving the region
+     * are dropped, and the longest path is not computed (reported as 0, inexact).
+     */
+    public MapManifest generateRegion(MapManifest.BoundingBox region) {
+        long startTime = System.currentTimeMillis();
+
+        try {
+            int[] overlapping = tilesOverlapping(region);
+            logger.info("Starting region generation for q {}..{}, r {}..{}: {} of {} tiles",
+                       region.getMinQ(), region.getMaxQ(), region.getMinR(), region.getMaxR(),
+                       overlapping.length, tileQ.length);
+
+            List<MapBuffer> tiles = generateTiles(overlapping);
+
+            MapBuffer loaded = new MapBuffer(overlapping.length * TILE_HEXAGONS);
+            UnionFind components = new UnionFind(overlapping.length * TILE_HEXAGONS);
+            MapStatisticsAccumulator loadedStatistics = new MapStatisticsAccumulator();
+            for (MapBuffer tile : tiles) {
+                appendTile(loaded, tile, components, loadedStatistics);
+            }
+            for (int index : overlapping) {
+                connectGates(loaded, index, components, loadedStatistics);
+            }
+
+            MapStatisticsAccumulator statistics = new MapStatisticsAccumulator();
+            MapBuffer map = extractRegion(loaded, region, statistics);
+
+            MapManifest.Statistics stats = statistics.toStatistics();
+            stats.setLongestPathExact(false);
+
+            MapManifest.Metadata metadata = new MapManifest.Metadata();
+            metadata.setSeed(seed);
+            metadata.setRngAlgorithm(algorithm.getId());
+            metadata.setHexagonCount(hexagonCount);
+            metadata.setRegion(region);
+            metadata.setStatistics(stats);
+            metadata.setGenerationTime(System.currentTimeMillis() - startTime);
+
+            logger.info("Region generation completed successfully in {}ms: {} hexagons",
+                       System.currentTimeMillis() - startTime, map.size());
+
+            return new MapManifest(metadata, map);
+
+        } catch (Exception e) {
+            logger.error("Region generation failed", e);
+            throw new RuntimeException("Failed to generate region: " + e.getMessage(), e);
+        }
+    }
+
+    private int[] allTiles() {
+        int[] indices = new int[tileQ.length];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+        }
+        return indices;
+    }
+
+    /**
+     * Spiral indices of the included tiles that overlap a region, in ascending order
+     */
+    int[] tilesOverlapping(MapManifest.BoundingBox region) {
+        int minTq = Math.floorDiv(region.getMinQ(), TILE_SIZE);
+        int maxTq = Math.floorDiv(region.getMaxQ(), TILE_SIZE);
+        int minTr = Math.floorDiv(region.getMinR(), TILE_SIZE);
+        int maxTr = Math.floorDiv(region.getMaxR(), TILE_SIZE);
+
+        int[] indices = new int[tileQ.length];
+        int count = 0;
+        for (int i = 0; i < tileQ.length; i++) {
+            if (tileQ[i] >= minTq && tileQ[i] <= maxTq && tileR[i] >= minTr && tileR[i] <= maxTr) {
+                indices[count++] = i;
+            }
+        }
+        return Arrays.copyOf(indices, count);
+    }
+
+    /**
+     * Copy the hexagons inside the region, and the connections between them, in map order
+     */
+    private static MapBuffer extractRegion(MapBuffer map, MapManifest.BoundingBox region,
+                                           MapStatisticsAccumulator statistics) {
+        MapBuffer extracted = new MapBuffer();
+        for (int i = 0; i < map.size(); i++) {
+            if (region.contains(map.getQ(i), map.getR(i))) {
+                extracted.add(map.getQ(i), map.getR(i), map.getType(i));
+                statistics.hexagonAdded(map.getQ(i), map.getR(i), map.getType(i));
+            }
+        }
+
+        for (int i = 0; i < extracted.size(); i++) {
+            int source = map.indexOf(extracted.getQ(i), extracted.getR(i));
+            for (int d = 0; d < HexCoordinate.DIRECTION_COUNT / 2; d++) {
+                if (!map.isConnected(source, d)) {
+                    continue;
+                }
+                int neighbor = extracted.neighborIndex(i, d);
+                if (neighbor != HexGrid.ABSENT) {
+                    extracted.connect(i, neighbor, d);
+                    statistics.connected(extracted, i, neighbor);
+                }
+            }
+        }
+        return extracted;
+    }
+
+    /**
+     * Grow the given tiles on a pool of the configured size, returned in the same order
+     */
+    private List<MapBuffer> generateTiles(int[] indices) throws InterruptedException, ExecutionException {
+        List<Callable<MapBuffer>> tasks = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            tasks.add(() -> generateTile(index));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<MapBuffer> tiles = new ArrayList<>(tasks.size());
+            for (Future<MapBuffer> future : pool.invokeAll(tasks)) {
+                tiles.add(future.get());
+            }
+            return tiles;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Grow one tile and carve corridors to the gates of its included neighbors.
+     * The result depends only on the seed, the tile and the tile layout.
+     */
+    MapBuffer generateTile(int index) {
+        int tq = tileQ[index];
+        int tr = tileR[index];
+        int target = index < tileQ.length - 1 ? TILE_HEXAGONS
+                                              : hexagonCount - (tileQ.length - 1) * TILE_HEXAGONS;
+
+        SeedManager tileSeed = new SeedManager(tileSeed(seed, tq, tr), algorithm);
+        MapGenerator generator = new MapGenerator(tileSeed, options, GenerationMode.TILED,
+                                                  target, tileBounds(tq, tr));
+        MapBuffer tile = generator.generateTile(tq * TILE_SIZE + TILE_SIZE / 2,
+                                                tr * TILE_SIZE + TILE_SIZE / 2, target);
+
+        for (int side = 0; side < SIDE_COUNT; side++) {
+            if (hasNeighbor(tq, tr, side)) {
+                carveToGate(tile, gateQ(tq, tr, side), gateR(tq, tr, side));
+            }
+        }
+        return tile;
+    }
+
+    /**
+     * Seed string for one tile
+     */
+    static String tileSeed(String seed, int tq, int tr) {
+        return seed + "#tile:" + tq + ":" + tr;
+    }
+
+    /**
+     * Axial region covered by a tile
+     */
+    public static MapManifest.BoundingBox tileBounds(int tq, int tr) {
+        return new MapManifest.BoundingBox(tq * TILE_SIZE, tq * TILE_SIZE + TILE_SIZE - 1,
+                                           tr * TILE_SIZE, tr * TILE_SIZE + TILE_SIZE - 1);
+    }
+
+    int getTileCount() {
+        return tileQ.length;
+    }
+
+    /**
+     * Spiral index of a tile, or HexGrid.ABSENT if the map does not include it
+     */
+    int indexOfTile(int tq, int tr) {
+        return tileIndex.get(tq, tr);
+    }
+
+    private boolean hasNeighbor(int tq, int tr, int side) {
+        switch (side) {
+            case SIDE_PLUS_Q:  return tileIndex.contains(tq + 1, tr);
+            case SIDE_PLUS_R:  return tileIndex.contains(tq, tr + 1);
+            case SIDE_MINUS_Q: return tileIndex.contains(tq - 1, tr);
+            default:           return tileIndex.contains(tq, tr - 1);
+        }
+    }
+
+    /**
+     * Position along the border between tile (tq, tr) and its +q or +r neighbor
+     * where the gates sit, kept away from the corners
+     */
+    private int gateOffset(int tq, int tr, char axis) {
+        RandomSource random = RandomSource.create(algorithm, seed + "#stitch:" + tq + ":" + tr + ":" + axis);
+        return TILE_SIZE / 4 + random.nextInt(TILE_SIZE / 2);
+    }
+
+    private int gateQ(int tq, int tr, int side) {
+        switch (side) {
+            case SIDE_PLUS_Q:  return tq * TILE_SIZE + TILE_SIZE - 1;
+            case SIDE_PLUS_R:  return tq * TILE_SIZE + gateOffset(tq, tr, 'r');
+            case SIDE_MINUS_Q: return tq * TILE_SIZE;
+            default:           return tq * TILE_SIZE + gateOffset(tq, tr - 1, 'r');
+        }
+    }
+
+    private int gateR(int tq, int tr, int side) {
+        switch (side) {
+            case SIDE_PLUS_Q:  return tr * TILE_SIZE + gateOffset(tq, tr, 'q');
+            case SIDE_PLUS_R:  return tr * TILE_SIZE + TILE_SIZE - 1;
+            case SIDE_MINUS_Q: return tr * TILE_SIZE + gateOffset(tq - 1, tr, 'q');
+            default:           return tr * TILE_SIZE;
+        }
+    }
+
+    /**
+     * Carve a corridor from the tile's hexagon nearest the gate (lowest index on
+     * ties) to the gate. Each step moves strictly closer, so the cells it adds are
+     * all new, and moving monotonically keeps them inside the tile.
+     */
+    private static void carveToGate(MapBuffer tile, int gateQ, int gateR) {
+        int current = 0;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < tile.size(); i++) {
+            int distance = HexCoordinate.distance(tile.getQ(i), tile.getR(i), gateQ, gateR);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                current = i;
+            }
+        }
+
+        int q = tile.getQ(current);
+        int r = tile.getR(current);
+        while (q != gateQ || r != gateR) {
+            int dq = Integer.signum(gateQ - q);
+            int dr = Integer.signum(gateR - r);
+            if (dq != 0 && dr != 0 && dq == dr) {
+                // (1,1) and (-1,-1) are not hex directions; move along q first
+                dr = 0;
+            }
+            q += dq;
+            r += dr;
+
+            int next = tile.add(q, r, Hexagon.HexType.CORRIDOR);
+            tile.connect(current, next, HexCoordinate.directionTo(tile.getQ(current), tile.getR(current), q, r));
+            current = next;
+        }
+    }
+
+    /**
+     * Copy a tile's hexagons and connections onto the end of the merged map
+     */
+    private static void appendTile(MapBuffer map, MapBuffer tile, UnionFind components,
+                                   MapStatisticsAccumulator statistics) {
+        int base = map.size();
+        for (int i = 0; i < tile.size(); i++) {
+            map.add(tile.getQ(i), tile.getR(i), tile.getType(i));
+            components.add();
+            statistics.hexagonAdded(tile.getQ(i), tile.getR(i), tile.getType(i));
+        }
+
+        for (int i = 0; i < tile.size(); i++) {
+            // Every connection has exactly one end facing directions 0-2
+            for (int d = 0; d < HexCoordinate.DIRECTION_COUNT / 2; d++) {
+                if (tile.isConnected(i, d)) {
+                    int neighbor = map.neighborIndex(base + i, d);
+                    map.connect(base + i, neighbor, d);
+                    components.union(base + i, neighbor);
+                    statistics.connected(map, base + i, neighbor);
+                }
+            }
+        }
+    }
+
+    /**
+     * Connect a tile's +q and +r gates to the facing gates of its loaded neighbors
+     */
+    private void connectGates(MapBuffer map, int index, UnionFind components,
+                              MapStatisticsAccumulator statistics) {
+        int tq = tileQ[index];
+        int tr = tileR[index];
+        for (int side = SIDE_PLUS_Q; side <= SIDE_PLUS_R; side++) {
+            if (!hasNeighbor(tq, tr, side)) {
+                continue;
+            }
+            int gate = map.indexOf(gateQ(tq, tr, side), gateR(tq, tr, side));
+            int direction = side == SIDE_PLUS_Q ? 0 : 5;
+            int neighbor = map.neighborIndex(gate, direction);
+            if (neighbor == HexGrid.ABSENT) {
+                continue; // Region queries only load the tiles they overlap
+            }
+            map.connect(gate, neighbor, direction);
+            components.union(gate, neighbor);
+            statistics.connected(map, gate, neighbor);
+        }
+    }
+
+    /**
+     * Statistics from the accumulator plus a longest path bounded as in large mode
+     */
+    private static MapManifest.Statistics calculateStatistics(MapBuffer map, MapStatisticsAccumulator statistics) {
+        MapManifest.Statistics stats = statistics.toStatistics();
+
+        MapDiameter diameter = new MapDiameter(map, map.size() >= MapDiameter.PARALLEL_THRESHOLD,
+                                               MapGenerator.LARGE_MAP_DIAMETER_SEARCHES);
+        stats.setLongestPath(diameter.getDiameter());
+        stats.setLongestPathExact(diameter.isExact());
+        stats.setLongestPathStart(HexCoordinate.toId(map.getQ(diameter.getStartIndex()),
+                                                     map.getR(diameter.getStartIndex())));
+        stats.setLongestPathEnd(HexCoordinate.toId(map.getQ(diameter.getEndIndex()),
+                                                   map.getR(diameter.getEndIndex())));
+        return stats;
+    }
+}
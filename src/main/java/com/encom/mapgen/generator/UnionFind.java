@@ -0,0 +1,105 @@
+package com.encom.mapgen.generator;
+
+import java.util.Arrays;
+
+/**
+ * Union-find over hexagon indices with path halving and union by size.
+ * Tracks the number of connected components as hexagons and connections are
+ * added, so connectivity can be answered without traversing the map.
+ */
+public class UnionFind {
+    private int[] parent;
+    private int[] componentSize;
+    private int size;
+    private int componentCount;
+
+    public UnionFind() {
+        this(16);
+    }
+
+    public UnionFind(int expectedSize) {
+        int capacity = Math.max(expectedSize, 1);
+        this.parent = new int[capacity];
+        this.componentSize = new int[capacity];
+    }
+
+    /**
+     * Add a new singleton element and return its index
+     */
+    public int add() {
+        if (size == parent.length) {
+            int capacity = parent.length << 1;
+            parent = Arrays.copyOf(parent, capacity);
+            componentSize = Arrays.copyOf(componentSize, capacity);
+        }
+
+        int index = size++;
+        parent[index] = index;
+        componentSize[index] = 1;
+        componentCount++;
+        return index;
+    }
+
+    /**
+     * Find the representative of an element's component
+     */
+    public int find(int index) {
+        while (parent[index] != index) {
+            parent[index] = parent[parent[index]];
+            index = parent[index];
+        }
+        return index;
+    }
+
+    /**
+     * Merge the components of two elements, returning false if they were already joined
+     */
+    public boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return false;
+        }
+
+        if (componentSize[rootA] < componentSize[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parent[rootB] = rootA;
+        componentSize[rootA] += componentSize[rootB];
+        componentCount--;
+        return true;
+    }
+
+    /**
+     * Independent copy with room for at least expectedSize elements
+     */
+    public UnionFind copy(int expectedSize) {
+        UnionFind copy = new UnionFind(Math.max(expectedSize, size));
+        System.arraycopy(parent, 0, copy.parent, 0, size);
+        System.arraycopy(componentSize, 0, copy.componentSize, 0, size);
+        copy.size = size;
+        copy.componentCount = componentCount;
+        return copy;
+    }
+
+    /**
+     * Heap held by the element arrays
+     */
+    public long heapBytes() {
+        return (long) parent.length * 2 * Integer.BYTES;
+    }
+
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+}
@@ -0,0 +1,117 @@
+package com.encom.mapgen.generator;
+
+import com.encom.mapgen.model.RngAlgorithm;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * xoshiro256** generator (Blackman and Vigna) with 256 bits of state.
+ * State is expanded from a 64-bit seed with SplitMix64, and split() seeds a
+ * child the same way from one draw of the parent.
+ */
+public class Xoshiro256RandomSource implements RandomSource {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private long s0;
+    private long s1;
+    private long s2;
+    private long s3;
+
+    public Xoshiro256RandomSource(long seed) {
+        long x = seed;
+        s0 = mix64(x += GOLDEN_GAMMA);
+        s1 = mix64(x += GOLDEN_GAMMA);
+        s2 = mix64(x += GOLDEN_GAMMA);
+        s3 = mix64(x + GOLDEN_GAMMA);
+    }
+
+    /**
+     * 64-bit seed from every character of a seed string (FNV-1a over UTF-8, then mixed)
+     */
+    public static long hashSeed(String seed) {
+        long hash = FNV_OFFSET;
+        for (byte b : seed.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= FNV_PRIME;
+        }
+        return mix64(hash);
+    }
+
+    /**
+     * SplitMix64 finalizer
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public long nextLong() {
+        long result = Long.rotateLeft(s1 * 5, 7) * 9;
+        long t = s1 << 17;
+
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+
+        return result;
+    }
+
+    /**
+     * Unbiased bounded draw using Lemire's multiply-and-reject
+     */
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+
+        long product = (nextLong() >>> 32) * bound;
+        long low = product & 0xFFFFFFFFL;
+        if (low < bound) {
+            long threshold = (0x100000000L - bound) % bound;
+            while (low < threshold) {
+                product = (nextLong() >>> 32) * bound;
+                low = product & 0xFFFFFFFFL;
+            }
+        }
+        return (int) (product >>> 32);
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+    @Override
+    public RandomSource split() {
+        return new Xoshiro256RandomSource(nextLong());
+    }
+
+    @Override
+    public RandomSource copy() {
+        Xoshiro256RandomSource copy = new Xoshiro256RandomSource(0);
+        copy.s0 = s0;
+        copy.s1 = s1;
+        copy.s2 = s2;
+        copy.s3 = s3;
+        return copy;
+    }
+
+    @Override
+    public RngAlgorithm getAlgorithm() {
+        return RngAlgorithm.XOSHIRO256;
+    }
+}
@@ -0,0 +1,99 @@
+package com.encom.mapgen.handler;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content codings the handler can apply to a response body, in order of
+ * preference when the client weights them equally
+ */
+enum ContentEncoding {
+    GZIP("gzip"),
+
+    /** HTTP deflate is the zlib format, which DeflaterOutputStream writes by default */
+    DEFLATE("deflate"),
+
+    IDENTITY("identity");
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    private final String token;
+
+    ContentEncoding(String token) {
+        this.token = token;
+    }
+
+    String getToken() {
+        return token;
+    }
+
+    /**
+     * Wrap a stream so that bytes written to it are compressed with this coding
+     */
+    OutputStream wrap(OutputStream out) throws IOException {
+        switch (this) {
+            case GZIP:
+                return new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+            case DEFLATE:
+                return new DeflaterOutputStream(out);
+            case IDENTITY:
+            default:
+                return out;
+        }
+    }
+
+    /**
+     * Pick the coding with the highest q-value in Accept-Encoding; "*" stands
+     * for any coding not listed. Without the header the body is not compressed.
+     */
+    static ContentEncoding negotiate(APIGatewayProxyRequestEvent input) {
+        String acceptEncoding = ResponseFormat.header(input, "Accept-Encoding");
+        if (acceptEncoding == null) {
+            return IDENTITY;
+        }
+
+        ContentEncoding best = IDENTITY;
+        double bestQuality = 0;
+        for (ContentEncoding candidate : new ContentEncoding[] {GZIP, DEFLATE}) {
+            double quality = quality(acceptEncoding, candidate.token);
+            if (quality > bestQuality) {
+                best = candidate;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * q-value the header gives a coding, or 0 if it is not acceptable
+     */
+    private static double quality(String acceptEncoding, String token) {
+        double wildcard = 0;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim();
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equalsIgnoreCase(token)) {
+                return quality;
+            }
+            if (coding.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        return wildcard;
+    }
+}
@@ -0,0 +1,69 @@
+package com.encom.mapgen.handler;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * A response body in the exact form handed to API Gateway: text, or base64 for
+ * binary and compressed bodies. Immutable, so cached bodies can be served to
+ * any number of requests.
+ */
+final class EncodedResponse {
+    // Object headers and fields on top of the body string
+    private static final int OVERHEAD_BYTES = 128;
+
+    private final String body;
+    private final boolean base64Encoded;
+    private final ContentEncoding contentEncoding;
+    private final long length;
+
+    private EncodedResponse(String body, boolean base64Encoded, ContentEncoding contentEncoding, long length) {
+        this.body = body;
+        this.base64Encoded = base64Encoded;
+        this.contentEncoding = contentEncoding;
+        this.length = length;
+    }
+
+    /**
+     * Finish a written response body; binary and compressed bodies are base64 encoded
+     */
+    static EncodedResponse of(ResponseBody body, boolean binary) {
+        byte[] bytes = body.toByteArray();
+        boolean base64 = binary || body.isCompressed();
+        String content = base64
+            ? Base64.getEncoder().encodeToString(bytes)
+            : new String(bytes, StandardCharsets.UTF_8);
+        return new EncodedResponse(content, base64, body.getAppliedEncoding(), bytes.length);
+    }
+
+    String getBody() {
+        return body;
+    }
+
+    boolean isBase64Encoded() {
+        return base64Encoded;
+    }
+
+    /**
+     * Coding applied to the body, IDENTITY if it was not compressed
+     */
+    ContentEncoding getContentEncoding() {
+        return contentEncoding;
+    }
+
+    /**
+     * Length of the body as the client receives it
+     */
+    long getLength() {
+        return length;
+    }
+
+    /**
+     * Heap held by the body string: one byte per character when it is all
+     * Latin-1, as base64 and ASCII JSON are, otherwise two
+     */
+    long heapBytes() {
+        boolean latin1 = base64Encoded || length == body.length();
+        return (long) body.length() * (latin1 ? 1 : 2) + OVERHEAD_BYTES;
+    }
+}
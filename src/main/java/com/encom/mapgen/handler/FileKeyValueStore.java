@@ -0,0 +1,58 @@
+package com.encom.mapgen.handler;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Key-value store with one file per key in a directory, such as a file
+ * system mounted by every container or a local directory in tests. Values
+ * are written to a temporary file and moved into place, so readers never
+ * see a partial value.
+ */
+public class FileKeyValueStore implements KeyValueStore {
+    private final Path directory;
+
+    public FileKeyValueStore(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    @Override
+    public byte[] get(String key) throws IOException {
+        try {
+            return Files.readAllBytes(pathOf(key));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void put(String key, byte[] value) throws IOException {
+        Path target = pathOf(key);
+        Path temporary = Files.createTempFile(directory, "put-", ".tmp");
+        try {
+            Files.write(temporary, value);
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Keys are hashed so any key makes a valid, fixed-length file name
+     */
+    private Path pathOf(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + ".map");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.encom.mapgen.handler;
+
+import com.encom.mapgen.generator.GrowthCheckpoint;
+import com.encom.mapgen.generator.MapGenerator;
+import com.encom.mapgen.generator.TiledMapGenerator;
+import com.encom.mapgen.model.GenerationMode;
+import com.encom.mapgen.model.GenerationRequest;
+import com.encom.mapgen.model.MapManifest;
+import com.encom.mapgen.model.RegionRequest;
+import com.encom.mapgen.model.RngAlgorithm;
+import com.google.gson.Gson;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Request parsing, validation and generation shared by the Lambda handlers.
+ * Limits are read from environment variables once per container.
+ */
+class GenerationService {
+    private static final Logger logger = LogManager.getLogger(GenerationService.class);
+
+    // Shared by every handler instance in the container
+    private static final ManifestCache MANIFEST_CACHE = ManifestCache.fromEnvironment();
+
+    // Maps on the container's local disk, behind the heap cache; null when disabled
+    private static final MapStore MAP_STORE = MapStore.fromEnvironment();
+
+    // Maps shared by every container, behind the local tiers; null when disabled
+    private static final RemoteMapCache REMOTE_CACHE = RemoteMapCache.fromEnvironment();
+
+    // Largest map the benchmark generates within API Gateway's 29 s timeout: 1M hexagons take 18.4 s, 5M take 86.6 s
+    static final int DEFAULT_MAX_LARGE_HEXAGON_COUNT = 1_000_000;
+
+    private static final TieredMapCache MAP_CACHE = new TieredMapCache(MANIFEST_CACHE, MAP_STORE, REMOTE_CACHE);
+
+    // Growth state of seeded maps, so a larger map for the same seed resumes partway
+    private static final GrowthCheckpointCache CHECKPOINTS = GrowthCheckpointCache.fromEnvironment();
+
+    private final Gson gson;
+
+    // Response memory per hexagon the handler needs on top of the map itself
+    private final int responseBytesPerHexagon;
+
+    // Environment configuration
+    private final int defaultHexagonCount;
+    private final int maxHexagonCount;
+    private final int maxLargeHexagonCount;
+    private final boolean paranoidValidation;
+
+    GenerationService(Gson gson, int responseBytesPerHexagon) {
+        this.gson = gson;
+        this.responseBytesPerHexagon = responseBytesPerHexagon;
+
+        // Read configuration from environment variables
+        this.defaultHexagonCount = Integer.parseInt(
+                System.getenv().getOrDefault("DEFAULT_HEXAGON_COUNT", "50"));
+        this.maxHexagonCount = Integer.parseInt(
+                System.getenv().getOrDefault("MAX_HEXAGON_COUNT", "1000"));
+        this.maxLargeHexagonCount = Integer.parseInt(
+                System.getenv().getOrDefault("MAX_LARGE_HEXAGON_COUNT",
+                                             String.valueOf(DEFAULT_MAX_LARGE_HEXAGON_COUNT)));
+        this.paranoidValidation = Boolean.parseBoolean(
+                System.getenv().getOrDefault("PARANOID_VALIDATION", "false"));
+
+        logger.info("GenerationService initialized - default: {}, max: {}, large max: {}",
+                   defaultHexagonCount, maxHexagonCount, maxLargeHexagonCount);
+    }
+
+    /**
+     * Parse a request body; an empty body asks for a default map
+     */
+    GenerationRequest parseRequest(String body) {
+        if (body == null || body.trim().isEmpty()) {
+            // Create default request
+            GenerationRequest defaultRequest = new GenerationRequest();
+            defaultRequest.setHexagonCount(defaultHexagonCount);
+            return defaultRequest;
+        }
+
+        try {
+            // Streamed by GenerationRequestTypeAdapter; a region turns the request into a region query
+            GenerationRequest request = gson.fromJson(body, GenerationRequest.class);
+
+            // Set defaults if not provided
+            if (request.getHexagonCount() <= 0) {
+                request.setHexagonCount(defaultHexagonCount);
+            }
+
+            return request;
+
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid JSON request body: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Validate the generation request
+     */
+    void validateRequest(GenerationRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Request cannot be null");
+        }
+
+        if (request.getHexagonCount() < 1) {
+            throw new IllegalArgumentException("Hexagon count must be at least 1");
+        }
+
+        GenerationMode mode = GenerationMode.fromValue(request.getMode());
+        int limit = mode == GenerationMode.STANDARD ? maxHexagonCount : maxLargeHexagonCount;
+        if (request instanceof RegionRequest) {
+            // Only the tiles under the region are generated, so the whole map may be larger
+            limit = mode.getMaxHexagonCount();
+        }
+        if (request.getHexagonCount() > limit) {
+            throw new IllegalArgumentException("Hexagon count cannot exceed " + limit +
+                                               " in " + mode + " mode");
+        }
+
+        if (request instanceof RegionRequest) {
+            // Bounded by the region's area rather than the map's size
+            ((RegionRequest) request).validateRegion();
+        } else {
+            validateMemory(request);
+        }
+
+        // Validate request options
+        if (request.getOptions() != null) {
+            request.getOptions().validate();
+        }
+
+        RngAlgorithm.fromId(request.getRngAlgorithm());
+    }
+
+    /**
+     * Refuse up front rather than run out of memory partway through
+     */
+    private void validateMemory(GenerationRequest request) {
+        if (requiredBytes(request) > Runtime.getRuntime().maxMemory()) {
+            throw new IllegalArgumentException("Hexagon count " + request.getHexagonCount() +
+                                               " exceeds the memory available to this function");
+        }
+    }
+
+    /**
+     * Heap needed to generate and respond with the request's map
+     */
+    private long requiredBytes(GenerationRequest request) {
+        return (long) request.getHexagonCount() *
+               (MapGenerator.HEAP_BYTES_PER_HEXAGON + responseBytesPerHexagon);
+    }
+
+    /**
+     * Run the generator for the request's mode
+     */
+    MapManifest generateMap(GenerationRequest request) {
+        logger.info("Processing generation request: seed={}, count={}, mode={}",
+                   request.getSeed(), request.getHexagonCount(),
+                   GenerationMode.fromValue(request.getMode()));
+
+        // Random maps are never requested twice, so only seeded requests are cached
+        String key = request.getCanonicalKey();
+        if (key != null) {
+            MapManifest cached = MAP_CACHE.get(key, () -> makeRoom(request));
+            if (cached != null) {
+                return cached;
+            }
+        } else {
+            makeRoom(request);
+        }
+
+        MapManifest manifest = generate(request);
+        if (key != null) {
+            // The remote tier writes in the background, after the response
+            MAP_CACHE.put(key, manifest);
+        }
+        return manifest;
+    }
+
+    /**
+     * Cached maps and checkpoints give way to a map that fits the heap on its own
+     */
+    private void makeRoom(GenerationRequest request) {
+        if (!(request instanceof RegionRequest)) {
+            long maxMemory = Runtime.getRuntime().maxMemory();
+            MANIFEST_CACHE.evictToFit(requiredBytes(request) + CHECKPOINTS.getBytes(), maxMemory);
+            CHECKPOINTS.evictToFit(requiredBytes(request) + MANIFEST_CACHE.getBytes(), maxMemory);
+        }
+    }
+
+    private MapManifest generate(GenerationRequest request) {
+        if (request instanceof RegionRequest) {
+            return new TiledMapGenerator(request).generateRegion(((RegionRequest) request).getRegion());
+        }
+
+        if (GenerationMode.fromValue(request.getMode()) == GenerationMode.TILED) {
+            return new TiledMapGenerator(request).generateMap();
+        }
+
+        MapGenerator generator = checkpointedGenerator(request);
+        generator.setParanoidValidation(paranoidValidation);
+        return generator.generateMap(request.getHexagonCount());
+    }
+
+    /**
+     * Generator resumed from the furthest applicable checkpoint for the
+     * request's seed, capturing checkpoints as it grows when the heap has room
+     * for them alongside the map
+     */
+    private MapGenerator checkpointedGenerator(GenerationRequest request) {
+        String growthKey = request.getGrowthKey();
+        if (growthKey == null || !CHECKPOINTS.isEnabled()) {
+            return new MapGenerator(request);
+        }
+
+        GrowthCheckpoint checkpoint = CHECKPOINTS.find(growthKey, request.getHexagonCount());
+        logger.info("METRIC growth_checkpoint_resumed_hexagons={}",
+                   checkpoint == null ? 0 : checkpoint.getHexagonCount());
+        MapGenerator generator = checkpoint == null
+            ? new MapGenerator(request)
+            : new MapGenerator(request, checkpoint);
+
+        if (requiredBytes(request) + CHECKPOINTS.getMaxBytes() <= Runtime.getRuntime().maxMemory()) {
+            generator.setCheckpoints(CHECKPOINTS.getCounts(), captured -> CHECKPOINTS.put(growthKey, captured));
+        }
+        return generator;
+    }
+
+    /**
+     * Log generation metrics for monitoring
+     */
+    void logGenerationMetrics(MapManifest manifest, String requestId) {
+        MapManifest.Metadata metadata = manifest.getMetadata();
+        MapManifest.Statistics stats = metadata.getStatistics();
+
+        logger.info("Map generation completed - " +
+                   "seed={}, hexagons={}, corridors={}, rooms={}, " +
+                   "avgConnections={}, generationTime={}ms, cached={}, requestId={}",
+                   metadata.getSeed(),
+                   stats.getActualHexagons(),
+                   stats.getCorridorHexagons(),
+                   stats.getRoomHexagons(),
+                   stats.getAverageConnections(),
+                   metadata.getGenerationTime(),
+                   metadata.isCached(),
+                   requestId);
+
+        // Structured logging for CloudWatch metrics
+        logger.info("METRIC generation_time_ms={}", metadata.getGenerationTime());
+        logger.info("METRIC hexagon_count={}", stats.getActualHexagons());
+        logger.info("METRIC corridor_count={}", stats.getCorridorHexagons());
+        logger.info("METRIC room_count={}", stats.getRoomHexagons());
+        logger.info("METRIC average_connections={}", stats.getAverageConnections());
+        logger.info("METRIC max_connections={}", stats.getMaxConnections());
+        logger.info("METRIC longest_path={}", stats.getLongestPath());
+        logger.info("METRIC manifest_cache_hit={}", metadata.isCached() ? 1 : 0);
+        logger.info("METRIC manifest_cache_hits={} manifest_cache_misses={} manifest_cache_evictions={} " +
+                   "manifest_cache_entries={} manifest_cache_bytes={}",
+                   MANIFEST_CACHE.getHits(), MANIFEST_CACHE.getMisses(), MANIFEST_CACHE.getEvictions(),
+                   MANIFEST_CACHE.size(), MANIFEST_CACHE.getBytes());
+        if (MAP_STORE != null) {
+            logger.info("METRIC map_store_hits={} map_store_misses={} map_store_rotations={} " +
+                       "map_store_entries={} map_store_bytes={}",
+                       MAP_STORE.getHits(), MAP_STORE.getMisses(), MAP_STORE.getRotations(),
+                       MAP_STORE.size(), MAP_STORE.getBytes());
+        }
+        logger.info("METRIC growth_checkpoint_resumes={} growth_checkpoint_misses={} " +
+                   "growth_checkpoint_resumed_total={} growth_checkpoint_evictions={} " +
+                   "growth_checkpoint_keys={} growth_checkpoint_bytes={}",
+                   CHECKPOINTS.getResumes(), CHECKPOINTS.getMisses(), CHECKPOINTS.getResumedHexagons(),
+                   CHECKPOINTS.getEvictions(), CHECKPOINTS.size(), CHECKPOINTS.getBytes());
+        if (REMOTE_CACHE != null) {
+            logger.info("METRIC remote_cache_timeouts={} remote_cache_errors={} remote_cache_writes={} " +
+                       "remote_cache_dropped_writes={}",
+                       REMOTE_CACHE.getTimeouts(), REMOTE_CACHE.getErrors(), REMOTE_CACHE.getWrites(),
+                       REMOTE_CACHE.getDroppedWrites());
+        }
+        for (MapCache tier : MAP_CACHE.getTiers()) {
+            logger.info("METRIC {}_tier_hits={} {}_tier_misses={} {}_tier_hit_rate={}",
+                       tier.getName(), MAP_CACHE.getHits(tier), tier.getName(), MAP_CACHE.getMisses(tier),
+                       tier.getName(), MAP_CACHE.getHitRate(tier));
+        }
+    }
+}
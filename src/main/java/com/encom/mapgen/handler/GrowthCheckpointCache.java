@@ -0,0 +1,160 @@
+package com.encom.mapgen.handler;
+
+import com.encom.mapgen.generator.GrowthCheckpoint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Growth checkpoints kept per growth key, so a larger map for a seed already
+ * generated resumes from the furthest applicable checkpoint instead of
+ * growing from the origin again. Bounded by key count and by the heap the
+ * checkpoints hold; a key's checkpoints are evicted together.
+ */
+class GrowthCheckpointCache {
+    private final int[] counts;
+    private final long maxBytes;
+    private final LruCache<String, List<GrowthCheckpoint>> cache;
+
+    private long resumes;
+    private long misses;
+    private long resumedHexagons;
+
+    GrowthCheckpointCache(int[] counts, int maxEntries, long maxBytes) {
+        this.counts = counts.clone();
+        Arrays.sort(this.counts);
+        this.maxBytes = maxBytes;
+        this.cache = new LruCache<>(maxEntries, maxBytes, GrowthCheckpointCache::sizeOf);
+    }
+
+    // Starts below the default 50-hexagon map, so a preview already leaves a checkpoint behind
+    static final String DEFAULT_COUNTS = "25,100,250,500,1000,10000,100000,500000";
+
+    /**
+     * Cache configured from GROWTH_CHECKPOINT_COUNTS, a comma-separated list of
+     * hexagon counts (empty disables capture), GROWTH_CHECKPOINT_MAX_ENTRIES
+     * and GROWTH_CHECKPOINT_MAX_BYTES
+     */
+    static GrowthCheckpointCache fromEnvironment() {
+        String counts = System.getenv().getOrDefault("GROWTH_CHECKPOINT_COUNTS", DEFAULT_COUNTS);
+        int maxEntries = Integer.parseInt(
+                System.getenv().getOrDefault("GROWTH_CHECKPOINT_MAX_ENTRIES", "16"));
+        long maxBytes = Long.parseLong(
+                System.getenv().getOrDefault("GROWTH_CHECKPOINT_MAX_BYTES", String.valueOf(64L << 20)));
+        return new GrowthCheckpointCache(parseCounts(counts), maxEntries, maxBytes);
+    }
+
+    static int[] parseCounts(String counts) {
+        return Arrays.stream(counts.split(","))
+                     .map(String::trim)
+                     .filter(count -> !count.isEmpty())
+                     .mapToInt(Integer::parseInt)
+                     .filter(count -> count > 0)
+                     .toArray();
+    }
+
+    private static long sizeOf(List<GrowthCheckpoint> checkpoints) {
+        long bytes = 0;
+        for (GrowthCheckpoint checkpoint : checkpoints) {
+            bytes += checkpoint.heapBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Hexagon counts generation should capture checkpoints at
+     */
+    int[] getCounts() {
+        return counts.clone();
+    }
+
+    boolean isEnabled() {
+        return counts.length > 0;
+    }
+
+    long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Checkpoint with the most hexagons that applies to the target, or null
+     */
+    GrowthCheckpoint find(String growthKey, int targetHexagonCount) {
+        List<GrowthCheckpoint> checkpoints = cache.get(growthKey);
+        GrowthCheckpoint best = null;
+        if (checkpoints != null) {
+            for (GrowthCheckpoint checkpoint : checkpoints) {
+                if (checkpoint.appliesTo(targetHexagonCount) &&
+                        (best == null || checkpoint.getHexagonCount() > best.getHexagonCount())) {
+                    best = checkpoint;
+                }
+            }
+        }
+        count(best);
+        return best;
+    }
+
+    private synchronized void count(GrowthCheckpoint resumed) {
+        if (resumed == null) {
+            misses++;
+        } else {
+            resumes++;
+            resumedHexagons += resumed.getHexagonCount();
+        }
+    }
+
+    /**
+     * Add a checkpoint to its key's list, replacing one at the same count.
+     * Lists are copied on write so readers never see one change. A list that
+     * would outgrow the whole budget keeps its previous checkpoints.
+     */
+    synchronized void put(String growthKey, GrowthCheckpoint checkpoint) {
+        List<GrowthCheckpoint> previous = cache.get(growthKey);
+        List<GrowthCheckpoint> checkpoints = new ArrayList<>();
+        if (previous != null) {
+            for (GrowthCheckpoint existing : previous) {
+                if (existing.getHexagonCount() != checkpoint.getHexagonCount()) {
+                    checkpoints.add(existing);
+                }
+            }
+        }
+        checkpoints.add(checkpoint);
+        cache.put(growthKey, Collections.unmodifiableList(checkpoints));
+    }
+
+    /**
+     * Evict until the cache and an allocation of requiredBytes fit in heapBytes together
+     */
+    void evictToFit(long requiredBytes, long heapBytes) {
+        cache.evictToFit(requiredBytes, heapBytes);
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    long getBytes() {
+        return cache.getBytes();
+    }
+
+    long getEvictions() {
+        return cache.getEvictions();
+    }
+
+    synchronized long getResumes() {
+        return resumes;
+    }
+
+    synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Hexagons skipped by resuming rather than growing from the origin
+     */
+    synchronized long getResumedHexagons() {
+        return resumedHexagons;
+    }
+}
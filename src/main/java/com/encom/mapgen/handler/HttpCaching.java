@@ -0,0 +1,74 @@
+package com.encom.mapgen.handler;
+
+import com.encom.mapgen.generator.MapGenerator;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * HTTP caching for deterministic maps. A seeded request always produces the
+ * same map, so its entity tag is derived from the canonical request key, the
+ * algorithm version and the representation, before anything is generated,
+ * and clients and CDNs may keep the response indefinitely. Random maps are
+ * never reused and are marked uncacheable.
+ *
+ * Tags are weak: responses with one tag carry the same map, but generatedAt,
+ * generationTime and cached differ between a fresh map, a cache hit and
+ * another container, so the bytes are not guaranteed equal.
+ */
+final class HttpCaching {
+    static final String CACHE_IMMUTABLE = "public, max-age=31536000, immutable";
+    static final String CACHE_NONE = "no-store";
+
+    private HttpCaching() {}
+
+    /**
+     * Weak entity tag for a request key in one representation (format and
+     * coding): 128 bits of a SHA-256 digest of the key, never of the body
+     */
+    static String entityTag(String requestKey, String representation) {
+        String fingerprint = "a" + MapGenerator.ALGORITHM_VERSION + "|" + representation + "|" + requestKey;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(fingerprint.getBytes(StandardCharsets.UTF_8));
+            return "W/\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Whether an If-None-Match header matches a tag: "*" or any listed tag,
+     * compared weakly as the header requires
+     */
+    static boolean matches(String ifNoneMatch, String entityTag) {
+        if (ifNoneMatch == null || entityTag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (opaqueTag(tag).equals(opaqueTag(entityTag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Quoted part of a tag, dropping the weak prefix
+     */
+    private static String opaqueTag(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    /**
+     * Cache-Control for a response with the given entity tag, null when random
+     */
+    static String cacheControl(String entityTag) {
+        return entityTag != null ? CACHE_IMMUTABLE : CACHE_NONE;
+    }
+}
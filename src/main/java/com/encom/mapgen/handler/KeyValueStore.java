@@ -0,0 +1,19 @@
+package com.encom.mapgen.handler;
+
+import java.io.IOException;
+
+/**
+ * Byte store shared by every container, behind the remote map cache tier.
+ * A key-value database implements it directly; FileKeyValueStore is the
+ * stand-in over a shared or local directory. Implementations must be
+ * thread-safe. Calls may block; RemoteMapCache bounds how long reads wait.
+ */
+public interface KeyValueStore {
+
+    /**
+     * Value stored under a key, or null when there is none
+     */
+    byte[] get(String key) throws IOException;
+
+    void put(String key, byte[] value) throws IOException;
+}
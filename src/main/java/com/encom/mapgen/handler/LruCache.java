@@ -0,0 +1,118 @@
+package com.encom.mapgen.handler;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Least-recently-used map bounded by entry count and by the bytes its values
+ * hold, as measured by a weigher. Counts hits, misses and evictions.
+ */
+class LruCache<K, V> {
+    private final int maxEntries;
+    private final long maxBytes;
+    private final ToLongFunction<V> weigher;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    LruCache(int maxEntries, long maxBytes, ToLongFunction<V> weigher) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Cached value, or null on a miss
+     */
+    synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    /**
+     * Cache a value; values larger than the whole budget are not cached
+     */
+    synchronized boolean put(K key, V value) {
+        if (maxEntries <= 0) {
+            return false;
+        }
+        long size = weigher.applyAsLong(value);
+        if (size > maxBytes) {
+            return false;
+        }
+
+        Entry<V> previous = entries.put(key, new Entry<>(value, size));
+        if (previous != null) {
+            bytes -= previous.bytes;
+        }
+        bytes += size;
+
+        evictWhile(() -> entries.size() > maxEntries || bytes > maxBytes);
+        return true;
+    }
+
+    /**
+     * Evict until the cache and an allocation of requiredBytes fit in heapBytes together
+     */
+    synchronized void evictToFit(long requiredBytes, long heapBytes) {
+        evictWhile(() -> !entries.isEmpty() && bytes + requiredBytes > heapBytes);
+    }
+
+    /**
+     * Evict from the least recently used end while the condition holds
+     */
+    private void evictWhile(BooleanSupplier condition) {
+        Iterator<Entry<V>> eldest = entries.values().iterator();
+        while (condition.getAsBoolean()) {
+            Entry<V> evicted = eldest.next();
+            eldest.remove();
+            bytes -= evicted.bytes;
+            evictions++;
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long getBytes() {
+        return bytes;
+    }
+
+    synchronized long getHits() {
+        return hits;
+    }
+
+    synchronized long getMisses() {
+        return misses;
+    }
+
+    synchronized long getEvictions() {
+        return evictions;
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long bytes;
+
+        Entry(V value, long bytes) {
+            this.value = value;
+            this.bytes = bytes;
+        }
+    }
+}
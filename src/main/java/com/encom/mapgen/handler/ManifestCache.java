@@ -0,0 +1,91 @@
+package com.encom.mapgen.handler;
+
+import com.encom.mapgen.model.MapBuffer;
+import com.encom.mapgen.model.MapManifest;
+
+/**
+ * Least-recently-used cache of generated maps, bounded by entry count and by
+ * the heap the cached maps hold. Lives for the container, so warm invocations
+ * for a popular seed skip generation entirely. Hits are returned as copies
+ * flagged cached=true; the map itself is shared and must not be modified.
+ */
+class ManifestCache implements MapCache {
+    // Metadata, statistics and entry overhead on top of the map's arrays
+    static final int ENTRY_OVERHEAD_BYTES = 1024;
+
+    private final LruCache<String, MapManifest> cache;
+
+    ManifestCache(int maxEntries, long maxBytes) {
+        this.cache = new LruCache<>(maxEntries, maxBytes, manifest -> sizeOf(manifest.getBuffer()));
+    }
+
+    /**
+     * Cache configured from MANIFEST_CACHE_MAX_ENTRIES and MANIFEST_CACHE_MAX_BYTES
+     */
+    static ManifestCache fromEnvironment() {
+        int maxEntries = Integer.parseInt(
+                System.getenv().getOrDefault("MANIFEST_CACHE_MAX_ENTRIES", "64"));
+        long maxBytes = Long.parseLong(
+                System.getenv().getOrDefault("MANIFEST_CACHE_MAX_BYTES", String.valueOf(64L << 20)));
+        return new ManifestCache(maxEntries, maxBytes);
+    }
+
+    @Override
+    public String getName() {
+        return "heap";
+    }
+
+    /**
+     * Cached map for a key as a manifest flagged cached=true, or null on a miss
+     */
+    @Override
+    public MapManifest get(String key) {
+        MapManifest manifest = cache.get(key);
+        if (manifest == null) {
+            return null;
+        }
+
+        MapManifest.Metadata metadata = manifest.getMetadata().copy();
+        metadata.setCached(true);
+        return new MapManifest(metadata, manifest.getBuffer());
+    }
+
+    /**
+     * Cache a generated map; maps larger than the whole budget are not cached
+     */
+    @Override
+    public boolean put(String key, MapManifest manifest) {
+        return manifest.getBuffer() != null && cache.put(key, manifest);
+    }
+
+    /**
+     * Evict until the cache and an allocation of requiredBytes fit in heapBytes together
+     */
+    void evictToFit(long requiredBytes, long heapBytes) {
+        cache.evictToFit(requiredBytes, heapBytes);
+    }
+
+    static long sizeOf(MapBuffer buffer) {
+        return buffer.heapBytes() + ENTRY_OVERHEAD_BYTES;
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    long getBytes() {
+        return cache.getBytes();
+    }
+
+    long getHits() {
+        return cache.getHits();
+    }
+
+    long getMisses() {
+        return cache.getMisses();
+    }
+
+    long getEvictions() {
+        return cache.getEvictions();
+    }
+}
@@ -0,0 +1,26 @@
+package com.encom.mapgen.handler;
+
+import com.encom.mapgen.model.MapManifest;
+
+/**
+ * One tier of the map cache behind GenerationService: the heap, the
+ * container's local disk, or a store shared by every container. Keys are
+ * canonical request keys, and hits come back flagged cached=true.
+ */
+public interface MapCache {
+
+    /**
+     * Short name used in metrics
+     */
+    String getName();
+
+    /**
+     * Cached map for a key, or null on a miss
+     */
+    MapManifest get(String key);
+
+    /**
+     * Cache a generated map; false when this tier does not keep it
+     */
+    boolean put(String key, MapManifest manifest);
+}
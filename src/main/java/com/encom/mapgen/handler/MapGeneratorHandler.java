@@ -4,14 +4,24 @@ import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
-import com.encom.mapgen.generator.MapGenerator;
 import com.encom.mapgen.model.GenerationRequest;
+import com.encom.mapgen.model.MapBinaryCodec;
 import com.encom.mapgen.model.MapManifest;
+import com.encom.mapgen.model.MapManifestCompactWriter;
+import com.encom.mapgen.model.ModelTypeAdapterFactory;
+import com.encom.mapgen.model.RegionRequest;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -21,25 +31,33 @@ import java.util.Map;
 public class MapGeneratorHandler implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
     private static final Logger logger = LogManager.getLogger(MapGeneratorHandler.class);
     
+    // Pretty-printed JSON is built in memory; allow for buffer growth and the final copy
+    private static final int RESPONSE_BYTES_PER_HEXAGON = 450;
+    
+    private static final int WRITE_BUFFER_SIZE = 8192;
+    
+    // Lambda's limit on a buffered response payload
+    static final long MAX_RESPONSE_BYTES = 6L * 1024 * 1024;
+    
+    // Shared by every handler instance in the container
+    private static final ResponseCache RESPONSE_CACHE = ResponseCache.fromEnvironment();
+    
     private final Gson gson;
+    private final GenerationService service;
+    private final MapManifestCompactWriter compactWriter;
     
-    // Environment configuration
-    private final int defaultHexagonCount;
-    private final int maxHexagonCount;
+    // Bodies up to this size are sent uncompressed
+    private final int compressionThresholdBytes;
     
     public MapGeneratorHandler() {
         this.gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new ModelTypeAdapterFactory())
                 .setPrettyPrinting()
                 .create();
-        
-        // Read configuration from environment variables
-        this.defaultHexagonCount = Integer.parseInt(
-                System.getenv().getOrDefault("DEFAULT_HEXAGON_COUNT", "50"));
-        this.maxHexagonCount = Integer.parseInt(
-                System.getenv().getOrDefault("MAX_HEXAGON_COUNT", "1000"));
-        
-        logger.info("MapGeneratorHandler initialized - default: {}, max: {}", 
-                   defaultHexagonCount, maxHexagonCount);
+        this.service = new GenerationService(gson, RESPONSE_BYTES_PER_HEXAGON);
+        this.compactWriter = new MapManifestCompactWriter(gson);
+        this.compressionThresholdBytes = Integer.parseInt(
+                System.getenv().getOrDefault("COMPRESSION_THRESHOLD_BYTES", "1024"));
     }
     
     @Override
@@ -48,26 +66,54 @@ public class MapGeneratorHandler implements RequestHandler<APIGatewayProxyReques
         
         try {
             // Parse and validate request
-            GenerationRequest request = parseRequest(input);
-            validateRequest(request);
+            GenerationRequest request = service.parseRequest(readBody(input));
+            service.validateRequest(request);
+            ResponseFormat format = ResponseFormat.negotiate(input);
+            ContentEncoding encoding = ContentEncoding.negotiate(input);
+            validateResponseSize(request, format, encoding);
+            
+            // Seeded maps are deterministic, so their tag is known before generating
+            String requestKey = request.getCanonicalKey();
+            String entityTag = requestKey == null ? null
+                : HttpCaching.entityTag(requestKey, format.name() + "|" + encoding.name());
+            if (HttpCaching.matches(ResponseFormat.header(input, "If-None-Match"), entityTag)) {
+                logger.info("Not modified - seed={}, format={}, requestId={}",
+                           request.getSeed(), format, context.getAwsRequestId());
+                logger.info("METRIC not_modified=1");
+                return createNotModifiedResponse(entityTag);
+            }
             
-            logger.info("Processing generation request: seed={}, count={}", 
-                       request.getSeed(), request.getHexagonCount());
+            // A cached body skips generation and encoding altogether
+            if (requestKey != null) {
+                EncodedResponse cached = RESPONSE_CACHE.get(requestKey, format, encoding);
+                logResponseCacheMetrics(cached != null);
+                if (cached != null) {
+                    logger.info("Served cached response - seed={}, format={}, bytes={}, requestId={}",
+                               request.getSeed(), format, cached.getLength(), context.getAwsRequestId());
+                    return createSuccessResponse(cached, format, entityTag, true);
+                }
+            }
             
             // Generate map
-            MapGenerator generator = new MapGenerator(request);
-            MapManifest manifest = generator.generateMap(request.getHexagonCount());
+            MapManifest manifest = service.generateMap(request);
             
             // Log generation metrics
-            logGenerationMetrics(manifest, context);
+            service.logGenerationMetrics(manifest, context.getAwsRequestId());
             
-            // Return success response
-            return createSuccessResponse(manifest);
+            // Maps served from the manifest cache are popular; keep their bodies, which say cached=true
+            boolean cacheBody = requestKey != null && manifest.getMetadata().isCached();
+            EncodedResponse encoded = encodeResponse(manifest, format, encoding);
+            if (cacheBody) {
+                RESPONSE_CACHE.put(requestKey, format, encoding, encoded);
+            }
             
+            // Return success response
+            return createSuccessResponse(encoded, format, entityTag, false);
+        
         } catch (IllegalArgumentException e) {
             logger.warn("Invalid request: {}", e.getMessage());
             return createErrorResponse(400, "Invalid request: " + e.getMessage());
-            
+        
         } catch (Exception e) {
             logger.error("Map generation failed", e);
             return createErrorResponse(500, "Internal server error: Map generation failed");
@@ -75,67 +121,141 @@ public class MapGeneratorHandler implements RequestHandler<APIGatewayProxyReques
     }
     
     /**
-     * Parse the incoming request body
+     * Refuse up front a map whose body cannot fit in a Lambda response, rather
+     * than generate it and fail on the way out
      */
-    private GenerationRequest parseRequest(APIGatewayProxyRequestEvent input) {
-        String body = input.getBody();
-        
-        if (body == null || body.trim().isEmpty()) {
-            // Create default request
-            GenerationRequest defaultRequest = new GenerationRequest();
-            defaultRequest.setHexagonCount(defaultHexagonCount);
-            return defaultRequest;
+    private void validateResponseSize(GenerationRequest request, ResponseFormat format, ContentEncoding encoding) {
+        long hexagons = request instanceof RegionRequest
+            ? Math.min(request.getHexagonCount(), ((RegionRequest) request).getRegionArea())
+            : request.getHexagonCount();
+        long estimatedBytes = format.estimateResponseBytes(hexagons, encoding);
+        if (estimatedBytes > MAX_RESPONSE_BYTES) {
+            throw new IllegalArgumentException("A response for " + hexagons + " hexagons would be about " + 
+                                               (estimatedBytes >> 20) + " MB, over the 6 MB response limit. " + 
+                                               "Request binary or compact format with gzip, or use the " + 
+                                               "streaming endpoint (MapStreamHandler)");
         }
-        
-        try {
-            GenerationRequest request = gson.fromJson(body, GenerationRequest.class);
-            
-            // Set defaults if not provided
-            if (request.getHexagonCount() <= 0) {
-                request.setHexagonCount(defaultHexagonCount);
+    }
+    
+    /**
+     * Request body, decoded if API Gateway passed it as base64
+     */
+    private String readBody(APIGatewayProxyRequestEvent input) {
+        if (input.getBody() != null && Boolean.TRUE.equals(input.getIsBase64Encoded())) {
+            try {
+                return new String(Base64.getDecoder().decode(input.getBody()), StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid base64 request body");
             }
-            
-            return request;
-            
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Invalid JSON request body: " + e.getMessage());
         }
+        return input.getBody();
     }
     
     /**
-     * Validate the generation request
+     * Encode the manifest in the negotiated format and content coding
      */
-    private void validateRequest(GenerationRequest request) {
-        if (request == null) {
-            throw new IllegalArgumentException("Request cannot be null");
-        }
+    private EncodedResponse encodeResponse(MapManifest manifest, ResponseFormat format,
+                                           ContentEncoding encoding) throws IOException {
+        ResponseBody body = new ResponseBody(encoding, compressionThresholdBytes);
+        writeBody(manifest, format, body);
+        body.close();
         
-        if (request.getHexagonCount() < 1) {
-            throw new IllegalArgumentException("Hexagon count must be at least 1");
+        logResponseMetrics(body);
+        return EncodedResponse.of(body, format == ResponseFormat.BINARY);
+    }
+    
+    /**
+     * Create successful response from an encoded body; entityTag is null for random maps
+     */
+    private APIGatewayProxyResponseEvent createSuccessResponse(EncodedResponse encoded, ResponseFormat format,
+                                                               String entityTag, boolean fromCache) {
+        APIGatewayProxyResponseEvent response = new APIGatewayProxyResponseEvent();
+        response.setStatusCode(200);
+        Map<String, String> headers = createResponseHeaders();
+        headers.put("Content-Type", format.getContentType());
+        headers.put("X-Cache", fromCache ? "HIT" : "MISS");
+        if (encoded.getContentEncoding() != ContentEncoding.IDENTITY) {
+            headers.put("Content-Encoding", encoded.getContentEncoding().getToken());
         }
+        putCachingHeaders(headers, entityTag);
         
-        if (request.getHexagonCount() > maxHexagonCount) {
-            throw new IllegalArgumentException("Hexagon count cannot exceed " + maxHexagonCount);
+        // API Gateway decodes base64 bodies for binary media types
+        response.setBody(encoded.getBody());
+        if (encoded.isBase64Encoded()) {
+            response.setIsBase64Encoded(true);
         }
+        response.setHeaders(headers);
         
-        // Validate request options
-        if (request.getOptions() != null) {
-            request.getOptions().validate();
-        }
+        return response;
     }
     
     /**
-     * Create successful response
+     * Tell the client its copy of a seeded map is current; no body is sent
      */
-    private APIGatewayProxyResponseEvent createSuccessResponse(MapManifest manifest) {
+    private APIGatewayProxyResponseEvent createNotModifiedResponse(String entityTag) {
         APIGatewayProxyResponseEvent response = new APIGatewayProxyResponseEvent();
-        response.setStatusCode(200);
-        response.setHeaders(createResponseHeaders());
-        response.setBody(gson.toJson(manifest));
+        response.setStatusCode(304);
+        Map<String, String> headers = createResponseHeaders();
+        headers.remove("Content-Type");
+        putCachingHeaders(headers, entityTag);
+        response.setHeaders(headers);
         
         return response;
     }
     
+    /**
+     * Validator and freshness headers; the representation depends on Accept and Accept-Encoding
+     */
+    private void putCachingHeaders(Map<String, String> headers, String entityTag) {
+        headers.put("Vary", "Accept, Accept-Encoding");
+        headers.put("Cache-Control", HttpCaching.cacheControl(entityTag));
+        if (entityTag != null) {
+            headers.put("ETag", entityTag);
+        }
+    }
+    
+    /**
+     * Encode the manifest in the negotiated format
+     */
+    private void writeBody(MapManifest manifest, ResponseFormat format, OutputStream out) throws IOException {
+        if (format == ResponseFormat.BINARY) {
+            MapBinaryCodec.encode(manifest, out);
+            return;
+        }
+        
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        if (format == ResponseFormat.COMPACT_JSON) {
+            compactWriter.write(manifest, writer);
+        } else {
+            gson.toJson(manifest, writer);
+        }
+        writer.flush();
+    }
+    
+    /**
+     * Log response size and compression metrics
+     */
+    private void logResponseMetrics(ResponseBody body) {
+        logger.info("METRIC response_bytes={}", body.getUncompressedBytes());
+        if (body.isCompressed()) {
+            logger.info("METRIC compressed_response_bytes={}", body.getEncodedBytes());
+            logger.info("METRIC compression_ratio={}",
+                       String.format("%.2f", (double) body.getUncompressedBytes() / body.getEncodedBytes()));
+            logger.info("METRIC compression_time_ms={}", body.getCompressionNanos() / 1_000_000.0);
+        }
+    }
+    
+    /**
+     * Log whether the response came from the cache, with the container's running counts
+     */
+    private void logResponseCacheMetrics(boolean hit) {
+        logger.info("METRIC response_cache_hit={}", hit ? 1 : 0);
+        logger.info("METRIC response_cache_hits={} response_cache_misses={} response_cache_evictions={} " +
+                   "response_cache_entries={} response_cache_bytes={}",
+                   RESPONSE_CACHE.getHits(), RESPONSE_CACHE.getMisses(), RESPONSE_CACHE.getEvictions(),
+                   RESPONSE_CACHE.size(), RESPONSE_CACHE.getBytes());
+    }
+    
     /**
      * Create error response
      */
@@ -161,40 +281,13 @@ public class MapGeneratorHandler implements RequestHandler<APIGatewayProxyReques
         headers.put("Content-Type", "application/json");
         headers.put("Access-Control-Allow-Origin", "*");
         headers.put("Access-Control-Allow-Methods", "POST, OPTIONS");
-        headers.put("Access-Control-Allow-Headers", "Content-Type, x-api-key");
+        headers.put("Access-Control-Allow-Headers", "Content-Type, x-api-key, If-None-Match");
         headers.put("Access-Control-Max-Age", "86400");
+        headers.put("Access-Control-Expose-Headers", "ETag");
         
         return headers;
     }
     
-    /**
-     * Log generation metrics for monitoring
-     */
-    private void logGenerationMetrics(MapManifest manifest, Context context) {
-        MapManifest.Metadata metadata = manifest.getMetadata();
-        MapManifest.Statistics stats = metadata.getStatistics();
-        
-        logger.info("Map generation completed - " +
-                   "seed={}, hexagons={}, corridors={}, rooms={}, " +
-                   "avgConnections={}, generationTime={}ms, requestId={}", 
-                   metadata.getSeed(),
-                   stats.getActualHexagons(),
-                   stats.getCorridorHexagons(),
-                   stats.getRoomHexagons(),
-                   stats.getAverageConnections(),
-                   metadata.getGenerationTime(),
-                   context.getAwsRequestId());
-        
-        // Structured logging for CloudWatch metrics
-        logger.info("METRIC generation_time_ms={}", metadata.getGenerationTime());
-        logger.info("METRIC hexagon_count={}", stats.getActualHexagons());
-        logger.info("METRIC corridor_count={}", stats.getCorridorHexagons());
-        logger.info("METRIC room_count={}", stats.getRoomHexagons());
-        logger.info("METRIC average_connections={}", stats.getAverageConnections());
-        logger.info("METRIC max_connections={}", stats.getMaxConnections());
-        logger.info("METRIC longest_path={}", stats.getLongestPath());
-    }
-    
     /**
      * Handle OPTIONS request for CORS preflight
      */
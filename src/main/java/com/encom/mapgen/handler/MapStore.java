@@ -0,0 +1,402 @@
+package com.encom.mapgen.handler;
+
+import com.encom.mapgen.model.MapBinaryCodec;
+import com.encom.mapgen.model.MapManifest;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Encoded maps kept on the container's local disk in memory-mapped segment
+ * files. Outlasts the heap caches' evictions, and a hit costs a binary decode
+ * rather than a generation. Records are appended to the active segment; when
+ * it is full the oldest segment is reused, dropping every map in it.
+ *
+ * Keys are found through an open-addressing table held outside the heap,
+ * mapping each key's 64-bit hash to a segment and offset; the key stored in
+ * the record settles collisions. A store opened over existing segment files
+ * rebuilds the table from them.
+ *
+ * Segment layout: int magic "ENCS", int reserved, long sequence (higher is
+ * newer), then records of int magic "ENCR", int key length, int payload
+ * length, UTF-8 key and MapBinaryCodec payload. A zero int ends the records.
+ */
+class MapStore implements MapCache {
+    private static final Logger logger = LogManager.getLogger(MapStore.class);
+
+    static final int SEGMENT_MAGIC = 0x454E4353;
+    static final int RECORD_MAGIC = 0x454E4352;
+    static final int SEGMENT_HEADER_BYTES = 16;
+    static final int RECORD_HEADER_BYTES = 12;
+    static final int MIN_SEGMENT_BYTES = 4096;
+
+    // Index slot: long hash (0 when empty), int segment, int record offset
+    private static final int SLOT_BYTES = 16;
+    private static final int INITIAL_SLOTS = 1024;
+
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private final int segmentBytes;
+    private final MappedByteBuffer[] segments;
+    private final long[] sequences;
+    private final int[] ends;
+
+    private ByteBuffer index;
+    private int indexMask;
+    private int entries;
+
+    private int active;
+    private long nextSequence;
+
+    private long hits;
+    private long misses;
+    private long rotations;
+
+    MapStore(Path directory, long maxBytes, int segmentCount) throws IOException {
+        if (segmentCount < 2) {
+            throw new IllegalArgumentException("Map store needs at least 2 segments");
+        }
+        long perSegment = Math.min(maxBytes / segmentCount, Integer.MAX_VALUE);
+        if (perSegment < MIN_SEGMENT_BYTES) {
+            throw new IllegalArgumentException("Map store segments must be at least " + MIN_SEGMENT_BYTES + " bytes");
+        }
+        this.segmentBytes = (int) perSegment;
+        this.segments = new MappedByteBuffer[segmentCount];
+        this.sequences = new long[segmentCount];
+        this.ends = new int[segmentCount];
+        this.index = ByteBuffer.allocateDirect(INITIAL_SLOTS * SLOT_BYTES);
+        this.indexMask = INITIAL_SLOTS - 1;
+
+        Files.createDirectories(directory);
+        for (int s = 0; s < segmentCount; s++) {
+            segments[s] = map(directory.resolve("segment-" + s + ".map"));
+        }
+        recover();
+    }
+
+    /**
+     * Store configured from MAP_STORE_DIR, MAP_STORE_MAX_BYTES and
+     * MAP_STORE_SEGMENTS, or null when disabled or the directory is unusable
+     */
+    static MapStore fromEnvironment() {
+        long maxBytes = Long.parseLong(System.getenv().getOrDefault("MAP_STORE_MAX_BYTES", "0"));
+        if (maxBytes <= 0) {
+            return null;
+        }
+        Path directory = Paths.get(System.getenv().getOrDefault("MAP_STORE_DIR", "/tmp/encom-map-store"));
+        int segmentCount = Integer.parseInt(System.getenv().getOrDefault("MAP_STORE_SEGMENTS", "4"));
+        try {
+            MapStore store = new MapStore(directory, maxBytes, segmentCount);
+            logger.info("Map store opened - dir: {}, segments: {} x {} bytes, entries: {}",
+                       directory, segmentCount, store.segmentBytes, store.entries);
+            return store;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Map store disabled: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private MappedByteBuffer map(Path path) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            boolean reusable = file.length() == segmentBytes;
+            file.setLength(segmentBytes);
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            if (!reusable) {
+                buffer.putInt(0, 0);
+            }
+            return buffer;
+        }
+    }
+
+    /**
+     * Rebuild the index from segments left by an earlier store, oldest first
+     * so newer records for a key win
+     */
+    private void recover() {
+        long newest = 0;
+        active = 0;
+        for (int s = 0; s < segments.length; s++) {
+            if (segments[s].getInt(0) == SEGMENT_MAGIC) {
+                sequences[s] = segments[s].getLong(8);
+            }
+            if (sequences[s] > newest) {
+                newest = sequences[s];
+                active = s;
+            }
+        }
+
+        long previous = 0;
+        while (true) {
+            int next = -1;
+            for (int s = 0; s < segments.length; s++) {
+                if (sequences[s] > previous && (next < 0 || sequences[s] < sequences[next])) {
+                    next = s;
+                }
+            }
+            if (next < 0) {
+                break;
+            }
+            ends[next] = scan(next);
+            previous = sequences[next];
+        }
+
+        if (newest == 0) {
+            nextSequence = 1;
+            reset(active);
+        } else {
+            nextSequence = newest + 1;
+        }
+    }
+
+    /**
+     * Index every intact record in a segment; returns where the records end
+     */
+    private int scan(int segment) {
+        MappedByteBuffer buffer = segments[segment];
+        int offset = SEGMENT_HEADER_BYTES;
+        while (offset + RECORD_HEADER_BYTES <= segmentBytes && buffer.getInt(offset) == RECORD_MAGIC) {
+            int keyLength = buffer.getInt(offset + 4);
+            int payloadLength = buffer.getInt(offset + 8);
+            long recordLength = (long) RECORD_HEADER_BYTES + keyLength + payloadLength;
+            if (keyLength < 0 || payloadLength < 0 || offset + recordLength > segmentBytes) {
+                break;
+            }
+            byte[] key = new byte[keyLength];
+            buffer.get(offset + RECORD_HEADER_BYTES, key);
+            index(key, segment, offset);
+            offset += (int) recordLength;
+        }
+        if (offset + 4 <= segmentBytes) {
+            buffer.putInt(offset, 0);
+        }
+        return offset;
+    }
+
+    @Override
+    public String getName() {
+        return "disk";
+    }
+
+    /**
+     * Stored map for a key as a manifest flagged cached=true, or null on a miss
+     */
+    @Override
+    public synchronized MapManifest get(String key) {
+        ByteBuffer payload = getEncoded(key);
+        if (payload == null) {
+            misses++;
+            return null;
+        }
+        try {
+            MapManifest manifest = MapBinaryCodec.decode(payload);
+            manifest.getMetadata().setCached(true);
+            hits++;
+            return manifest;
+        } catch (IOException e) {
+            logger.warn("Unreadable map store record for {}: {}", key, e.getMessage());
+            misses++;
+            return null;
+        }
+    }
+
+    /**
+     * Read-only view of a key's encoded map inside the mapped segment, or
+     * null on a miss. Nothing is copied; the view is only valid until its
+     * segment is reused.
+     */
+    synchronized ByteBuffer getEncoded(String key) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int slot = find(keyBytes, hash(keyBytes));
+        if (slot < 0) {
+            return null;
+        }
+        int segment = index.getInt(slot * SLOT_BYTES + 8);
+        int offset = index.getInt(slot * SLOT_BYTES + 12);
+        ByteBuffer buffer = segments[segment];
+        int payloadStart = offset + RECORD_HEADER_BYTES + keyBytes.length;
+        return buffer.slice(payloadStart, buffer.getInt(offset + 8)).asReadOnlyBuffer();
+    }
+
+    /**
+     * Append a map under a key; maps larger than a segment are not stored
+     */
+    @Override
+    public synchronized boolean put(String key, MapManifest manifest) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] payload = MapBinaryCodec.encode(manifest);
+        long recordLength = (long) RECORD_HEADER_BYTES + keyBytes.length + payload.length;
+        if (SEGMENT_HEADER_BYTES + recordLength > segmentBytes) {
+            return false;
+        }
+        if (ends[active] + recordLength > segmentBytes) {
+            rotate();
+        }
+
+        MappedByteBuffer buffer = segments[active];
+        int offset = ends[active];
+        buffer.putInt(offset + 4, keyBytes.length);
+        buffer.putInt(offset + 8, payload.length);
+        buffer.put(offset + RECORD_HEADER_BYTES, keyBytes);
+        buffer.put(offset + RECORD_HEADER_BYTES + keyBytes.length, payload);
+        int end = offset + (int) recordLength;
+        if (end + 4 <= segmentBytes) {
+            buffer.putInt(end, 0);
+        }
+        // Written last, so a record is only seen once it is complete
+        buffer.putInt(offset, RECORD_MAGIC);
+        ends[active] = end;
+
+        index(keyBytes, active, offset);
+        return true;
+    }
+
+    /**
+     * Move to the oldest segment, dropping the maps it holds
+     */
+    private void rotate() {
+        active = (active + 1) % segments.length;
+        rebuildIndex(index.capacity() / SLOT_BYTES, active);
+        reset(active);
+        rotations++;
+    }
+
+    private void reset(int segment) {
+        MappedByteBuffer buffer = segments[segment];
+        buffer.putInt(SEGMENT_HEADER_BYTES, 0);
+        buffer.putInt(4, 0);
+        buffer.putLong(8, nextSequence);
+        buffer.putInt(0, SEGMENT_MAGIC);
+        sequences[segment] = nextSequence++;
+        ends[segment] = SEGMENT_HEADER_BYTES;
+    }
+
+    /**
+     * Point a key's slot at a record, adding the slot if the key is new
+     */
+    private void index(byte[] key, int segment, int offset) {
+        long hash = hash(key);
+        int slot = find(key, hash);
+        if (slot < 0) {
+            if ((entries + 1) * 2 > indexMask + 1) {
+                rebuildIndex((indexMask + 1) * 2, -1);
+                slot = find(key, hash);
+            }
+            slot = -slot - 1;
+            index.putLong(slot * SLOT_BYTES, hash);
+            entries++;
+        }
+        index.putInt(slot * SLOT_BYTES + 8, segment);
+        index.putInt(slot * SLOT_BYTES + 12, offset);
+    }
+
+    /**
+     * Slot holding a key, or -(empty slot) - 1 where it would go
+     */
+    private int find(byte[] key, long hash) {
+        int slot = (int) hash & indexMask;
+        while (true) {
+            long slotHash = index.getLong(slot * SLOT_BYTES);
+            if (slotHash == 0) {
+                return -slot - 1;
+            }
+            if (slotHash == hash && keyMatches(slot, key)) {
+                return slot;
+            }
+            slot = (slot + 1) & indexMask;
+        }
+    }
+
+    private boolean keyMatches(int slot, byte[] key) {
+        ByteBuffer buffer = segments[index.getInt(slot * SLOT_BYTES + 8)];
+        int offset = index.getInt(slot * SLOT_BYTES + 12);
+        if (buffer.getInt(offset + 4) != key.length) {
+            return false;
+        }
+        int keyStart = offset + RECORD_HEADER_BYTES;
+        for (int i = 0; i < key.length; i++) {
+            if (buffer.get(keyStart + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rehash into a table of the given size, leaving out one segment's entries
+     */
+    private void rebuildIndex(int slots, int droppedSegment) {
+        ByteBuffer previous = index;
+        index = ByteBuffer.allocateDirect(slots * SLOT_BYTES);
+        indexMask = slots - 1;
+        entries = 0;
+        for (int i = 0; i < previous.capacity(); i += SLOT_BYTES) {
+            long hash = previous.getLong(i);
+            int segment = previous.getInt(i + 8);
+            if (hash == 0 || segment == droppedSegment) {
+                continue;
+            }
+            int slot = (int) hash & indexMask;
+            while (index.getLong(slot * SLOT_BYTES) != 0) {
+                slot = (slot + 1) & indexMask;
+            }
+            index.putLong(slot * SLOT_BYTES, hash);
+            index.putInt(slot * SLOT_BYTES + 8, segment);
+            index.putInt(slot * SLOT_BYTES + 12, previous.getInt(i + 12));
+            entries++;
+        }
+    }
+
+    /**
+     * FNV-1a over the key, then mixed so the low bits pick slots evenly;
+     * never 0, which marks an empty slot
+     */
+    private static long hash(byte[] key) {
+        long hash = FNV_OFFSET;
+        for (byte b : key) {
+            hash ^= b & 0xFF;
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        return hash == 0 ? 1 : hash;
+    }
+
+    synchronized int size() {
+        return entries;
+    }
+
+    /**
+     * Disk held by records, live or superseded, across every segment
+     */
+    synchronized long getBytes() {
+        long bytes = 0;
+        for (int end : ends) {
+            bytes += Math.max(0, end - SEGMENT_HEADER_BYTES);
+        }
+        return bytes;
+    }
+
+    synchronized long getHits() {
+        return hits;
+    }
+
+    synchronized long getMisses() {
+        return misses;
+    }
+
+    synchronized long getRotations() {
+        return rotations;
+    }
+}
@@ -0,0 +1,210 @@
+package com.encom.mapgen.handler;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.encom.mapgen.model.GenerationRequest;
+import com.encom.mapgen.model.MapManifest;
+import com.encom.mapgen.model.MapManifestNdjsonWriter;
+import com.encom.mapgen.model.ModelTypeAdapterFactory;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * AWS Lambda handler that streams maps as newline-delimited JSON.
+ * Deploy behind a function URL with invoke mode RESPONSE_STREAM, run by
+ * StreamingRuntime, since the managed Java runtime buffers it. The response
+ * starts with the HTTP prelude (status and headers as JSON, then eight zero
+ * bytes), followed by one line per hexagon and a metadata trailer line.
+ */
+public class MapStreamHandler implements RequestStreamHandler {
+    private static final Logger logger = LogManager.getLogger(MapStreamHandler.class);
+
+    // Separates the prelude from the body in a streamed HTTP response
+    private static final int PRELUDE_DELIMITER_LENGTH = 8;
+
+    private static final int WRITE_BUFFER_SIZE = 8192;
+
+    // Only the write buffer is held in memory, not the response
+    private static final int RESPONSE_BYTES_PER_HEXAGON = 0;
+
+    // The one format and coding this handler sends, as named in entity tags
+    private static final String REPRESENTATION = "NDJSON|" + ContentEncoding.IDENTITY.name();
+
+    private final Gson gson;
+    private final GenerationService service;
+    private final MapManifestNdjsonWriter ndjsonWriter;
+
+    public MapStreamHandler() {
+        this.gson = new GsonBuilder()
+                .registerTypeAdapterFactory(new ModelTypeAdapterFactory())
+                .create();
+        this.service = new GenerationService(gson, RESPONSE_BYTES_PER_HEXAGON);
+        this.ndjsonWriter = new MapManifestNdjsonWriter(gson);
+    }
+
+    @Override
+    public void handleRequest(InputStream input, OutputStream output, Context context) throws IOException {
+        logger.info("Received streaming map generation request - RequestId: {}", context.getAwsRequestId());
+
+        MapManifest manifest = null;
+        String entityTag;
+        try {
+            // Parse and validate request
+            JsonObject event = readEvent(input);
+            GenerationRequest request = service.parseRequest(readBody(event));
+            service.validateRequest(request);
+
+            // Seeded maps are deterministic, so their tag is known before generating
+            String requestKey = request.getCanonicalKey();
+            entityTag = requestKey == null ? null : HttpCaching.entityTag(requestKey, REPRESENTATION);
+            if (!HttpCaching.matches(readHeader(event, "If-None-Match"), entityTag)) {
+                // Generate map
+                manifest = service.generateMap(request);
+            }
+
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid request: {}", e.getMessage());
+            writeError(output, 400, "Invalid request: " + e.getMessage());
+            return;
+
+        } catch (Exception e) {
+            logger.error("Map generation failed", e);
+            writeError(output, 500, "Internal server error: Map generation failed");
+            return;
+        }
+
+        if (manifest == null) {
+            logger.info("METRIC not_modified=1");
+            Map<String, String> headers = createResponseHeaders(null);
+            putCachingHeaders(headers, entityTag);
+            writePrelude(output, 304, headers);
+            return;
+        }
+
+        // Once the prelude is sent the status is fixed; later failures end the stream early
+        long streamStart = System.currentTimeMillis();
+        Map<String, String> headers = createResponseHeaders(MapManifestNdjsonWriter.CONTENT_TYPE);
+        putCachingHeaders(headers, entityTag);
+        writePrelude(output, 200, headers);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        ndjsonWriter.write(manifest, writer);
+
+        service.logGenerationMetrics(manifest, context.getAwsRequestId());
+        logger.info("METRIC stream_time_ms={}", System.currentTimeMillis() - streamStart);
+    }
+
+    /**
+     * Parse the function URL event; anything but an object reads as an empty event
+     */
+    private JsonObject readEvent(InputStream input) {
+        try {
+            JsonElement parsed = JsonParser.parseReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            return parsed.isJsonObject() ? parsed.getAsJsonObject() : new JsonObject();
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid event: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Extract the HTTP body from a function URL event
+     */
+    private String readBody(JsonObject event) {
+        JsonElement body = event.get("body");
+        if (body == null || body.isJsonNull()) {
+            return null;
+        }
+
+        JsonElement base64 = event.get("isBase64Encoded");
+        if (base64 != null && !base64.isJsonNull() && base64.getAsBoolean()) {
+            return new String(Base64.getDecoder().decode(body.getAsString()), StandardCharsets.UTF_8);
+        }
+        return body.getAsString();
+    }
+
+    /**
+     * Request header by case-insensitive name, or null
+     */
+    private String readHeader(JsonObject event, String name) {
+        JsonElement headers = event.get("headers");
+        if (headers == null || !headers.isJsonObject()) {
+            return null;
+        }
+        for (Map.Entry<String, JsonElement> header : headers.getAsJsonObject().entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name) && header.getValue().isJsonPrimitive()) {
+                return header.getValue().getAsString();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Write the status and headers that precede a streamed body
+     */
+    private void writePrelude(OutputStream output, int statusCode, Map<String, String> headers) throws IOException {
+        Map<String, Object> prelude = new HashMap<>();
+        prelude.put("statusCode", statusCode);
+        prelude.put("headers", headers);
+
+        output.write(gson.toJson(prelude).getBytes(StandardCharsets.UTF_8));
+        output.write(new byte[PRELUDE_DELIMITER_LENGTH]);
+        output.flush();
+    }
+
+    /**
+     * Write a complete error response
+     */
+    private void writeError(OutputStream output, int statusCode, String message) throws IOException {
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", message);
+        error.put("statusCode", statusCode);
+        error.put("timestamp", System.currentTimeMillis());
+
+        writePrelude(output, statusCode, createResponseHeaders("application/json"));
+        output.write(gson.toJson(error).getBytes(StandardCharsets.UTF_8));
+        output.flush();
+    }
+
+    /**
+     * Validator and freshness headers; entityTag is null for random maps
+     */
+    private void putCachingHeaders(Map<String, String> headers, String entityTag) {
+        headers.put("Cache-Control", HttpCaching.cacheControl(entityTag));
+        if (entityTag != null) {
+            headers.put("ETag", entityTag);
+        }
+    }
+
+    /**
+     * Create standard response headers with CORS support; contentType is null for empty bodies
+     */
+    private Map<String, String> createResponseHeaders(String contentType) {
+        Map<String, String> headers = new HashMap<>();
+        if (contentType != null) {
+            headers.put("Content-Type", contentType);
+        }
+        headers.put("Access-Control-Allow-Origin", "*");
+        headers.put("Access-Control-Allow-Methods", "POST, OPTIONS");
+        headers.put("Access-Control-Allow-Headers", "Content-Type, x-api-key, If-None-Match");
+        headers.put("Access-Control-Max-Age", "86400");
+        headers.put("Access-Control-Expose-Headers", "ETag");
+
+        return headers;
+    }
+}
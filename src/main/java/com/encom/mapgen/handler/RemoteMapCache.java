@@ -0,0 +1,207 @@
+package com.encom.mapgen.handler;
+
+import com.encom.mapgen.generator.MapGenerator;
+import com.encom.mapgen.model.MapBinaryCodec;
+import com.encom.mapgen.model.MapManifest;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Map cache tier shared by every container through a KeyValueStore, so a
+ * popular seed is generated once per fleet rather than once per container.
+ * Maps are stored in the binary encoding. Reads give up after a timeout and
+ * count as misses, leaving the caller to generate; writes are queued and
+ * made by a background thread after the response is on its way, and are
+ * dropped when the queue is full.
+ */
+class RemoteMapCache implements MapCache {
+    private static final Logger logger = LogManager.getLogger(RemoteMapCache.class);
+
+    // Containers on other deployments share the store; keys name the encoding and algorithm
+    static final String KEY_PREFIX = "encom-map-v" + MapBinaryCodec.FORMAT_VERSION +
+                                     "-a" + MapGenerator.ALGORITHM_VERSION + "|";
+
+    private final KeyValueStore store;
+    private final long readTimeoutMillis;
+    private final ExecutorService readers;
+    private final ThreadPoolExecutor writer;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong droppedWrites = new AtomicLong();
+
+    RemoteMapCache(KeyValueStore store, long readTimeoutMillis, int writeQueueSize) {
+        this.store = store;
+        this.readTimeoutMillis = readTimeoutMillis;
+        this.readers = Executors.newCachedThreadPool(daemonThreads("remote-map-cache-read"));
+        this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                                             new ArrayBlockingQueue<>(writeQueueSize),
+                                             daemonThreads("remote-map-cache-write"));
+    }
+
+    /**
+     * Tier over a FileKeyValueStore at REMOTE_CACHE_DIR, with
+     * REMOTE_CACHE_READ_TIMEOUT_MS and REMOTE_CACHE_WRITE_QUEUE, or null when
+     * no directory is configured or it is unusable
+     */
+    static RemoteMapCache fromEnvironment() {
+        String directory = System.getenv().getOrDefault("REMOTE_CACHE_DIR", "");
+        if (directory.trim().isEmpty()) {
+            return null;
+        }
+        long readTimeoutMillis = Long.parseLong(
+                System.getenv().getOrDefault("REMOTE_CACHE_READ_TIMEOUT_MS", "100"));
+        int writeQueueSize = Integer.parseInt(
+                System.getenv().getOrDefault("REMOTE_CACHE_WRITE_QUEUE", "16"));
+        try {
+            RemoteMapCache cache = new RemoteMapCache(new FileKeyValueStore(Paths.get(directory)),
+                                                      readTimeoutMillis, writeQueueSize);
+            logger.info("Remote map cache opened - dir: {}, read timeout: {}ms", directory, readTimeoutMillis);
+            return cache;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Remote map cache disabled: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public String getName() {
+        return "remote";
+    }
+
+    @Override
+    public MapManifest get(String key) {
+        byte[] bytes = read(key);
+        if (bytes == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        try {
+            MapManifest manifest = MapBinaryCodec.decode(bytes);
+            manifest.getMetadata().setCached(true);
+            hits.incrementAndGet();
+            return manifest;
+        } catch (IOException e) {
+            logger.warn("Unreadable remote map for {}: {}", key, e.getMessage());
+            errors.incrementAndGet();
+            misses.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * Stored bytes, or null when absent, failed or slower than the read timeout
+     */
+    private byte[] read(String key) {
+        Future<byte[]> read;
+        try {
+            read = readers.submit(() -> store.get(KEY_PREFIX + key));
+        } catch (RejectedExecutionException e) {
+            errors.incrementAndGet();
+            return null;
+        }
+
+        try {
+            return read.get(readTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            read.cancel(true);
+            timeouts.incrementAndGet();
+            logger.warn("Remote map cache read timed out after {}ms", readTimeoutMillis);
+        } catch (ExecutionException e) {
+            errors.incrementAndGet();
+            logger.warn("Remote map cache read failed: {}", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            read.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    /**
+     * Queue the map to be encoded and written in the background
+     */
+    @Override
+    public boolean put(String key, MapManifest manifest) {
+        try {
+            writer.execute(() -> write(key, manifest));
+            return true;
+        } catch (RejectedExecutionException e) {
+            droppedWrites.incrementAndGet();
+            return false;
+        }
+    }
+
+    private void write(String key, MapManifest manifest) {
+        try {
+            store.put(KEY_PREFIX + key, MapBinaryCodec.encode(manifest));
+            writes.incrementAndGet();
+        } catch (IOException | RuntimeException e) {
+            errors.incrementAndGet();
+            logger.warn("Remote map cache write failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Wait for the writes queued so far to finish; false on timeout
+     */
+    boolean awaitWrites(long timeoutMillis) {
+        try {
+            writer.submit(() -> { }).get(timeoutMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (RejectedExecutionException | ExecutionException | TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    long getHits() {
+        return hits.get();
+    }
+
+    long getMisses() {
+        return misses.get();
+    }
+
+    long getTimeouts() {
+        return timeouts.get();
+    }
+
+    long getErrors() {
+        return errors.get();
+    }
+
+    long getWrites() {
+        return writes.get();
+    }
+
+    long getDroppedWrites() {
+        return droppedWrites.get();
+    }
+}
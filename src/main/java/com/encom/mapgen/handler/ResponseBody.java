@@ -0,0 +1,109 @@
+package com.encom.mapgen.handler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Collects an encoded response body, compressing it as it is written.
+ * The first threshold bytes are held uncompressed; once the body grows past
+ * them they are fed to the compressor and every later write goes straight
+ * through it, so the uncompressed body is never held in full. Bodies that
+ * stay under the threshold are sent as-is.
+ */
+final class ResponseBody extends OutputStream {
+    private static final int INITIAL_CAPACITY = 8192;
+
+    private final ContentEncoding encoding;
+    private final int threshold;
+    private final ByteArrayOutputStream plain;
+    private final ByteArrayOutputStream encoded = new ByteArrayOutputStream(INITIAL_CAPACITY);
+
+    private OutputStream compressor;
+    private long uncompressedBytes;
+    private long compressionNanos;
+    private boolean closed;
+
+    ResponseBody(ContentEncoding encoding, int threshold) {
+        this.encoding = encoding;
+        this.threshold = threshold;
+        this.plain = new ByteArrayOutputStream(INITIAL_CAPACITY);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        if (closed) {
+            throw new IOException("Response body is closed");
+        }
+        uncompressedBytes += length;
+        if (compressor == null) {
+            plain.write(bytes, offset, length);
+            if (encoding != ContentEncoding.IDENTITY && plain.size() > threshold) {
+                startCompressing();
+            }
+            return;
+        }
+        long start = System.nanoTime();
+        compressor.write(bytes, offset, length);
+        compressionNanos += System.nanoTime() - start;
+    }
+
+    private void startCompressing() throws IOException {
+        long start = System.nanoTime();
+        compressor = encoding.wrap(encoded);
+        plain.writeTo(compressor);
+        plain.reset();
+        compressionNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * Finish compression; the body is complete afterwards
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (compressor != null) {
+            long start = System.nanoTime();
+            compressor.close();
+            compressionNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Whether the body crossed the threshold and was compressed
+     */
+    boolean isCompressed() {
+        return compressor != null;
+    }
+
+    /**
+     * Coding applied to the body, IDENTITY if it was not compressed
+     */
+    ContentEncoding getAppliedEncoding() {
+        return isCompressed() ? encoding : ContentEncoding.IDENTITY;
+    }
+
+    byte[] toByteArray() {
+        return isCompressed() ? encoded.toByteArray() : plain.toByteArray();
+    }
+
+    long getUncompressedBytes() {
+        return uncompressedBytes;
+    }
+
+    long getEncodedBytes() {
+        return isCompressed() ? encoded.size() : plain.size();
+    }
+
+    long getCompressionNanos() {
+        return compressionNanos;
+    }
+}
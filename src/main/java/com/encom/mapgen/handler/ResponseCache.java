@@ -0,0 +1,62 @@
+package com.encom.mapgen.handler;
+
+/**
+ * Least-recently-used cache of encoded response bodies, keyed by the request's
+ * canonical key, the response format and the negotiated content coding. A hit
+ * is returned as-is, without generating, encoding, compressing or base64
+ * encoding anything. Only bodies of maps that were themselves served from the
+ * manifest cache are stored, so every cached body correctly says cached=true.
+ */
+class ResponseCache {
+    private final LruCache<String, EncodedResponse> cache;
+
+    ResponseCache(int maxEntries, long maxBytes) {
+        this.cache = new LruCache<>(maxEntries, maxBytes, EncodedResponse::heapBytes);
+    }
+
+    /**
+     * Cache configured from RESPONSE_CACHE_MAX_ENTRIES and RESPONSE_CACHE_MAX_BYTES
+     */
+    static ResponseCache fromEnvironment() {
+        int maxEntries = Integer.parseInt(
+                System.getenv().getOrDefault("RESPONSE_CACHE_MAX_ENTRIES", "64"));
+        long maxBytes = Long.parseLong(
+                System.getenv().getOrDefault("RESPONSE_CACHE_MAX_BYTES", String.valueOf(32L << 20)));
+        return new ResponseCache(maxEntries, maxBytes);
+    }
+
+    EncodedResponse get(String requestKey, ResponseFormat format, ContentEncoding encoding) {
+        return cache.get(key(requestKey, format, encoding));
+    }
+
+    void put(String requestKey, ResponseFormat format, ContentEncoding encoding, EncodedResponse response) {
+        cache.put(key(requestKey, format, encoding), response);
+    }
+
+    /**
+     * Format and coding go first because the request key ends with the free-form seed
+     */
+    private static String key(String requestKey, ResponseFormat format, ContentEncoding encoding) {
+        return format.name() + "|" + encoding.name() + "|" + requestKey;
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    long getBytes() {
+        return cache.getBytes();
+    }
+
+    long getHits() {
+        return cache.getHits();
+    }
+
+    long getMisses() {
+        return cache.getMisses();
+    }
+
+    long getEvictions() {
+        return cache.getEvictions();
+    }
+}
@@ -0,0 +1,105 @@
+package com.encom.mapgen.handler;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.encom.mapgen.model.MapBinaryCodec;
+import com.encom.mapgen.model.MapManifestCompactWriter;
+
+import java.util.Map;
+
+/**
+ * Representation of a generated map sent to the client
+ */
+enum ResponseFormat {
+    /** Pretty-printed manifest with hexagon and connection IDs */
+    JSON("application/json", 194, 18),
+
+    /** Rows of [q, r, typeOrdinal, connectionMask]; requested with format=compact */
+    COMPACT_JSON("application/json", 14, 4.3),
+
+    /** MapBinaryCodec encoding; requested with Accept: application/x-encom-map */
+    BINARY(MapBinaryCodec.CONTENT_TYPE, 3.0, 1.0);
+
+    // Metadata and statistics on top of the hexagons
+    private static final int METADATA_BYTES = 2048;
+
+    private final String contentType;
+
+    // Measured on 100,000-hexagon maps, uncompressed and gzipped
+    private final double bytesPerHexagon;
+    private final double compressedBytesPerHexagon;
+
+    ResponseFormat(String contentType, double bytesPerHexagon, double compressedBytesPerHexagon) {
+        this.contentType = contentType;
+        this.bytesPerHexagon = bytesPerHexagon;
+        this.compressedBytesPerHexagon = compressedBytesPerHexagon;
+    }
+
+    String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Approximate size of the response body for a map, as handed to Lambda:
+     * binary and compressed bodies grow by a third when base64 encoded
+     */
+    long estimateResponseBytes(long hexagons, ContentEncoding encoding) {
+        boolean compressed = encoding != ContentEncoding.IDENTITY;
+        long bytes = (long) Math.ceil(hexagons * (compressed ? compressedBytesPerHexagon : bytesPerHexagon)) +
+                     METADATA_BYTES;
+        return this == BINARY || compressed ? (bytes + 2) / 3 * 4 : bytes;
+    }
+
+    /**
+     * Pick the format from the format query parameter, then the Accept header.
+     * An explicit format=compact wins over Accept.
+     */
+    static ResponseFormat negotiate(APIGatewayProxyRequestEvent input) {
+        Map<String, String> query = input.getQueryStringParameters();
+        String format = query != null ? query.get("format") : null;
+        if (format != null && !format.trim().isEmpty()) {
+            switch (format.trim()) {
+                case MapManifestCompactWriter.FORMAT:
+                    return COMPACT_JSON;
+                case "json":
+                    return JSON;
+                default:
+                    throw new IllegalArgumentException("Unknown format: " + format);
+            }
+        }
+
+        return accepts(input, MapBinaryCodec.CONTENT_TYPE) ? BINARY : JSON;
+    }
+
+    /**
+     * Whether the Accept header lists a media type explicitly
+     */
+    static boolean accepts(APIGatewayProxyRequestEvent input, String mediaType) {
+        String accept = header(input, "Accept");
+        if (accept == null) {
+            return false;
+        }
+        for (String range : accept.split(",")) {
+            int parameters = range.indexOf(';');
+            String type = (parameters >= 0 ? range.substring(0, parameters) : range).trim();
+            if (type.equalsIgnoreCase(mediaType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Header value by case-insensitive name, or null
+     */
+    static String header(APIGatewayProxyRequestEvent input, String name) {
+        if (input.getHeaders() == null) {
+            return null;
+        }
+        for (Map.Entry<String, String> entry : input.getHeaders().entrySet()) {
+            if (entry.getKey() != null && entry.getKey().equalsIgnoreCase(name)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,291 @@
+package com.encom.mapgen.handler;
+
+import com.amazonaws.services.lambda.runtime.ClientContext;
+import com.amazonaws.services.lambda.runtime.CognitoIdentity;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.google.gson.JsonObject;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lambda runtime client that streams responses. The managed Java runtime
+ * collects a RequestStreamHandler's whole output before returning it, so
+ * behind a RESPONSE_STREAM function URL the client still waits for the last
+ * byte. This client polls the Runtime API itself and posts the handler's
+ * output in streaming mode, one chunk per flush, as it is written.
+ *
+ * The function's exec wrapper (terraform/modules/lambda/stream-runtime.sh)
+ * starts it in place of the managed client, and it runs the handler named
+ * by the function's handler setting.
+ */
+public class StreamingRuntime {
+    private static final Logger logger = LogManager.getLogger(StreamingRuntime.class);
+
+    private static final String API_VERSION = "/2018-06-01";
+
+    // Tells a function URL the body starts with a JSON prelude of status and headers
+    private static final String HTTP_INTEGRATION_CONTENT_TYPE = "application/vnd.awslambda.http-integration-response";
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private final String baseUrl;
+    private final RequestStreamHandler handler;
+
+    StreamingRuntime(String runtimeApi, RequestStreamHandler handler) {
+        this.baseUrl = "http://" + runtimeApi + API_VERSION;
+        this.handler = handler;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String runtimeApi = System.getenv("AWS_LAMBDA_RUNTIME_API");
+        RequestStreamHandler handler;
+        try {
+            handler = loadHandler(System.getenv("_HANDLER"));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.error("Handler failed to initialize", e);
+            postError("http://" + runtimeApi + API_VERSION + "/runtime/init/error", e);
+            System.exit(1);
+            return;
+        }
+
+        // A Runtime API failure ends the process, and Lambda starts a new one
+        StreamingRuntime runtime = new StreamingRuntime(runtimeApi, handler);
+        while (true) {
+            runtime.processNext();
+        }
+    }
+
+    /**
+     * Instantiate the RequestStreamHandler named by a handler setting, with or without a ::method suffix
+     */
+    static RequestStreamHandler loadHandler(String handlerName) throws ReflectiveOperationException {
+        if (handlerName == null || handlerName.isEmpty()) {
+            throw new IllegalArgumentException("No handler configured");
+        }
+
+        int separator = handlerName.indexOf("::");
+        String className = separator < 0 ? handlerName : handlerName.substring(0, separator);
+        Object handler = Class.forName(className).getDeclaredConstructor().newInstance();
+        if (!(handler instanceof RequestStreamHandler)) {
+            throw new IllegalArgumentException("Handler " + className + " is not a RequestStreamHandler");
+        }
+        return (RequestStreamHandler) handler;
+    }
+
+    /**
+     * Wait for the next invocation, run the handler on it and stream its output back
+     */
+    void processNext() throws IOException {
+        HttpURLConnection next = open(baseUrl + "/runtime/invocation/next", "GET");
+        String requestId = next.getHeaderField("Lambda-Runtime-Aws-Request-Id");
+        long deadlineMs = Long.parseLong(next.getHeaderField("Lambda-Runtime-Deadline-Ms"));
+        String functionArn = next.getHeaderField("Lambda-Runtime-Invoked-Function-Arn");
+        String traceId = next.getHeaderField("Lambda-Runtime-Trace-Id");
+        if (traceId != null) {
+            System.setProperty("com.amazonaws.xray.traceHeader", traceId);
+        }
+
+        byte[] event;
+        try (InputStream input = next.getInputStream()) {
+            event = input.readAllBytes();
+        }
+
+        String invocationUrl = baseUrl + "/runtime/invocation/" + requestId;
+        ResponseStream output = new ResponseStream(invocationUrl + "/response");
+        try {
+            handler.handleRequest(new ByteArrayInputStream(event), output,
+                                  new RuntimeContext(requestId, deadlineMs, functionArn));
+        } catch (Exception e) {
+            logger.error("Invocation {} failed", requestId, e);
+            if (!output.isStarted()) {
+                postError(invocationUrl + "/error", e);
+                return;
+            }
+            // The status and part of the body are already sent; the stream ends where the handler stopped
+        }
+        output.close();
+    }
+
+    private static HttpURLConnection open(String url, String method) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestMethod(method);
+        // The next invocation can be minutes away, and a response as long as the function allows
+        connection.setReadTimeout(0);
+        return connection;
+    }
+
+    /**
+     * Runtime API calls answer 202 Accepted; anything else means the runtime is out of step
+     */
+    private static void expectAccepted(HttpURLConnection connection) throws IOException {
+        int status = connection.getResponseCode();
+        if (status != HttpURLConnection.HTTP_ACCEPTED) {
+            throw new IOException("Runtime API answered " + status + " to " + connection.getURL());
+        }
+        connection.getInputStream().close();
+    }
+
+    private static void postError(String url, Throwable error) throws IOException {
+        JsonObject body = new JsonObject();
+        body.addProperty("errorMessage", String.valueOf(error.getMessage()));
+        body.addProperty("errorType", error.getClass().getName());
+
+        HttpURLConnection connection = open(url, "POST");
+        connection.setRequestProperty("Content-Type", "application/json");
+        connection.setRequestProperty("Lambda-Runtime-Function-Error-Type", error.getClass().getName());
+        connection.setDoOutput(true);
+        try (OutputStream output = connection.getOutputStream()) {
+            output.write(body.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        expectAccepted(connection);
+    }
+
+    /**
+     * Streamed response body. The request starts with the first write, so a
+     * handler that fails before writing can still report an error instead.
+     */
+    private static final class ResponseStream extends OutputStream {
+        private final String url;
+        private HttpURLConnection connection;
+        private OutputStream body;
+        private boolean closed;
+
+        ResponseStream(String url) {
+            this.url = url;
+        }
+
+        boolean isStarted() {
+            return body != null;
+        }
+
+        private OutputStream body() throws IOException {
+            if (body == null) {
+                connection = open(url, "POST");
+                connection.setRequestProperty("Lambda-Runtime-Function-Response-Mode", "streaming");
+                connection.setRequestProperty("Content-Type", HTTP_INTEGRATION_CONTENT_TYPE);
+                connection.setDoOutput(true);
+                connection.setChunkedStreamingMode(CHUNK_SIZE);
+                body = connection.getOutputStream();
+            }
+            return body;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            body().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            body().write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (body != null) {
+                body.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            // Handlers may close the stream themselves
+            if (closed) {
+                return;
+            }
+            closed = true;
+            body().close();
+            expectAccepted(connection);
+        }
+    }
+
+    /**
+     * Invocation context from the Runtime API headers and the function's environment
+     */
+    private static final class RuntimeContext implements Context {
+        private final String requestId;
+        private final long deadlineMs;
+        private final String functionArn;
+
+        RuntimeContext(String requestId, long deadlineMs, String functionArn) {
+            this.requestId = requestId;
+            this.deadlineMs = deadlineMs;
+            this.functionArn = functionArn;
+        }
+
+        @Override
+        public String getAwsRequestId() {
+            return requestId;
+        }
+
+        @Override
+        public String getLogGroupName() {
+            return System.getenv("AWS_LAMBDA_LOG_GROUP_NAME");
+        }
+
+        @Override
+        public String getLogStreamName() {
+            return System.getenv("AWS_LAMBDA_LOG_STREAM_NAME");
+        }
+
+        @Override
+        public String getFunctionName() {
+            return System.getenv("AWS_LAMBDA_FUNCTION_NAME");
+        }
+
+        @Override
+        public String getFunctionVersion() {
+            return System.getenv("AWS_LAMBDA_FUNCTION_VERSION");
+        }
+
+        @Override
+        public String getInvokedFunctionArn() {
+            return functionArn;
+        }
+
+        @Override
+        public CognitoIdentity getIdentity() {
+            return null;
+        }
+
+        @Override
+        public ClientContext getClientContext() {
+            return null;
+        }
+
+        @Override
+        public int getRemainingTimeInMillis() {
+            return (int) Math.max(0, deadlineMs - System.currentTimeMillis());
+        }
+
+        @Override
+        public int getMemoryLimitInMB() {
+            return Integer.parseInt(System.getenv().getOrDefault("AWS_LAMBDA_FUNCTION_MEMORY_SIZE", "0"));
+        }
+
+        @Override
+        public LambdaLogger getLogger() {
+            return new LambdaLogger() {
+                @Override
+                public void log(String message) {
+                    System.out.println(message);
+                }
+
+                @Override
+                public void log(byte[] message) {
+                    System.out.println(new String(message, StandardCharsets.UTF_8));
+                }
+            };
+        }
+    }
+}
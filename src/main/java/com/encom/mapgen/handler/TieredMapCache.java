@@ -0,0 +1,114 @@
+package com.encom.mapgen.handler;
+
+import com.encom.mapgen.model.MapManifest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Map cache tiers asked fastest first: typically the heap, then the
+ * container's local disk, then the store shared by every container. A hit
+ * is copied into the faster tiers that missed it; a generated map goes to
+ * every tier. Hits and misses are counted per tier.
+ */
+class TieredMapCache implements MapCache {
+    private final List<MapCache> tiers = new ArrayList<>();
+    private final long[] hits;
+    private final long[] misses;
+
+    /**
+     * Tiers in lookup order; null tiers are disabled and left out
+     */
+    TieredMapCache(MapCache... tiers) {
+        for (MapCache tier : tiers) {
+            if (tier != null) {
+                this.tiers.add(tier);
+            }
+        }
+        this.hits = new long[this.tiers.size()];
+        this.misses = new long[this.tiers.size()];
+    }
+
+    @Override
+    public String getName() {
+        return "tiered";
+    }
+
+    @Override
+    public MapManifest get(String key) {
+        return get(key, () -> { });
+    }
+
+    /**
+     * Cached map for a key, or null when every tier misses. onFirstMiss runs
+     * once the first tier has missed, before a slower tier loads a map onto
+     * the heap or the caller generates one.
+     */
+    MapManifest get(String key, Runnable onFirstMiss) {
+        if (tiers.isEmpty()) {
+            onFirstMiss.run();
+        }
+        for (int i = 0; i < tiers.size(); i++) {
+            MapManifest manifest = tiers.get(i).get(key);
+            count(i, manifest != null);
+            if (manifest != null) {
+                for (int j = 0; j < i; j++) {
+                    tiers.get(j).put(key, manifest);
+                }
+                return manifest;
+            }
+            if (i == 0) {
+                onFirstMiss.run();
+            }
+        }
+        return null;
+    }
+
+    private synchronized void count(int tier, boolean hit) {
+        if (hit) {
+            hits[tier]++;
+        } else {
+            misses[tier]++;
+        }
+    }
+
+    @Override
+    public boolean put(String key, MapManifest manifest) {
+        boolean kept = false;
+        for (MapCache tier : tiers) {
+            kept |= tier.put(key, manifest);
+        }
+        return kept;
+    }
+
+    List<MapCache> getTiers() {
+        return tiers;
+    }
+
+    synchronized long getHits(MapCache tier) {
+        return hits[indexOf(tier)];
+    }
+
+    synchronized long getMisses(MapCache tier) {
+        return misses[indexOf(tier)];
+    }
+
+    /**
+     * Share of lookups reaching a tier that it answered, 0 before any
+     */
+    synchronized double getHitRate(MapCache tier) {
+        int i = indexOf(tier);
+        long lookups = hits[i] + misses[i];
+        return lookups == 0 ? 0.0 : (double) hits[i] / lookups;
+    }
+
+    private int indexOf(MapCache tier) {
+        for (int i = 0; i < tiers.size(); i++) {
+            if (Objects.equals(tiers.get(i), tier)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Not a tier of this cache: " + tier.getName());
+    }
+}
@@ -0,0 +1,66 @@
+package com.encom.mapgen.model;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Gson adapter for MapManifest.BoundingBox ({minQ, maxQ, minR, maxR})
+ */
+public class BoundingBoxTypeAdapter extends TypeAdapter<MapManifest.BoundingBox> {
+    
+    @Override
+    public void write(JsonWriter out, MapManifest.BoundingBox box) throws IOException {
+        if (box == null) {
+            out.nullValue();
+            return;
+        }
+        
+        out.beginObject();
+        out.name("minQ").value(box.getMinQ());
+        out.name("maxQ").value(box.getMaxQ());
+        out.name("minR").value(box.getMinR());
+        out.name("maxR").value(box.getMaxR());
+        out.endObject();
+    }
+    
+    @Override
+    public MapManifest.BoundingBox read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        
+        MapManifest.BoundingBox box = new MapManifest.BoundingBox();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            
+            switch (name) {
+                case "minQ":
+                    box.setMinQ(in.nextInt());
+                    break;
+                case "maxQ":
+                    box.setMaxQ(in.nextInt());
+                    break;
+                case "minR":
+                    box.setMinR(in.nextInt());
+                    break;
+                case "maxR":
+                    box.setMaxR(in.nextInt());
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return box;
+    }
+}
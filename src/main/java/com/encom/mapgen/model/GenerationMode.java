@@ -0,0 +1,60 @@
+package com.encom.mapgen.model;
+
+/**
+ * How a map is generated, which also decides how large it may be
+ */
+public enum GenerationMode {
+    /** Full-quality generation for maps up to a thousand hexagons */
+    STANDARD("standard", 1000),
+
+    /**
+     * World-scale maps. Every phase is bounded to near-linear work; the
+     * longest path may be a lower bound (see longestPathExact).
+     */
+    LARGE("large", 5_000_000),
+
+    /**
+     * World-scale maps grown as independent tiles in parallel and stitched
+     * together. The map depends only on the seed and count, never on how many
+     * threads built it.
+     */
+    TILED("tiled", 5_000_000);
+
+    public static final GenerationMode DEFAULT = STANDARD;
+
+    private final String value;
+    private final int maxHexagonCount;
+
+    GenerationMode(String value, int maxHexagonCount) {
+        this.value = value;
+        this.maxHexagonCount = maxHexagonCount;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public int getMaxHexagonCount() {
+        return maxHexagonCount;
+    }
+
+    /**
+     * Look up a mode by value, falling back to the default when none is given
+     */
+    public static GenerationMode fromValue(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return DEFAULT;
+        }
+        for (GenerationMode mode : values()) {
+            if (mode.value.equals(value.trim())) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown mode: " + value);
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
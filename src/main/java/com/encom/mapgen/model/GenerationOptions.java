@@ -1,8 +1,11 @@
 package com.encom.mapgen.model;
 
+import com.google.gson.annotations.JsonAdapter;
+
 /**
  * Options for customizing map generation
  */
+@JsonAdapter(GenerationOptionsTypeAdapter.class)
 public class GenerationOptions {
     private double corridorRatio = 0.7;
     private int roomSizeMin = 4;
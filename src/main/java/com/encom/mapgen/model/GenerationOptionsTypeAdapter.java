@@ -0,0 +1,71 @@
+package com.encom.mapgen.model;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Gson adapter for GenerationOptions. Options missing from the JSON keep
+ * their defaults.
+ */
+public class GenerationOptionsTypeAdapter extends TypeAdapter<GenerationOptions> {
+    
+    @Override
+    public void write(JsonWriter out, GenerationOptions options) throws IOException {
+        if (options == null) {
+            out.nullValue();
+            return;
+        }
+        
+        out.beginObject();
+        out.name("corridorRatio").value(options.getCorridorRatio());
+        out.name("roomSizeMin").value(options.getRoomSizeMin());
+        out.name("roomSizeMax").value(options.getRoomSizeMax());
+        out.name("corridorWidth").beginArray();
+        for (int width : options.getCorridorWidth()) {
+            out.value(width);
+        }
+        out.endArray();
+        out.endObject();
+    }
+    
+    @Override
+    public GenerationOptions read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        
+        GenerationOptions options = new GenerationOptions();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            
+            switch (name) {
+                case "corridorRatio":
+                    options.setCorridorRatio(in.nextDouble());
+                    break;
+                case "roomSizeMin":
+                    options.setRoomSizeMin(in.nextInt());
+                    break;
+                case "roomSizeMax":
+                    options.setRoomSizeMax(in.nextInt());
+                    break;
+                case "corridorWidth":
+                    options.setCorridorWidth(StatisticsTypeAdapter.readIntArray(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return options;
+    }
+}
@@ -1,12 +1,19 @@
 package com.encom.mapgen.model;
 
+import com.google.gson.annotations.JsonAdapter;
+
+import java.util.Arrays;
+
 /**
  * Request model for map generation
  */
+@JsonAdapter(ModelTypeAdapterFactory.class)
 public class GenerationRequest {
     private String seed;
     private int hexagonCount;
     private GenerationOptions options;
+    private String rngAlgorithm;
+    private String mode;
     
     public GenerationRequest() {
         this.hexagonCount = 50; // Default
@@ -43,17 +50,89 @@ public class GenerationRequest {
         this.options = options;
     }
     
+    /**
+     * Id of the random number algorithm, or null for the default
+     */
+    public String getRngAlgorithm() {
+        return rngAlgorithm;
+    }
+    
+    public void setRngAlgorithm(String rngAlgorithm) {
+        this.rngAlgorithm = rngAlgorithm;
+    }
+    
+    /**
+     * Generation mode value, or null for standard generation
+     */
+    public String getMode() {
+        return mode;
+    }
+    
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+    
+    /**
+     * Normalized description of the map this request produces, or null when
+     * no seed is given and the map is random. Requests with equal keys produce
+     * identical maps.
+     */
+    public String getCanonicalKey() {
+        if (seed == null || seed.trim().isEmpty()) {
+            return null;
+        }
+        
+        GenerationOptions normalized = options != null ? options : new GenerationOptions();
+        // The seed goes last so that separators inside it cannot make two keys collide
+        return RngAlgorithm.fromId(rngAlgorithm).getId() +
+               "|" + GenerationMode.fromValue(mode).getValue() +
+               "|" + hexagonCount +
+               "|" + normalized.getCorridorRatio() +
+               "|" + normalized.getRoomSizeMin() +
+               "|" + normalized.getRoomSizeMax() +
+               "|" + Arrays.toString(normalized.getCorridorWidth()) +
+               "|" + seed.trim();
+    }
+    
+    /**
+     * Key shared by every request whose maps grow through the same states, or
+     * null when unseeded. Unlike the canonical key it leaves out the hexagon
+     * count, which only matters once growth stops, and the mode, except for
+     * java-random-v1: it replays the original generator's orders in standard
+     * mode only, so its two modes grow different maps.
+     */
+    public String getGrowthKey() {
+        if (seed == null || seed.trim().isEmpty()) {
+            return null;
+        }
+        
+        GenerationOptions normalized = options != null ? options : new GenerationOptions();
+        RngAlgorithm algorithm = RngAlgorithm.fromId(rngAlgorithm);
+        return algorithm.getId() +
+               (algorithm == RngAlgorithm.LEGACY ? "|" + GenerationMode.fromValue(mode).getValue() : "") +
+               "|" + normalized.getCorridorRatio() +
+               "|" + normalized.getRoomSizeMin() +
+               "|" + normalized.getRoomSizeMax() +
+               "|" + Arrays.toString(normalized.getCorridorWidth()) +
+               "|" + seed.trim();
+    }
+    
     /**
      * Validate the request parameters
      */
     public void validate() {
-        if (hexagonCount < 1 || hexagonCount > 1000) {
-            throw new IllegalArgumentException("Hexagon count must be between 1 and 1000");
+        GenerationMode generationMode = GenerationMode.fromValue(mode);
+        if (hexagonCount < 1 || hexagonCount > generationMode.getMaxHexagonCount()) {
+            throw new IllegalArgumentException("Hexagon count must be between 1 and " + 
+                                               generationMode.getMaxHexagonCount() + 
+                                               " in " + generationMode + " mode");
         }
         
         if (options != null) {
             options.validate();
         }
+        
+        RngAlgorithm.fromId(rngAlgorithm);
     }
     
     @Override
@@ -62,6 +141,8 @@ public class GenerationRequest {
                 "seed='" + seed + '\'' +
                 ", hexagonCount=" + hexagonCount +
                 ", options=" + options +
+                ", rngAlgorithm='" + rngAlgorithm + '\'' +
+                ", mode='" + mode + '\'' +
                 '}';
     }
 }
\ No newline at end of file
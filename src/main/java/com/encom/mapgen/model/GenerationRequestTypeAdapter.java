@@ -0,0 +1,125 @@
+package com.encom.mapgen.model;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Gson adapter for GenerationRequest and RegionRequest, read in one pass
+ * without building a JSON tree. A request body with a "region" is read as a
+ * RegionRequest, so callers can parse any body as a GenerationRequest.
+ */
+public class GenerationRequestTypeAdapter extends TypeAdapter<GenerationRequest> {
+    private final boolean regionOnly;
+    private final GenerationOptionsTypeAdapter optionsAdapter = new GenerationOptionsTypeAdapter();
+    private final BoundingBoxTypeAdapter boundingBoxAdapter = new BoundingBoxTypeAdapter();
+    
+    GenerationRequestTypeAdapter(boolean regionOnly) {
+        this.regionOnly = regionOnly;
+    }
+    
+    @Override
+    public void write(JsonWriter out, GenerationRequest request) throws IOException {
+        if (request == null) {
+            out.nullValue();
+            return;
+        }
+        
+        out.beginObject();
+        out.name("seed").value(request.getSeed());
+        out.name("hexagonCount").value(request.getHexagonCount());
+        out.name("options");
+        optionsAdapter.write(out, request.getOptions());
+        out.name("rngAlgorithm").value(request.getRngAlgorithm());
+        out.name("mode").value(request.getMode());
+        if (request instanceof RegionRequest) {
+            out.name("region");
+            boundingBoxAdapter.write(out, ((RegionRequest) request).getRegion());
+        }
+        out.endObject();
+    }
+    
+    @Override
+    public GenerationRequest read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        
+        // Fields can arrive in any order, so the request type is only known at the end.
+        // Null fields keep their defaults.
+        String seed = null;
+        int hexagonCount = 0;
+        boolean hasHexagonCount = false;
+        GenerationOptions options = null;
+        String rngAlgorithm = null;
+        String mode = null;
+        MapManifest.BoundingBox region = null;
+        boolean hasRegion = regionOnly;
+        
+        try {
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    hasRegion |= name.equals("region");
+                    continue;
+                }
+                
+                switch (name) {
+                    case "seed":
+                        seed = in.nextString();
+                        break;
+                    case "hexagonCount":
+                        hexagonCount = in.nextInt();
+                        hasHexagonCount = true;
+                        break;
+                    case "options":
+                        options = optionsAdapter.read(in);
+                        break;
+                    case "rngAlgorithm":
+                        rngAlgorithm = in.nextString();
+                        break;
+                    case "mode":
+                        mode = in.nextString();
+                        break;
+                    case "region":
+                        region = boundingBoxAdapter.read(in);
+                        hasRegion = true;
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+        
+        GenerationRequest request;
+        if (hasRegion) {
+            RegionRequest regionRequest = new RegionRequest();
+            regionRequest.setRegion(region);
+            request = regionRequest;
+        } else {
+            request = new GenerationRequest();
+        }
+        request.setSeed(seed);
+        if (hasHexagonCount) {
+            request.setHexagonCount(hexagonCount);
+        }
+        if (options != null) {
+            request.setOptions(options);
+        }
+        request.setRngAlgorithm(rngAlgorithm);
+        if (mode != null) {
+            request.setMode(mode);
+        }
+        return request;
+    }
+}
@@ -12,11 +12,23 @@ public class HexCoordinate {
     private final int q;
     private final int r;
     
+    /** Sentinel returned by parseIdKey for malformed IDs (q = Integer.MIN_VALUE is never generated) */
+    public static final long INVALID_KEY = Long.MIN_VALUE;
+    
+    private static final String ID_PREFIX = "hex_";
+    
+    /** Number of neighbor directions around a hexagon */
+    public static final int DIRECTION_COUNT = 6;
+    
     // Flat-top hexagon neighbor directions
     private static final int[][] DIRECTIONS = {
         {1, 0}, {1, -1}, {0, -1}, {-1, 0}, {-1, 1}, {0, 1}
     };
     
+    // Flattened direction offsets for index-based neighbor loops
+    private static final int[] DIRECTION_Q = {1, 1, 0, -1, -1, 0};
+    private static final int[] DIRECTION_R = {0, -1, -1, 0, 1, 1};
+    
     public HexCoordinate(int q, int r) {
         this.q = q;
         this.r = r;
@@ -60,14 +72,168 @@ public class HexCoordinate {
      * Calculate distance between two hex coordinates
      */
     public int distanceTo(HexCoordinate other) {
-        return (Math.abs(q - other.q) + Math.abs(q + r - other.q - other.r) + Math.abs(r - other.r)) / 2;
+        return distance(q, r, other.q, other.r);
+    }
+    
+    /**
+     * Calculate distance between two hex coordinates given as raw axial values
+     */
+    public static int distance(int q1, int r1, int q2, int r2) {
+        return (Math.abs(q1 - q2) + Math.abs(q1 + r1 - q2 - r2) + Math.abs(r1 - r2)) / 2;
+    }
+    
+    /**
+     * Q offset for a direction (0-5); pair with directionR for index-based neighbor loops
+     */
+    public static int directionQ(int direction) {
+        return DIRECTION_Q[direction];
+    }
+    
+    /**
+     * R offset for a direction (0-5)
+     */
+    public static int directionR(int direction) {
+        return DIRECTION_R[direction];
+    }
+    
+    /**
+     * Direction pointing the opposite way (0 <-> 3, 1 <-> 4, 2 <-> 5)
+     */
+    public static int oppositeDirection(int direction) {
+        return (direction + 3) % DIRECTION_COUNT;
+    }
+    
+    /**
+     * Direction (0-5) from one coordinate to an adjacent one, or -1 if they are not adjacent
+     */
+    public static int directionTo(int fromQ, int fromR, int toQ, int toR) {
+        int dq = toQ - fromQ;
+        int dr = toR - fromR;
+        for (int d = 0; d < DIRECTION_COUNT; d++) {
+            if (DIRECTION_Q[d] == dq && DIRECTION_R[d] == dr) {
+                return d;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Packed key of the neighbor of a packed coordinate in a direction (0-5)
+     */
+    public static long neighborKey(long key, int direction) {
+        return pack(unpackQ(key) + DIRECTION_Q[direction], unpackR(key) + DIRECTION_R[direction]);
+    }
+    
+    /**
+     * Visit the six neighbors of a coordinate in direction order without allocating
+     */
+    public static void forEachNeighbor(int q, int r, HexVisitor visitor) {
+        for (int d = 0; d < DIRECTION_COUNT; d++) {
+            visitor.visit(q + DIRECTION_Q[d], r + DIRECTION_R[d]);
+        }
+    }
+    
+    /**
+     * Visit every coordinate exactly radius steps from the center.
+     * Starts at the cell radius steps in direction 4 and walks the ring in direction order.
+     */
+    public static void forEachInRing(int centerQ, int centerR, int radius, HexVisitor visitor) {
+        if (radius < 0) {
+            throw new IllegalArgumentException("Radius must be non-negative");
+        }
+        if (radius == 0) {
+            visitor.visit(centerQ, centerR);
+            return;
+        }
+        
+        int q = centerQ + DIRECTION_Q[4] * radius;
+        int r = centerR + DIRECTION_R[4] * radius;
+        for (int side = 0; side < DIRECTION_COUNT; side++) {
+            for (int step = 0; step < radius; step++) {
+                visitor.visit(q, r);
+                q += DIRECTION_Q[side];
+                r += DIRECTION_R[side];
+            }
+        }
+    }
+    
+    /**
+     * Visit every coordinate within radius of the center, ring by ring outward
+     */
+    public static void forEachInSpiral(int centerQ, int centerR, int radius, HexVisitor visitor) {
+        for (int ring = 0; ring <= radius; ring++) {
+            forEachInRing(centerQ, centerR, ring, visitor);
+        }
+    }
+    
+    /**
+     * Number of coordinates within radius of a center (1, 7, 19, ...)
+     */
+    public static int spiralSize(int radius) {
+        return 1 + 3 * radius * (radius + 1);
     }
     
     /**
      * Generate a unique string ID for this coordinate
      */
     public String toId() {
-        return "hex_" + q + "_" + r;
+        return toId(q, r);
+    }
+    
+    /**
+     * Generate the string ID for raw axial coordinates
+     */
+    public static String toId(int q, int r) {
+        return ID_PREFIX + q + "_" + r;
+    }
+    
+    /**
+     * Pack this coordinate into a single long key
+     */
+    public long toKey() {
+        return pack(q, r);
+    }
+    
+    /**
+     * Pack axial coordinates into a single long (q in the high word, r in the low word)
+     */
+    public static long pack(int q, int r) {
+        return ((long) q << 32) | (r & 0xFFFFFFFFL);
+    }
+    
+    public static int unpackQ(long key) {
+        return (int) (key >> 32);
+    }
+    
+    public static int unpackR(long key) {
+        return (int) key;
+    }
+    
+    public static HexCoordinate fromKey(long key) {
+        return new HexCoordinate(unpackQ(key), unpackR(key));
+    }
+    
+    /**
+     * Parse a "hex_{q}_{r}" ID into a packed key without allocating.
+     * Returns INVALID_KEY if the ID is malformed.
+     */
+    public static long parseIdKey(String id) {
+        if (id == null || !id.startsWith(ID_PREFIX)) {
+            return INVALID_KEY;
+        }
+        
+        int separator = id.indexOf('_', ID_PREFIX.length() + 1);
+        if (separator < 0) {
+            return INVALID_KEY;
+        }
+        
+        try {
+            int parsedQ = Integer.parseInt(id, ID_PREFIX.length(), separator, 10);
+            int parsedR = Integer.parseInt(id, separator + 1, id.length(), 10);
+            return pack(parsedQ, parsedR);
+        } catch (NumberFormatException e) {
+            return INVALID_KEY;
+        }
     }
     
     @Override
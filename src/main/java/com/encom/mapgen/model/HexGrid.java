@@ -0,0 +1,188 @@
+package com.encom.mapgen.model;
+
+import java.util.Arrays;
+
+/**
+ * Occupancy grid keyed by packed hex coordinates.
+ * Maps each occupied (q, r) to the index of its hexagon using primitive
+ * open-addressed arrays, so lookups never build id strings or box keys.
+ */
+public class HexGrid {
+    /** Returned by lookups when no hexagon occupies the coordinate */
+    public static final int ABSENT = -1;
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    public HexGrid() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public HexGrid(int expectedSize) {
+        allocate(tableSizeFor(Math.max(expectedSize, 4)));
+    }
+
+    /**
+     * Get the index stored for a coordinate, or ABSENT
+     */
+    public int get(int q, int r) {
+        return get(HexCoordinate.pack(q, r));
+    }
+
+    /**
+     * Get the index stored for a packed coordinate, or ABSENT
+     */
+    public int get(long key) {
+        int slot = slotFor(key);
+        while (values[slot] != ABSENT) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return ABSENT;
+    }
+
+    public boolean contains(int q, int r) {
+        return get(q, r) != ABSENT;
+    }
+
+    public boolean contains(long key) {
+        return get(key) != ABSENT;
+    }
+
+    /**
+     * Store an index for a coordinate, returning the previous index or ABSENT
+     */
+    public int put(int q, int r, int index) {
+        return put(HexCoordinate.pack(q, r), index);
+    }
+
+    /**
+     * Store an index for a packed coordinate, returning the previous index or ABSENT
+     */
+    public int put(long key, int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Index must be non-negative");
+        }
+
+        int slot = slotFor(key);
+        while (values[slot] != ABSENT) {
+            if (keys[slot] == key) {
+                int previous = values[slot];
+                values[slot] = index;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = index;
+        if (++size > resizeThreshold) {
+            rehash(keys.length << 1);
+        }
+        return ABSENT;
+    }
+
+    /**
+     * Remove a packed coordinate, returning its index or ABSENT
+     */
+    public int remove(long key) {
+        int slot = slotFor(key);
+        while (values[slot] != ABSENT) {
+            if (keys[slot] == key) {
+                int removed = values[slot];
+                shiftBack(slot);
+                size--;
+                return removed;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return ABSENT;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Heap held by the table arrays
+     */
+    public long heapBytes() {
+        return (long) keys.length * (Long.BYTES + Integer.BYTES);
+    }
+
+    public void clear() {
+        Arrays.fill(values, ABSENT);
+        size = 0;
+    }
+
+    /**
+     * Close the gap left at a removed slot so linear probing chains stay intact
+     */
+    private void shiftBack(int gap) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (values[slot] == ABSENT) {
+                break;
+            }
+            int home = slotFor(keys[slot]);
+            // Move the entry back only if the gap lies on its probe path
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        values[gap] = ABSENT;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(newCapacity);
+
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != ABSENT) {
+                int slot = slotFor(oldKeys[i]);
+                while (values[slot] != ABSENT) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, ABSENT);
+        mask = capacity - 1;
+        resizeThreshold = capacity >> 1; // Keep load factor at or below 0.5
+    }
+
+    private int slotFor(long key) {
+        // Stafford variant 13 mixer spreads neighbouring coordinates across the table
+        long h = key;
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        h = h ^ (h >>> 31);
+        return (int) h & mask;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = Integer.highestOneBit(expectedSize * 2 - 1) << 1;
+        return Math.max(capacity, 8);
+    }
+}
@@ -0,0 +1,9 @@
+package com.encom.mapgen.model;
+
+/**
+ * Callback for allocation-free iteration over hex coordinates
+ */
+@FunctionalInterface
+public interface HexVisitor {
+    void visit(int q, int r);
+}
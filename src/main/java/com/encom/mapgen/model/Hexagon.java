@@ -1,18 +1,27 @@
 package com.encom.mapgen.model;
 
+import com.google.gson.annotations.JsonAdapter;
+
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 
 /**
- * Represents a single hexagon in the generated map
+ * Represents a single hexagon in the generated map.
+ * Connections to the six neighbors are held as a bitmask indexed by
+ * HexCoordinate direction; connection ID strings are only built on demand.
  */
+@JsonAdapter(HexagonTypeAdapter.class)
 public class Hexagon {
     private final String id;
     private final int q;
     private final int r;
-    private final List<String> connections;
     private final HexType type;
+    private byte connectionMask;
+    
+    // Connections that cannot be expressed as a direction (non-adjacent or malformed IDs).
+    // Only populated for externally supplied maps so validation can report them.
+    private List<String> foreignConnections;
     
     public enum HexType {
         CORRIDOR("corridor"),
@@ -35,23 +44,29 @@ public class Hexagon {
     }
     
     public Hexagon(HexCoordinate coordinate, HexType type) {
-        this.id = coordinate.toId();
-        this.q = coordinate.getQ();
-        this.r = coordinate.getR();
+        this(coordinate.getQ(), coordinate.getR(), type, (byte) 0);
+    }
+    
+    public Hexagon(int q, int r, HexType type, byte connectionMask) {
+        this.id = null;
+        this.q = q;
+        this.r = r;
         this.type = type;
-        this.connections = new ArrayList<>();
+        this.connectionMask = connectionMask;
     }
     
     public Hexagon(String id, int q, int r, List<String> connections, HexType type) {
-        this.id = id;
+        this.id = HexCoordinate.toId(q, r).equals(id) ? null : id;
         this.q = q;
         this.r = r;
-        this.connections = new ArrayList<>(connections);
         this.type = type;
+        for (String connection : connections) {
+            addConnection(connection);
+        }
     }
     
     public String getId() {
-        return id;
+        return id != null ? id : HexCoordinate.toId(q, r);
     }
     
     public int getQ() {
@@ -66,30 +81,100 @@ public class Hexagon {
         return new HexCoordinate(q, r);
     }
     
+    /**
+     * Materialize connection IDs, neighbors first in direction order
+     */
     public List<String> getConnections() {
-        return new ArrayList<>(connections);
+        List<String> connections = new ArrayList<>(getConnectionCount());
+        for (int d = 0; d < HexCoordinate.DIRECTION_COUNT; d++) {
+            if (isConnected(d)) {
+                connections.add(HexCoordinate.toId(q + HexCoordinate.directionQ(d), 
+                                                   r + HexCoordinate.directionR(d)));
+            }
+        }
+        if (foreignConnections != null) {
+            connections.addAll(foreignConnections);
+        }
+        return connections;
     }
     
     public HexType getType() {
         return type;
     }
     
+    /**
+     * Bitmask of connected directions (bit d set = connected to neighbor in direction d)
+     */
+    public byte getConnectionMask() {
+        return connectionMask;
+    }
+    
+    public boolean isConnected(int direction) {
+        return (connectionMask & (1 << direction)) != 0;
+    }
+    
+    public void connect(int direction) {
+        connectionMask |= (byte) (1 << direction);
+    }
+    
+    public void disconnect(int direction) {
+        connectionMask &= (byte) ~(1 << direction);
+    }
+    
+    /**
+     * Connections that do not point at an adjacent hexagon; empty for generated maps
+     */
+    public List<String> getForeignConnections() {
+        return foreignConnections == null ? Collections.emptyList() 
+                                          : Collections.unmodifiableList(foreignConnections);
+    }
+    
     public void addConnection(String hexagonId) {
-        if (!connections.contains(hexagonId)) {
-            connections.add(hexagonId);
+        int direction = directionOf(hexagonId);
+        if (direction >= 0) {
+            connect(direction);
+            return;
+        }
+        
+        if (foreignConnections == null) {
+            foreignConnections = new ArrayList<>(1);
+        }
+        if (!foreignConnections.contains(hexagonId)) {
+            foreignConnections.add(hexagonId);
         }
     }
     
     public void removeConnection(String hexagonId) {
-        connections.remove(hexagonId);
+        int direction = directionOf(hexagonId);
+        if (direction >= 0) {
+            disconnect(direction);
+        } else if (foreignConnections != null) {
+            foreignConnections.remove(hexagonId);
+        }
     }
     
     public boolean isConnectedTo(String hexagonId) {
-        return connections.contains(hexagonId);
+        int direction = directionOf(hexagonId);
+        if (direction >= 0) {
+            return isConnected(direction);
+        }
+        return foreignConnections != null && foreignConnections.contains(hexagonId);
     }
     
     public int getConnectionCount() {
-        return connections.size();
+        return Integer.bitCount(connectionMask & 0xFF) 
+               + (foreignConnections == null ? 0 : foreignConnections.size());
+    }
+    
+    /**
+     * Direction of an adjacent hexagon ID, or -1 if the ID is malformed or not adjacent
+     */
+    private int directionOf(String hexagonId) {
+        long key = HexCoordinate.parseIdKey(hexagonId);
+        if (key == HexCoordinate.INVALID_KEY) {
+            return -1;
+        }
+        return HexCoordinate.directionTo(q, r, HexCoordinate.unpackQ(key), HexCoordinate.unpackR(key));
     }
     
     @Override
@@ -97,22 +182,22 @@ public class Hexagon {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Hexagon hexagon = (Hexagon) o;
-        return Objects.equals(id, hexagon.id);
+        return getId().equals(hexagon.getId());
     }
     
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return getId().hashCode();
     }
     
     @Override
     public String toString() {
         return "Hexagon{" +
-                "id='" + id + '\'' +
+                "id='" + getId() + '\'' +
                 ", q=" + q +
                 ", r=" + r +
                 ", type=" + type +
-                ", connections=" + connections.size() +
+                ", connections=" + getConnectionCount() +
                 '}';
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,118 @@
+package com.encom.mapgen.model;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gson adapter that keeps the public hexagon JSON shape
+ * ({id, q, r, connections, type}) while the model stores connections as a
+ * direction mask. Connection IDs are written straight to the stream.
+ */
+public class HexagonTypeAdapter extends TypeAdapter<Hexagon> {
+    
+    @Override
+    public void write(JsonWriter out, Hexagon hexagon) throws IOException {
+        if (hexagon == null) {
+            out.nullValue();
+            return;
+        }
+        
+        writeHexagon(out, hexagon.getId(), hexagon.getQ(), hexagon.getR(), hexagon.getType(),
+                     hexagon.getConnectionMask(), hexagon.getForeignConnections());
+    }
+    
+    /**
+     * Write one hexagon from raw fields so columnar maps can be encoded without Hexagon objects
+     */
+    static void writeHexagon(JsonWriter out, String id, int q, int r, Hexagon.HexType type,
+                             byte connectionMask, List<String> foreignConnections) throws IOException {
+        out.beginObject();
+        out.name("id").value(id != null ? id : HexCoordinate.toId(q, r));
+        out.name("q").value(q);
+        out.name("r").value(r);
+        
+        out.name("connections").beginArray();
+        for (int d = 0; d < HexCoordinate.DIRECTION_COUNT; d++) {
+            if ((connectionMask & (1 << d)) != 0) {
+                out.value(HexCoordinate.toId(q + HexCoordinate.directionQ(d), r + HexCoordinate.directionR(d)));
+            }
+        }
+        for (String foreign : foreignConnections) {
+            out.value(foreign);
+        }
+        out.endArray();
+        
+        if (type != null) {
+            out.name("type").value(type.name());
+        }
+        out.endObject();
+    }
+    
+    @Override
+    public Hexagon read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        
+        String id = null;
+        int q = 0;
+        int r = 0;
+        List<String> connections = new ArrayList<>();
+        Hexagon.HexType type = null;
+        
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            
+            switch (name) {
+                case "id":
+                    id = in.nextString();
+                    break;
+                case "q":
+                    q = in.nextInt();
+                    break;
+                case "r":
+                    r = in.nextInt();
+                    break;
+                case "connections":
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        connections.add(in.nextString());
+                    }
+                    in.endArray();
+                    break;
+                case "type":
+                    type = parseType(in.nextString());
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        
+        return new Hexagon(id != null ? id : HexCoordinate.toId(q, r), q, r, connections, type);
+    }
+    
+    /**
+     * Accept both the enum name ("CORRIDOR") and its lowercase value ("corridor")
+     */
+    static Hexagon.HexType parseType(String value) {
+        for (Hexagon.HexType type : Hexagon.HexType.values()) {
+            if (type.name().equalsIgnoreCase(value)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
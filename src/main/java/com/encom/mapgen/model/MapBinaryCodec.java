@@ -0,0 +1,353 @@
+package com.encom.mapgen.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Binary map encoding served as application/x-encom-map.
+ *
+ * Layout (varints are unsigned LEB128; signed values are zig-zag encoded first):
+ *   magic "ENCM", format version byte
+ *   metadata: seed, rngAlgorithm, version, generatedAt (strings), hexagonCount,
+ *     cached, generationTime, optional region
+ *   statistics: counts, averageConnections (IEEE double), degree histogram,
+ *     longest path and its ends, optional bounding box
+ *   hexagon count, then per hexagon in row order (r, then q):
+ *     zig-zag delta q, zig-zag delta r from the previous hexagon,
+ *     one byte with the type ordinal in the top 2 bits and the connection mask
+ *     in the low 6 bits
+ *
+ * Strings are a varint length plus one (0 for null) followed by UTF-8 bytes.
+ * Only connections between adjacent hexagons are representable, which covers
+ * every generated map. Decoding returns hexagons in row order.
+ */
+public final class MapBinaryCodec {
+    public static final String CONTENT_TYPE = "application/x-encom-map";
+    public static final int FORMAT_VERSION = 1;
+
+    private static final byte[] MAGIC = {'E', 'N', 'C', 'M'};
+    private static final int MASK_BITS = 6;
+    private static final int MASK = (1 << MASK_BITS) - 1;
+
+    private MapBinaryCodec() {}
+
+    /**
+     * Encode a manifest to a byte array
+     */
+    public static byte[] encode(MapManifest manifest) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            encode(manifest, bytes);
+        } catch (IOException e) {
+            throw new IllegalStateException("In-memory encoding failed", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static void encode(MapManifest manifest, OutputStream output) throws IOException {
+        DataOutputStream out = new DataOutputStream(output);
+        out.write(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+
+        writeMetadata(out, manifest.getMetadata());
+
+        MapBuffer buffer = manifest.getBuffer();
+        int size = buffer == null ? 0 : buffer.size();
+        writeVarint(out, size);
+
+        long[] rowOrder = new long[size];
+        for (int i = 0; i < size; i++) {
+            rowOrder[i] = rowOrderKey(buffer.getQ(i), buffer.getR(i));
+        }
+        Arrays.sort(rowOrder);
+
+        int previousQ = 0;
+        int previousR = 0;
+        for (long key : rowOrder) {
+            int q = (int) key ^ Integer.MIN_VALUE;
+            int r = (int) (key >> 32);
+            int index = buffer.indexOf(q, r);
+
+            writeVarint(out, zigZag(q - previousQ));
+            writeVarint(out, zigZag(r - previousR));
+            out.writeByte((buffer.getType(index).ordinal() << MASK_BITS) | (buffer.getConnectionMask(index) & MASK));
+            previousQ = q;
+            previousR = r;
+        }
+        out.flush();
+    }
+
+    /**
+     * Decode a manifest from a byte array
+     */
+    public static MapManifest decode(byte[] data) throws IOException {
+        return decode(new ByteArrayInputStream(data));
+    }
+
+    /**
+     * Decode a manifest straight from a buffer's remaining bytes, without
+     * copying them out first; the buffer's position is left unchanged
+     */
+    public static MapManifest decode(ByteBuffer data) throws IOException {
+        return decode(new ByteBufferInputStream(data.duplicate()));
+    }
+
+    public static MapManifest decode(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        byte[] magic = new byte[MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not an encom map: bad magic");
+        }
+        int version = in.readUnsignedByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported encom map format version: " + version);
+        }
+
+        MapManifest.Metadata metadata = readMetadata(in);
+
+        int size = readVarint(in);
+        if (size < 0) {
+            throw new IOException("Invalid hexagon count: " + size);
+        }
+        MapBuffer buffer = new MapBuffer(size);
+        Hexagon.HexType[] types = Hexagon.HexType.values();
+        int q = 0;
+        int r = 0;
+        for (int i = 0; i < size; i++) {
+            q += unZigZag(readVarint(in));
+            r += unZigZag(readVarint(in));
+            int packed = in.readUnsignedByte();
+            int typeOrdinal = packed >>> MASK_BITS;
+            if (typeOrdinal >= types.length) {
+                throw new IOException("Unknown hexagon type " + typeOrdinal + " at " + HexCoordinate.toId(q, r));
+            }
+            if (buffer.contains(q, r)) {
+                throw new IOException("Duplicate hexagon " + HexCoordinate.toId(q, r));
+            }
+            int index = buffer.add(q, r, types[typeOrdinal]);
+            buffer.setConnectionMask(index, (byte) (packed & MASK));
+        }
+
+        // Every connection must be matched by the neighbor's opposite bit
+        for (int i = 0; i < size; i++) {
+            for (int d = 0; d < HexCoordinate.DIRECTION_COUNT; d++) {
+                if (buffer.isConnected(i, d)) {
+                    int neighbor = buffer.neighborIndex(i, d);
+                    if (neighbor == HexGrid.ABSENT ||
+                        !buffer.isConnected(neighbor, HexCoordinate.oppositeDirection(d))) {
+                        throw new IOException("Unmatched connection from " +
+                                              HexCoordinate.toId(buffer.getQ(i), buffer.getR(i)));
+                    }
+                }
+            }
+        }
+
+        return new MapManifest(metadata, buffer);
+    }
+
+    /**
+     * Reads a buffer from its position to its limit
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+    }
+
+    /**
+     * Sort key ordering hexagons by r, then q; flipping q's sign bit keeps
+     * negative q before positive in the unsigned low half
+     */
+    private static long rowOrderKey(int q, int r) {
+        return ((long) r << 32) | ((q ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+    }
+
+    private static void writeMetadata(DataOutputStream out, MapManifest.Metadata metadata) throws IOException {
+        if (metadata == null) {
+            metadata = new MapManifest.Metadata();
+        }
+        writeString(out, metadata.getSeed());
+        writeString(out, metadata.getRngAlgorithm());
+        writeString(out, metadata.getVersion());
+        writeString(out, metadata.getGeneratedAt());
+        writeVarint(out, metadata.getHexagonCount());
+        out.writeBoolean(metadata.isCached());
+        writeVarLong(out, metadata.getGenerationTime());
+        writeBoundingBox(out, metadata.getRegion());
+
+        MapManifest.Statistics stats = metadata.getStatistics();
+        out.writeBoolean(stats != null);
+        if (stats == null) {
+            return;
+        }
+        writeVarint(out, stats.getActualHexagons());
+        writeVarint(out, stats.getCorridorHexagons());
+        writeVarint(out, stats.getRoomHexagons());
+        out.writeDouble(stats.getAverageConnections());
+        writeVarint(out, stats.getMaxConnections());
+
+        int[] histogram = stats.getDegreeHistogram();
+        writeVarint(out, histogram == null ? 0 : histogram.length + 1);
+        if (histogram != null) {
+            for (int count : histogram) {
+                writeVarint(out, count);
+            }
+        }
+
+        writeVarint(out, stats.getLongestPath());
+        out.writeBoolean(stats.isLongestPathExact());
+        writeString(out, stats.getLongestPathStart());
+        writeString(out, stats.getLongestPathEnd());
+        writeBoundingBox(out, stats.getBoundingBox());
+    }
+
+    private static MapManifest.Metadata readMetadata(DataInputStream in) throws IOException {
+        MapManifest.Metadata metadata = new MapManifest.Metadata();
+        metadata.setSeed(readString(in));
+        metadata.setRngAlgorithm(readString(in));
+        metadata.setVersion(readString(in));
+        metadata.setGeneratedAt(readString(in));
+        metadata.setHexagonCount(readVarint(in));
+        metadata.setCached(in.readBoolean());
+        metadata.setGenerationTime(readVarLong(in));
+        metadata.setRegion(readBoundingBox(in));
+
+        if (!in.readBoolean()) {
+            return metadata;
+        }
+        MapManifest.Statistics stats = new MapManifest.Statistics();
+        stats.setActualHexagons(readVarint(in));
+        stats.setCorridorHexagons(readVarint(in));
+        stats.setRoomHexagons(readVarint(in));
+        stats.setAverageConnections(in.readDouble());
+        stats.setMaxConnections(readVarint(in));
+
+        int histogramLength = readVarint(in);
+        if (histogramLength > 0) {
+            int[] histogram = new int[histogramLength - 1];
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = readVarint(in);
+            }
+            stats.setDegreeHistogram(histogram);
+        }
+
+        stats.setLongestPath(readVarint(in));
+        stats.setLongestPathExact(in.readBoolean());
+        stats.setLongestPathStart(readString(in));
+        stats.setLongestPathEnd(readString(in));
+        stats.setBoundingBox(readBoundingBox(in));
+        metadata.setStatistics(stats);
+        return metadata;
+    }
+
+    private static void writeBoundingBox(DataOutputStream out, MapManifest.BoundingBox box) throws IOException {
+        out.writeBoolean(box != null);
+        if (box != null) {
+            writeVarint(out, zigZag(box.getMinQ()));
+            writeVarint(out, zigZag(box.getMaxQ()));
+            writeVarint(out, zigZag(box.getMinR()));
+            writeVarint(out, zigZag(box.getMaxR()));
+        }
+    }
+
+    private static MapManifest.BoundingBox readBoundingBox(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return new MapManifest.BoundingBox(unZigZag(readVarint(in)), unZigZag(readVarint(in)),
+                                           unZigZag(readVarint(in)), unZigZag(readVarint(in)));
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarint(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = readVarint(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static void writeVarint(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    static int readVarint(DataInputStream in) throws IOException {
+        long value = readVarLong(in);
+        if (value > 0xFFFFFFFFL) {
+            throw new IOException("Varint overflows 32 bits");
+        }
+        return (int) value;
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated varint");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Varint is too long");
+    }
+}
@@ -0,0 +1,199 @@
+package com.encom.mapgen.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Columnar storage for a whole map.
+ * Hexagon i is described by q[i], r[i], type[i] and connectionMask[i]; the
+ * embedded HexGrid maps coordinates back to indices. Hexagon objects are
+ * only created as views when a caller asks for them.
+ */
+public class MapBuffer {
+    private static final Hexagon.HexType[] TYPES = Hexagon.HexType.values();
+
+    private int[] q;
+    private int[] r;
+    private byte[] type;
+    private byte[] connectionMask;
+    private int size;
+    private final HexGrid grid;
+
+    public MapBuffer() {
+        this(16);
+    }
+
+    public MapBuffer(int expectedSize) {
+        int capacity = Math.max(expectedSize, 1);
+        this.q = new int[capacity];
+        this.r = new int[capacity];
+        this.type = new byte[capacity];
+        this.connectionMask = new byte[capacity];
+        this.grid = new HexGrid(capacity);
+    }
+
+    /**
+     * Build a buffer from hexagon objects. Connections that are not to an
+     * adjacent hexagon cannot be represented and are dropped.
+     */
+    public static MapBuffer fromHexagons(List<Hexagon> hexagons) {
+        MapBuffer buffer = new MapBuffer(hexagons.size());
+        for (Hexagon hex : hexagons) {
+            int index = buffer.add(hex.getQ(), hex.getR(), hex.getType());
+            buffer.connectionMask[index] = hex.getConnectionMask();
+        }
+        return buffer;
+    }
+
+    /**
+     * Append a hexagon and return its index. Throws if the cell is already occupied.
+     */
+    public int add(int hexQ, int hexR, Hexagon.HexType hexType) {
+        if (grid.contains(hexQ, hexR)) {
+            throw new IllegalArgumentException("Hexagon already exists at " + hexQ + "," + hexR);
+        }
+
+        if (size == q.length) {
+            grow();
+        }
+
+        int index = size++;
+        q[index] = hexQ;
+        r[index] = hexR;
+        type[index] = (byte) hexType.ordinal();
+        grid.put(hexQ, hexR, index);
+        return index;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Heap held by the columns and the coordinate index, for cache accounting
+     */
+    public long heapBytes() {
+        return (long) q.length * (2 * Integer.BYTES + 2) + grid.heapBytes();
+    }
+
+    /**
+     * Independent copy with room for at least expectedSize hexagons
+     */
+    public MapBuffer copy(int expectedSize) {
+        MapBuffer copy = new MapBuffer(Math.max(expectedSize, size));
+        System.arraycopy(q, 0, copy.q, 0, size);
+        System.arraycopy(r, 0, copy.r, 0, size);
+        System.arraycopy(type, 0, copy.type, 0, size);
+        System.arraycopy(connectionMask, 0, copy.connectionMask, 0, size);
+        for (int i = 0; i < size; i++) {
+            copy.grid.put(q[i], r[i], i);
+        }
+        copy.size = size;
+        return copy;
+    }
+
+    public boolean contains(int hexQ, int hexR) {
+        return grid.contains(hexQ, hexR);
+    }
+
+    /**
+     * Index of the hexagon at a coordinate, or HexGrid.ABSENT
+     */
+    public int indexOf(int hexQ, int hexR) {
+        return grid.get(hexQ, hexR);
+    }
+
+    /**
+     * Index of the hexagon at a packed coordinate, or HexGrid.ABSENT
+     */
+    public int indexOf(long key) {
+        return grid.get(key);
+    }
+
+    public int getQ(int index) {
+        return q[index];
+    }
+
+    public int getR(int index) {
+        return r[index];
+    }
+
+    public Hexagon.HexType getType(int index) {
+        return TYPES[type[index]];
+    }
+
+    public byte getConnectionMask(int index) {
+        return connectionMask[index];
+    }
+
+    public int getConnectionCount(int index) {
+        return Integer.bitCount(connectionMask[index] & 0xFF);
+    }
+
+    public boolean isConnected(int index, int direction) {
+        return (connectionMask[index] & (1 << direction)) != 0;
+    }
+
+    /**
+     * Index of the hexagon adjacent to index in a direction, or HexGrid.ABSENT
+     */
+    public int neighborIndex(int index, int direction) {
+        return grid.get(q[index] + HexCoordinate.directionQ(direction),
+                        r[index] + HexCoordinate.directionR(direction));
+    }
+
+    /**
+     * Connect a hexagon to its neighbor in a direction, updating both masks
+     */
+    public void connect(int index, int neighbor, int direction) {
+        connectionMask[index] |= (byte) (1 << direction);
+        connectionMask[neighbor] |= (byte) (1 << HexCoordinate.oppositeDirection(direction));
+    }
+
+    /**
+     * Overwrite a hexagon's mask without touching its neighbors, for decoders
+     * that check the masks agree afterwards
+     */
+    void setConnectionMask(int index, byte mask) {
+        connectionMask[index] = mask;
+    }
+
+    /**
+     * Remove the connection between a hexagon and its neighbor in a direction
+     */
+    public void disconnect(int index, int neighbor, int direction) {
+        connectionMask[index] &= (byte) ~(1 << direction);
+        connectionMask[neighbor] &= (byte) ~(1 << HexCoordinate.oppositeDirection(direction));
+    }
+
+    /**
+     * Create a Hexagon view of a single entry
+     */
+    public Hexagon toHexagon(int index) {
+        return new Hexagon(q[index], r[index], getType(index), connectionMask[index]);
+    }
+
+    /**
+     * Create Hexagon views for every entry, in index order
+     */
+    public List<Hexagon> toHexagons() {
+        List<Hexagon> hexagons = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            hexagons.add(toHexagon(i));
+        }
+        return hexagons;
+    }
+
+    private void grow() {
+        int capacity = q.length << 1;
+        q = Arrays.copyOf(q, capacity);
+        r = Arrays.copyOf(r, capacity);
+        type = Arrays.copyOf(type, capacity);
+        connectionMask = Arrays.copyOf(connectionMask, capacity);
+    }
+}
@@ -1,14 +1,21 @@
 package com.encom.mapgen.model;
 
+import com.google.gson.annotations.JsonAdapter;
+
 import java.time.Instant;
 import java.util.List;
 
 /**
- * Complete response structure for generated maps
+ * Complete response structure for generated maps.
+ * Generated maps are backed by a columnar MapBuffer; the Hexagon list is
+ * only materialized when a caller asks for it.
  */
+@JsonAdapter(MapManifestTypeAdapter.Factory.class)
 public class MapManifest {
     private Metadata metadata;
     private List<Hexagon> hexagons;
+    private transient MapBuffer buffer;
+    private transient boolean bufferBacked;
     
     public MapManifest() {}
     
@@ -17,6 +24,12 @@ public class MapManifest {
         this.hexagons = hexagons;
     }
     
+    public MapManifest(Metadata metadata, MapBuffer buffer) {
+        this.metadata = metadata;
+        this.buffer = buffer;
+        this.bufferBacked = true;
+    }
+    
     public Metadata getMetadata() {
         return metadata;
     }
@@ -25,25 +38,54 @@ public class MapManifest {
         this.metadata = metadata;
     }
     
+    /**
+     * Hexagon views of the map. For buffer-backed manifests these are
+     * snapshots created on first access; changes do not flow back to the buffer.
+     */
     public List<Hexagon> getHexagons() {
+        if (hexagons == null && buffer != null) {
+            hexagons = buffer.toHexagons();
+        }
         return hexagons;
     }
     
     public void setHexagons(List<Hexagon> hexagons) {
         this.hexagons = hexagons;
+        this.buffer = null;
+        this.bufferBacked = false;
+    }
+    
+    /**
+     * Columnar view of the map, built from the hexagon list if the manifest was not generated
+     */
+    public MapBuffer getBuffer() {
+        if (buffer == null && hexagons != null) {
+            buffer = MapBuffer.fromHexagons(hexagons);
+        }
+        return buffer;
+    }
+    
+    /**
+     * Whether the buffer, rather than the hexagon list, is the source of truth
+     */
+    boolean isBufferBacked() {
+        return bufferBacked;
     }
     
     /**
      * Metadata about the generated map
      */
+    @JsonAdapter(MetadataTypeAdapter.class)
     public static class Metadata {
         private String seed;
+        private String rngAlgorithm;
         private int hexagonCount;
         private String generatedAt;
         private String version;
         private boolean cached;
         private long generationTime;
         private Statistics statistics;
+        private BoundingBox region;
         
         public Metadata() {
             this.version = "1.0.0";
@@ -51,6 +93,23 @@ public class MapManifest {
             this.generatedAt = Instant.now().toString();
         }
         
+        /**
+         * Copy of the metadata sharing its statistics and region
+         */
+        public Metadata copy() {
+            Metadata copy = new Metadata();
+            copy.seed = seed;
+            copy.rngAlgorithm = rngAlgorithm;
+            copy.hexagonCount = hexagonCount;
+            copy.generatedAt = generatedAt;
+            copy.version = version;
+            copy.cached = cached;
+            copy.generationTime = generationTime;
+            copy.statistics = statistics;
+            copy.region = region;
+            return copy;
+        }
+        
         public String getSeed() {
             return seed;
         }
@@ -59,6 +118,17 @@ public class MapManifest {
             this.seed = seed;
         }
         
+        /**
+         * Id of the random number algorithm the map was generated with
+         */
+        public String getRngAlgorithm() {
+            return rngAlgorithm;
+        }
+        
+        public void setRngAlgorithm(String rngAlgorithm) {
+            this.rngAlgorithm = rngAlgorithm;
+        }
+        
         public int getHexagonCount() {
             return hexagonCount;
         }
@@ -106,18 +176,34 @@ public class MapManifest {
         public void setStatistics(Statistics statistics) {
             this.statistics = statistics;
         }
+        
+        /**
+         * Region a region query covered, or null for a complete map
+         */
+        public BoundingBox getRegion() {
+            return region;
+        }
+        
+        public void setRegion(BoundingBox region) {
+            this.region = region;
+        }
     }
     
     /**
      * Statistics about the generated map
      */
+    @JsonAdapter(StatisticsTypeAdapter.class)
     public static class Statistics {
         private int actualHexagons;
         private int corridorHexagons;
         private int roomHexagons;
         private double averageConnections;
         private int maxConnections;
+        private int[] degreeHistogram;
         private int longestPath;
+        private String longestPathStart;
+        private String longestPathEnd;
+        private boolean longestPathExact = true;
         private BoundingBox boundingBox;
         
         public Statistics() {}
@@ -162,6 +248,17 @@ public class MapManifest {
             this.maxConnections = maxConnections;
         }
         
+        /**
+         * Number of hexagons with each connection count, indexed by count (0-6)
+         */
+        public int[] getDegreeHistogram() {
+            return degreeHistogram;
+        }
+        
+        public void setDegreeHistogram(int[] degreeHistogram) {
+            this.degreeHistogram = degreeHistogram;
+        }
+        
         public int getLongestPath() {
             return longestPath;
         }
@@ -170,6 +267,33 @@ public class MapManifest {
             this.longestPath = longestPath;
         }
         
+        public String getLongestPathStart() {
+            return longestPathStart;
+        }
+        
+        public void setLongestPathStart(String longestPathStart) {
+            this.longestPathStart = longestPathStart;
+        }
+        
+        public String getLongestPathEnd() {
+            return longestPathEnd;
+        }
+        
+        public void setLongestPathEnd(String longestPathEnd) {
+            this.longestPathEnd = longestPathEnd;
+        }
+        
+        /**
+         * False when longestPath is a lower bound rather than the exact diameter
+         */
+        public boolean isLongestPathExact() {
+            return longestPathExact;
+        }
+        
+        public void setLongestPathExact(boolean longestPathExact) {
+            this.longestPathExact = longestPathExact;
+        }
+        
         public BoundingBox getBoundingBox() {
             return boundingBox;
         }
@@ -182,6 +306,7 @@ public class MapManifest {
     /**
      * Bounding box of the generated map
      */
+    @JsonAdapter(BoundingBoxTypeAdapter.class)
     public static class BoundingBox {
         private int minQ;
         private int maxQ;
@@ -197,6 +322,13 @@ public class MapManifest {
             this.maxR = maxR;
         }
         
+        /**
+         * Whether the box covers the coordinate, edges included
+         */
+        public boolean contains(int q, int r) {
+            return q >= minQ && q <= maxQ && r >= minR && r <= maxR;
+        }
+        
         public int getMinQ() {
             return minQ;
         }
@@ -0,0 +1,64 @@
+package com.encom.mapgen.model;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Writes the compact JSON form of a manifest:
+ * {"format":"compact","metadata":{...},"hexagons":[[q,r,typeOrdinal,connectionMask],...]}
+ * Rows come straight from the map's columns, so no hexagon or connection ID
+ * strings are built, and nothing is pretty-printed.
+ */
+public class MapManifestCompactWriter {
+    public static final String FORMAT = "compact";
+
+    private final TypeAdapter<MapManifest.Metadata> metadataAdapter;
+
+    public MapManifestCompactWriter(Gson gson) {
+        this.metadataAdapter = gson.getAdapter(MapManifest.Metadata.class);
+    }
+
+    public String toJson(MapManifest manifest) {
+        StringWriter writer = new StringWriter();
+        try {
+            write(manifest, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    public void write(MapManifest manifest, Writer writer) throws IOException {
+        JsonWriter out = new JsonWriter(writer);
+        out.setSerializeNulls(false);
+
+        out.beginObject();
+        out.name("format").value(FORMAT);
+        if (manifest.getMetadata() != null) {
+            out.name("metadata");
+            metadataAdapter.write(out, manifest.getMetadata());
+        }
+
+        out.name("hexagons").beginArray();
+        MapBuffer buffer = manifest.getBuffer();
+        if (buffer != null) {
+            for (int i = 0; i < buffer.size(); i++) {
+                out.beginArray()
+                   .value(buffer.getQ(i))
+                   .value(buffer.getR(i))
+                   .value(buffer.getType(i).ordinal())
+                   .value(buffer.getConnectionMask(i) & 0xFF)
+                   .endArray();
+            }
+        }
+        out.endArray();
+        out.endObject();
+        out.flush();
+    }
+}
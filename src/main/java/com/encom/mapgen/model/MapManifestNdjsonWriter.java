@@ -0,0 +1,64 @@
+package com.encom.mapgen.model;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+
+/**
+ * Writes a manifest as newline-delimited JSON: one line per hexagon in the
+ * usual hexagon shape, then a trailer line holding {"metadata": {...}}.
+ * Hexagons go straight from the map to the writer, which is flushed every
+ * FLUSH_INTERVAL lines so readers can start before encoding finishes.
+ */
+public class MapManifestNdjsonWriter {
+    public static final String CONTENT_TYPE = "application/x-ndjson";
+
+    static final int FLUSH_INTERVAL = 1024;
+
+    private final TypeAdapter<MapManifest.Metadata> metadataAdapter;
+
+    public MapManifestNdjsonWriter(Gson gson) {
+        this.metadataAdapter = gson.getAdapter(MapManifest.Metadata.class);
+    }
+
+    public void write(MapManifest manifest, Writer writer) throws IOException {
+        JsonWriter out = new JsonWriter(writer);
+        out.setLenient(true); // One top-level value per line
+        out.setSerializeNulls(false);
+
+        if (manifest.isBufferBacked()) {
+            MapBuffer buffer = manifest.getBuffer();
+            for (int i = 0; i < buffer.size(); i++) {
+                HexagonTypeAdapter.writeHexagon(out, null, buffer.getQ(i), buffer.getR(i), buffer.getType(i),
+                                                buffer.getConnectionMask(i), Collections.emptyList());
+                endLine(writer, i + 1);
+            }
+        } else if (manifest.getHexagons() != null) {
+            int written = 0;
+            for (Hexagon hexagon : manifest.getHexagons()) {
+                HexagonTypeAdapter.writeHexagon(out, hexagon.getId(), hexagon.getQ(), hexagon.getR(),
+                                                hexagon.getType(), hexagon.getConnectionMask(),
+                                                hexagon.getForeignConnections());
+                endLine(writer, ++written);
+            }
+        }
+
+        out.beginObject();
+        out.name("metadata");
+        metadataAdapter.write(out, manifest.getMetadata());
+        out.endObject();
+        writer.write('\n');
+        writer.flush();
+    }
+
+    private static void endLine(Writer writer, int linesWritten) throws IOException {
+        writer.write('\n');
+        if (linesWritten % FLUSH_INTERVAL == 0) {
+            writer.flush();
+        }
+    }
+}
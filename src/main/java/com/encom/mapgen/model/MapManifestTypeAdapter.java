@@ -0,0 +1,102 @@
+package com.encom.mapgen.model;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Gson adapter for MapManifest. Buffer-backed manifests are encoded
+ * directly from the columnar arrays without creating Hexagon objects.
+ */
+public class MapManifestTypeAdapter extends TypeAdapter<MapManifest> {
+    private final TypeAdapter<MapManifest.Metadata> metadataAdapter;
+    private final TypeAdapter<Hexagon> hexagonAdapter;
+    
+    MapManifestTypeAdapter(Gson gson) {
+        this.metadataAdapter = gson.getAdapter(MapManifest.Metadata.class);
+        this.hexagonAdapter = gson.getAdapter(Hexagon.class);
+    }
+    
+    @Override
+    public void write(JsonWriter out, MapManifest manifest) throws IOException {
+        if (manifest == null) {
+            out.nullValue();
+            return;
+        }
+        
+        out.beginObject();
+        if (manifest.getMetadata() != null) {
+            out.name("metadata");
+            metadataAdapter.write(out, manifest.getMetadata());
+        }
+        
+        if (manifest.isBufferBacked()) {
+            MapBuffer buffer = manifest.getBuffer();
+            out.name("hexagons").beginArray();
+            for (int i = 0; i < buffer.size(); i++) {
+                HexagonTypeAdapter.writeHexagon(out, null, buffer.getQ(i), buffer.getR(i), buffer.getType(i),
+                                                buffer.getConnectionMask(i), Collections.emptyList());
+            }
+            out.endArray();
+        } else if (manifest.getHexagons() != null) {
+            out.name("hexagons").beginArray();
+            for (Hexagon hexagon : manifest.getHexagons()) {
+                hexagonAdapter.write(out, hexagon);
+            }
+            out.endArray();
+        }
+        out.endObject();
+    }
+    
+    @Override
+    public MapManifest read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        
+        MapManifest manifest = new MapManifest();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if ("metadata".equals(name)) {
+                manifest.setMetadata(metadataAdapter.read(in));
+            } else if ("hexagons".equals(name) && in.peek() != JsonToken.NULL) {
+                List<Hexagon> hexagons = new ArrayList<>();
+                in.beginArray();
+                while (in.hasNext()) {
+                    hexagons.add(hexagonAdapter.read(in));
+                }
+                in.endArray();
+                manifest.setHexagons(hexagons);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return manifest;
+    }
+    
+    /**
+     * Factory used by the @JsonAdapter annotation so the adapter can reach the nested model adapters
+     */
+    public static class Factory implements TypeAdapterFactory {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (type.getRawType() != MapManifest.class) {
+                return null;
+            }
+            return (TypeAdapter<T>) new MapManifestTypeAdapter(gson);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.encom.mapgen.model;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Gson adapter for MapManifest.Metadata. Fields are written in declaration
+ * order, matching the reflective encoding it replaces.
+ */
+public class MetadataTypeAdapter extends TypeAdapter<MapManifest.Metadata> {
+    private final StatisticsTypeAdapter statisticsAdapter = new StatisticsTypeAdapter();
+    private final BoundingBoxTypeAdapter boundingBoxAdapter = new BoundingBoxTypeAdapter();
+    
+    @Override
+    public void write(JsonWriter out, MapManifest.Metadata metadata) throws IOException {
+        if (metadata == null) {
+            out.nullValue();
+            return;
+        }
+        
+        out.beginObject();
+        out.name("seed").value(metadata.getSeed());
+        out.name("rngAlgorithm").value(metadata.getRngAlgorithm());
+        out.name("hexagonCount").value(metadata.getHexagonCount());
+        out.name("generatedAt").value(metadata.getGeneratedAt());
+        out.name("version").value(metadata.getVersion());
+        out.name("cached").value(metadata.isCached());
+        out.name("generationTime").value(metadata.getGenerationTime());
+        out.name("statistics");
+        statisticsAdapter.write(out, metadata.getStatistics());
+        out.name("region");
+        boundingBoxAdapter.write(out, metadata.getRegion());
+        out.endObject();
+    }
+    
+    @Override
+    public MapManifest.Metadata read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        
+        MapManifest.Metadata metadata = new MapManifest.Metadata();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            
+            switch (name) {
+                case "seed":
+                    metadata.setSeed(in.nextString());
+                    break;
+                case "rngAlgorithm":
+                    metadata.setRngAlgorithm(in.nextString());
+                    break;
+                case "hexagonCount":
+                    metadata.setHexagonCount(in.nextInt());
+                    break;
+                case "generatedAt":
+                    metadata.setGeneratedAt(in.nextString());
+                    break;
+                case "version":
+                    metadata.setVersion(in.nextString());
+                    break;
+                case "cached":
+                    metadata.setCached(in.nextBoolean());
+                    break;
+                case "generationTime":
+                    metadata.setGenerationTime(in.nextLong());
+                    break;
+                case "statistics":
+                    metadata.setStatistics(statisticsAdapter.read(in));
+                    break;
+                case "region":
+                    metadata.setRegion(boundingBoxAdapter.read(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return metadata;
+    }
+}
@@ -0,0 +1,40 @@
+package com.encom.mapgen.model;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Hand-written adapters for every request and response model type. Register it
+ * on the GsonBuilder: the @JsonAdapter annotations give the same encoding to a
+ * plain Gson, but resolving them on first use costs a cold container tens of
+ * milliseconds of annotation parsing and proxy generation.
+ */
+public class ModelTypeAdapterFactory implements TypeAdapterFactory {
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<?> rawType = type.getRawType();
+        TypeAdapter<?> adapter;
+        if (rawType == MapManifest.class) {
+            adapter = new MapManifestTypeAdapter(gson);
+        } else if (rawType == MapManifest.Metadata.class) {
+            adapter = new MetadataTypeAdapter();
+        } else if (rawType == MapManifest.Statistics.class) {
+            adapter = new StatisticsTypeAdapter();
+        } else if (rawType == MapManifest.BoundingBox.class) {
+            adapter = new BoundingBoxTypeAdapter();
+        } else if (rawType == Hexagon.class) {
+            adapter = new HexagonTypeAdapter();
+        } else if (rawType == GenerationRequest.class || rawType == RegionRequest.class) {
+            adapter = new GenerationRequestTypeAdapter(rawType == RegionRequest.class);
+        } else if (rawType == GenerationOptions.class) {
+            adapter = new GenerationOptionsTypeAdapter();
+        } else {
+            return null;
+        }
+        return (TypeAdapter<T>) adapter;
+    }
+}
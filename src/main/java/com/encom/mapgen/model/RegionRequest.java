@@ -0,0 +1,100 @@
+package com.encom.mapgen.model;
+
+import com.google.gson.annotations.JsonAdapter;
+
+/**
+ * Request for the part of a tiled map inside a region. The seed, hexagon count,
+ * algorithm and options describe the complete map; only the region is generated.
+ */
+@JsonAdapter(ModelTypeAdapterFactory.class)
+public class RegionRequest extends GenerationRequest {
+    /** Largest region accepted, in axial cells (width times height) */
+    public static final long MAX_REGION_AREA = 1_000_000;
+
+    private MapManifest.BoundingBox region;
+
+    public RegionRequest() {
+        super();
+        setMode(GenerationMode.TILED.getValue());
+    }
+
+    public RegionRequest(String seed, int hexagonCount, GenerationOptions options,
+                         MapManifest.BoundingBox region) {
+        super(seed, hexagonCount, options);
+        setMode(GenerationMode.TILED.getValue());
+        this.region = region;
+    }
+
+    /**
+     * Inclusive region of axial coordinates to generate
+     */
+    public MapManifest.BoundingBox getRegion() {
+        return region;
+    }
+
+    public void setRegion(MapManifest.BoundingBox region) {
+        this.region = region;
+    }
+
+    /**
+     * Validate the parts specific to region queries: a seed to make the map
+     * repeatable, tiled mode, and a well-formed region of bounded size
+     */
+    public void validateRegion() {
+        if (getSeed() == null || getSeed().trim().isEmpty()) {
+            throw new IllegalArgumentException("Region queries require a seed");
+        }
+
+        if (GenerationMode.fromValue(getMode()) != GenerationMode.TILED) {
+            throw new IllegalArgumentException("Region queries are only supported in tiled mode");
+        }
+
+        if (region == null) {
+            throw new IllegalArgumentException("Region cannot be null");
+        }
+
+        if (region.getMinQ() > region.getMaxQ() || region.getMinR() > region.getMaxR()) {
+            throw new IllegalArgumentException("Region minimums cannot exceed its maximums");
+        }
+
+        if (getRegionArea() > MAX_REGION_AREA) {
+            throw new IllegalArgumentException("Region cannot cover more than " + MAX_REGION_AREA + " cells");
+        }
+    }
+
+    /**
+     * Axial cells the region covers, and so the most hexagons a response can hold
+     */
+    public long getRegionArea() {
+        return ((long) region.getMaxQ() - region.getMinQ() + 1) *
+               ((long) region.getMaxR() - region.getMinR() + 1);
+    }
+
+    @Override
+    public String getCanonicalKey() {
+        String mapKey = super.getCanonicalKey();
+        if (mapKey == null || region == null) {
+            return null;
+        }
+        return "region:" + region.getMinQ() + ".." + region.getMaxQ() + "," +
+               region.getMinR() + ".." + region.getMaxR() + "|" + mapKey;
+    }
+
+    @Override
+    public void validate() {
+        super.validate();
+        validateRegion();
+    }
+
+    @Override
+    public String toString() {
+        return "RegionRequest{" +
+                "seed='" + getSeed() + '\'' +
+                ", hexagonCount=" + getHexagonCount() +
+                ", rngAlgorithm='" + getRngAlgorithm() + '\'' +
+                ", region=[" + (region == null ? "null" :
+                    region.getMinQ() + ".." + region.getMaxQ() + ", " +
+                    region.getMinR() + ".." + region.getMaxR()) + "]" +
+                '}';
+    }
+}
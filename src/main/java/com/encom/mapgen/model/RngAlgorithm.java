@@ -0,0 +1,46 @@
+package com.encom.mapgen.model;
+
+/**
+ * Random number algorithms a map can be generated with.
+ * Ids carry a version so a change in how an algorithm is seeded or drawn
+ * becomes a new id instead of silently changing maps for existing seeds.
+ */
+public enum RngAlgorithm {
+    /** java.util.Random seeded with String.hashCode(), as every map before this option; standard mode replays those maps */
+    LEGACY("java-random-v1"),
+
+    /** xoshiro256** seeded through SplitMix64 from a 64-bit hash of the whole seed */
+    XOSHIRO256("xoshiro256ss-v1");
+
+    public static final RngAlgorithm DEFAULT = LEGACY;
+
+    private final String id;
+
+    RngAlgorithm(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Look up an algorithm by id, falling back to the default when none is given
+     */
+    public static RngAlgorithm fromId(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            return DEFAULT;
+        }
+        for (RngAlgorithm algorithm : values()) {
+            if (algorithm.id.equals(id.trim())) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("Unknown rngAlgorithm: " + id);
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
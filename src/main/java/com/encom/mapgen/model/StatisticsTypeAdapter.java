@@ -0,0 +1,127 @@
+package com.encom.mapgen.model;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Gson adapter for MapManifest.Statistics. Fields are written in declaration
+ * order, matching the reflective encoding it replaces.
+ */
+public class StatisticsTypeAdapter extends TypeAdapter<MapManifest.Statistics> {
+    private final BoundingBoxTypeAdapter boundingBoxAdapter = new BoundingBoxTypeAdapter();
+    
+    @Override
+    public void write(JsonWriter out, MapManifest.Statistics stats) throws IOException {
+        if (stats == null) {
+            out.nullValue();
+            return;
+        }
+        
+        out.beginObject();
+        out.name("actualHexagons").value(stats.getActualHexagons());
+        out.name("corridorHexagons").value(stats.getCorridorHexagons());
+        out.name("roomHexagons").value(stats.getRoomHexagons());
+        out.name("averageConnections").value(stats.getAverageConnections());
+        out.name("maxConnections").value(stats.getMaxConnections());
+        
+        out.name("degreeHistogram");
+        int[] histogram = stats.getDegreeHistogram();
+        if (histogram == null) {
+            out.nullValue();
+        } else {
+            out.beginArray();
+            for (int count : histogram) {
+                out.value(count);
+            }
+            out.endArray();
+        }
+        
+        out.name("longestPath").value(stats.getLongestPath());
+        out.name("longestPathStart").value(stats.getLongestPathStart());
+        out.name("longestPathEnd").value(stats.getLongestPathEnd());
+        out.name("longestPathExact").value(stats.isLongestPathExact());
+        out.name("boundingBox");
+        boundingBoxAdapter.write(out, stats.getBoundingBox());
+        out.endObject();
+    }
+    
+    @Override
+    public MapManifest.Statistics read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        
+        MapManifest.Statistics stats = new MapManifest.Statistics();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            
+            switch (name) {
+                case "actualHexagons":
+                    stats.setActualHexagons(in.nextInt());
+                    break;
+                case "corridorHexagons":
+                    stats.setCorridorHexagons(in.nextInt());
+                    break;
+                case "roomHexagons":
+                    stats.setRoomHexagons(in.nextInt());
+                    break;
+                case "averageConnections":
+                    stats.setAverageConnections(in.nextDouble());
+                    break;
+                case "maxConnections":
+                    stats.setMaxConnections(in.nextInt());
+                    break;
+                case "degreeHistogram":
+                    stats.setDegreeHistogram(readIntArray(in));
+                    break;
+                case "longestPath":
+                    stats.setLongestPath(in.nextInt());
+                    break;
+                case "longestPathStart":
+                    stats.setLongestPathStart(in.nextString());
+                    break;
+                case "longestPathEnd":
+                    stats.setLongestPathEnd(in.nextString());
+                    break;
+                case "longestPathExact":
+                    stats.setLongestPathExact(in.nextBoolean());
+                    break;
+                case "boundingBox":
+                    stats.setBoundingBox(boundingBoxAdapter.read(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return stats;
+    }
+    
+    /**
+     * Read a JSON array of ints without boxing
+     */
+    static int[] readIntArray(JsonReader in) throws IOException {
+        int[] values = new int[8];
+        int size = 0;
+        in.beginArray();
+        while (in.hasNext()) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = in.nextInt();
+        }
+        in.endArray();
+        return Arrays.copyOf(values, size);
+    }
+}
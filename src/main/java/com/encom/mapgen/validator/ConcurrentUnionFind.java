@@ -0,0 +1,65 @@
+package com.encom.mapgen.validator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free union-find over a fixed number of elements.
+ * Roots are always linked from the lower index to the higher one with a
+ * compare-and-set, so concurrent unions can never form a cycle and the final
+ * component count does not depend on how threads interleave.
+ */
+class ConcurrentUnionFind {
+    private final AtomicIntegerArray parent;
+    private final AtomicInteger componentCount;
+
+    ConcurrentUnionFind(int size) {
+        this.parent = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            parent.set(i, i);
+        }
+        this.componentCount = new AtomicInteger(size);
+    }
+
+    /**
+     * Find the current representative of an element, halving the path as it goes
+     */
+    int find(int index) {
+        while (true) {
+            int next = parent.get(index);
+            if (next == index) {
+                return index;
+            }
+            int grandparent = parent.get(next);
+            if (grandparent != next) {
+                parent.compareAndSet(index, next, grandparent);
+            }
+            index = grandparent;
+        }
+    }
+
+    /**
+     * Merge the components of two elements, returning false if they were already joined
+     */
+    boolean union(int a, int b) {
+        while (true) {
+            int rootA = find(a);
+            int rootB = find(b);
+            if (rootA == rootB) {
+                return false;
+            }
+
+            int low = Math.min(rootA, rootB);
+            int high = Math.max(rootA, rootB);
+            // Fails if another thread re-parented the low root meanwhile; retry from the new roots
+            if (parent.compareAndSet(low, low, high)) {
+                componentCount.decrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    int getComponentCount() {
+        return componentCount.get();
+    }
+}
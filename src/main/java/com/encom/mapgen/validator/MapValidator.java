@@ -2,10 +2,13 @@ package com.encom.mapgen.validator;
 
 import com.encom.mapgen.model.Hexagon;
 import com.encom.mapgen.model.HexCoordinate;
+import com.encom.mapgen.model.HexGrid;
+import com.encom.mapgen.model.MapBuffer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.*;
+import java.util.stream.IntStream;
 
 /**
  * Validates generated maps for connectivity and structural correctness
@@ -13,6 +16,12 @@ import java.util.*;
 public class MapValidator {
     private static final Logger logger = LogManager.getLogger(MapValidator.class);
     
+    /** Maps at least this large are validated across all cores by default */
+    public static final int PARALLEL_THRESHOLD = 50_000;
+    
+    private static final int CHUNK_SIZE = 8_192;
+    private static final double RATIO_TOLERANCE = 0.15;
+    
     /**
      * Validate that all hexagons in the map are connected (no islands)
      */
@@ -27,45 +36,57 @@ public class MapValidator {
             return true; // Single hexagon is always connected
         }
         
-        // Create hexagon lookup map
-        Map<String, Hexagon> hexagonMap = new HashMap<>();
-        for (Hexagon hex : hexagons) {
-            hexagonMap.put(hex.getId(), hex);
-        }
+        // Create hexagon lookup grid
+        HexGrid hexagonGrid = buildGrid(hexagons);
         
         // Perform BFS from first hexagon to check if all hexagons are reachable
-        Set<String> visited = new HashSet<>();
-        Queue<String> queue = new LinkedList<>();
+        boolean[] visited = new boolean[hexagons.size()];
+        int[] queue = new int[hexagons.size()];
+        int head = 0;
+        int tail = 0;
         
         // Start BFS from first hexagon
-        Hexagon start = hexagons.get(0);
-        queue.offer(start.getId());
-        visited.add(start.getId());
+        queue[tail++] = 0;
+        visited[0] = true;
         
-        while (!queue.isEmpty()) {
-            String currentId = queue.poll();
-            Hexagon current = hexagonMap.get(currentId);
+        while (head < tail) {
+            Hexagon current = hexagons.get(queue[head++]);
             
-            if (current == null) {
-                logger.error("Hexagon {} not found in map during validation", currentId);
-                return false;
+            // Visit all connected neighbors
+            for (int d = 0; d < HexCoordinate.DIRECTION_COUNT; d++) {
+                if (!current.isConnected(d)) continue;
+                
+                int connectionIndex = neighborIndex(hexagonGrid, current, d);
+                if (connectionIndex == HexGrid.ABSENT) {
+                    logger.error("Hexagon {} connects to missing neighbor in direction {}", current.getId(), d);
+                    return false;
+                }
+                if (!visited[connectionIndex]) {
+                    visited[connectionIndex] = true;
+                    queue[tail++] = connectionIndex;
+                }
             }
             
-            // Visit all connected hexagons
-            for (String connectionId : current.getConnections()) {
-                if (!visited.contains(connectionId)) {
-                    visited.add(connectionId);
-                    queue.offer(connectionId);
+            // Visit connections that are not expressed as directions
+            for (String connectionId : current.getForeignConnections()) {
+                int connectionIndex = lookup(hexagonGrid, connectionId);
+                if (connectionIndex == HexGrid.ABSENT) {
+                    logger.error("Hexagon {} not found in map during validation", connectionId);
+                    return false;
+                }
+                if (!visited[connectionIndex]) {
+                    visited[connectionIndex] = true;
+                    queue[tail++] = connectionIndex;
                 }
             }
         }
         
         // Check if all hexagons were visited
-        boolean isConnected = visited.size() == hexagons.size();
+        boolean isConnected = tail == hexagons.size();
         
         if (!isConnected) {
             logger.error("Map connectivity validation failed: {} of {} hexagons reachable", 
-                        visited.size(), hexagons.size());
+                        tail, hexagons.size());
             logUnreachableHexagons(hexagons, visited);
         } else {
             logger.debug("Map connectivity validation passed: all {} hexagons reachable", 
@@ -75,26 +96,90 @@ public class MapValidator {
         return isConnected;
     }
     
+    /**
+     * Validate connectivity of a columnar map without materializing hexagon objects
+     */
+    public boolean validateBufferConnectivity(MapBuffer map) {
+        if (map == null || map.isEmpty()) {
+            logger.warn("Empty hexagon list provided for validation");
+            return true;
+        }
+        
+        boolean[] visited = new boolean[map.size()];
+        int[] queue = new int[map.size()];
+        int head = 0;
+        int tail = 0;
+        
+        queue[tail++] = 0;
+        visited[0] = true;
+        
+        while (head < tail) {
+            int current = queue[head++];
+            
+            for (int d = 0; d < HexCoordinate.DIRECTION_COUNT; d++) {
+                if (!map.isConnected(current, d)) continue;
+                
+                int connectionIndex = map.neighborIndex(current, d);
+                if (connectionIndex == HexGrid.ABSENT) {
+                    logger.error("Hexagon {} connects to missing neighbor in direction {}", 
+                               HexCoordinate.toId(map.getQ(current), map.getR(current)), d);
+                    return false;
+                }
+                if (!visited[connectionIndex]) {
+                    visited[connectionIndex] = true;
+                    queue[tail++] = connectionIndex;
+                }
+            }
+        }
+        
+        boolean isConnected = tail == map.size();
+        
+        if (!isConnected) {
+            logger.error("Map connectivity validation failed: {} of {} hexagons reachable", 
+                        tail, map.size());
+        } else {
+            logger.debug("Map connectivity validation passed: all {} hexagons reachable", 
+                        map.size());
+        }
+        
+        return isConnected;
+    }
+    
     /**
      * Validate bidirectional connections between hexagons
      */
     public boolean validateBidirectionalConnections(List<Hexagon> hexagons) {
-        Map<String, Hexagon> hexagonMap = new HashMap<>();
-        for (Hexagon hex : hexagons) {
-            hexagonMap.put(hex.getId(), hex);
-        }
+        HexGrid hexagonGrid = buildGrid(hexagons);
         
         for (Hexagon hex : hexagons) {
-            for (String connectionId : hex.getConnections()) {
-                Hexagon connectedHex = hexagonMap.get(connectionId);
+            for (int d = 0; d < HexCoordinate.DIRECTION_COUNT; d++) {
+                if (!hex.isConnected(d)) continue;
+                
+                int connectedIndex = neighborIndex(hexagonGrid, hex, d);
+                if (connectedIndex == HexGrid.ABSENT) {
+                    logger.error("Hexagon {} references non-existent neighbor in direction {}", 
+                               hex.getId(), d);
+                    return false;
+                }
                 
-                if (connectedHex == null) {
+                if (!hexagons.get(connectedIndex).isConnected(HexCoordinate.oppositeDirection(d))) {
+                    logger.error("Connection from {} in direction {} is not bidirectional", 
+                               hex.getId(), d);
+                    return false;
+                }
+            }
+            
+            for (String connectionId : hex.getForeignConnections()) {
+                int connectedIndex = lookup(hexagonGrid, connectionId);
+                
+                if (connectedIndex == HexGrid.ABSENT) {
                     logger.error("Hexagon {} references non-existent connection {}", 
                                hex.getId(), connectionId);
                     return false;
                 }
                 
-                if (!connectedHex.getConnections().contains(hex.getId())) {
+                Hexagon connectedHex = hexagons.get(connectedIndex);
+                if (!connectedHex.isConnectedTo(hex.getId())) {
                     logger.error("Connection from {} to {} is not bidirectional", 
                                hex.getId(), connectionId);
                     return false;
@@ -110,23 +195,13 @@ public class MapValidator {
      * Validate that connections are only between adjacent hexagons
      */
     public boolean validateAdjacentConnections(List<Hexagon> hexagons) {
-        Map<String, Hexagon> hexagonMap = new HashMap<>();
-        for (Hexagon hex : hexagons) {
-            hexagonMap.put(hex.getId(), hex);
-        }
-        
+        // Direction-mask connections are adjacent by construction; anything else is not
         for (Hexagon hex : hexagons) {
-            Set<String> expectedNeighborIds = new HashSet<>();
-            for (HexCoordinate neighbor : hex.getCoordinate().getNeighbors()) {
-                expectedNeighborIds.add(neighbor.toId());
-            }
-            
-            for (String connectionId : hex.getConnections()) {
-                if (!expectedNeighborIds.contains(connectionId)) {
-                    logger.error("Hexagon {} has invalid non-adjacent connection to {}", 
-                               hex.getId(), connectionId);
-                    return false;
-                }
+            List<String> foreignConnections = hex.getForeignConnections();
+            if (!foreignConnections.isEmpty()) {
+                logger.error("Hexagon {} has invalid non-adjacent connection to {}", 
+                           hex.getId(), foreignConnections.get(0));
+                return false;
             }
         }
         
@@ -147,7 +222,16 @@ public class MapValidator {
                                    .filter(h -> h.getType() == Hexagon.HexType.CORRIDOR)
                                    .count();
         
-        double actualCorridorRatio = (double) corridorCount / hexagons.size();
+        return isRatioWithinTolerance(corridorCount, hexagons.size(), expectedCorridorRatio, tolerance);
+    }
+    
+    private boolean isRatioWithinTolerance(long corridorCount, int hexagonCount, 
+                                           double expectedCorridorRatio, double tolerance) {
+        if (hexagonCount == 0) {
+            return true;
+        }
+        
+        double actualCorridorRatio = (double) corridorCount / hexagonCount;
         double deviation = Math.abs(actualCorridorRatio - expectedCorridorRatio);
         
         boolean withinTolerance = deviation <= tolerance;
@@ -159,22 +243,103 @@ public class MapValidator {
     }
     
     /**
-     * Comprehensive validation of the entire map
+     * Comprehensive validation of the entire map, in parallel for large maps
      */
     public ValidationResult validateMap(List<Hexagon> hexagons, double expectedCorridorRatio) {
+        return validateMap(hexagons, expectedCorridorRatio, 
+                          hexagons != null && hexagons.size() >= PARALLEL_THRESHOLD);
+    }
+    
+    /**
+     * Comprehensive validation of the entire map in one fused pass.
+     * Hexagons are copied once into packed-key and mask columns; adjacency and
+     * ratio are decided while copying, then a single sweep over the columns
+     * checks every connection for a matching reverse connection and feeds a
+     * union-find, which answers connectivity without a separate search.
+     * Results match the individual checks above.
+     */
+    public ValidationResult validateMap(List<Hexagon> hexagons, double expectedCorridorRatio, 
+                                        boolean parallel) {
+        long startTime = System.nanoTime();
+        List<Hexagon> map = hexagons == null ? Collections.emptyList() : hexagons;
+        int size = map.size();
         ValidationResult result = new ValidationResult();
+        result.parallel = parallel;
+        
+        // Copy into primitive columns, counting corridors and noting irregular hexagons
+        long[] keys = new long[size];
+        byte[] masks = new byte[size];
+        HexGrid hexagonGrid = new HexGrid(size);
+        List<Integer> withForeignConnections = new ArrayList<>();
+        boolean duplicateCoordinates = false;
+        int corridorCount = 0;
+        
+        int index = 0;
+        for (Hexagon hex : map) {
+            keys[index] = HexCoordinate.pack(hex.getQ(), hex.getR());
+            masks[index] = hex.getConnectionMask();
+            if (hexagonGrid.put(keys[index], index) != HexGrid.ABSENT) {
+                duplicateCoordinates = true;
+            }
+            if (hex.getType() == Hexagon.HexType.CORRIDOR) {
+                corridorCount++;
+            }
+            if (!hex.getForeignConnections().isEmpty()) {
+                withForeignConnections.add(index);
+            }
+            index++;
+        }
         
-        // Test connectivity
-        result.isConnected = validateConnectivity(hexagons);
+        result.hasValidAdjacentConnections = withForeignConnections.isEmpty();
+        if (!result.hasValidAdjacentConnections) {
+            Hexagon hex = map.get(withForeignConnections.get(0));
+            logger.error("Hexagon {} has invalid non-adjacent connection to {}", 
+                       hex.getId(), hex.getForeignConnections().get(0));
+        }
+        result.hasValidRatio = isRatioWithinTolerance(corridorCount, size, expectedCorridorRatio, RATIO_TOLERANCE);
+        long indexedTime = System.nanoTime();
+        result.indexingNanos = indexedTime - startTime;
         
-        // Test bidirectional connections
-        result.hasBidirectionalConnections = validateBidirectionalConnections(hexagons);
+        // One sweep over every direction connection, split into chunks when parallel
+        ConcurrentUnionFind components = new ConcurrentUnionFind(size);
+        int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream chunkStream = IntStream.range(0, chunks);
+        if (parallel) {
+            chunkStream = chunkStream.parallel();
+        }
+        int firstBroken = chunkStream
+            .map(chunk -> checkConnections(keys, masks, hexagonGrid, components, 
+                                           chunk * CHUNK_SIZE, Math.min(size, (chunk + 1) * CHUNK_SIZE)))
+            .filter(broken -> broken != HexGrid.ABSENT)
+            .min()
+            .orElse(HexGrid.ABSENT);
         
-        // Test adjacent connections
-        result.hasValidAdjacentConnections = validateAdjacentConnections(hexagons);
+        result.hasBidirectionalConnections = firstBroken == HexGrid.ABSENT 
+            && foreignConnectionsBidirectional(map, hexagonGrid, withForeignConnections);
+        if (firstBroken != HexGrid.ABSENT) {
+            logger.error("Hexagon {} has a connection that is missing or not bidirectional", 
+                       map.get(firstBroken).getId());
+        }
+        long checkedTime = System.nanoTime();
+        result.edgeCheckNanos = checkedTime - indexedTime;
         
-        // Test corridor/room ratio (with 15% tolerance)
-        result.hasValidRatio = validateCorridorRoomRatio(hexagons, expectedCorridorRatio, 0.15);
+        // Symmetric connections make reachability from the first hexagon the same as
+        // having one component; anything irregular takes the exact search instead
+        if (size <= 1) {
+            result.isConnected = true;
+        } else if (result.hasBidirectionalConnections && withForeignConnections.isEmpty() 
+                   && !duplicateCoordinates) {
+            result.isConnected = components.getComponentCount() == 1;
+            if (!result.isConnected) {
+                logger.error("Map connectivity validation failed: {} disconnected components", 
+                           components.getComponentCount());
+            }
+        } else {
+            result.isConnected = validateConnectivity(map);
+        }
+        long endTime = System.nanoTime();
+        result.connectivityNanos = endTime - checkedTime;
+        result.totalNanos = endTime - startTime;
         
         // Overall validity
         result.isValid = result.isConnected && result.hasBidirectionalConnections && 
@@ -187,18 +352,99 @@ public class MapValidator {
                        result.isConnected, result.hasBidirectionalConnections, 
                        result.hasValidAdjacentConnections, result.hasValidRatio);
         }
+        logger.debug("Map validation of {} hexagons took {} us (index {}, edges {}, connectivity {}, parallel={})", 
+                    size, result.totalNanos / 1000, result.indexingNanos / 1000, 
+                    result.edgeCheckNanos / 1000, result.connectivityNanos / 1000, parallel);
         
         return result;
     }
     
+    /**
+     * Check the direction connections of a range of hexagons, joining the connected ones.
+     * Returns the first hexagon whose connection is missing or one-way, or ABSENT.
+     */
+    private int checkConnections(long[] keys, byte[] masks, HexGrid hexagonGrid, 
+                                 ConcurrentUnionFind components, int from, int to) {
+        int firstBroken = HexGrid.ABSENT;
+        for (int i = from; i < to; i++) {
+            int mask = masks[i];
+            for (int d = 0; d < HexCoordinate.DIRECTION_COUNT; d++) {
+                if ((mask & (1 << d)) == 0) continue;
+                
+                int neighbor = hexagonGrid.get(HexCoordinate.neighborKey(keys[i], d));
+                if (neighbor == HexGrid.ABSENT 
+                        || (masks[neighbor] & (1 << HexCoordinate.oppositeDirection(d))) == 0) {
+                    if (firstBroken == HexGrid.ABSENT) {
+                        firstBroken = i;
+                    }
+                    continue;
+                }
+                
+                // Each connection is seen from both ends; join it once
+                if (i < neighbor) {
+                    components.union(i, neighbor);
+                }
+            }
+        }
+        return firstBroken;
+    }
+    
+    /**
+     * Check the rare connections stored by ID rather than direction
+     */
+    private boolean foreignConnectionsBidirectional(List<Hexagon> hexagons, HexGrid hexagonGrid, 
+                                                    List<Integer> indices) {
+        for (int index : indices) {
+            Hexagon hex = hexagons.get(index);
+            for (String connectionId : hex.getForeignConnections()) {
+                int connectedIndex = lookup(hexagonGrid, connectionId);
+                if (connectedIndex == HexGrid.ABSENT 
+                        || !hexagons.get(connectedIndex).isConnectedTo(hex.getId())) {
+                    logger.error("Connection from {} to {} is missing or not bidirectional", 
+                               hex.getId(), connectionId);
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Index hexagons by packed coordinate so connections resolve without string keys
+     */
+    private HexGrid buildGrid(List<Hexagon> hexagons) {
+        HexGrid hexagonGrid = new HexGrid(hexagons.size());
+        for (int i = 0; i < hexagons.size(); i++) {
+            Hexagon hex = hexagons.get(i);
+            hexagonGrid.put(hex.getQ(), hex.getR(), i);
+        }
+        return hexagonGrid;
+    }
+    
+    /**
+     * Index of the neighbor of a hexagon in a direction, or ABSENT if it is not on the map
+     */
+    private int neighborIndex(HexGrid hexagonGrid, Hexagon hex, int direction) {
+        return hexagonGrid.get(hex.getQ() + HexCoordinate.directionQ(direction), 
+                               hex.getR() + HexCoordinate.directionR(direction));
+    }
+    
+    /**
+     * Resolve a connection ID to a hexagon index, or ABSENT if it is not on the map
+     */
+    private int lookup(HexGrid hexagonGrid, String connectionId) {
+        long key = HexCoordinate.parseIdKey(connectionId);
+        return key == HexCoordinate.INVALID_KEY ? HexGrid.ABSENT : hexagonGrid.get(key);
+    }
+    
     /**
      * Log unreachable hexagons for debugging
      */
-    private void logUnreachableHexagons(List<Hexagon> hexagons, Set<String> reachable) {
+    private void logUnreachableHexagons(List<Hexagon> hexagons, boolean[] reachable) {
         List<String> unreachable = new ArrayList<>();
-        for (Hexagon hex : hexagons) {
-            if (!reachable.contains(hex.getId())) {
-                unreachable.add(hex.getId());
+        for (int i = 0; i < hexagons.size(); i++) {
+            if (!reachable[i]) {
+                unreachable.add(hexagons.get(i).getId());
             }
         }
         
@@ -215,6 +461,13 @@ public class MapValidator {
         public boolean hasValidAdjacentConnections;
         public boolean hasValidRatio;
         
+        // Time spent in each stage of the fused pass; adjacency and ratio are decided while indexing
+        public boolean parallel;
+        public long indexingNanos;
+        public long edgeCheckNanos;
+        public long connectivityNanos;
+        public long totalNanos;
+        
         public ValidationResult() {
             this.isValid = false;
             this.isConnected = false;
@@ -0,0 +1,98 @@
+package com.encom.mapgen.generator;
+
+import com.encom.mapgen.model.*;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Golden maps for java-random-v1. baseline-maps.txt was written by the
+ * generator as it stood before the indexed frontier, buffers and corridor
+ * rewrite: a "map seed count [wide]" header, then one "q r type mask" row per
+ * hexagon sorted by q and r, with the mask in HexCoordinate direction order.
+ */
+public class BaselineOrderTest {
+
+    private static Map<String, List<String>> loadGoldenMaps() throws IOException {
+        Map<String, List<String>> maps = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                BaselineOrderTest.class.getResourceAsStream("baseline-maps.txt"), StandardCharsets.UTF_8))) {
+            List<String> rows = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("map ")) {
+                    rows = new ArrayList<>();
+                    maps.put(line.substring(4), rows);
+                } else if (!line.isEmpty()) {
+                    rows.add(line);
+                }
+            }
+        }
+        return maps;
+    }
+
+    private static GenerationRequest createRequest(String header) {
+        String[] fields = header.split(" ");
+        GenerationOptions options = new GenerationOptions();
+        if (fields.length > 2 && fields[2].equals("wide")) {
+            options.setCorridorRatio(0.9);
+            options.setCorridorWidth(new int[] {1, 2, 3});
+            options.setRoomSizeMin(3);
+            options.setRoomSizeMax(10);
+        }
+        GenerationRequest request = new GenerationRequest(fields[0], Integer.parseInt(fields[1]), options);
+        request.setRngAlgorithm(RngAlgorithm.LEGACY.getId());
+        return request;
+    }
+
+    private static List<String> rows(MapManifest manifest) {
+        List<Hexagon> hexagons = new ArrayList<>(manifest.getHexagons());
+        hexagons.sort(Comparator.comparingInt(Hexagon::getQ).thenComparingInt(Hexagon::getR));
+
+        List<String> rows = new ArrayList<>();
+        for (Hexagon hexagon : hexagons) {
+            rows.add(hexagon.getQ() + " " + hexagon.getR() + " " +
+                     (hexagon.getType() == Hexagon.HexType.ROOM ? 'R' : 'C') + " " +
+                     (hexagon.getConnectionMask() & 0xFF));
+        }
+        return rows;
+    }
+
+    @Test
+    public void testLegacyMapsMatchBaseline() throws IOException {
+        Map<String, List<String>> golden = loadGoldenMaps();
+        assertEquals("Every golden map should load", 5, golden.size());
+
+        for (Map.Entry<String, List<String>> entry : golden.entrySet()) {
+            GenerationRequest request = createRequest(entry.getKey());
+            MapManifest manifest = new MapGenerator(request).generateMap(request.getHexagonCount());
+            assertEquals(entry.getKey() + ": the map should match the original generator's",
+                         entry.getValue(), rows(manifest));
+        }
+    }
+
+    @Test
+    public void testResumedLegacyMapsMatchBaseline() throws IOException {
+        List<String> expected = loadGoldenMaps().get("corridor-test-seed 1000");
+        GenerationRequest request = createRequest("corridor-test-seed 1000");
+
+        List<GrowthCheckpoint> checkpoints = new ArrayList<>();
+        MapGenerator generator = new MapGenerator(createRequest("corridor-test-seed 300"));
+        generator.setCheckpoints(new int[] {250}, checkpoints::add);
+        generator.generateMap(300);
+        assertEquals("The checkpoint should be captured", 1, checkpoints.size());
+
+        MapManifest resumed = new MapGenerator(request, checkpoints.get(0)).generateMap(1000);
+        assertEquals("Resuming should replay the original generator's orders", expected, rows(resumed));
+    }
+}
@@ -1,6 +1,8 @@
 package com.encom.mapgen.generator;
 
 import com.encom.mapgen.model.*;
+import com.encom.mapgen.validator.MapValidator;
+import com.google.gson.Gson;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
@@ -98,4 +100,93 @@ public class CorridorPostProcessingTest {
         // The fact that generation completed without throwing means validation passed
         System.out.println("Map connectivity verified after post-processing");
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void testBridgeChecksMatchExhaustiveChecks() {
+        Gson gson = new Gson();
+        String[] seeds = {"bridge-a", "bridge-b", "bridge-c", "dense-corridors"};
+        int[] sizes = {25, 200, 600};
+        
+        for (String seed : seeds) {
+            for (int size : sizes) {
+                GenerationOptions options = new GenerationOptions();
+                options.setCorridorRatio(0.9);
+                options.setCorridorWidth(new int[]{1, 2, 3});
+                
+                MapGenerator fast = new MapGenerator(new GenerationRequest(seed, size, options));
+                MapGenerator reference = new MapGenerator(new GenerationRequest(seed, size, options));
+                reference.setExhaustiveConnectivityChecks(true);
+                
+                String fastHexagons = gson.toJson(fast.generateMap(size).getHexagons());
+                String referenceHexagons = gson.toJson(reference.generateMap(size).getHexagons());
+                
+                assertEquals("Bridge checks should match full BFS for seed " + seed + " size " + size,
+                            referenceHexagons, fastHexagons);
+            }
+        }
+    }
+    
+    @Test
+    public void testLargeModeMatchesExhaustiveChecks() {
+        Gson gson = new Gson();
+        GenerationOptions options = new GenerationOptions();
+        options.setCorridorRatio(0.9);
+        
+        GenerationRequest request = new GenerationRequest("large-faces", 3000, options);
+        request.setMode(GenerationMode.LARGE.getValue());
+        MapManifest large = new MapGenerator(request).generateMap(3000);
+        
+        MapGenerator reference = new MapGenerator(request);
+        reference.setExhaustiveConnectivityChecks(true);
+        
+        assertEquals("Large mode should thin corridors exactly as the full BFS does",
+                    gson.toJson(reference.generateMap(3000).getHexagons()), gson.toJson(large.getHexagons()));
+        assertTrue("Large mode should keep the map connected", 
+                  new MapValidator().validateConnectivity(large.getHexagons()));
+    }
+    
+    @Test
+    public void testFaceTrackingOnDenseBlockWithChain() {
+        MapBuffer fast = denseBlockWithChain();
+        MapBuffer reference = denseBlockWithChain();
+        
+        int removed = new CorridorPostProcessor(fast, new SeedManager("faces")).process();
+        new CorridorPostProcessor(reference, new SeedManager("faces"), null, true).process();
+        
+        assertTrue("A fully connected block should lose connections", removed > 0);
+        for (int i = 0; i < fast.size(); i++) {
+            assertEquals("Connections should match the full BFS at " + fast.toHexagon(i).getId(),
+                        reference.getConnectionMask(i), fast.getConnectionMask(i));
+        }
+        assertTrue("The chain's bridges should be kept", 
+                  new MapValidator().validateConnectivity(fast.toHexagons()));
+    }
+    
+    /**
+     * Corridor disc of radius 3 with every neighbor connected, plus a chain of
+     * bridges leading off it
+     */
+    private MapBuffer denseBlockWithChain() {
+        MapBuffer map = new MapBuffer();
+        for (int q = -3; q <= 3; q++) {
+            for (int r = -3; r <= 3; r++) {
+                if (Math.abs(q + r) <= 3) {
+                    map.add(q, r, Hexagon.HexType.CORRIDOR);
+                }
+            }
+        }
+        for (int q = 4; q < 12; q++) {
+            map.add(q, 0, Hexagon.HexType.CORRIDOR);
+        }
+        
+        for (int i = 0; i < map.size(); i++) {
+            for (int d = 0; d < HexCoordinate.DIRECTION_COUNT; d++) {
+                int neighbor = map.neighborIndex(i, d);
+                if (neighbor != HexGrid.ABSENT) {
+                    map.connect(i, neighbor, d);
+                }
+            }
+        }
+        return map;
+    }
+}
@@ -0,0 +1,120 @@
+package com.encom.mapgen.generator;
+
+import com.encom.mapgen.model.HexCoordinate;
+import com.encom.mapgen.model.Hexagon;
+import com.encom.mapgen.model.MapBuffer;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for FrontierIndex bookkeeping and selection
+ */
+public class FrontierIndexTest {
+
+    private void place(MapBuffer map, FrontierIndex frontier, int q, int r) {
+        map.add(q, r, Hexagon.HexType.ROOM);
+        frontier.occupy(q, r);
+    }
+
+    @Test
+    public void testOriginNeighborsFormFrontier() {
+        MapBuffer map = new MapBuffer();
+        FrontierIndex frontier = new FrontierIndex(map);
+
+        place(map, frontier, 0, 0);
+
+        assertEquals("Origin should expose six frontier cells", 6, frontier.size());
+        assertFalse("Occupied cell should not be on the frontier", frontier.contains(0, 0));
+        assertEquals("Each neighbor should touch one hexagon", 1, frontier.getAdjacentCount(1, 0));
+    }
+
+    @Test
+    public void testAdjacencyCountsAndBuckets() {
+        MapBuffer map = new MapBuffer();
+        FrontierIndex frontier = new FrontierIndex(map);
+
+        // Occupy four of the six neighbors of (0,0), leaving the centre empty
+        place(map, frontier, 1, 0);
+        place(map, frontier, 1, -1);
+        place(map, frontier, 0, -1);
+        assertEquals("Centre should touch three hexagons", 3, frontier.getAdjacentCount(0, 0));
+        place(map, frontier, -1, 0);
+        assertEquals("Centre should touch four hexagons", 4, frontier.getAdjacentCount(0, 0));
+
+        // Recount every cell by brute force and compare with the live counts
+        int total = 0;
+        int open = 0;
+        for (int q = -3; q <= 3; q++) {
+            for (int r = -3; r <= 3; r++) {
+                if (map.contains(q, r)) {
+                    assertFalse("Occupied cells must leave the frontier", frontier.contains(q, r));
+                    continue;
+                }
+
+                int occupied = 0;
+                for (int d = 0; d < HexCoordinate.DIRECTION_COUNT; d++) {
+                    if (map.contains(q + HexCoordinate.directionQ(d), r + HexCoordinate.directionR(d))) {
+                        occupied++;
+                    }
+                }
+                assertEquals("Frontier membership should match adjacency", occupied > 0, frontier.contains(q, r));
+                assertEquals("Live count should match brute force", occupied, frontier.getAdjacentCount(q, r));
+                if (occupied > 0) {
+                    total++;
+                    if (occupied <= FrontierIndex.CROWDED_THRESHOLD) {
+                        open++;
+                    }
+                }
+            }
+        }
+        assertEquals("Every frontier cell should be counted", total, frontier.size());
+        assertEquals("Open bucket should hold uncrowded cells", open, frontier.openSize());
+    }
+
+    @Test
+    public void testSelectOpenPrefersOpenCells() {
+        MapBuffer map = new MapBuffer();
+        FrontierIndex frontier = new FrontierIndex(map);
+
+        // A ring leaves its centre crowded while the outside stays open
+        HexCoordinate.forEachInRing(0, 0, 1, (q, r) -> place(map, frontier, q, r));
+        assertEquals("Centre should be fully surrounded", 6, frontier.getAdjacentCount(0, 0));
+
+        SeedManager seedManager = new SeedManager("frontier");
+        for (int i = 0; i < 50; i++) {
+            HexCoordinate open = frontier.selectOpen(seedManager);
+            assertTrue("Selected cell should be open",
+                      frontier.getAdjacentCount(open.getQ(), open.getR()) <= FrontierIndex.CROWDED_THRESHOLD);
+        }
+    }
+
+    @Test
+    public void testSelectionIsDeterministic() {
+        MapBuffer first = new MapBuffer();
+        MapBuffer second = new MapBuffer();
+        FrontierIndex a = new FrontierIndex(first);
+        FrontierIndex b = new FrontierIndex(second);
+
+        HexCoordinate.forEachInSpiral(0, 0, 3, (q, r) -> {
+            place(first, a, q, r);
+            place(second, b, q, r);
+        });
+
+        SeedManager seedA = new SeedManager("stable");
+        SeedManager seedB = new SeedManager("stable");
+        for (int i = 0; i < 20; i++) {
+            assertEquals("Same history and seed should select the same cell",
+                        a.selectAny(seedA), b.selectAny(seedB));
+        }
+    }
+
+    @Test
+    public void testEmptyFrontierSelectsNothing() {
+        FrontierIndex frontier = new FrontierIndex(new MapBuffer());
+        SeedManager seedManager = new SeedManager("empty");
+
+        assertTrue("New frontier should be empty", frontier.isEmpty());
+        assertNull("No cell should be selected", frontier.selectAny(seedManager));
+        assertNull("No open cell should be selected", frontier.selectOpen(seedManager));
+    }
+}
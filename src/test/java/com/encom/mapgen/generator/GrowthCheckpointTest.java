@@ -0,0 +1,104 @@
+package com.encom.mapgen.generator;
+
+import com.encom.mapgen.model.*;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for resuming MapGenerator from a GrowthCheckpoint
+ */
+public class GrowthCheckpointTest {
+
+    private GenerationRequest createRequest(String seed, int hexagonCount, RngAlgorithm algorithm) {
+        GenerationRequest request = new GenerationRequest(seed, hexagonCount, new GenerationOptions());
+        request.setRngAlgorithm(algorithm.getId());
+        return request;
+    }
+
+    private List<GrowthCheckpoint> capture(GenerationRequest request, int... counts) {
+        List<GrowthCheckpoint> checkpoints = new ArrayList<>();
+        MapGenerator generator = new MapGenerator(request);
+        generator.setCheckpoints(counts, checkpoints::add);
+        generator.generateMap(request.getHexagonCount());
+        return checkpoints;
+    }
+
+    private GrowthCheckpoint furthest(List<GrowthCheckpoint> checkpoints, int targetHexagonCount) {
+        GrowthCheckpoint best = null;
+        for (GrowthCheckpoint checkpoint : checkpoints) {
+            if (checkpoint.appliesTo(targetHexagonCount) &&
+                    (best == null || checkpoint.getHexagonCount() > best.getHexagonCount())) {
+                best = checkpoint;
+            }
+        }
+        return best;
+    }
+
+    private void assertSameManifest(String message, MapManifest expected, MapManifest actual) throws IOException {
+        actual.getMetadata().setGeneratedAt(expected.getMetadata().getGeneratedAt());
+        actual.getMetadata().setGenerationTime(expected.getMetadata().getGenerationTime());
+        assertArrayEquals(message, MapBinaryCodec.encode(expected), MapBinaryCodec.encode(actual));
+    }
+
+    @Test
+    public void testResumedMapsMatchGrowthFromOrigin() throws IOException {
+        for (RngAlgorithm algorithm : RngAlgorithm.values()) {
+            List<GrowthCheckpoint> checkpoints = capture(createRequest("resume", 3000, algorithm), 200, 1000, 2000);
+            assertEquals(algorithm + ": every count should be captured", 3, checkpoints.size());
+
+            for (int target : new int[] {1000, 2500, 3000, 4500}) {
+                GenerationRequest request = createRequest("resume", target, algorithm);
+                GrowthCheckpoint checkpoint = furthest(checkpoints, target);
+                assertNotNull(algorithm + ": a checkpoint should apply to " + target, checkpoint);
+
+                MapManifest expected = new MapGenerator(request).generateMap(target);
+                MapManifest resumed = new MapGenerator(request, checkpoint).generateMap(target);
+                assertSameManifest(algorithm + ": resuming should not change the map for " + target,
+                                   expected, resumed);
+            }
+        }
+    }
+
+    @Test
+    public void testCheckpointsAreTargetIndependent() throws IOException {
+        GrowthCheckpoint small = capture(createRequest("independent", 1500, RngAlgorithm.XOSHIRO256), 1000).get(0);
+        GrowthCheckpoint large = capture(createRequest("independent", 5000, RngAlgorithm.XOSHIRO256), 1000).get(0);
+
+        assertEquals("Checkpoints should not depend on the target",
+                     large.getHexagonCount(), small.getHexagonCount());
+        assertTrue("Checkpoints should be taken short of their count", small.getHexagonCount() <= 1000);
+        assertTrue("Checkpoints should apply to their count", small.appliesTo(1000));
+
+        // One checkpoint can be resumed repeatedly without being consumed
+        GenerationRequest request = createRequest("independent", 2000, RngAlgorithm.XOSHIRO256);
+        MapManifest first = new MapGenerator(request, small).generateMap(2000);
+        MapManifest second = new MapGenerator(request, small).generateMap(2000);
+        assertSameManifest("Resuming twice should give the same map", first, second);
+        assertEquals("Resuming should not modify the checkpoint", large.getHexagonCount(), small.getHexagonCount());
+    }
+
+    @Test
+    public void testRejectsCheckpointsThatDoNotApply() {
+        GrowthCheckpoint checkpoint = capture(createRequest("reject", 2000, RngAlgorithm.XOSHIRO256), 1000).get(0);
+
+        try {
+            new MapGenerator(createRequest("reject", checkpoint.getMinTargetCount() - 1, RngAlgorithm.XOSHIRO256),
+                             checkpoint);
+            fail("Targets below the checkpoint's minimum should be rejected");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+
+        try {
+            new MapGenerator(createRequest("other", 2000, RngAlgorithm.XOSHIRO256), checkpoint);
+            fail("Checkpoints for another seed should be rejected");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+}
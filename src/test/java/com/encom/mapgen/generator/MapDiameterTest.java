@@ -0,0 +1,133 @@
+package com.encom.mapgen.generator;
+
+import com.encom.mapgen.model.*;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for exact diameter computation
+ */
+public class MapDiameterTest {
+    
+    private MapBuffer generate(String seed, int hexagonCount) {
+        GenerationRequest request = new GenerationRequest(seed, hexagonCount, new GenerationOptions());
+        return new MapGenerator(request).generateMap(hexagonCount).getBuffer();
+    }
+    
+    /**
+     * Reference diameter from a BFS at every hexagon
+     */
+    private int bruteForceDiameter(MapBuffer map) {
+        int best = 0;
+        for (int source = 0; source < map.size(); source++) {
+            int[] distance = distances(map, source);
+            best = Math.max(best, distance[maxIndex(distance)]);
+        }
+        return best;
+    }
+    
+    private int[] distances(MapBuffer map, int source) {
+        int[] distance = new int[map.size()];
+        Arrays.fill(distance, -1);
+        int[] queue = new int[map.size()];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        distance[source] = 0;
+        while (head < tail) {
+            int current = queue[head++];
+            for (int d = 0; d < HexCoordinate.DIRECTION_COUNT; d++) {
+                if (!map.isConnected(current, d)) continue;
+                int next = map.neighborIndex(current, d);
+                if (distance[next] < 0) {
+                    distance[next] = distance[current] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return distance;
+    }
+    
+    private int maxIndex(int[] values) {
+        int best = 0;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] > values[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+    
+    @Test
+    public void testMatchesBruteForce() {
+        String[] seeds = {"diameter-a", "diameter-b", "diameter-c"};
+        int[] sizes = {1, 7, 60, 300};
+        
+        for (String seed : seeds) {
+            for (int size : sizes) {
+                MapBuffer map = generate(seed, size);
+                MapDiameter diameter = new MapDiameter(map);
+                
+                assertEquals("Diameter should be exact for " + seed + "/" + size, 
+                            bruteForceDiameter(map), diameter.getDiameter());
+                assertEquals("Endpoints should be a longest path apart", 
+                            diameter.getDiameter(), 
+                            distances(map, diameter.getStartIndex())[diameter.getEndIndex()]);
+            }
+        }
+    }
+    
+    @Test
+    public void testStraightLine() {
+        MapBuffer map = new MapBuffer();
+        for (int q = 0; q < 10; q++) {
+            int index = map.add(q, 0, Hexagon.HexType.CORRIDOR);
+            if (q > 0) {
+                map.connect(index, map.indexOf(q - 1, 0), 3);
+            }
+        }
+        
+        MapDiameter diameter = new MapDiameter(map);
+        assertEquals("Line of ten hexagons has diameter nine", 9, diameter.getDiameter());
+        assertEquals("Endpoints should be the line ends", 
+                    9, Math.abs(map.getQ(diameter.getStartIndex()) - map.getQ(diameter.getEndIndex())));
+    }
+    
+    @Test
+    public void testParallelMatchesSequential() {
+        MapBuffer map = generate("diameter-parallel", 800);
+        
+        MapDiameter sequential = new MapDiameter(map, false);
+        MapDiameter parallel = new MapDiameter(map, true);
+        
+        assertEquals("Diameters should match", sequential.getDiameter(), parallel.getDiameter());
+        assertEquals("Start should match", sequential.getStartIndex(), parallel.getStartIndex());
+        assertEquals("End should match", sequential.getEndIndex(), parallel.getEndIndex());
+    }
+    
+    @Test
+    public void testEmptyMap() {
+        MapDiameter diameter = new MapDiameter(new MapBuffer());
+        assertEquals("Empty map has no path", 0, diameter.getDiameter());
+        assertEquals("Empty map has no endpoints", HexGrid.ABSENT, diameter.getStartIndex());
+    }
+    
+    @Test
+    public void testSearchLimit() {
+        MapBuffer map = generate("diameter-limit", 2000);
+        MapDiameter exact = new MapDiameter(map, false);
+        MapDiameter limited = new MapDiameter(map, false, 1);
+        
+        assertTrue("Unlimited search should be exact", exact.isExact());
+        assertFalse("A single search cannot settle a large map", limited.isExact());
+        assertEquals("Limited search should stop at the limit", 1, limited.getSearchCount());
+        assertTrue("Limited result should be a lower bound", limited.getDiameter() <= exact.getDiameter());
+        
+        MapDiameter generous = new MapDiameter(map, false, exact.getSearchCount());
+        assertTrue("A limit the search fits in should stay exact", generous.isExact());
+        assertEquals("Diameters should match", exact.getDiameter(), generous.getDiameter());
+    }
+}
@@ -161,6 +161,8 @@ public class MapGeneratorTest {
                   stats.getMaxConnections() >= 1);
         assertTrue("Longest path should be at least 0", 
                   stats.getLongestPath() >= 0);
+        assertNotNull("Longest path should have a start", stats.getLongestPathStart());
+        assertNotNull("Longest path should have an end", stats.getLongestPathEnd());
         
         // Bounding box should be valid
         MapManifest.BoundingBox bbox = stats.getBoundingBox();
@@ -168,4 +170,93 @@ public class MapGeneratorTest {
         assertTrue("MinQ should be <= MaxQ", bbox.getMinQ() <= bbox.getMaxQ());
         assertTrue("MinR should be <= MaxR", bbox.getMinR() <= bbox.getMaxR());
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void testParanoidValidation() {
+        GenerationRequest request = createTestRequest("paranoid_test", 300);
+        
+        MapGenerator fast = new MapGenerator(request);
+        MapGenerator paranoid = new MapGenerator(request);
+        paranoid.setParanoidValidation(true);
+        
+        MapManifest fastManifest = fast.generateMap(300);
+        MapManifest paranoidManifest = paranoid.generateMap(300);
+        
+        assertEquals("Paranoid validation should not change the map", 
+                    fastManifest.getHexagons(), paranoidManifest.getHexagons());
+        assertTrue("Generated map should be fully connected", 
+                  new MapValidator().validateConnectivity(paranoidManifest.getHexagons()));
+    }
+    
+    @Test
+    public void testXoshiroGeneration() {
+        GenerationRequest request = createTestRequest("xoshiro_test", 200);
+        request.setRngAlgorithm(RngAlgorithm.XOSHIRO256.getId());
+        
+        MapManifest first = new MapGenerator(request).generateMap(200);
+        MapManifest second = new MapGenerator(request).generateMap(200);
+        
+        assertEquals("Algorithm should be recorded in metadata", 
+                    "xoshiro256ss-v1", first.getMetadata().getRngAlgorithm());
+        assertEquals("Same seed and algorithm should give the same hexagons", 
+                    first.getHexagons(), second.getHexagons());
+        for (int i = 0; i < first.getHexagons().size(); i++) {
+            assertEquals("Same seed and algorithm should give the same connections", 
+                        first.getHexagons().get(i).getConnections(), 
+                        second.getHexagons().get(i).getConnections());
+        }
+        assertTrue("Generated map should be fully connected", 
+                  new MapValidator().validateConnectivity(first.getHexagons()));
+        
+        MapManifest legacy = new MapGenerator(createTestRequest("xoshiro_test", 200)).generateMap(200);
+        assertEquals("Default algorithm should be legacy", 
+                    "java-random-v1", legacy.getMetadata().getRngAlgorithm());
+        assertNotEquals("Algorithms should produce different maps", 
+                       legacy.getHexagons(), first.getHexagons());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownRngAlgorithm() {
+        GenerationRequest request = createTestRequest("unknown_rng", 10);
+        request.setRngAlgorithm("mersenne-twister");
+        request.validate();
+    }
+    
+    @Test
+    public void testLargeMode() {
+        GenerationRequest request = createTestRequest("large_mode", 30000);
+        request.setMode(GenerationMode.LARGE.getValue());
+        request.validate();
+        
+        MapManifest manifest = new MapGenerator(request).generateMap(30000);
+        MapManifest.Statistics stats = manifest.getMetadata().getStatistics();
+        
+        assertEquals("Large map should reach its target", 30000, stats.getActualHexagons());
+        assertTrue("Large map should be fully connected", 
+                  new MapValidator().validateBufferConnectivity(manifest.getBuffer()));
+        assertTrue("Longest path should be found", stats.getLongestPath() > 0);
+    }
+    
+    @Test
+    public void testModeLimits() {
+        GenerationRequest request = createTestRequest("limits", 1001);
+        try {
+            request.validate();
+            fail("Standard mode should reject more than 1000 hexagons");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Message should name the limit", e.getMessage().contains("1000"));
+        }
+        
+        request.setMode("large");
+        request.setHexagonCount(5_000_000);
+        request.validate();
+        
+        request.setHexagonCount(5_000_001);
+        try {
+            request.validate();
+            fail("Large mode should reject more than five million hexagons");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Message should name the limit", e.getMessage().contains("5000000"));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.encom.mapgen.generator;
+
+import com.encom.mapgen.model.*;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for incremental statistics
+ */
+public class MapStatisticsAccumulatorTest {
+    
+    @Test
+    public void testTracksMutations() {
+        MapBuffer map = new MapBuffer();
+        MapStatisticsAccumulator statistics = new MapStatisticsAccumulator();
+        
+        int a = map.add(0, 0, Hexagon.HexType.CORRIDOR);
+        statistics.hexagonAdded(0, 0, Hexagon.HexType.CORRIDOR);
+        int b = map.add(1, 0, Hexagon.HexType.ROOM);
+        statistics.hexagonAdded(1, 0, Hexagon.HexType.ROOM);
+        int c = map.add(0, -2, Hexagon.HexType.ROOM);
+        statistics.hexagonAdded(0, -2, Hexagon.HexType.ROOM);
+        
+        map.connect(a, b, 0);
+        statistics.connected(map, a, b);
+        
+        MapManifest.Statistics stats = statistics.toStatistics();
+        assertEquals("Three hexagons should be counted", 3, stats.getActualHexagons());
+        assertEquals("One corridor should be counted", 1, stats.getCorridorHexagons());
+        assertEquals("Two rooms should be counted", 2, stats.getRoomHexagons());
+        assertEquals("Max connections should be one", 1, stats.getMaxConnections());
+        assertArrayEquals("Histogram should count degrees", 
+                         new int[]{1, 2, 0, 0, 0, 0, 0}, stats.getDegreeHistogram());
+        assertEquals("Bounding box should cover all hexagons", -2, stats.getBoundingBox().getMinR());
+        assertEquals("Bounding box should cover all hexagons", 1, stats.getBoundingBox().getMaxQ());
+        
+        map.disconnect(a, b, 0);
+        statistics.disconnected(map, a, b);
+        assertArrayEquals("Removing the connection should restore the histogram", 
+                         new int[]{3, 0, 0, 0, 0, 0, 0}, statistics.getDegreeHistogram());
+        assertEquals("Max connections should drop to zero", 0, statistics.getMaxConnections());
+        assertEquals("Unconnected third hexagon stays isolated", 0, map.getConnectionCount(c));
+    }
+    
+    @Test
+    public void testMatchesFullScan() {
+        for (String seed : new String[]{"stats-a", "stats-b", "stats-c"}) {
+            GenerationRequest request = new GenerationRequest(seed, 400, new GenerationOptions());
+            MapManifest manifest = new MapGenerator(request).generateMap(400);
+            MapManifest.Statistics stats = manifest.getMetadata().getStatistics();
+            
+            int[] histogram = new int[HexCoordinate.DIRECTION_COUNT + 1];
+            int corridors = 0;
+            int minQ = Integer.MAX_VALUE;
+            int maxR = Integer.MIN_VALUE;
+            for (Hexagon hex : manifest.getHexagons()) {
+                histogram[hex.getConnectionCount()]++;
+                if (hex.getType() == Hexagon.HexType.CORRIDOR) {
+                    corridors++;
+                }
+                minQ = Math.min(minQ, hex.getQ());
+                maxR = Math.max(maxR, hex.getR());
+            }
+            
+            assertArrayEquals("Histogram should match a full scan", histogram, stats.getDegreeHistogram());
+            assertEquals("Corridor count should match a full scan", corridors, stats.getCorridorHexagons());
+            assertEquals("MinQ should match a full scan", minQ, stats.getBoundingBox().getMinQ());
+            assertEquals("MaxR should match a full scan", maxR, stats.getBoundingBox().getMaxR());
+        }
+    }
+}
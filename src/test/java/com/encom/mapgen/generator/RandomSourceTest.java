@@ -0,0 +1,96 @@
+package com.encom.mapgen.generator;
+
+import com.encom.mapgen.model.RngAlgorithm;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the RandomSource implementations
+ */
+public class RandomSourceTest {
+
+    @Test
+    public void testLegacyMatchesJavaUtilRandom() {
+        for (String seed : new String[] {"test123", "dungeon-level-1", "", "\u00e9\u00e8"}) {
+            Random expected = new Random(seed.hashCode());
+            RandomSource actual = RandomSource.create(RngAlgorithm.LEGACY, seed);
+
+            for (int i = 0; i < 1000; i++) {
+                assertEquals("Bounded ints should match java.util.Random", 
+                            expected.nextInt(i % 37 + 1), actual.nextInt(i % 37 + 1));
+                assertEquals("Power-of-two bounds should match java.util.Random", 
+                            expected.nextInt(64), actual.nextInt(64));
+                assertEquals("Large bounds should match java.util.Random", 
+                            expected.nextInt(Integer.MAX_VALUE - i), actual.nextInt(Integer.MAX_VALUE - i));
+                assertEquals("Doubles should match java.util.Random", 
+                            expected.nextDouble(), actual.nextDouble(), 0.0);
+                assertEquals("Booleans should match java.util.Random", 
+                            expected.nextBoolean(), actual.nextBoolean());
+                assertEquals("Longs should match java.util.Random", 
+                            expected.nextLong(), actual.nextLong());
+            }
+        }
+    }
+
+    @Test
+    public void testXoshiroUsesWholeSeed() {
+        // "Aa" and "BB" share a String.hashCode(), so the legacy algorithm cannot tell them apart
+        assertEquals("Precondition: seeds collide under hashCode", "Aa".hashCode(), "BB".hashCode());
+        assertEquals("Legacy streams should collide", 
+                    RandomSource.create(RngAlgorithm.LEGACY, "Aa").nextLong(), 
+                    RandomSource.create(RngAlgorithm.LEGACY, "BB").nextLong());
+        assertNotEquals("Xoshiro streams should differ", 
+                       RandomSource.create(RngAlgorithm.XOSHIRO256, "Aa").nextLong(), 
+                       RandomSource.create(RngAlgorithm.XOSHIRO256, "BB").nextLong());
+    }
+
+    @Test
+    public void testXoshiroRanges() {
+        RandomSource source = RandomSource.create(RngAlgorithm.XOSHIRO256, "ranges");
+        int[] counts = new int[6];
+        for (int i = 0; i < 60000; i++) {
+            int value = source.nextInt(6);
+            assertTrue("Bounded int should be in range", value >= 0 && value < 6);
+            counts[value]++;
+
+            double d = source.nextDouble();
+            assertTrue("Double should be in [0, 1)", d >= 0.0 && d < 1.0);
+        }
+        for (int count : counts) {
+            assertTrue("Draws should be roughly uniform", count > 9000 && count < 11000);
+        }
+    }
+
+    @Test
+    public void testSplitIsDeterministic() {
+        RandomSource first = RandomSource.create(RngAlgorithm.XOSHIRO256, "split");
+        RandomSource second = RandomSource.create(RngAlgorithm.XOSHIRO256, "split");
+
+        RandomSource childA = first.split();
+        RandomSource childB = second.split();
+        for (int i = 0; i < 100; i++) {
+            assertEquals("Children of equal parents should match", childA.nextLong(), childB.nextLong());
+        }
+
+        // Drawing from a child leaves the parent stream untouched
+        second.split().nextLong();
+        RandomSource reference = RandomSource.create(RngAlgorithm.XOSHIRO256, "split");
+        reference.split();
+        reference.split();
+        assertEquals("Parent should only advance by the split itself", reference.nextLong(), second.nextLong());
+    }
+
+    @Test
+    public void testLegacySplitSharesStream() {
+        RandomSource source = RandomSource.create(RngAlgorithm.LEGACY, "legacy");
+        assertSame("Legacy split should share the stream", source, source.split());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveBound() {
+        RandomSource.create(RngAlgorithm.XOSHIRO256, "bound").nextInt(0);
+    }
+}
@@ -1,6 +1,13 @@
 package com.encom.mapgen.generator;
 
+import com.encom.mapgen.model.RngAlgorithm;
 import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
 import static org.junit.Assert.*;
 
 /**
@@ -168,4 +175,53 @@ public class SeedManagerTest {
             assertTrue("Random double should be < 1.0", value < 1.0);
         }
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void testShuffleMatchesCollectionsShuffle() {
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            expected.add(i);
+        }
+        List<Integer> actual = new ArrayList<>(expected);
+        
+        Collections.shuffle(expected, new Random("shuffle".hashCode()));
+        new SeedManager("shuffle").shuffle(actual);
+        
+        assertEquals("Legacy shuffle should match Collections.shuffle", expected, actual);
+    }
+    
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testGetRandomSharesLegacyStream() {
+        Random expected = new Random("view".hashCode());
+        SeedManager manager = new SeedManager("view");
+        Random view = manager.getRandom();
+        
+        assertSame("The view should be reused", view, manager.getRandom());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("The view should draw as java.util.Random", expected.nextInt(1000), view.nextInt(1000));
+            assertEquals("The manager should continue the same stream", 
+                        expected.nextDouble(), manager.nextDouble(), 0.0);
+        }
+        
+        SeedManager xoshiro = new SeedManager("view", RngAlgorithm.XOSHIRO256);
+        SeedManager replay = new SeedManager("view", RngAlgorithm.XOSHIRO256);
+        xoshiro.getRandom().nextInt(1000);
+        replay.nextInt(1000);
+        assertEquals("Other algorithms should share their stream too", replay.nextInt(1000), xoshiro.nextInt(1000));
+    }
+    
+    @Test
+    public void testSplitStreams() {
+        SeedManager parent = new SeedManager("phases", RngAlgorithm.XOSHIRO256);
+        SeedManager child = parent.split();
+        
+        assertEquals("Split should keep the seed", "phases", child.getSeed());
+        assertEquals("Split should keep the algorithm", RngAlgorithm.XOSHIRO256, child.getAlgorithm());
+        
+        SeedManager replay = new SeedManager("phases", RngAlgorithm.XOSHIRO256).split();
+        for (int i = 0; i < 10; i++) {
+            assertEquals("Split streams should be deterministic", replay.nextInt(1000), child.nextInt(1000));
+        }
+    }
+}
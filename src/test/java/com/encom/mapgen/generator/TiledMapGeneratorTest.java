@@ -0,0 +1,151 @@
+package com.encom.mapgen.generator;
+
+import com.encom.mapgen.model.*;
+import com.encom.mapgen.validator.MapValidator;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for TiledMapGenerator
+ */
+public class TiledMapGeneratorTest {
+
+    private GenerationRequest createTiledRequest(String seed, int hexagonCount) {
+        GenerationRequest request = new GenerationRequest(seed, hexagonCount, new GenerationOptions());
+        request.setMode(GenerationMode.TILED.getValue());
+        return request;
+    }
+
+    private void assertSameMap(String message, MapBuffer expected, MapBuffer actual) {
+        assertEquals(message + ": size", expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(message + ": q at " + i, expected.getQ(i), actual.getQ(i));
+            assertEquals(message + ": r at " + i, expected.getR(i), actual.getR(i));
+            assertEquals(message + ": type at " + i, expected.getType(i), actual.getType(i));
+            assertEquals(message + ": connections at " + i,
+                        expected.getConnectionMask(i), actual.getConnectionMask(i));
+        }
+    }
+
+    @Test
+    public void testSameMapForAnyParallelism() {
+        GenerationRequest request = createTiledRequest("tiled_threads", 5000);
+
+        MapManifest sequential = new TiledMapGenerator(request, 1).generateMap();
+        MapManifest parallel = new TiledMapGenerator(request, 3).generateMap();
+
+        assertSameMap("Thread count should not change the map",
+                     sequential.getBuffer(), parallel.getBuffer());
+        assertEquals("Longest path should match",
+                    sequential.getMetadata().getStatistics().getLongestPath(),
+                    parallel.getMetadata().getStatistics().getLongestPath());
+    }
+
+    @Test
+    public void testTiledMapIsConnected() {
+        GenerationRequest request = createTiledRequest("tiled_connected", 7000);
+        TiledMapGenerator generator = new TiledMapGenerator(request, 2);
+        MapManifest manifest = generator.generateMap();
+        MapBuffer map = manifest.getBuffer();
+
+        assertEquals("7000 hexagons should need 8 tiles", 8, generator.getTileCount());
+        assertTrue("Map should hold at least the requested hexagons", map.size() >= 7000);
+        assertEquals("Statistics should count every hexagon",
+                    map.size(), manifest.getMetadata().getStatistics().getActualHexagons());
+        assertTrue("Tiled map should be fully connected",
+                  new MapValidator().validateBufferConnectivity(map));
+
+        for (int i = 0; i < map.size(); i++) {
+            int tq = Math.floorDiv(map.getQ(i), TiledMapGenerator.TILE_SIZE);
+            int tr = Math.floorDiv(map.getR(i), TiledMapGenerator.TILE_SIZE);
+            assertNotEquals("Hexagon should lie in an included tile",
+                           HexGrid.ABSENT, generator.indexOfTile(tq, tr));
+        }
+    }
+
+    @Test
+    public void testTileDependsOnlyOnSeedAndNeighbors() {
+        // Tile (0,0) has all four neighbors in both layouts
+        TiledMapGenerator nineTiles = new TiledMapGenerator(createTiledRequest("tile_seed", 9 * 900), 1);
+        TiledMapGenerator twelveTiles = new TiledMapGenerator(createTiledRequest("tile_seed", 12 * 900), 1);
+
+        assertEquals("Origin tile should be first", 0, nineTiles.indexOfTile(0, 0));
+        assertSameMap("Origin tile should not depend on the map size",
+                     nineTiles.generateTile(0), twelveTiles.generateTile(0));
+
+        MapBuffer tile = nineTiles.generateTile(0);
+        MapManifest.BoundingBox bounds = TiledMapGenerator.tileBounds(0, 0);
+        for (int i = 0; i < tile.size(); i++) {
+            assertTrue("Tile hexagons should stay inside the tile",
+                      bounds.contains(tile.getQ(i), tile.getR(i)));
+        }
+
+        TiledMapGenerator otherSeed = new TiledMapGenerator(createTiledRequest("other_seed", 9 * 900), 1);
+        MapBuffer other = otherSeed.generateTile(0);
+        boolean differs = other.size() != tile.size();
+        for (int i = 0; !differs && i < tile.size(); i++) {
+            differs = other.getQ(i) != tile.getQ(i) || other.getR(i) != tile.getR(i);
+        }
+        assertTrue("A different seed should grow a different tile", differs);
+    }
+
+    @Test
+    public void testRegionMatchesFullMap() {
+        GenerationRequest request = createTiledRequest("region", 9 * 900);
+        MapBuffer full = new TiledMapGenerator(request, 1).generateMap().getBuffer();
+
+        // Straddles the corner of tiles (0,0), (1,0), (0,-1) and (1,-1)
+        MapManifest.BoundingBox region = new MapManifest.BoundingBox(20, 70, -30, 30);
+        TiledMapGenerator generator = new TiledMapGenerator(request, 2);
+        assertEquals("Only the four overlapping tiles should be grown",
+                    4, generator.tilesOverlapping(region).length);
+
+        MapManifest manifest = generator.generateRegion(region);
+        MapBuffer partial = manifest.getBuffer();
+        assertSame("Metadata should echo the region", region, manifest.getMetadata().getRegion());
+
+        int next = 0;
+        for (int i = 0; i < full.size(); i++) {
+            if (!region.contains(full.getQ(i), full.getR(i))) {
+                continue;
+            }
+            assertTrue("Region should hold every hexagon inside it", next < partial.size());
+            assertEquals("Region should keep map order (q)", full.getQ(i), partial.getQ(next));
+            assertEquals("Region should keep map order (r)", full.getR(i), partial.getR(next));
+            assertEquals("Types should match", full.getType(i), partial.getType(next));
+            for (int d = 0; d < HexCoordinate.DIRECTION_COUNT; d++) {
+                int neighbor = full.neighborIndex(i, d);
+                boolean expected = full.isConnected(i, d) &&
+                                   region.contains(full.getQ(neighbor), full.getR(neighbor));
+                assertEquals("Connections inside the region should match",
+                            expected, partial.isConnected(next, d));
+            }
+            next++;
+        }
+        assertEquals("Region should hold nothing else", next, partial.size());
+        assertEquals("Statistics should cover the region",
+                    partial.size(), manifest.getMetadata().getStatistics().getActualHexagons());
+    }
+
+    @Test
+    public void testRegionOutsideMapIsEmpty() {
+        TiledMapGenerator generator = new TiledMapGenerator(createTiledRequest("far_away", 2000), 1);
+        MapManifest.BoundingBox region = new MapManifest.BoundingBox(1000, 1100, 1000, 1100);
+
+        assertEquals("No tiles should overlap", 0, generator.tilesOverlapping(region).length);
+        assertEquals("Region should be empty", 0, generator.generateRegion(region).getBuffer().size());
+    }
+
+    @Test
+    public void testSpiralLayout() {
+        TiledMapGenerator generator = new TiledMapGenerator(createTiledRequest("layout", 10 * 900), 1);
+
+        int[][] expected = {{0, 0}, {1, 0}, {1, 1}, {0, 1}, {-1, 1}, {-1, 0}, {-1, -1}, {0, -1}, {1, -1}, {2, -1}};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals("Tile " + i + " should follow the spiral",
+                        i, generator.indexOfTile(expected[i][0], expected[i][1]));
+        }
+        assertEquals("Tiles past the count should be absent", HexGrid.ABSENT, generator.indexOfTile(2, 0));
+    }
+}
@@ -0,0 +1,53 @@
+package com.encom.mapgen.generator;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for UnionFind component tracking
+ */
+public class UnionFindTest {
+
+    @Test
+    public void testSingletons() {
+        UnionFind unionFind = new UnionFind(2);
+        for (int i = 0; i < 5; i++) {
+            assertEquals("Indices should be assigned in order", i, unionFind.add());
+        }
+
+        assertEquals("Each element should start alone", 5, unionFind.getComponentCount());
+        assertFalse("Separate elements should not be connected", unionFind.connected(0, 4));
+    }
+
+    @Test
+    public void testUnionMergesComponents() {
+        UnionFind unionFind = new UnionFind();
+        for (int i = 0; i < 6; i++) {
+            unionFind.add();
+        }
+
+        assertTrue("First union should merge", unionFind.union(0, 1));
+        assertTrue("Second union should merge", unionFind.union(2, 3));
+        assertTrue("Joining pairs should merge", unionFind.union(1, 3));
+        assertFalse("Repeated union should not merge", unionFind.union(0, 2));
+
+        assertEquals("Three components should remain", 3, unionFind.getComponentCount());
+        assertTrue("Transitive members should be connected", unionFind.connected(0, 3));
+        assertFalse("Untouched element should stay separate", unionFind.connected(0, 5));
+    }
+
+    @Test
+    public void testLongChainCollapses() {
+        UnionFind unionFind = new UnionFind(1);
+        int count = 10000;
+        for (int i = 0; i < count; i++) {
+            unionFind.add();
+        }
+        for (int i = 1; i < count; i++) {
+            unionFind.union(i - 1, i);
+        }
+
+        assertEquals("Chain should form one component", 1, unionFind.getComponentCount());
+        assertEquals("All elements should share a root", unionFind.find(0), unionFind.find(count - 1));
+    }
+}
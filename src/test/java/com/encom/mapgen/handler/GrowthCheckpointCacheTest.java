@@ -0,0 +1,117 @@
+package com.encom.mapgen.handler;
+
+import com.encom.mapgen.generator.GrowthCheckpoint;
+import com.encom.mapgen.generator.MapGenerator;
+import com.encom.mapgen.model.GenerationOptions;
+import com.encom.mapgen.model.GenerationRequest;
+import com.encom.mapgen.model.MapBinaryCodec;
+import com.encom.mapgen.model.MapManifest;
+import com.encom.mapgen.model.RngAlgorithm;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for GrowthCheckpointCache
+ */
+public class GrowthCheckpointCacheTest {
+
+    private List<GrowthCheckpoint> capture(String seed, int count, int... counts) {
+        List<GrowthCheckpoint> checkpoints = new ArrayList<>();
+        MapGenerator generator = new MapGenerator(new GenerationRequest(seed, count, new GenerationOptions()));
+        generator.setCheckpoints(counts, checkpoints::add);
+        generator.generateMap(count);
+        return checkpoints;
+    }
+
+    @Test
+    public void testFindsFurthestApplicableCheckpoint() {
+        GrowthCheckpointCache cache = new GrowthCheckpointCache(new int[] {1000, 200}, 4, Long.MAX_VALUE);
+        assertArrayEquals("Counts should be sorted", new int[] {200, 1000}, cache.getCounts());
+
+        String key = new GenerationRequest("find", 1500, new GenerationOptions()).getGrowthKey();
+        for (GrowthCheckpoint checkpoint : capture("find", 1500, cache.getCounts())) {
+            cache.put(key, checkpoint);
+        }
+        assertEquals("A key's checkpoints should share one entry", 1, cache.size());
+
+        GrowthCheckpoint furthest = cache.find(key, 5000);
+        assertTrue("The largest checkpoint should be chosen", furthest.getHexagonCount() > 900);
+        GrowthCheckpoint nearer = cache.find(key, 500);
+        assertTrue("Only checkpoints that apply should be chosen",
+                   nearer.getHexagonCount() > 100 && nearer.getHexagonCount() <= 200);
+        assertNull("Targets below every checkpoint should miss", cache.find(key, 50));
+        assertNull("Other seeds should miss",
+                   cache.find(new GenerationRequest("other", 5000, new GenerationOptions()).getGrowthKey(), 5000));
+
+        assertEquals("Two resumes should be counted", 2, cache.getResumes());
+        assertEquals("Two misses should be counted", 2, cache.getMisses());
+        assertEquals("Skipped hexagons should be counted",
+                     furthest.getHexagonCount() + nearer.getHexagonCount(), cache.getResumedHexagons());
+    }
+
+    @Test
+    public void testPreviewLeavesCheckpointForLargerMap() throws IOException {
+        GrowthCheckpointCache cache = new GrowthCheckpointCache(
+                GrowthCheckpointCache.parseCounts(GrowthCheckpointCache.DEFAULT_COUNTS), 4, Long.MAX_VALUE);
+        GenerationRequest preview = new GenerationRequest("preview", 50, new GenerationOptions());
+        String key = preview.getGrowthKey();
+        for (GrowthCheckpoint checkpoint : capture("preview", 50, cache.getCounts())) {
+            cache.put(key, checkpoint);
+        }
+
+        GenerationRequest request = new GenerationRequest("preview", 500, new GenerationOptions());
+        GrowthCheckpoint checkpoint = cache.find(key, 500);
+        assertNotNull("A 50-hexagon preview should leave a checkpoint with the default counts", checkpoint);
+        assertEquals("The 500-hexagon map should resume", 1, cache.getResumes());
+
+        MapManifest expected = new MapGenerator(request).generateMap(500);
+        MapManifest resumed = new MapGenerator(request, checkpoint).generateMap(500);
+        resumed.getMetadata().setGeneratedAt(expected.getMetadata().getGeneratedAt());
+        resumed.getMetadata().setGenerationTime(expected.getMetadata().getGenerationTime());
+        assertArrayEquals("The resumed map should match one grown from the origin",
+                          MapBinaryCodec.encode(expected), MapBinaryCodec.encode(resumed));
+    }
+
+    @Test
+    public void testGrowthKeyIgnoresCountAndMode() {
+        GenerationRequest small = new GenerationRequest("key", 100, new GenerationOptions());
+        small.setRngAlgorithm(RngAlgorithm.XOSHIRO256.getId());
+        GenerationRequest large = new GenerationRequest("key", 100000, new GenerationOptions());
+        large.setRngAlgorithm(RngAlgorithm.XOSHIRO256.getId());
+        large.setMode("large");
+
+        assertEquals("Count and mode should not change the growth key", small.getGrowthKey(), large.getGrowthKey());
+
+        GenerationRequest legacy = new GenerationRequest("key", 100, new GenerationOptions());
+        GenerationRequest legacyLarge = new GenerationRequest("key", 100000, new GenerationOptions());
+        legacyLarge.setMode("large");
+        assertEquals("Count should not change the legacy growth key",
+                     legacy.getGrowthKey(), new GenerationRequest("key", 900, new GenerationOptions()).getGrowthKey());
+        assertNotEquals("Legacy modes grow differently, so mode should change the key",
+                        legacy.getGrowthKey(), legacyLarge.getGrowthKey());
+        assertNull("Unseeded requests have no growth key",
+                   new GenerationRequest(null, 100, new GenerationOptions()).getGrowthKey());
+
+        GenerationOptions options = new GenerationOptions();
+        options.setRoomSizeMax(options.getRoomSizeMax() + 1);
+        assertNotEquals("Options should change the growth key",
+                        small.getGrowthKey(), new GenerationRequest("key", 100, options).getGrowthKey());
+    }
+
+    @Test
+    public void testOversizedListsKeepPreviousCheckpoints() {
+        List<GrowthCheckpoint> checkpoints = capture("budget", 3000, 100, 2000);
+        GrowthCheckpoint small = checkpoints.get(0);
+        GrowthCheckpointCache cache = new GrowthCheckpointCache(new int[] {100, 2000}, 4, small.heapBytes() + 1);
+
+        cache.put("budget", small);
+        cache.put("budget", checkpoints.get(1));
+        assertSame("A list over budget should leave the previous one", small, cache.find("budget", 3000));
+        assertEquals("Bytes should stay within the budget", small.heapBytes(), cache.getBytes());
+    }
+}
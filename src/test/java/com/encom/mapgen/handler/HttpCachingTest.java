@@ -0,0 +1,39 @@
+package com.encom.mapgen.handler;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for HttpCaching
+ */
+public class HttpCachingTest {
+
+    @Test
+    public void testEntityTags() {
+        String tag = HttpCaching.entityTag("xoshiro256|standard|50|a", "JSON|GZIP");
+
+        assertEquals("Tags should be stable", tag, HttpCaching.entityTag("xoshiro256|standard|50|a", "JSON|GZIP"));
+        assertTrue("Tags should be quoted and weak", tag.startsWith("W/\"") && tag.endsWith("\""));
+        assertEquals("Tags should carry 128 bits", 26, tag.length());
+        assertNotEquals("Another request should have another tag",
+                       tag, HttpCaching.entityTag("xoshiro256|standard|51|a", "JSON|GZIP"));
+        assertNotEquals("Another representation should have another tag",
+                       tag, HttpCaching.entityTag("xoshiro256|standard|50|a", "JSON|IDENTITY"));
+    }
+
+    @Test
+    public void testIfNoneMatch() {
+        String tag = "\"abc\"";
+
+        assertTrue("Exact tags should match", HttpCaching.matches("\"abc\"", tag));
+        assertTrue("Any listed tag should match", HttpCaching.matches("\"x\", \"abc\"", tag));
+        assertTrue("Weak tags should match", HttpCaching.matches("W/\"abc\"", tag));
+        assertTrue("Strong forms of a weak tag should match", HttpCaching.matches("\"abc\"", "W/\"abc\""));
+        assertTrue("A wildcard should match", HttpCaching.matches("*", tag));
+        assertFalse("Other tags should not match", HttpCaching.matches("\"abcd\"", tag));
+        assertFalse("Unquoted tags should not match", HttpCaching.matches("abc", tag));
+        assertFalse("A missing header should not match", HttpCaching.matches(null, tag));
+        assertFalse("Untagged responses should never match", HttpCaching.matches("*", null));
+    }
+}
@@ -0,0 +1,73 @@
+package com.encom.mapgen.handler;
+
+import com.encom.mapgen.generator.MapGenerator;
+import com.encom.mapgen.model.GenerationOptions;
+import com.encom.mapgen.model.GenerationRequest;
+import com.encom.mapgen.model.MapManifest;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ManifestCache
+ */
+public class ManifestCacheTest {
+
+    private MapManifest generate(String seed, int count) {
+        return new MapGenerator(new GenerationRequest(seed, count, new GenerationOptions())).generateMap(count);
+    }
+
+    @Test
+    public void testHitsAreFlaggedCopies() {
+        ManifestCache cache = new ManifestCache(4, Long.MAX_VALUE);
+        MapManifest manifest = generate("cache", 50);
+
+        assertNull("Empty cache should miss", cache.get("a"));
+        cache.put("a", manifest);
+        MapManifest hit = cache.get("a");
+
+        assertTrue("Hits should be flagged as cached", hit.getMetadata().isCached());
+        assertFalse("The stored manifest should not be modified", manifest.getMetadata().isCached());
+        assertSame("Hits should share the map", manifest.getBuffer(), hit.getBuffer());
+        assertEquals("Hits should keep the seed", "cache", hit.getMetadata().getSeed());
+        assertEquals("One hit should be counted", 1, cache.getHits());
+        assertEquals("One miss should be counted", 1, cache.getMisses());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        ManifestCache cache = new ManifestCache(2, Long.MAX_VALUE);
+        cache.put("a", generate("a", 10));
+        cache.put("b", generate("b", 10));
+        cache.get("a");
+        cache.put("c", generate("c", 10));
+
+        assertNotNull("Recently used entry should stay", cache.get("a"));
+        assertNull("Least recently used entry should be evicted", cache.get("b"));
+        assertNotNull("New entry should be cached", cache.get("c"));
+        assertEquals("One eviction should be counted", 1, cache.getEvictions());
+    }
+
+    @Test
+    public void testByteBudget() {
+        MapManifest small = generate("small", 10);
+        MapManifest large = generate("large", 1000);
+        long smallBytes = ManifestCache.sizeOf(small.getBuffer());
+        long largeBytes = ManifestCache.sizeOf(large.getBuffer());
+        assertTrue("Larger maps should be accounted as larger", largeBytes > smallBytes * 10);
+
+        ManifestCache cache = new ManifestCache(100, largeBytes + smallBytes);
+        cache.put("small-1", small);
+        cache.put("small-2", small);
+        cache.put("large", large);
+        assertEquals("Bytes should stay within budget", largeBytes + smallBytes, cache.getBytes());
+        assertNull("Oldest entry should make room", cache.get("small-1"));
+
+        ManifestCache tiny = new ManifestCache(100, smallBytes);
+        tiny.put("large", large);
+        assertEquals("Maps over the whole budget should not be cached", 0, tiny.size());
+
+        cache.evictToFit(Long.MAX_VALUE / 2, Long.MAX_VALUE / 2);
+        assertEquals("Evicting to fit a large allocation should empty the cache", 0, cache.getBytes());
+    }
+}
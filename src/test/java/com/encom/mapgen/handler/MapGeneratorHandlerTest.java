@@ -0,0 +1,279 @@
+package com.encom.mapgen.handler;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.encom.mapgen.model.GenerationOptions;
+import com.encom.mapgen.model.GenerationRequest;
+import com.encom.mapgen.model.MapBinaryCodec;
+import com.encom.mapgen.model.MapManifest;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for MapGeneratorHandler response negotiation
+ */
+public class MapGeneratorHandlerTest {
+
+    private APIGatewayProxyResponseEvent invoke(String body, String... headers) {
+        return invokeWithFormat(body, null, headers);
+    }
+
+    private APIGatewayProxyResponseEvent invokeWithFormat(String body, String format, String... headers) {
+        APIGatewayProxyRequestEvent input = new APIGatewayProxyRequestEvent();
+        if (format != null) {
+            Map<String, String> query = new HashMap<>();
+            query.put("format", format);
+            input.setQueryStringParameters(query);
+        }
+        input.setBody(body);
+        Map<String, String> headerMap = new HashMap<>();
+        for (int i = 0; i + 1 < headers.length; i += 2) {
+            headerMap.put(headers[i], headers[i + 1]);
+        }
+        input.setHeaders(headerMap);
+        return new MapGeneratorHandler().handleRequest(input, new StubStreamingRuntime.StubContext());
+    }
+
+    @Test
+    public void testJsonByDefault() {
+        APIGatewayProxyResponseEvent response = invoke("{\"seed\":\"negotiate\",\"hexagonCount\":60}");
+
+        assertEquals("Status should be 200", 200, (int) response.getStatusCode());
+        assertEquals("Content type should be JSON", "application/json", response.getHeaders().get("Content-Type"));
+        assertNotEquals("JSON should not be base64 encoded", Boolean.TRUE, response.getIsBase64Encoded());
+        assertEquals("JSON should carry the seed", "negotiate",
+                    JsonParser.parseString(response.getBody()).getAsJsonObject()
+                              .getAsJsonObject("metadata").get("seed").getAsString());
+    }
+
+    @Test
+    public void testBinaryWhenAccepted() throws Exception {
+        APIGatewayProxyResponseEvent response = invoke("{\"seed\":\"negotiate\",\"hexagonCount\":60}",
+                "accept", "application/json;q=0.5, application/x-encom-map");
+
+        assertEquals("Status should be 200", 200, (int) response.getStatusCode());
+        assertEquals("Content type should be binary", MapBinaryCodec.CONTENT_TYPE,
+                    response.getHeaders().get("Content-Type"));
+        assertEquals("Binary bodies should be base64 encoded", Boolean.TRUE, response.getIsBase64Encoded());
+
+        MapManifest manifest = MapBinaryCodec.decode(Base64.getDecoder().decode(response.getBody()));
+        assertEquals("Decoded map should carry the seed", "negotiate", manifest.getMetadata().getSeed());
+        assertEquals("Decoded map should hold every hexagon", 60, manifest.getBuffer().size());
+    }
+
+    @Test
+    public void testCompactFormat() {
+        APIGatewayProxyResponseEvent response = invokeWithFormat("{\"seed\":\"negotiate\",\"hexagonCount\":60}", "compact",
+                "Accept", MapBinaryCodec.CONTENT_TYPE);
+
+        assertEquals("Status should be 200", 200, (int) response.getStatusCode());
+        assertEquals("Explicit format should win over Accept", "application/json",
+                    response.getHeaders().get("Content-Type"));
+        JsonObject root = JsonParser.parseString(response.getBody()).getAsJsonObject();
+        assertEquals("Body should be compact", "compact", root.get("format").getAsString());
+        assertEquals("Every hexagon should be a row", 60, root.getAsJsonArray("hexagons").size());
+    }
+
+    @Test
+    public void testUnknownFormat() {
+        APIGatewayProxyResponseEvent response = invokeWithFormat("{\"hexagonCount\":60}", "yaml");
+
+        assertEquals("Status should be 400", 400, (int) response.getStatusCode());
+        assertTrue("Error should name the format", response.getBody().contains("yaml"));
+    }
+
+    @Test
+    public void testGzipWhenAccepted() throws Exception {
+        APIGatewayProxyResponseEvent response = invoke("{\"seed\":\"negotiate\",\"hexagonCount\":60}",
+                "Accept-Encoding", "deflate;q=0.5, gzip");
+
+        assertEquals("Status should be 200", 200, (int) response.getStatusCode());
+        assertEquals("Body should be gzipped", "gzip", response.getHeaders().get("Content-Encoding"));
+        assertEquals("Content type should stay JSON", "application/json", response.getHeaders().get("Content-Type"));
+        assertEquals("Compressed bodies should be base64 encoded", Boolean.TRUE, response.getIsBase64Encoded());
+
+        byte[] compressed = Base64.getDecoder().decode(response.getBody());
+        String json = new String(readAll(new GZIPInputStream(new ByteArrayInputStream(compressed))),
+                                 StandardCharsets.UTF_8);
+        assertTrue("Compressed body should be much smaller", compressed.length * 4 < json.length());
+        assertEquals("JSON should carry the seed", "negotiate",
+                    JsonParser.parseString(json).getAsJsonObject()
+                              .getAsJsonObject("metadata").get("seed").getAsString());
+    }
+
+    @Test
+    public void testDeflateBinary() throws Exception {
+        APIGatewayProxyResponseEvent response = invoke("{\"seed\":\"negotiate\",\"hexagonCount\":1000}",
+                "Accept", MapBinaryCodec.CONTENT_TYPE, "Accept-Encoding", "gzip;q=0, deflate");
+
+        assertEquals("Body should be deflated", "deflate", response.getHeaders().get("Content-Encoding"));
+        byte[] compressed = Base64.getDecoder().decode(response.getBody());
+        MapManifest manifest = MapBinaryCodec.decode(new InflaterInputStream(new ByteArrayInputStream(compressed)));
+        assertEquals("Decoded map should hold every hexagon", 1000, manifest.getBuffer().size());
+    }
+
+    @Test
+    public void testSmallBodiesUncompressed() {
+        APIGatewayProxyResponseEvent response = invokeWithFormat("{\"seed\":\"negotiate\",\"hexagonCount\":1}",
+                "compact", "Accept-Encoding", "gzip");
+
+        assertNull("Bodies under the threshold should not be compressed",
+                  response.getHeaders().get("Content-Encoding"));
+        assertNotEquals("Plain JSON should not be base64 encoded", Boolean.TRUE, response.getIsBase64Encoded());
+        assertEquals("Body should be compact JSON", "compact",
+                    JsonParser.parseString(response.getBody()).getAsJsonObject().get("format").getAsString());
+    }
+
+    @Test
+    public void testBase64RequestBody() {
+        APIGatewayProxyRequestEvent input = new APIGatewayProxyRequestEvent();
+        input.setBody(Base64.getEncoder().encodeToString(
+                "{\"seed\":\"encoded\",\"hexagonCount\":10}".getBytes(StandardCharsets.UTF_8)));
+        input.setIsBase64Encoded(true);
+        APIGatewayProxyResponseEvent response =
+                new MapGeneratorHandler().handleRequest(input, new StubStreamingRuntime.StubContext());
+
+        assertEquals("Status should be 200", 200, (int) response.getStatusCode());
+        assertEquals("Decoded request should supply the seed", "encoded",
+                    JsonParser.parseString(response.getBody()).getAsJsonObject()
+                              .getAsJsonObject("metadata").get("seed").getAsString());
+    }
+
+    @Test
+    public void testRepeatedSeedIsCached() {
+        JsonObject first = metadataOf(invoke("{\"seed\":\"cache-repeat\",\"hexagonCount\":80}"));
+        JsonObject second = metadataOf(invoke("{\"seed\":\" cache-repeat \",\"hexagonCount\":80}"));
+        JsonObject other = metadataOf(invoke("{\"seed\":\"cache-repeat\",\"hexagonCount\":81}"));
+
+        assertFalse("First request should generate", first.get("cached").getAsBoolean());
+        assertTrue("Repeated request should be served from the cache", second.get("cached").getAsBoolean());
+        assertEquals("Cached map should match", first.get("statistics"), second.get("statistics"));
+        assertFalse("A different count should generate", other.get("cached").getAsBoolean());
+
+        JsonObject random = metadataOf(invoke("{\"hexagonCount\":80}"));
+        JsonObject randomAgain = metadataOf(invoke("{\"hexagonCount\":80}"));
+        assertFalse("Unseeded requests should never be cached",
+                   random.get("cached").getAsBoolean() || randomAgain.get("cached").getAsBoolean());
+    }
+
+    @Test
+    public void testResponseBodiesCached() {
+        String body = "{\"seed\":\"cache-bytes\",\"hexagonCount\":90}";
+        APIGatewayProxyResponseEvent generated = invoke(body, "Accept-Encoding", "gzip");
+        APIGatewayProxyResponseEvent fromManifest = invoke(body, "Accept-Encoding", "gzip");
+        APIGatewayProxyResponseEvent fromBytes = invoke(body, "Accept-Encoding", "gzip");
+        APIGatewayProxyResponseEvent plain = invoke(body);
+
+        assertEquals("First response should be encoded", "MISS", generated.getHeaders().get("X-Cache"));
+        assertNotNull("Seeded responses should carry an ETag", generated.getHeaders().get("ETag"));
+        assertEquals("Second response should be encoded from the cached map",
+                    "MISS", fromManifest.getHeaders().get("X-Cache"));
+        assertEquals("Third response should be served from cached bytes", "HIT", fromBytes.getHeaders().get("X-Cache"));
+        assertEquals("Cached bytes should be served unchanged", fromManifest.getBody(), fromBytes.getBody());
+        assertEquals("Cached bytes should keep their ETag",
+                    generated.getHeaders().get("ETag"), fromBytes.getHeaders().get("ETag"));
+        assertEquals("Cached bytes should keep their coding", "gzip", fromBytes.getHeaders().get("Content-Encoding"));
+
+        assertEquals("Another coding should not share the cached bytes", "MISS", plain.getHeaders().get("X-Cache"));
+        assertTrue("Bodies from a cached map should say so", metadataOf(plain).get("cached").getAsBoolean());
+    }
+
+    @Test
+    public void testConditionalRequests() {
+        String body = "{\"seed\":\"etag\",\"hexagonCount\":70}";
+        APIGatewayProxyResponseEvent response = invoke(body);
+        String etag = response.getHeaders().get("ETag");
+
+        assertEquals("Seeded responses should be cacheable forever",
+                    HttpCaching.CACHE_IMMUTABLE, response.getHeaders().get("Cache-Control"));
+
+        APIGatewayProxyResponseEvent notModified = invoke(body, "If-None-Match", etag);
+        assertEquals("A matching tag should get 304", 304, (int) notModified.getStatusCode());
+        assertNull("304 responses should have no body", notModified.getBody());
+        assertEquals("304 responses should repeat the tag", etag, notModified.getHeaders().get("ETag"));
+        assertTrue("Tags should be weak", etag.startsWith("W/"));
+        assertEquals("Weak comparison should match", 304,
+                    (int) invoke(body, "if-none-match", "\"other\", " + etag.substring(2)).getStatusCode());
+        assertEquals("Another tag should get the map", 200,
+                    (int) invoke(body, "If-None-Match", "\"other\"").getStatusCode());
+        assertNotEquals("Another format should have another tag",
+                       etag, invokeWithFormat(body, "compact").getHeaders().get("ETag"));
+
+        APIGatewayProxyResponseEvent random = invoke("{\"hexagonCount\":70}", "If-None-Match", "*");
+        assertEquals("Random maps should always be sent", 200, (int) random.getStatusCode());
+        assertNull("Random maps should have no tag", random.getHeaders().get("ETag"));
+        assertEquals("Random maps should not be cached", HttpCaching.CACHE_NONE, random.getHeaders().get("Cache-Control"));
+    }
+
+    @Test
+    public void testNotModifiedSkipsGeneration() {
+        GenerationRequest request = new GenerationRequest("etag-first", 70, new GenerationOptions());
+        String etag = HttpCaching.entityTag(request.getCanonicalKey(),
+                                            ResponseFormat.JSON.name() + "|" + ContentEncoding.IDENTITY.name());
+        String body = "{\"seed\":\"etag-first\",\"hexagonCount\":70}";
+
+        assertEquals("The tag should be known before the map exists",
+                    304, (int) invoke(body, "If-None-Match", etag).getStatusCode());
+        APIGatewayProxyResponseEvent response = invoke(body);
+        assertFalse("Nothing should have been generated or cached for the 304",
+                   metadataOf(response).get("cached").getAsBoolean());
+        assertEquals("The map should carry the same tag", etag, response.getHeaders().get("ETag"));
+    }
+
+    @Test
+    public void testOversizedResponsesRejectedUpFront() {
+        APIGatewayProxyResponseEvent json = invoke("{\"seed\":\"oversized\",\"hexagonCount\":40000,\"mode\":\"large\"}");
+        assertEquals("A JSON body over 6 MB should be rejected", 400, (int) json.getStatusCode());
+        assertTrue("The error should point at streaming", json.getBody().contains("MapStreamHandler"));
+
+        assertTrue("Gzipped JSON for the same map should be allowed",
+                   ResponseFormat.JSON.estimateResponseBytes(40000, ContentEncoding.GZIP) <=
+                   MapGeneratorHandler.MAX_RESPONSE_BYTES);
+        assertTrue("Binary should allow maps far beyond JSON",
+                   ResponseFormat.BINARY.estimateResponseBytes(1_000_000, ContentEncoding.IDENTITY) <=
+                   MapGeneratorHandler.MAX_RESPONSE_BYTES);
+
+        APIGatewayProxyResponseEvent huge = invoke("{\"seed\":\"oversized\",\"hexagonCount\":2000000,\"mode\":\"large\"}",
+                "accept", "application/x-encom-map", "accept-encoding", "gzip");
+        assertEquals("Large maps beyond the default cap should be rejected", 400, (int) huge.getStatusCode());
+        assertTrue("The error should name the cap",
+                   huge.getBody().contains(String.valueOf(GenerationService.DEFAULT_MAX_LARGE_HEXAGON_COUNT)));
+    }
+
+    @Test
+    public void testErrorsStayJson() {
+        APIGatewayProxyResponseEvent response = invoke("{\"hexagonCount\":5000}",
+                "Accept", MapBinaryCodec.CONTENT_TYPE);
+
+        assertEquals("Status should be 400", 400, (int) response.getStatusCode());
+        assertEquals("Errors should be JSON", "application/json", response.getHeaders().get("Content-Type"));
+    }
+
+    private static JsonObject metadataOf(APIGatewayProxyResponseEvent response) {
+        return JsonParser.parseString(response.getBody()).getAsJsonObject().getAsJsonObject("metadata");
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int read;
+        while ((read = in.read(chunk)) > 0) {
+            out.write(chunk, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
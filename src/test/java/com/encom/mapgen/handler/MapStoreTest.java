@@ -0,0 +1,110 @@
+package com.encom.mapgen.handler;
+
+import com.encom.mapgen.generator.MapGenerator;
+import com.encom.mapgen.model.GenerationOptions;
+import com.encom.mapgen.model.GenerationRequest;
+import com.encom.mapgen.model.MapBinaryCodec;
+import com.encom.mapgen.model.MapManifest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for MapStore
+ */
+public class MapStoreTest {
+
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("map-store-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private MapManifest generate(String seed, int count) {
+        return new MapGenerator(new GenerationRequest(seed, count, new GenerationOptions())).generateMap(count);
+    }
+
+    @Test
+    public void testStoredMapsRoundTrip() throws IOException {
+        MapStore store = new MapStore(directory, 1 << 20, 4);
+        MapManifest manifest = generate("store", 200);
+
+        assertNull("Empty store should miss", store.get("a"));
+        assertTrue("Map should be stored", store.put("a", manifest));
+        MapManifest hit = store.get("a");
+
+        assertNotNull("Stored map should be found", hit);
+        assertTrue("Hits should be flagged as cached", hit.getMetadata().isCached());
+        assertFalse("The stored manifest should not be modified", manifest.getMetadata().isCached());
+        hit.getMetadata().setCached(false);
+        assertArrayEquals("Hits should decode to the stored map",
+                          MapBinaryCodec.encode(manifest), MapBinaryCodec.encode(hit));
+
+        ByteBuffer encoded = store.getEncoded("a");
+        assertTrue("Encoded views should be read-only", encoded.isReadOnly());
+        byte[] bytes = new byte[encoded.remaining()];
+        encoded.get(bytes);
+        assertArrayEquals("Encoded views should hold the codec's bytes", MapBinaryCodec.encode(manifest), bytes);
+
+        assertEquals("One hit should be counted", 1, store.getHits());
+        assertEquals("One miss should be counted", 1, store.getMisses());
+    }
+
+    @Test
+    public void testRotationDropsOldestSegment() throws IOException {
+        MapStore store = new MapStore(directory, 2 * MapStore.MIN_SEGMENT_BYTES, 2);
+        MapManifest manifest = generate("rotate", 50);
+
+        int stored = 0;
+        while (store.getRotations() < 2) {
+            store.put("key-" + stored++, manifest);
+        }
+
+        assertNull("Maps in the reused segment should be dropped", store.get("key-0"));
+        assertNotNull("The newest map should be kept", store.get("key-" + (stored - 1)));
+        assertTrue("Entries should stay within two segments", store.size() < stored);
+        assertTrue("Bytes should stay within the store", store.getBytes() <= 2 * MapStore.MIN_SEGMENT_BYTES);
+
+        assertFalse("Maps larger than a segment should not be stored", store.put("large", generate("large", 5000)));
+    }
+
+    @Test
+    public void testReopenRebuildsIndex() throws IOException {
+        MapManifest first = generate("first", 50);
+        MapManifest second = generate("second", 80);
+
+        MapStore store = new MapStore(directory, 1 << 20, 4);
+        for (int i = 0; i < 2000; i++) {
+            store.put("key-" + i, first);
+        }
+        store.put("key-7", second);
+
+        MapStore reopened = new MapStore(directory, 1 << 20, 4);
+        assertEquals("Every key should be indexed again", 2000, reopened.size());
+        assertEquals("The newest record for a key should win",
+                     80, reopened.get("key-7").getMetadata().getHexagonCount());
+        assertEquals("Other keys should keep their maps",
+                     50, reopened.get("key-1999").getMetadata().getHexagonCount());
+
+        reopened.put("key-new", second);
+        assertNotNull("Reopened stores should keep appending", reopened.get("key-new"));
+        assertNotNull("Appending should not disturb recovered maps", reopened.get("key-0"));
+    }
+}
@@ -0,0 +1,103 @@
+package com.encom.mapgen.handler;
+
+import com.encom.mapgen.generator.MapGenerator;
+import com.encom.mapgen.model.*;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for MapStreamHandler, run through the stub streaming runtime
+ */
+public class MapStreamHandlerTest {
+
+    @Test
+    public void testStreamsHexagonsThenMetadata() throws Exception {
+        StubStreamingRuntime.Response response = StubStreamingRuntime.invoke(new MapStreamHandler(),
+                "{\"seed\":\"stream\",\"hexagonCount\":2500,\"mode\":\"large\"}");
+
+        assertEquals("Status should be 200", 200, response.statusCode);
+        assertEquals("Content type should be NDJSON", MapManifestNdjsonWriter.CONTENT_TYPE,
+                    response.headers.get("Content-Type").getAsString());
+
+        GenerationRequest request = new GenerationRequest("stream", 2500, new GenerationOptions());
+        request.setMode(GenerationMode.LARGE.getValue());
+        MapBuffer expected = new MapGenerator(request).generateMap(2500).getBuffer();
+
+        String[] lines = response.lines();
+        assertEquals("One line per hexagon plus the trailer", expected.size() + 1, lines.length);
+        for (int i = 0; i < expected.size(); i++) {
+            JsonObject hexagon = JsonParser.parseString(lines[i]).getAsJsonObject();
+            assertEquals("Hexagons should stream in map order",
+                        HexCoordinate.toId(expected.getQ(i), expected.getR(i)), hexagon.get("id").getAsString());
+            assertEquals("Connections should match",
+                        expected.getConnectionCount(i), hexagon.getAsJsonArray("connections").size());
+        }
+
+        JsonObject trailer = JsonParser.parseString(lines[lines.length - 1]).getAsJsonObject();
+        JsonObject metadata = trailer.getAsJsonObject("metadata");
+        assertEquals("Trailer should carry the seed", "stream", metadata.get("seed").getAsString());
+        assertEquals("Trailer should carry statistics", 2500,
+                    metadata.getAsJsonObject("statistics").get("actualHexagons").getAsInt());
+        assertFalse("Unset fields should be left out", metadata.has("region"));
+
+        assertTrue("Body should be flushed as it is written, not only at the end",
+                  response.flushes > 2500 / 1024 + 1);
+    }
+
+    @Test
+    public void testMatchingTagSkipsStream() throws Exception {
+        StubStreamingRuntime.Response response = StubStreamingRuntime.invoke(new MapStreamHandler(),
+                "{\"seed\":\"stream-etag\",\"hexagonCount\":100}");
+        String etag = response.headers.get("ETag").getAsString();
+        assertEquals("Seeded streams should be cacheable forever",
+                    HttpCaching.CACHE_IMMUTABLE, response.headers.get("Cache-Control").getAsString());
+
+        JsonObject event = new JsonObject();
+        event.addProperty("body", "{\"seed\":\"stream-etag\",\"hexagonCount\":100}");
+        JsonObject headers = new JsonObject();
+        headers.addProperty("if-none-match", etag);
+        event.add("headers", headers);
+        StubStreamingRuntime.Response notModified = StubStreamingRuntime.invokeEvent(new MapStreamHandler(),
+                event.toString());
+
+        assertEquals("A matching tag should get 304", 304, notModified.statusCode);
+        assertTrue("304 responses should have no body", notModified.body.isEmpty());
+        assertEquals("304 responses should repeat the tag", etag, notModified.headers.get("ETag").getAsString());
+    }
+
+    @Test
+    public void testInvalidRequestStreamsError() throws Exception {
+        StubStreamingRuntime.Response response = StubStreamingRuntime.invoke(new MapStreamHandler(),
+                "{\"hexagonCount\":5000}");
+
+        assertEquals("Status should be 400", 400, response.statusCode);
+        assertEquals("Errors should be plain JSON", "application/json",
+                    response.headers.get("Content-Type").getAsString());
+        JsonObject error = JsonParser.parseString(response.body).getAsJsonObject();
+        assertTrue("Error should name the limit", error.get("error").getAsString().contains("1000"));
+    }
+
+    @Test
+    public void testBase64EncodedBody() throws Exception {
+        String body = "{\"seed\":\"encoded\",\"hexagonCount\":40}";
+        JsonObject event = new JsonObject();
+        event.addProperty("body", Base64.getEncoder().encodeToString(body.getBytes(StandardCharsets.UTF_8)));
+        event.addProperty("isBase64Encoded", true);
+
+        StubStreamingRuntime.Response response = StubStreamingRuntime.invokeEvent(new MapStreamHandler(),
+                                                                                  event.toString());
+
+        assertEquals("Status should be 200", 200, response.statusCode);
+        String[] lines = response.lines();
+        JsonObject metadata = JsonParser.parseString(lines[lines.length - 1]).getAsJsonObject()
+                                        .getAsJsonObject("metadata");
+        assertEquals("Decoded body should set the seed", "encoded", metadata.get("seed").getAsString());
+        assertEquals("One line per hexagon plus the trailer", 41, lines.length);
+    }
+}
@@ -0,0 +1,112 @@
+package com.encom.mapgen.handler;
+
+import com.encom.mapgen.generator.MapGenerator;
+import com.encom.mapgen.model.GenerationOptions;
+import com.encom.mapgen.model.GenerationRequest;
+import com.encom.mapgen.model.MapBinaryCodec;
+import com.encom.mapgen.model.MapManifest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for RemoteMapCache and its FileKeyValueStore stand-in
+ */
+public class RemoteMapCacheTest {
+
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("remote-cache-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private MapManifest generate(String seed, int count) {
+        return new MapGenerator(new GenerationRequest(seed, count, new GenerationOptions())).generateMap(count);
+    }
+
+    @Test
+    public void testWritesBehindAndSharesAcrossInstances() throws IOException {
+        RemoteMapCache writer = new RemoteMapCache(new FileKeyValueStore(directory), 1000, 4);
+        MapManifest manifest = generate("shared", 100);
+
+        assertNull("Empty store should miss", writer.get("a"));
+        assertTrue("Write should be queued", writer.put("a", manifest));
+        assertTrue("Queued writes should finish", writer.awaitWrites(5000));
+        assertEquals("One write should be counted", 1, writer.getWrites());
+
+        // A second container sees the map through the same store
+        RemoteMapCache reader = new RemoteMapCache(new FileKeyValueStore(directory), 1000, 4);
+        MapManifest hit = reader.get("a");
+
+        assertNotNull("Stored map should be found", hit);
+        assertTrue("Hits should be flagged as cached", hit.getMetadata().isCached());
+        hit.getMetadata().setCached(false);
+        assertArrayEquals("Hits should decode to the stored map",
+                          MapBinaryCodec.encode(manifest), MapBinaryCodec.encode(hit));
+        assertEquals("One hit should be counted", 1, reader.getHits());
+    }
+
+    @Test
+    public void testSlowReadsFallBack() {
+        KeyValueStore slow = new KeyValueStore() {
+            @Override
+            public byte[] get(String key) throws IOException {
+                try {
+                    Thread.sleep(5000);
+                } catch (InterruptedException e) {
+                    throw new IOException("Interrupted");
+                }
+                return null;
+            }
+
+            @Override
+            public void put(String key, byte[] value) {
+            }
+        };
+        RemoteMapCache cache = new RemoteMapCache(slow, 50, 4);
+
+        long start = System.nanoTime();
+        assertNull("Slow reads should miss", cache.get("a"));
+        assertTrue("Reads should give up at the timeout", System.nanoTime() - start < 2_000_000_000L);
+        assertEquals("The timeout should be counted", 1, cache.getTimeouts());
+        assertEquals("The miss should be counted", 1, cache.getMisses());
+    }
+
+    @Test
+    public void testFailuresAreMisses() {
+        KeyValueStore failing = new KeyValueStore() {
+            @Override
+            public byte[] get(String key) throws IOException {
+                throw new IOException("Store unavailable");
+            }
+
+            @Override
+            public void put(String key, byte[] value) throws IOException {
+                throw new IOException("Store unavailable");
+            }
+        };
+        RemoteMapCache cache = new RemoteMapCache(failing, 1000, 4);
+
+        assertNull("Failed reads should miss", cache.get("a"));
+        cache.put("a", generate("failing", 20));
+        assertTrue("Failed writes should still finish", cache.awaitWrites(5000));
+        assertEquals("Both failures should be counted", 2, cache.getErrors());
+        assertEquals("Failed writes should not be counted as writes", 0, cache.getWrites());
+    }
+}
@@ -0,0 +1,68 @@
+package com.encom.mapgen.handler;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ResponseBody compression
+ */
+public class ResponseBodyTest {
+
+    @Test
+    public void testCompressesPastThreshold() throws IOException {
+        byte[] data = new byte[5000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) ('a' + i % 7);
+        }
+
+        ResponseBody body = new ResponseBody(ContentEncoding.GZIP, 1024);
+        // Cross the threshold partway through a write
+        body.write(data, 0, 1000);
+        assertFalse("Body should not be compressed below the threshold", body.isCompressed());
+        body.write(data, 1000, 4000);
+        body.close();
+
+        assertTrue("Body should be compressed past the threshold", body.isCompressed());
+        assertEquals("Applied encoding should be gzip", ContentEncoding.GZIP, body.getAppliedEncoding());
+        assertEquals("Uncompressed size should be counted", 5000, body.getUncompressedBytes());
+        assertArrayEquals("Body should round trip", data, gunzip(body.toByteArray()));
+    }
+
+    @Test
+    public void testThresholdAndIdentity() throws IOException {
+        byte[] data = new byte[1024];
+        Arrays.fill(data, (byte) 'x');
+
+        ResponseBody small = new ResponseBody(ContentEncoding.DEFLATE, 1024);
+        small.write(data);
+        small.close();
+        assertFalse("A body at the threshold should not be compressed", small.isCompressed());
+        assertEquals("Applied encoding should be identity", ContentEncoding.IDENTITY, small.getAppliedEncoding());
+        assertArrayEquals("Body should be unchanged", data, small.toByteArray());
+
+        ResponseBody identity = new ResponseBody(ContentEncoding.IDENTITY, 0);
+        identity.write(data);
+        identity.close();
+        assertFalse("Identity should never compress", identity.isCompressed());
+        assertEquals("Encoded size should be the plain size", 1024, identity.getEncodedBytes());
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[1024];
+        int read;
+        while ((read = in.read(chunk)) > 0) {
+            out.write(chunk, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,53 @@
+package com.encom.mapgen.handler;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ResponseCache and EncodedResponse
+ */
+public class ResponseCacheTest {
+
+    private EncodedResponse encode(String text, ContentEncoding encoding, boolean binary) throws IOException {
+        ResponseBody body = new ResponseBody(encoding, 16);
+        body.write(text.getBytes(StandardCharsets.UTF_8));
+        body.close();
+        return EncodedResponse.of(body, binary);
+    }
+
+    @Test
+    public void testKeyedByFormatAndCoding() throws IOException {
+        ResponseCache cache = new ResponseCache(8, Long.MAX_VALUE);
+        EncodedResponse json = encode("{\"seed\":\"a\"}", ContentEncoding.IDENTITY, false);
+        cache.put("key", ResponseFormat.JSON, ContentEncoding.IDENTITY, json);
+
+        assertSame("Same key, format and coding should hit", json,
+                  cache.get("key", ResponseFormat.JSON, ContentEncoding.IDENTITY));
+        assertNull("Another coding should miss", cache.get("key", ResponseFormat.JSON, ContentEncoding.GZIP));
+        assertNull("Another format should miss", cache.get("key", ResponseFormat.COMPACT_JSON, ContentEncoding.IDENTITY));
+        assertNull("Another request should miss", cache.get("other", ResponseFormat.JSON, ContentEncoding.IDENTITY));
+        assertEquals("Hits should be counted", 1, cache.getHits());
+        assertEquals("Misses should be counted", 3, cache.getMisses());
+    }
+
+    @Test
+    public void testEncodedBodies() throws IOException {
+        String text = "{\"seed\":\"" + "x".repeat(100) + "\"}";
+        EncodedResponse plain = encode(text, ContentEncoding.IDENTITY, false);
+        EncodedResponse gzip = encode(text, ContentEncoding.GZIP, false);
+
+        assertFalse("Plain text should not be base64 encoded", plain.isBase64Encoded());
+        assertTrue("Compressed bodies should be base64 encoded", gzip.isBase64Encoded());
+        assertEquals("Compressed bodies should record their coding", ContentEncoding.GZIP, gzip.getContentEncoding());
+        assertTrue("Compression should shrink the body", gzip.getLength() < plain.getLength());
+
+        EncodedResponse ascii = encode("{\"seed\":\"ab\"}", ContentEncoding.IDENTITY, false);
+        EncodedResponse wide = encode("{\"seed\":\"\u5730\u56f3\"}", ContentEncoding.IDENTITY, false);
+        assertEquals("Non-Latin-1 text should take two bytes per character",
+                    wide.getBody().length(), wide.heapBytes() - ascii.heapBytes());
+    }
+}
@@ -0,0 +1,131 @@
+package com.encom.mapgen.handler;
+
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for StreamingRuntime, run against a local Runtime API that hands
+ * out one invocation and records what is posted back
+ */
+public class StreamingRuntimeTest {
+    private static final String INVOCATION_PATH = "/2018-06-01/runtime/invocation/";
+
+    private HttpServer runtimeApi;
+    private String event;
+    private final List<String> posts = new ArrayList<>();
+    private Headers responseHeaders;
+    private String responseBody;
+
+    @Before
+    public void startRuntimeApi() throws IOException {
+        runtimeApi = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        runtimeApi.createContext(INVOCATION_PATH, this::serve);
+        runtimeApi.start();
+    }
+
+    @After
+    public void stopRuntimeApi() {
+        runtimeApi.stop(0);
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath().substring(INVOCATION_PATH.length());
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        if (path.equals("next")) {
+            exchange.getResponseHeaders().set("Lambda-Runtime-Aws-Request-Id", "request-1");
+            exchange.getResponseHeaders().set("Lambda-Runtime-Deadline-Ms",
+                                              String.valueOf(System.currentTimeMillis() + 30000));
+            byte[] bytes = event.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        } else {
+            posts.add(path);
+            responseHeaders = exchange.getRequestHeaders();
+            responseBody = new String(body, StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(202, -1);
+        }
+        exchange.close();
+    }
+
+    private void invoke(RequestStreamHandler handler, String body) throws IOException {
+        JsonObject invocation = new JsonObject();
+        invocation.addProperty("body", body);
+        invocation.addProperty("isBase64Encoded", false);
+        event = invocation.toString();
+
+        new StreamingRuntime("127.0.0.1:" + runtimeApi.getAddress().getPort(), handler).processNext();
+    }
+
+    @Test
+    public void testStreamsHandlerOutput() throws IOException {
+        invoke(new MapStreamHandler(), "{\"seed\":\"runtime\",\"hexagonCount\":500}");
+
+        assertEquals("The output should be posted as the response", List.of("request-1/response"), posts);
+        assertEquals("The response should be streamed", "streaming",
+                    responseHeaders.getFirst("Lambda-Runtime-Function-Response-Mode"));
+        assertEquals("The response should be sent in chunks", "chunked",
+                    responseHeaders.getFirst("Transfer-Encoding"));
+        assertEquals("The body should be read as an HTTP response with a prelude",
+                    "application/vnd.awslambda.http-integration-response", responseHeaders.getFirst("Content-Type"));
+
+        int delimiter = responseBody.indexOf("\0\0\0\0\0\0\0\0");
+        assertTrue("The prelude should be delimited", delimiter > 0);
+        JsonObject prelude = JsonParser.parseString(responseBody.substring(0, delimiter)).getAsJsonObject();
+        assertEquals("Status should be 200", 200, prelude.get("statusCode").getAsInt());
+        String[] lines = responseBody.substring(delimiter + 8).split("\n");
+        assertEquals("One line per hexagon plus the trailer", 501, lines.length);
+    }
+
+    @Test
+    public void testReportsFailureBeforeOutput() throws IOException {
+        invoke((input, output, context) -> {
+            throw new IllegalStateException("failed early");
+        }, "{}");
+
+        assertEquals("A handler that wrote nothing should report an error", List.of("request-1/error"), posts);
+        JsonObject error = JsonParser.parseString(responseBody).getAsJsonObject();
+        assertEquals("The error should name its type", IllegalStateException.class.getName(),
+                    error.get("errorType").getAsString());
+        assertEquals("The error should carry its message", "failed early", error.get("errorMessage").getAsString());
+    }
+
+    @Test
+    public void testFailureMidStreamEndsStream() throws IOException {
+        invoke((input, output, context) -> {
+            output.write("partial".getBytes(StandardCharsets.UTF_8));
+            output.flush();
+            throw new IOException("failed late");
+        }, "{}");
+
+        assertEquals("Output already sent should stay a response", List.of("request-1/response"), posts);
+        assertEquals("The stream should end where the handler stopped", "partial", responseBody);
+    }
+
+    @Test
+    public void testLoadsHandlerByName() throws ReflectiveOperationException {
+        assertTrue("Handlers should load with a method suffix",
+                  StreamingRuntime.loadHandler(MapStreamHandler.class.getName() + "::handleRequest")
+                          instanceof MapStreamHandler);
+        try {
+            StreamingRuntime.loadHandler(MapGeneratorHandler.class.getName());
+            fail("Handlers that cannot stream should be rejected");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.encom.mapgen.handler;
+
+import com.amazonaws.services.lambda.runtime.ClientContext;
+import com.amazonaws.services.lambda.runtime.CognitoIdentity;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Minimal stand-in for the Lambda runtime's streaming invoke: wraps a body in a
+ * function URL event, captures the response stream and splits off the prelude.
+ */
+class StubStreamingRuntime {
+    private static final int PRELUDE_DELIMITER_LENGTH = 8;
+
+    /**
+     * Captured streamed response
+     */
+    static class Response {
+        final int statusCode;
+        final JsonObject headers;
+        final String body;
+        final int flushes;
+
+        Response(int statusCode, JsonObject headers, String body, int flushes) {
+            this.statusCode = statusCode;
+            this.headers = headers;
+            this.body = body;
+            this.flushes = flushes;
+        }
+
+        String[] lines() {
+            return body.split("\n");
+        }
+    }
+
+    static Response invoke(RequestStreamHandler handler, String body) throws IOException {
+        JsonObject event = new JsonObject();
+        event.addProperty("body", body);
+        event.addProperty("isBase64Encoded", false);
+        return invokeEvent(handler, new Gson().toJson(event));
+    }
+
+    static Response invokeEvent(RequestStreamHandler handler, String event) throws IOException {
+        InputStream input = new ByteArrayInputStream(event.getBytes(StandardCharsets.UTF_8));
+        CountingOutputStream output = new CountingOutputStream();
+        handler.handleRequest(input, output, new StubContext());
+
+        byte[] bytes = output.toByteArray();
+        int delimiter = indexOfDelimiter(bytes);
+        if (delimiter < 0) {
+            throw new IllegalStateException("Response has no prelude delimiter");
+        }
+
+        JsonObject prelude = JsonParser.parseString(
+                new String(bytes, 0, delimiter, StandardCharsets.UTF_8)).getAsJsonObject();
+        int bodyStart = delimiter + PRELUDE_DELIMITER_LENGTH;
+        String responseBody = new String(bytes, bodyStart, bytes.length - bodyStart, StandardCharsets.UTF_8);
+        return new Response(prelude.get("statusCode").getAsInt(), prelude.getAsJsonObject("headers"),
+                            responseBody, output.flushes);
+    }
+
+    private static int indexOfDelimiter(byte[] bytes) {
+        byte[] delimiter = new byte[PRELUDE_DELIMITER_LENGTH];
+        for (int i = 0; i + PRELUDE_DELIMITER_LENGTH <= bytes.length; i++) {
+            if (Arrays.equals(Arrays.copyOfRange(bytes, i, i + PRELUDE_DELIMITER_LENGTH), delimiter)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Records how many times the handler pushed bytes to the client
+     */
+    private static class CountingOutputStream extends ByteArrayOutputStream {
+        int flushes;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+
+    /**
+     * Context with fixed values for local invocations
+     */
+    static class StubContext implements Context {
+        @Override
+        public String getAwsRequestId() {
+            return "local-request";
+        }
+
+        @Override
+        public String getLogGroupName() {
+            return "local";
+        }
+
+        @Override
+        public String getLogStreamName() {
+            return "local";
+        }
+
+        @Override
+        public String getFunctionName() {
+            return "encom-map-generator-local";
+        }
+
+        @Override
+        public String getFunctionVersion() {
+            return "$LATEST";
+        }
+
+        @Override
+        public String getInvokedFunctionArn() {
+            return "arn:aws:lambda:local:000000000000:function:encom-map-generator-local";
+        }
+
+        @Override
+        public CognitoIdentity getIdentity() {
+            return null;
+        }
+
+        @Override
+        public ClientContext getClientContext() {
+            return null;
+        }
+
+        @Override
+        public int getRemainingTimeInMillis() {
+            return 30000;
+        }
+
+        @Override
+        public int getMemoryLimitInMB() {
+            return 1024;
+        }
+
+        @Override
+        public LambdaLogger getLogger() {
+            return new LambdaLogger() {
+                @Override
+                public void log(String message) {
+                    System.out.println(message);
+                }
+
+                @Override
+                public void log(byte[] message) {
+                    System.out.println(new String(message, StandardCharsets.UTF_8));
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.encom.mapgen.handler;
+
+import com.encom.mapgen.generator.MapGenerator;
+import com.encom.mapgen.model.GenerationOptions;
+import com.encom.mapgen.model.GenerationRequest;
+import com.encom.mapgen.model.MapManifest;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for TieredMapCache
+ */
+public class TieredMapCacheTest {
+
+    private MapManifest generate(String seed, int count) {
+        return new MapGenerator(new GenerationRequest(seed, count, new GenerationOptions())).generateMap(count);
+    }
+
+    /**
+     * Tier holding whatever it is given
+     */
+    private static class MapTier implements MapCache {
+        final Map<String, MapManifest> maps = new HashMap<>();
+
+        @Override
+        public String getName() {
+            return "map";
+        }
+
+        @Override
+        public MapManifest get(String key) {
+            return maps.get(key);
+        }
+
+        @Override
+        public boolean put(String key, MapManifest manifest) {
+            maps.put(key, manifest);
+            return true;
+        }
+    }
+
+    @Test
+    public void testLowerTierHitsFillFasterTiers() {
+        ManifestCache heap = new ManifestCache(4, Long.MAX_VALUE);
+        MapTier shared = new MapTier();
+        TieredMapCache cache = new TieredMapCache(heap, null, shared);
+        shared.put("a", generate("tiered", 50));
+
+        int[] firstMisses = new int[1];
+        assertNotNull("Lower tier hits should be returned", cache.get("a", () -> firstMisses[0]++));
+        assertEquals("A first-tier miss should be reported once", 1, firstMisses[0]);
+        assertNotNull("Hits should be copied into the heap", heap.get("a"));
+
+        assertNotNull("Repeated lookups should hit the heap", cache.get("a", () -> firstMisses[0]++));
+        assertEquals("Heap hits should not be reported as misses", 1, firstMisses[0]);
+
+        assertEquals("Disabled tiers should be left out", 2, cache.getTiers().size());
+        assertEquals("Heap hits should be counted", 1, cache.getHits(heap));
+        assertEquals("Heap misses should be counted", 1, cache.getMisses(heap));
+        assertEquals("Shared hits should be counted", 1, cache.getHits(shared));
+        assertEquals("Heap hit rate should cover its lookups", 0.5, cache.getHitRate(heap), 1e-9);
+        assertEquals("Shared hit rate should cover only lookups reaching it", 1.0, cache.getHitRate(shared), 1e-9);
+    }
+
+    @Test
+    public void testPutsReachEveryTier() {
+        ManifestCache heap = new ManifestCache(4, Long.MAX_VALUE);
+        MapTier shared = new MapTier();
+        TieredMapCache cache = new TieredMapCache(heap, shared);
+
+        int[] firstMisses = new int[1];
+        assertNull("Every tier should miss", cache.get("a", () -> firstMisses[0]++));
+        assertEquals("The miss should be reported once", 1, firstMisses[0]);
+
+        assertTrue("Generated maps should be kept", cache.put("a", generate("tiered", 50)));
+        assertNotNull("Generated maps should reach the heap", heap.get("a"));
+        assertNotNull("Generated maps should reach the shared tier", shared.get("a"));
+        assertEquals("The shared tier should have no hits yet", 0.0, cache.getHitRate(shared), 1e-9);
+    }
+}
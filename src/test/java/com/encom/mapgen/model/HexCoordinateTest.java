@@ -178,4 +178,85 @@ public class HexCoordinateTest {
                       neighborsOfNeighbor.contains(center));
         }
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void testPackRoundTrip() {
+        int[] values = {0, 1, -1, 42, -42, Integer.MAX_VALUE, Integer.MIN_VALUE + 1};
+        for (int q : values) {
+            for (int r : values) {
+                long key = HexCoordinate.pack(q, r);
+                assertEquals("Q should survive packing", q, HexCoordinate.unpackQ(key));
+                assertEquals("R should survive packing", r, HexCoordinate.unpackR(key));
+            }
+        }
+        
+        assertEquals("Instance key should match static pack", 
+                    HexCoordinate.pack(3, -2), new HexCoordinate(3, -2).toKey());
+    }
+    
+    @Test
+    public void testParseIdKey() {
+        assertEquals("Parsed ID should match packed coordinate", 
+                    HexCoordinate.pack(3, -2), HexCoordinate.parseIdKey("hex_3_-2"));
+        assertEquals("Parsed ID should handle negative q", 
+                    HexCoordinate.pack(-5, 8), HexCoordinate.parseIdKey("hex_-5_8"));
+        
+        assertEquals("Null ID should be invalid", HexCoordinate.INVALID_KEY, HexCoordinate.parseIdKey(null));
+        assertEquals("Wrong prefix should be invalid", HexCoordinate.INVALID_KEY, HexCoordinate.parseIdKey("tile_1_2"));
+        assertEquals("Missing r should be invalid", HexCoordinate.INVALID_KEY, HexCoordinate.parseIdKey("hex_1"));
+        assertEquals("Non-numeric ID should be invalid", HexCoordinate.INVALID_KEY, HexCoordinate.parseIdKey("hex_a_b"));
+    }
+    
+    @Test
+    public void testForEachNeighborMatchesGetNeighbors() {
+        HexCoordinate center = new HexCoordinate(2, -3);
+        List<HexCoordinate> expected = center.getNeighbors();
+        List<HexCoordinate> visited = new java.util.ArrayList<>();
+        
+        HexCoordinate.forEachNeighbor(2, -3, (q, r) -> visited.add(new HexCoordinate(q, r)));
+        
+        assertEquals("Visitor should see neighbors in direction order", expected, visited);
+        
+        for (int d = 0; d < HexCoordinate.DIRECTION_COUNT; d++) {
+            assertEquals("Direction offsets should match getNeighbor", center.getNeighbor(d), 
+                        HexCoordinate.fromKey(HexCoordinate.neighborKey(center.toKey(), d)));
+        }
+    }
+    
+    @Test
+    public void testRingIteration() {
+        HexCoordinate center = new HexCoordinate(1, 1);
+        
+        for (int radius = 0; radius <= 4; radius++) {
+            java.util.Set<HexCoordinate> ring = new java.util.LinkedHashSet<>();
+            HexCoordinate.forEachInRing(1, 1, radius, (q, r) -> ring.add(new HexCoordinate(q, r)));
+            
+            int expectedSize = radius == 0 ? 1 : 6 * radius;
+            assertEquals("Ring should have 6 * radius distinct cells", expectedSize, ring.size());
+            for (HexCoordinate coord : ring) {
+                assertEquals("Ring cells should be radius steps away", radius, center.distanceTo(coord));
+            }
+        }
+    }
+    
+    @Test
+    public void testSpiralIteration() {
+        java.util.Set<HexCoordinate> spiral = new java.util.LinkedHashSet<>();
+        HexCoordinate.forEachInSpiral(0, 0, 3, (q, r) -> spiral.add(new HexCoordinate(q, r)));
+        
+        assertEquals("Spiral should cover every cell within radius", HexCoordinate.spiralSize(3), spiral.size());
+        assertEquals("Spiral should start at the center", new HexCoordinate(0, 0), spiral.iterator().next());
+        
+        int previousDistance = 0;
+        for (HexCoordinate coord : spiral) {
+            int distance = coord.distanceTo(new HexCoordinate(0, 0));
+            assertTrue("Spiral should move outward ring by ring", distance >= previousDistance);
+            previousDistance = distance;
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeRingRadius() {
+        HexCoordinate.forEachInRing(0, 0, -1, (q, r) -> { });
+    }
+}
@@ -0,0 +1,90 @@
+package com.encom.mapgen.model;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for HexGrid
+ */
+public class HexGridTest {
+    
+    @Test
+    public void testPutAndGet() {
+        HexGrid grid = new HexGrid();
+        
+        assertEquals("Empty grid should report absent", HexGrid.ABSENT, grid.get(0, 0));
+        assertEquals("First put should return absent", HexGrid.ABSENT, grid.put(0, 0, 7));
+        assertEquals("Stored index should be returned", 7, grid.get(0, 0));
+        assertTrue("Grid should contain stored coordinate", grid.contains(0, 0));
+        assertFalse("Grid should not contain other coordinates", grid.contains(0, 1));
+        assertEquals("Size should be 1", 1, grid.size());
+    }
+    
+    @Test
+    public void testOverwriteReturnsPrevious() {
+        HexGrid grid = new HexGrid();
+        grid.put(3, -2, 1);
+        
+        assertEquals("Overwrite should return previous index", 1, grid.put(3, -2, 2));
+        assertEquals("Overwrite should replace index", 2, grid.get(3, -2));
+        assertEquals("Overwrite should not change size", 1, grid.size());
+    }
+    
+    @Test
+    public void testGrowthPreservesEntries() {
+        HexGrid grid = new HexGrid(4);
+        int index = 0;
+        for (int q = -20; q <= 20; q++) {
+            for (int r = -20; r <= 20; r++) {
+                grid.put(q, r, index++);
+            }
+        }
+        
+        assertEquals("All entries should be stored", index, grid.size());
+        
+        index = 0;
+        for (int q = -20; q <= 20; q++) {
+            for (int r = -20; r <= 20; r++) {
+                assertEquals("Entry should survive resizing", index++, grid.get(q, r));
+            }
+        }
+    }
+    
+    @Test
+    public void testRemoveKeepsProbeChainsIntact() {
+        HexGrid grid = new HexGrid(4);
+        for (int i = 0; i < 500; i++) {
+            grid.put(i, -i, i);
+        }
+        
+        // Remove every other entry and make sure the rest are still reachable
+        for (int i = 0; i < 500; i += 2) {
+            assertEquals("Remove should return stored index", i, grid.remove(HexCoordinate.pack(i, -i)));
+        }
+        
+        assertEquals("Half the entries should remain", 250, grid.size());
+        for (int i = 0; i < 500; i++) {
+            int expected = i % 2 == 0 ? HexGrid.ABSENT : i;
+            assertEquals("Lookup after removal", expected, grid.get(i, -i));
+        }
+        
+        assertEquals("Removing a missing key should return absent", 
+                    HexGrid.ABSENT, grid.remove(HexCoordinate.pack(0, 0)));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeIndexRejected() {
+        new HexGrid().put(0, 0, -1);
+    }
+    
+    @Test
+    public void testClear() {
+        HexGrid grid = new HexGrid();
+        grid.put(1, 1, 0);
+        grid.put(2, 2, 1);
+        grid.clear();
+        
+        assertTrue("Cleared grid should be empty", grid.isEmpty());
+        assertFalse("Cleared grid should not contain entries", grid.contains(1, 1));
+    }
+}
@@ -0,0 +1,97 @@
+package com.encom.mapgen.model;
+
+import com.google.gson.Gson;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for Hexagon connection handling and serialization
+ */
+public class HexagonTest {
+    
+    @Test
+    public void testDirectionMask() {
+        Hexagon hex = new Hexagon(new HexCoordinate(0, 0), Hexagon.HexType.CORRIDOR);
+        
+        hex.connect(0);
+        hex.connect(3);
+        
+        assertTrue("Direction 0 should be connected", hex.isConnected(0));
+        assertTrue("Direction 3 should be connected", hex.isConnected(3));
+        assertFalse("Direction 1 should not be connected", hex.isConnected(1));
+        assertEquals("Mask should have bits 0 and 3 set", 0b1001, hex.getConnectionMask());
+        assertEquals("Connection count should follow mask", 2, hex.getConnectionCount());
+        
+        hex.disconnect(0);
+        assertFalse("Direction 0 should be disconnected", hex.isConnected(0));
+        assertEquals("Connection count should drop", 1, hex.getConnectionCount());
+    }
+    
+    @Test
+    public void testConnectionIdsMapToDirections() {
+        Hexagon hex = new Hexagon(new HexCoordinate(2, -1), Hexagon.HexType.ROOM);
+        
+        hex.addConnection("hex_3_-1"); // direction 0
+        hex.addConnection("hex_2_0");  // direction 5
+        hex.addConnection("hex_3_-1"); // duplicate
+        
+        assertTrue("ID should set direction 0", hex.isConnected(0));
+        assertTrue("ID should set direction 5", hex.isConnected(5));
+        assertEquals("Duplicates should be ignored", 2, hex.getConnectionCount());
+        assertTrue("Adjacent IDs should not be stored as foreign", hex.getForeignConnections().isEmpty());
+        assertEquals("IDs should materialize in direction order", 
+                    Arrays.asList("hex_3_-1", "hex_2_0"), hex.getConnections());
+        assertTrue("isConnectedTo should resolve IDs", hex.isConnectedTo("hex_2_0"));
+        
+        hex.removeConnection("hex_2_0");
+        assertFalse("removeConnection should clear the direction", hex.isConnected(5));
+    }
+    
+    @Test
+    public void testForeignConnectionsAreKept() {
+        Hexagon hex = new Hexagon(new HexCoordinate(0, 0), Hexagon.HexType.CORRIDOR);
+        
+        hex.addConnection("hex_1_0");
+        hex.addConnection("hex_5_5");
+        hex.addConnection("not-an-id");
+        
+        assertEquals("Foreign connections should be counted", 3, hex.getConnectionCount());
+        assertEquals("Foreign connections should be listed after neighbors", 
+                    Arrays.asList("hex_1_0", "hex_5_5", "not-an-id"), hex.getConnections());
+        assertTrue("Foreign connection should be found", hex.isConnectedTo("hex_5_5"));
+        
+        hex.removeConnection("hex_5_5");
+        assertEquals("Foreign connection should be removable", 
+                    Arrays.asList("not-an-id"), hex.getForeignConnections());
+    }
+    
+    @Test
+    public void testJsonShape() {
+        Hexagon hex = new Hexagon(new HexCoordinate(1, -2), Hexagon.HexType.ROOM);
+        hex.connect(0);
+        hex.connect(2);
+        
+        String json = new Gson().toJson(hex);
+        
+        assertEquals("JSON should keep the public hexagon shape", 
+                    "{\"id\":\"hex_1_-2\",\"q\":1,\"r\":-2,\"connections\":[\"hex_2_-2\",\"hex_1_-3\"],\"type\":\"ROOM\"}", 
+                    json);
+    }
+    
+    @Test
+    public void testJsonRoundTrip() {
+        Gson gson = new Gson();
+        String json = "{\"id\":\"hex_0_0\",\"q\":0,\"r\":0,\"connections\":[\"hex_1_0\",\"hex_9_9\"],\"type\":\"corridor\"}";
+        
+        Hexagon hex = gson.fromJson(json, Hexagon.class);
+        
+        assertEquals("Lowercase type values should be accepted", Hexagon.HexType.CORRIDOR, hex.getType());
+        assertTrue("Adjacent connection should become a direction", hex.isConnected(0));
+        assertEquals("Non-adjacent connection should be preserved", 
+                    List.of("hex_9_9"), hex.getForeignConnections());
+        assertEquals("Round trip should preserve connections", 
+                    hex.getConnections(), gson.fromJson(gson.toJson(hex), Hexagon.class).getConnections());
+    }
+}
@@ -0,0 +1,134 @@
+package com.encom.mapgen.model;
+
+import com.encom.mapgen.generator.MapGenerator;
+import com.google.gson.Gson;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for MapBinaryCodec
+ */
+public class MapBinaryCodecTest {
+
+    private MapManifest generate(String seed, int hexagonCount) {
+        return new MapGenerator(new GenerationRequest(seed, hexagonCount, new GenerationOptions()))
+                .generateMap(hexagonCount);
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        MapManifest original = generate("binary", 1000);
+        MapManifest decoded = MapBinaryCodec.decode(MapBinaryCodec.encode(original));
+
+        MapBuffer expected = original.getBuffer();
+        MapBuffer actual = decoded.getBuffer();
+        assertEquals("Hexagon count should survive", expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            int index = actual.indexOf(expected.getQ(i), expected.getR(i));
+            assertNotEquals("Every hexagon should survive", HexGrid.ABSENT, index);
+            assertEquals("Type should survive", expected.getType(i), actual.getType(index));
+            assertEquals("Connections should survive",
+                        expected.getConnectionMask(i), actual.getConnectionMask(index));
+        }
+
+        Gson gson = new Gson();
+        assertEquals("Metadata should survive",
+                    gson.toJson(original.getMetadata()), gson.toJson(decoded.getMetadata()));
+    }
+
+    @Test
+    public void testRowOrderAndSize() throws IOException {
+        MapManifest original = generate("binary_size", 1000);
+        byte[] encoded = MapBinaryCodec.encode(original);
+        MapBuffer decoded = MapBinaryCodec.decode(encoded).getBuffer();
+
+        for (int i = 1; i < decoded.size(); i++) {
+            boolean ordered = decoded.getR(i - 1) < decoded.getR(i) ||
+                              (decoded.getR(i - 1) == decoded.getR(i) && decoded.getQ(i - 1) < decoded.getQ(i));
+            assertTrue("Hexagons should be in row order", ordered);
+        }
+
+        int json = new Gson().toJson(original).getBytes(StandardCharsets.UTF_8).length;
+        assertTrue("Hexagons should take about three bytes each, was " + encoded.length,
+                  encoded.length < 1000 * 4 + 200);
+        assertTrue("Binary should be far smaller than JSON", encoded.length * 10 < json);
+    }
+
+    @Test
+    public void testHexagonListManifest() throws IOException {
+        List<Hexagon> hexagons = new ArrayList<>();
+        hexagons.add(new Hexagon(new HexCoordinate(-3, 2), Hexagon.HexType.ROOM));
+        hexagons.add(new Hexagon(new HexCoordinate(-2, 2), Hexagon.HexType.CORRIDOR));
+        hexagons.get(0).addConnection(hexagons.get(1).getId());
+        hexagons.get(1).addConnection(hexagons.get(0).getId());
+
+        MapManifest decoded = MapBinaryCodec.decode(MapBinaryCodec.encode(new MapManifest(null, hexagons)));
+
+        assertEquals("Both hexagons should survive", 2, decoded.getBuffer().size());
+        assertEquals("Negative coordinates should survive", Hexagon.HexType.ROOM,
+                    decoded.getBuffer().getType(decoded.getBuffer().indexOf(-3, 2)));
+        assertTrue("Connection should survive",
+                  decoded.getBuffer().isConnected(decoded.getBuffer().indexOf(-3, 2), 0));
+        assertNull("Missing statistics should stay missing", decoded.getMetadata().getStatistics());
+    }
+
+    @Test
+    public void testVarints() throws IOException {
+        int[] values = {0, 1, -1, 63, -64, 64, 1 << 20, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (int value : values) {
+            MapBinaryCodec.writeVarint(out, MapBinaryCodec.zigZag(value));
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        for (int value : values) {
+            assertEquals("Zig-zag varint should round-trip", value,
+                        MapBinaryCodec.unZigZag(MapBinaryCodec.readVarint(in)));
+        }
+        assertEquals("Small magnitudes should take one byte", 1, encodedLength(-64));
+        assertEquals("Extremes should take five bytes", 5, encodedLength(Integer.MIN_VALUE));
+    }
+
+    @Test
+    public void testRejectsCorruptInput() throws IOException {
+        byte[] encoded = MapBinaryCodec.encode(generate("corrupt", 50));
+
+        byte[] badMagic = Arrays.copyOf(encoded, encoded.length);
+        badMagic[0] = 'X';
+        assertDecodeFails("Bad magic", badMagic);
+
+        assertDecodeFails("Truncated data", Arrays.copyOf(encoded, encoded.length - 1));
+
+        // Clearing the mask of the last hexagon leaves its neighbors' connections unmatched
+        byte[] unmatched = Arrays.copyOf(encoded, encoded.length);
+        unmatched[unmatched.length - 1] &= (byte) 0xC0;
+        assertDecodeFails("Unmatched connection", unmatched);
+    }
+
+    private int encodedLength(int value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MapBinaryCodec.writeVarint(new DataOutputStream(bytes), MapBinaryCodec.zigZag(value));
+        return bytes.size();
+    }
+
+    private void assertDecodeFails(String message, byte[] data) {
+        try {
+            MapBinaryCodec.decode(data);
+            fail(message + " should be rejected");
+        } catch (IOException e) {
+            // Expected
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.encom.mapgen.model;
+
+import com.google.gson.Gson;
+import org.junit.Test;
+import java.util.List;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the columnar MapBuffer and buffer-backed manifests
+ */
+public class MapBufferTest {
+
+    @Test
+    public void testAddAndLookup() {
+        MapBuffer buffer = new MapBuffer(1);
+
+        int origin = buffer.add(0, 0, Hexagon.HexType.CORRIDOR);
+        int east = buffer.add(1, 0, Hexagon.HexType.ROOM);
+        int west = buffer.add(-1, 0, Hexagon.HexType.ROOM);
+
+        assertEquals("Buffer should hold three hexagons", 3, buffer.size());
+        assertEquals("Origin should be found by coordinate", origin, buffer.indexOf(0, 0));
+        assertEquals("Packed lookup should match", west, buffer.indexOf(HexCoordinate.pack(-1, 0)));
+        assertEquals("Type should be stored", Hexagon.HexType.ROOM, buffer.getType(east));
+        assertEquals("Empty cell should be absent", HexGrid.ABSENT, buffer.indexOf(5, 5));
+        assertEquals("Neighbor lookup should follow directions", east, buffer.neighborIndex(origin, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateCoordinate() {
+        MapBuffer buffer = new MapBuffer();
+        buffer.add(2, 3, Hexagon.HexType.ROOM);
+        buffer.add(2, 3, Hexagon.HexType.CORRIDOR);
+    }
+
+    @Test
+    public void testConnectUpdatesBothMasks() {
+        MapBuffer buffer = new MapBuffer();
+        int a = buffer.add(0, 0, Hexagon.HexType.CORRIDOR);
+        int b = buffer.add(0, -1, Hexagon.HexType.CORRIDOR);
+
+        buffer.connect(a, b, 2);
+        assertTrue("Source should connect towards direction 2", buffer.isConnected(a, 2));
+        assertTrue("Neighbor should connect back in direction 5", buffer.isConnected(b, 5));
+
+        buffer.disconnect(a, b, 2);
+        assertEquals("Source mask should be cleared", 0, buffer.getConnectionCount(a));
+        assertEquals("Neighbor mask should be cleared", 0, buffer.getConnectionCount(b));
+    }
+
+    @Test
+    public void testHexagonViewsRoundTrip() {
+        MapBuffer buffer = new MapBuffer();
+        int a = buffer.add(0, 0, Hexagon.HexType.CORRIDOR);
+        int b = buffer.add(1, -1, Hexagon.HexType.ROOM);
+        buffer.connect(a, b, 1);
+
+        List<Hexagon> hexagons = buffer.toHexagons();
+        assertEquals("View should keep the id", "hex_1_-1", hexagons.get(1).getId());
+        assertTrue("View should keep connections", hexagons.get(0).isConnectedTo("hex_1_-1"));
+
+        MapBuffer copy = MapBuffer.fromHexagons(hexagons);
+        assertEquals("Copy should keep size", buffer.size(), copy.size());
+        assertEquals("Copy should keep masks", buffer.getConnectionMask(b), copy.getConnectionMask(b));
+    }
+
+    @Test
+    public void testBufferBackedManifestSerializesLikeList() {
+        MapBuffer buffer = new MapBuffer();
+        int a = buffer.add(0, 0, Hexagon.HexType.CORRIDOR);
+        int b = buffer.add(-1, 1, Hexagon.HexType.ROOM);
+        buffer.connect(a, b, 4);
+
+        MapManifest.Metadata metadata = new MapManifest.Metadata();
+        metadata.setSeed("buffer-test");
+        metadata.setHexagonCount(2);
+
+        Gson gson = new Gson();
+        String fromBuffer = gson.toJson(new MapManifest(metadata, buffer));
+        String fromList = gson.toJson(new MapManifest(metadata, buffer.toHexagons()));
+
+        assertEquals("Buffer and list manifests should serialize identically", fromList, fromBuffer);
+
+        MapManifest parsed = gson.fromJson(fromBuffer, MapManifest.class);
+        assertEquals("Parsed manifest should keep hexagons", 2, parsed.getHexagons().size());
+        assertEquals("Parsed manifest should keep connections",
+                    "hex_0_0", parsed.getHexagons().get(1).getConnections().get(0));
+    }
+}
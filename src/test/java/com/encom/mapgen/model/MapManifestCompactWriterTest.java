@@ -0,0 +1,53 @@
+package com.encom.mapgen.model;
+
+import com.encom.mapgen.generator.MapGenerator;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for MapManifestCompactWriter
+ */
+public class MapManifestCompactWriterTest {
+
+    @Test
+    public void testRowsMatchMap() {
+        MapManifest manifest = new MapGenerator(new GenerationRequest("compact", 200, new GenerationOptions()))
+                .generateMap(200);
+        String json = new MapManifestCompactWriter(new Gson()).toJson(manifest);
+
+        assertFalse("Compact JSON should not be pretty-printed", json.contains("\n"));
+        assertFalse("Compact JSON should not carry hexagon IDs", json.contains("\"id\""));
+
+        JsonObject root = JsonParser.parseString(json).getAsJsonObject();
+        assertEquals("Format should be named", "compact", root.get("format").getAsString());
+        assertEquals("Metadata should be kept", "compact",
+                    root.getAsJsonObject("metadata").get("seed").getAsString());
+
+        MapBuffer buffer = manifest.getBuffer();
+        JsonArray rows = root.getAsJsonArray("hexagons");
+        assertEquals("One row per hexagon", buffer.size(), rows.size());
+        for (int i = 0; i < buffer.size(); i++) {
+            JsonArray row = rows.get(i).getAsJsonArray();
+            assertEquals("Rows should have four columns", 4, row.size());
+            assertEquals("q should match", buffer.getQ(i), row.get(0).getAsInt());
+            assertEquals("r should match", buffer.getR(i), row.get(1).getAsInt());
+            assertEquals("Type ordinal should match", buffer.getType(i).ordinal(), row.get(2).getAsInt());
+            assertEquals("Mask should match", buffer.getConnectionMask(i) & 0xFF, row.get(3).getAsInt());
+        }
+    }
+
+    @Test
+    public void testMuchSmallerThanFullJson() {
+        MapManifest manifest = new MapGenerator(new GenerationRequest("compact_size", 1000, new GenerationOptions()))
+                .generateMap(1000);
+
+        int full = new Gson().toJson(manifest).length();
+        int compact = new MapManifestCompactWriter(new Gson()).toJson(manifest).length();
+        assertTrue("Compact JSON should be under a fifth of the full form", compact * 5 < full);
+    }
+}
@@ -0,0 +1,73 @@
+package com.encom.mapgen.model;
+
+import com.encom.mapgen.generator.MapGenerator;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the hand-written model adapters
+ */
+public class ModelTypeAdapterFactoryTest {
+
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapterFactory(new ModelTypeAdapterFactory())
+            .create();
+
+    @Test
+    public void testManifestRoundTrip() {
+        MapManifest manifest = new MapGenerator(new GenerationRequest("adapters", 100, new GenerationOptions()))
+                .generateMap(100);
+        manifest.getMetadata().setRegion(new MapManifest.BoundingBox(-1, 2, -3, 4));
+
+        String json = gson.toJson(manifest);
+        assertEquals("Registered and annotated adapters should agree", new Gson().toJson(manifest), json);
+
+        JsonObject metadata = JsonParser.parseString(json).getAsJsonObject().getAsJsonObject("metadata");
+        assertEquals("Statistics should be nested",
+                    100, metadata.getAsJsonObject("statistics").get("actualHexagons").getAsInt());
+        assertEquals("Degree histogram should be an array",
+                    7, metadata.getAsJsonObject("statistics").getAsJsonArray("degreeHistogram").size());
+
+        MapManifest decoded = gson.fromJson(json, MapManifest.class);
+        assertEquals("Round trip should preserve the encoding", json, gson.toJson(decoded));
+        assertEquals("Region should survive the round trip",
+                    4, decoded.getMetadata().getRegion().getMaxR());
+    }
+
+    @Test
+    public void testRequestParsing() {
+        GenerationRequest request = gson.fromJson(
+                "{\"seed\":\"s\",\"options\":{\"roomSizeMax\":12,\"corridorWidth\":[3]},\"unknown\":[1,{}]}",
+                GenerationRequest.class);
+
+        assertEquals("Seed should be read", "s", request.getSeed());
+        assertEquals("Missing count should keep its default", 50, request.getHexagonCount());
+        assertEquals("Given options should be read", 12, request.getOptions().getRoomSizeMax());
+        assertEquals("Missing options should keep their defaults", 4, request.getOptions().getRoomSizeMin());
+        assertArrayEquals("Corridor widths should be read", new int[] {3}, request.getOptions().getCorridorWidth());
+
+        GenerationRequest nulls = gson.fromJson("{\"hexagonCount\":null,\"options\":null}", GenerationRequest.class);
+        assertEquals("Null fields should keep their defaults", 50, nulls.getHexagonCount());
+        assertNotNull("Null options should keep the defaults", nulls.getOptions());
+    }
+
+    @Test
+    public void testRegionSelectsRegionRequest() {
+        GenerationRequest request = gson.fromJson(
+                "{\"region\":{\"minQ\":-2,\"maxQ\":2,\"minR\":0,\"maxR\":5},\"seed\":\"w\",\"hexagonCount\":500}",
+                GenerationRequest.class);
+
+        assertTrue("A region should produce a region request", request instanceof RegionRequest);
+        RegionRequest region = (RegionRequest) request;
+        assertEquals("Region requests should default to tiled mode", GenerationMode.TILED.getValue(), region.getMode());
+        assertEquals("Region should be read", -2, region.getRegion().getMinQ());
+        assertEquals("Fields after the region should be read", 500, region.getHexagonCount());
+        assertTrue("A null region should still be a region request",
+                  gson.fromJson("{\"region\":null}", GenerationRequest.class) instanceof RegionRequest);
+    }
+}
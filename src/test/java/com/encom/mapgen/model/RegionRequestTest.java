@@ -0,0 +1,55 @@
+package com.encom.mapgen.model;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for RegionRequest
+ */
+public class RegionRequestTest {
+
+    private RegionRequest createRegionRequest(MapManifest.BoundingBox region) {
+        return new RegionRequest("world", 100000, new GenerationOptions(), region);
+    }
+
+    @Test
+    public void testDefaultsToTiledMode() {
+        assertEquals("Region requests should use tiled mode",
+                    GenerationMode.TILED.getValue(), new RegionRequest().getMode());
+
+        createRegionRequest(new MapManifest.BoundingBox(-10, 10, -10, 10)).validate();
+    }
+
+    @Test
+    public void testRegionValidation() {
+        assertInvalid("Missing region", createRegionRequest(null));
+        assertInvalid("Inverted region", createRegionRequest(new MapManifest.BoundingBox(10, -10, 0, 0)));
+        assertInvalid("Oversized region", createRegionRequest(new MapManifest.BoundingBox(0, 1000, 0, 1000)));
+
+        RegionRequest unseeded = createRegionRequest(new MapManifest.BoundingBox(0, 10, 0, 10));
+        unseeded.setSeed(" ");
+        assertInvalid("Missing seed", unseeded);
+
+        RegionRequest standard = createRegionRequest(new MapManifest.BoundingBox(0, 10, 0, 10));
+        standard.setMode(GenerationMode.STANDARD.getValue());
+        assertInvalid("Standard mode", standard);
+    }
+
+    @Test
+    public void testBoundingBoxContains() {
+        MapManifest.BoundingBox box = new MapManifest.BoundingBox(-2, 3, 0, 4);
+
+        assertTrue("Corners should be inside", box.contains(-2, 0) && box.contains(3, 4));
+        assertFalse("Cells past an edge should be outside", box.contains(4, 2));
+        assertFalse("Cells before an edge should be outside", box.contains(0, -1));
+    }
+
+    private void assertInvalid(String message, RegionRequest request) {
+        try {
+            request.validate();
+            fail(message + " should be rejected");
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+    }
+}
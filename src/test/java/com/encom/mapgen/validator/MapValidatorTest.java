@@ -290,6 +290,99 @@ public class MapValidatorTest {
                   (endTime - startTime) < 1000);
     }
     
+    @Test
+    public void testFusedValidationMatchesIndividualChecks() {
+        List<List<Hexagon>> maps = new ArrayList<>();
+        
+        // Connected, one-way in each direction, missing neighbor, non-adjacent and duplicate maps
+        Hexagon a = createHexagon(0, 0, Hexagon.HexType.CORRIDOR);
+        Hexagon b = createHexagon(1, 0, Hexagon.HexType.ROOM);
+        a.addConnection(b.getId());
+        b.addConnection(a.getId());
+        maps.add(Arrays.asList(a, b));
+        
+        Hexagon forward = createHexagon(0, 0, Hexagon.HexType.CORRIDOR);
+        forward.addConnection("hex_1_0");
+        maps.add(Arrays.asList(forward, createHexagon(1, 0, Hexagon.HexType.CORRIDOR)));
+        
+        Hexagon backward = createHexagon(1, 0, Hexagon.HexType.CORRIDOR);
+        backward.addConnection("hex_0_0");
+        maps.add(Arrays.asList(createHexagon(0, 0, Hexagon.HexType.CORRIDOR), backward));
+        
+        Hexagon dangling = createHexagon(0, 0, Hexagon.HexType.CORRIDOR);
+        dangling.addConnection("hex_0_1");
+        maps.add(Arrays.asList(dangling, createHexagon(5, 5, Hexagon.HexType.ROOM)));
+        
+        Hexagon far = createHexagon(0, 0, Hexagon.HexType.CORRIDOR);
+        Hexagon farOther = createHexagon(2, 2, Hexagon.HexType.CORRIDOR);
+        far.addConnection(farOther.getId());
+        farOther.addConnection(far.getId());
+        maps.add(Arrays.asList(far, farOther));
+        
+        Hexagon first = createHexagon(0, 0, Hexagon.HexType.ROOM);
+        Hexagon copy = createHexagon(1, 0, Hexagon.HexType.ROOM);
+        Hexagon shadow = createHexagon(1, 0, Hexagon.HexType.ROOM);
+        first.addConnection("hex_1_0");
+        copy.addConnection("hex_0_0");
+        shadow.addConnection("hex_0_0");
+        maps.add(Arrays.asList(first, copy, shadow));
+        
+        maps.add(Arrays.asList(createHexagon(0, 0, Hexagon.HexType.ROOM), 
+                               createHexagon(3, 0, Hexagon.HexType.ROOM)));
+        
+        for (List<Hexagon> map : maps) {
+            for (boolean parallel : new boolean[] {false, true}) {
+                MapValidator.ValidationResult result = validator.validateMap(map, 0.5, parallel);
+                assertEquals("Connectivity should match the individual check", 
+                            validator.validateConnectivity(map), result.isConnected);
+                assertEquals("Bidirectionality should match the individual check", 
+                            validator.validateBidirectionalConnections(map), result.hasBidirectionalConnections);
+                assertEquals("Adjacency should match the individual check", 
+                            validator.validateAdjacentConnections(map), result.hasValidAdjacentConnections);
+                assertEquals("Ratio should match the individual check", 
+                            validator.validateCorridorRoomRatio(map, 0.5, 0.15), result.hasValidRatio);
+            }
+        }
+    }
+    
+    @Test
+    public void testParallelValidationOfLargeMap() {
+        // A 150x150 comb: every row runs along q and joins the spine at q = 0
+        int side = 150;
+        Hexagon[][] cells = new Hexagon[side][side];
+        List<Hexagon> map = new ArrayList<>();
+        for (int r = 0; r < side; r++) {
+            for (int q = 0; q < side; q++) {
+                cells[r][q] = createHexagon(q, r, q % 3 == 0 ? Hexagon.HexType.CORRIDOR : Hexagon.HexType.ROOM);
+                map.add(cells[r][q]);
+                if (q > 0) {
+                    cells[r][q].addConnection(cells[r][q - 1].getId());
+                    cells[r][q - 1].addConnection(cells[r][q].getId());
+                }
+            }
+            if (r > 0) {
+                cells[r][0].addConnection(cells[r - 1][0].getId());
+                cells[r - 1][0].addConnection(cells[r][0].getId());
+            }
+        }
+        
+        MapValidator.ValidationResult sequential = validator.validateMap(map, 0.33, false);
+        MapValidator.ValidationResult parallel = validator.validateMap(map, 0.33, true);
+        assertTrue("Comb map should be valid", sequential.isValid);
+        assertTrue("Parallel validation should agree", parallel.isValid);
+        assertTrue("Parallel flag should be recorded", parallel.parallel);
+        assertEquals("Stage timings should add up to the total", parallel.totalNanos, 
+                    parallel.indexingNanos + parallel.edgeCheckNanos + parallel.connectivityNanos);
+        
+        // Cutting one row off the spine leaves an island
+        cells[side / 2][0].removeConnection(cells[side / 2][1].getId());
+        cells[side / 2][1].removeConnection(cells[side / 2][0].getId());
+        assertFalse("Sequential validation should find the island", 
+                   validator.validateMap(map, 0.33, false).isConnected);
+        assertFalse("Parallel validation should find the island", 
+                   validator.validateMap(map, 0.33, true).isConnected);
+    }
+    
     private Hexagon createHexagon(int q, int r, Hexagon.HexType type) {
         HexCoordinate coord = new HexCoordinate(q, r);
         return new Hexagon(coord, type);
@@ -39,6 +39,7 @@ locals {
   
   # Lambda configuration
   lambda_function_name = "${local.project_name}-map-generator-${local.environment}"
+  stream_function_name = "${local.project_name}-map-stream-${local.environment}"
   lambda_jar_path      = "../../../build/libs/encom-lambda-1.0.0-all.jar"
   
   # API Gateway configuration  
@@ -75,6 +76,28 @@ module "lambda" {
   tags = local.common_tags
 }
 
+# Streaming Lambda Module - MapStreamHandler behind a RESPONSE_STREAM function URL.
+# API Gateway buffers responses, so this function is reached through its URL
+module "lambda_stream" {
+  source = "../../modules/lambda"
+  
+  function_name    = local.stream_function_name
+  jar_file_path    = local.lambda_jar_path
+  handler          = var.stream_lambda_handler
+  runtime          = var.lambda_runtime
+  memory_size      = var.lambda_memory_size
+  timeout          = var.stream_lambda_timeout
+  log_retention_days = var.log_retention_days
+  
+  environment_variables = var.lambda_environment_variables
+  
+  stream_responses               = true
+  enable_function_url            = true
+  enable_api_gateway_integration = false
+  
+  tags = local.common_tags
+}
+
 # Route53 Module for API subdomain
 module "route53" {
   source = "../../modules/route53"
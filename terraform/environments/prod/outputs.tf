@@ -8,6 +8,16 @@ output "lambda_function_arn" {
   value       = module.lambda.function_arn
 }
 
+output "stream_function_name" {
+  description = "Name of the streaming Lambda function"
+  value       = module.lambda_stream.function_name
+}
+
+output "stream_function_url" {
+  description = "Function URL that streams maps as NDJSON"
+  value       = module.lambda_stream.function_url
+}
+
 output "api_gateway_id" {
   description = "API Gateway REST API ID"
   value       = module.api_gateway.api_id
@@ -11,6 +11,18 @@ variable "lambda_handler" {
   default     = "com.encom.mapgen.handler.MapGeneratorHandler::handleRequest"
 }
 
+variable "stream_lambda_handler" {
+  description = "Handler of the streaming Lambda, run by StreamingRuntime"
+  type        = string
+  default     = "com.encom.mapgen.handler.MapStreamHandler::handleRequest"
+}
+
+variable "stream_lambda_timeout" {
+  description = "Streaming Lambda timeout in seconds; streamed bodies past 6 MB are sent at up to 2 MB/s"
+  type        = number
+  default     = 180
+}
+
 variable "lambda_runtime" {
   description = "Lambda runtime"
   type        = string
@@ -33,7 +45,8 @@ variable "lambda_environment_variables" {
   description = "Environment variables for Lambda"
   type        = map(string)
   default = {
-    ENV = "prod"
+    ENV                 = "prod"
+    MAP_STORE_MAX_BYTES = "268435456"
   }
 }
 
@@ -23,6 +23,11 @@ resource "aws_api_gateway_rest_api" "api" {
     types = ["REGIONAL"]
   }
   
+  # Base64 response bodies are sent to clients as raw bytes. Compressed JSON
+  # keeps its application/json type, so every type is treated as binary;
+  # request bodies then arrive base64 encoded and the handler decodes them.
+  binary_media_types = ["*/*"]
+  
   tags = var.tags
 }
 
@@ -108,6 +113,10 @@ resource "aws_api_gateway_integration" "options_integration" {
   http_method = aws_api_gateway_method.options_method.http_method
   type        = "MOCK"
   
+  # binary_media_types = */* makes the preflight binary too; the mapping
+  # template below only runs on a text payload
+  content_handling = "CONVERT_TO_TEXT"
+  
   request_templates = {
     "application/json" = "{\"statusCode\": 200}"
   }
@@ -135,7 +144,7 @@ resource "aws_api_gateway_integration_response" "options_integration_response" {
   status_code = aws_api_gateway_method_response.options_response.status_code
   
   response_parameters = {
-    "method.response.header.Access-Control-Allow-Headers" = "'Content-Type,X-Amz-Date,Authorization,X-Api-Key,X-Amz-Security-Token,x-api-key'"
+    "method.response.header.Access-Control-Allow-Headers" = "'Content-Type,X-Amz-Date,Authorization,X-Api-Key,X-Amz-Security-Token,x-api-key,If-None-Match'"
     "method.response.header.Access-Control-Allow-Methods" = "'POST,OPTIONS'"
     "method.response.header.Access-Control-Allow-Origin"  = "'*'"
   }
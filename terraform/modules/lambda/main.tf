@@ -5,6 +5,10 @@ terraform {
       source  = "hashicorp/aws"
       version = "~> 5.0"
     }
+    archive = {
+      source  = "hashicorp/archive"
+      version = "~> 2.4"
+    }
   }
 }
 
@@ -64,6 +68,28 @@ resource "aws_cloudwatch_log_group" "lambda_logs" {
   }
 }
 
+# Exec wrapper that swaps the managed Java runtime client, which buffers
+# responses, for StreamingRuntime (only with stream_responses)
+data "archive_file" "stream_runtime" {
+  count            = var.stream_responses ? 1 : 0
+  type             = "zip"
+  output_path      = "${path.module}/.build/${var.function_name}-stream-runtime.zip"
+  output_file_mode = "0755"
+
+  source {
+    content  = file("${path.module}/stream-runtime.sh")
+    filename = "stream-runtime"
+  }
+}
+
+resource "aws_lambda_layer_version" "stream_runtime" {
+  count               = var.stream_responses ? 1 : 0
+  layer_name          = "${var.function_name}-stream-runtime"
+  filename            = data.archive_file.stream_runtime[0].output_path
+  source_code_hash    = data.archive_file.stream_runtime[0].output_base64sha256
+  compatible_runtimes = [var.runtime]
+}
+
 # Lambda function
 resource "aws_lambda_function" "function" {
   filename         = var.jar_file_path
@@ -73,11 +99,19 @@ resource "aws_lambda_function" "function" {
   runtime         = var.runtime
   timeout         = var.timeout
   memory_size     = var.memory_size
+  layers          = var.stream_responses ? [aws_lambda_layer_version.stream_runtime[0].arn] : []
+  
+  ephemeral_storage {
+    size = var.ephemeral_storage_size
+  }
   
   source_code_hash = filebase64sha256(var.jar_file_path)
   
   environment {
-    variables = var.environment_variables
+    variables = merge(
+      var.environment_variables,
+      var.stream_responses ? { AWS_LAMBDA_EXEC_WRAPPER = "/opt/stream-runtime" } : {}
+    )
   }
   
   depends_on = [
@@ -93,13 +127,14 @@ resource "aws_lambda_function_url" "function_url" {
   count              = var.enable_function_url ? 1 : 0
   function_name      = aws_lambda_function.function.function_name
   authorization_type = "NONE"  # Use "AWS_IAM" for authenticated access
+  invoke_mode        = var.stream_responses ? "RESPONSE_STREAM" : var.function_url_invoke_mode
   
   cors {
     allow_credentials = false
     allow_origins     = ["*"]
     allow_methods     = ["POST", "GET", "OPTIONS"]
-    allow_headers     = ["date", "keep-alive", "content-type", "x-api-key"]
-    expose_headers    = ["date", "keep-alive"]
+    allow_headers     = ["date", "keep-alive", "content-type", "x-api-key", "if-none-match"]
+    expose_headers    = ["date", "keep-alive", "etag"]
     max_age          = 86400
   }
 }
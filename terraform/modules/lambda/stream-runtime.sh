@@ -0,0 +1,10 @@
+#!/bin/bash
+# Exec wrapper for functions that stream responses. Lambda passes the command
+# that starts the managed Java runtime client, which buffers a handler's whole
+# response; StreamingRuntime is started in its place and streams it instead.
+# It runs the class in _HANDLER, as the managed client would.
+exec "${JAVA_HOME:-/var/lang}/bin/java" \
+    -XX:MaxRAMPercentage=85 \
+    -XX:+UseSerialGC \
+    -cp "$LAMBDA_TASK_ROOT:$LAMBDA_TASK_ROOT/lib/*" \
+    com.encom.mapgen.handler.StreamingRuntime
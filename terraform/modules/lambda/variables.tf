@@ -26,6 +26,12 @@ variable "memory_size" {
   default     = 512
 }
 
+variable "ephemeral_storage_size" {
+  description = "Size of the function's /tmp storage (MB), which holds the map store"
+  type        = number
+  default     = 512
+}
+
 variable "timeout" {
   description = "Lambda function timeout (seconds)"
   type        = number
@@ -56,6 +62,18 @@ variable "enable_function_url" {
   default     = false
 }
 
+variable "function_url_invoke_mode" {
+  description = "Function URL invoke mode when stream_responses is off"
+  type        = string
+  default     = "BUFFERED"
+}
+
+variable "stream_responses" {
+  description = "Run the handler (a RequestStreamHandler such as MapStreamHandler) through StreamingRuntime and stream its output through a RESPONSE_STREAM function URL. The managed Java runtime alone buffers the whole response"
+  type        = bool
+  default     = false
+}
+
 variable "alias_name" {
   description = "Lambda alias name"
   type        = string